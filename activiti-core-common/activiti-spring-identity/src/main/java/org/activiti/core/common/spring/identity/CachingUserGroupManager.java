@@ -0,0 +1,269 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.core.common.spring.identity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+
+/**
+ * {@link UserGroupManager} decorator caching the groups and roles of a user, so that the several resolutions done
+ * while serving a single request (runtime queries, security policies, ...) hit the backing
+ * {@link org.springframework.security.core.userdetails.UserDetailsService} only once.
+ * <p>
+ * Two levels of caching are applied:
+ * <ul>
+ * <li>a per-request memo, active between {@link #openRequestScope()} and the close of the returned scope on the
+ * current thread;</li>
+ * <li>a shared cache whose entries expire after the configured time to live and which never holds more than the
+ * configured number of users. A zero time to live disables it, leaving only the per-request memo.</li>
+ * </ul>
+ * Lists of all users and groups are not cached.
+ */
+public class CachingUserGroupManager implements UserGroupManager {
+
+    private final UserGroupManager delegate;
+
+    private final long timeToLiveInMillis;
+
+    private final int maxSize;
+
+    private final Clock clock;
+
+    private final Map<String, CachedValue> sharedGroups = new ConcurrentHashMap<>();
+
+    private final Map<String, CachedValue> sharedRoles = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<RequestScope> requestScope = new ThreadLocal<>();
+
+    private final AtomicLong requestHitCount = new AtomicLong();
+
+    private final AtomicLong sharedHitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public CachingUserGroupManager(UserGroupManager delegate,
+                                   Duration timeToLive,
+                                   int maxSize) {
+        this(delegate, timeToLive, maxSize, Clock.systemUTC());
+    }
+
+    public CachingUserGroupManager(UserGroupManager delegate,
+                                   Duration timeToLive,
+                                   int maxSize,
+                                   Clock clock) {
+        this.delegate = delegate;
+        this.timeToLiveInMillis = timeToLive != null ? timeToLive.toMillis() : 0;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public List<String> getUserGroups(String username) {
+        return lookup(username,
+                      scope -> scope.groups,
+                      sharedGroups,
+                      delegate::getUserGroups);
+    }
+
+    @Override
+    public List<String> getUserRoles(String username) {
+        return lookup(username,
+                      scope -> scope.roles,
+                      sharedRoles,
+                      delegate::getUserRoles);
+    }
+
+    @Override
+    public List<String> getGroups() {
+        return delegate.getGroups();
+    }
+
+    @Override
+    public List<String> getUsers() {
+        return delegate.getUsers();
+    }
+
+    /**
+     * Starts memoizing lookups on the current thread until the returned scope is closed. Nested scopes share the
+     * memo of the outermost one.
+     */
+    public RequestScope openRequestScope() {
+        if (requestScope.get() != null) {
+            return RequestScope.NESTED;
+        }
+        RequestScope scope = new RequestScope(requestScope);
+        requestScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Drops the cached groups and roles of the given user, e.g. after a membership change.
+     */
+    public void invalidate(String username) {
+        sharedGroups.remove(username);
+        sharedRoles.remove(username);
+        RequestScope scope = requestScope.get();
+        if (scope != null) {
+            scope.groups.remove(username);
+            scope.roles.remove(username);
+        }
+    }
+
+    public void invalidateAll() {
+        sharedGroups.clear();
+        sharedRoles.clear();
+        RequestScope scope = requestScope.get();
+        if (scope != null) {
+            scope.groups.clear();
+            scope.roles.clear();
+        }
+    }
+
+    public long getRequestHitCount() {
+        return requestHitCount.get();
+    }
+
+    public long getSharedHitCount() {
+        return sharedHitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the ratio of lookups answered without calling the delegate, or 0 when nothing was looked up yet
+     */
+    public double getHitRate() {
+        long hits = requestHitCount.get() + sharedHitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public int getSize() {
+        return Math.max(sharedGroups.size(), sharedRoles.size());
+    }
+
+    private List<String> lookup(String username,
+                                Function<RequestScope, Map<String, List<String>>> requestMemo,
+                                Map<String, CachedValue> sharedCache,
+                                Function<String, List<String>> loader) {
+        if (username == null) {
+            return loader.apply(null);
+        }
+
+        RequestScope scope = requestScope.get();
+        Map<String, List<String>> memo = scope != null ? requestMemo.apply(scope) : null;
+        if (memo != null) {
+            List<String> values = memo.get(username);
+            if (values != null) {
+                requestHitCount.incrementAndGet();
+                return new ArrayList<>(values);
+            }
+        }
+
+        List<String> values = null;
+        if (timeToLiveInMillis > 0) {
+            long now = clock.millis();
+            CachedValue cached = sharedCache.get(username);
+            if (cached != null && cached.expirationTime > now) {
+                sharedHitCount.incrementAndGet();
+                values = cached.values;
+            } else {
+                missCount.incrementAndGet();
+                values = copyOf(loader.apply(username));
+                if (sharedCache.size() >= maxSize) {
+                    evict(sharedCache, now);
+                }
+                sharedCache.put(username, new CachedValue(values, now + timeToLiveInMillis));
+            }
+        } else {
+            missCount.incrementAndGet();
+            values = copyOf(loader.apply(username));
+        }
+
+        if (memo != null) {
+            memo.put(username, values);
+        }
+        return new ArrayList<>(values);
+    }
+
+    private void evict(Map<String, CachedValue> sharedCache, long now) {
+        sharedCache.values().removeIf(cached -> cached.expirationTime <= now);
+        int excess = sharedCache.size() - maxSize + 1;
+        if (excess > 0) {
+            // drop the oldest tenth (at least the excess) so that eviction does not run on every miss
+            sharedCache.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().expirationTime))
+                    .limit(Math.max(excess, maxSize / 10))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(sharedCache::remove);
+        }
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : new ArrayList<>();
+    }
+
+    private static class CachedValue {
+
+        private final List<String> values;
+
+        private final long expirationTime;
+
+        private CachedValue(List<String> values, long expirationTime) {
+            this.values = values;
+            this.expirationTime = expirationTime;
+        }
+    }
+
+    /**
+     * Per-thread memo opened by {@link #openRequestScope()}; closing it clears the memo.
+     */
+    public static class RequestScope implements AutoCloseable {
+
+        private static final RequestScope NESTED = new RequestScope(null);
+
+        private final ThreadLocal<RequestScope> owner;
+
+        private final Map<String, List<String>> groups = new HashMap<>();
+
+        private final Map<String, List<String>> roles = new HashMap<>();
+
+        private RequestScope(ThreadLocal<RequestScope> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void close() {
+            if (owner != null) {
+                owner.remove();
+            }
+        }
+    }
+}
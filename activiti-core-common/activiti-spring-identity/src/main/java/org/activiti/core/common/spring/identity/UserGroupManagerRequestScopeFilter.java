@@ -0,0 +1,58 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.core.common.spring.identity;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.springframework.core.Ordered;
+
+/**
+ * Servlet filter memoizing the user groups and roles resolved by a {@link CachingUserGroupManager} for the
+ * duration of each request. Requests pass through untouched when the user group manager does not cache.
+ */
+public class UserGroupManagerRequestScopeFilter implements Filter, Ordered {
+
+    private final UserGroupManager userGroupManager;
+
+    public UserGroupManagerRequestScopeFilter(UserGroupManager userGroupManager) {
+        this.userGroupManager = userGroupManager;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request,
+                         ServletResponse response,
+                         FilterChain chain) throws IOException, ServletException {
+        if (!(userGroupManager instanceof CachingUserGroupManager)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (CachingUserGroupManager.RequestScope scope = ((CachingUserGroupManager) userGroupManager).openRequestScope()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -17,18 +17,43 @@ package org.activiti.core.common.spring.identity.config;
 
 import org.activiti.api.runtime.shared.identity.UserGroupManager;
 import org.activiti.core.common.spring.identity.ActivitiUserGroupManagerImpl;
+import org.activiti.core.common.spring.identity.CachingUserGroupManager;
+import org.activiti.core.common.spring.identity.UserGroupManagerRequestScopeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 @Configuration
+@EnableConfigurationProperties(ActivitiIdentityCacheProperties.class)
 public class ActivitiSpringIdentityAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public UserGroupManager userGroupManager(UserDetailsService userDetailsService) {
-        return new ActivitiUserGroupManagerImpl(userDetailsService);
+    public UserGroupManager userGroupManager(UserDetailsService userDetailsService,
+                                             ActivitiIdentityCacheProperties cacheProperties) {
+        UserGroupManager userGroupManager = new ActivitiUserGroupManagerImpl(userDetailsService);
+        if (cacheProperties.isEnabled()) {
+            return new CachingUserGroupManager(userGroupManager,
+                                               cacheProperties.getTimeToLive(),
+                                               cacheProperties.getMaxSize());
+        }
+        return userGroupManager;
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "javax.servlet.Filter")
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class RequestScopeConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public UserGroupManagerRequestScopeFilter userGroupManagerRequestScopeFilter(UserGroupManager userGroupManager) {
+            return new UserGroupManagerRequestScopeFilter(userGroupManager);
+        }
     }
 
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.core.common.spring.identity;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingUserGroupManagerTest {
+
+    private UserGroupManager delegate;
+
+    private MutableClock clock;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = mock(UserGroupManager.class);
+        given(delegate.getUserGroups("bob")).willReturn(singletonList("developers"));
+        given(delegate.getUserRoles("bob")).willReturn(singletonList("ACTIVITI_USER"));
+        given(delegate.getUserGroups("garth")).willReturn(singletonList("finance"));
+        clock = new MutableClock();
+    }
+
+    @Test
+    public void shouldMemoizeWithinRequestScopeOnly() {
+        //given
+        CachingUserGroupManager userGroupManager = new CachingUserGroupManager(delegate, Duration.ZERO, 10, clock);
+
+        //when
+        try (CachingUserGroupManager.RequestScope scope = userGroupManager.openRequestScope()) {
+            assertThat(userGroupManager.getUserGroups("bob")).containsExactly("developers");
+            try (CachingUserGroupManager.RequestScope nested = userGroupManager.openRequestScope()) {
+                assertThat(userGroupManager.getUserGroups("bob")).containsExactly("developers");
+            }
+            assertThat(userGroupManager.getUserGroups("bob")).containsExactly("developers");
+        }
+        userGroupManager.getUserGroups("bob");
+
+        //then
+        verify(delegate, times(2)).getUserGroups("bob");
+        assertThat(userGroupManager.getRequestHitCount()).isEqualTo(2);
+        assertThat(userGroupManager.getMissCount()).isEqualTo(2);
+        assertThat(userGroupManager.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void shouldShareEntriesUntilTheyExpire() {
+        //given
+        CachingUserGroupManager userGroupManager = new CachingUserGroupManager(delegate, Duration.ofSeconds(30), 10, clock);
+
+        //when
+        userGroupManager.getUserGroups("bob");
+        userGroupManager.getUserRoles("bob");
+        clock.advance(Duration.ofSeconds(29));
+        userGroupManager.getUserGroups("bob");
+        userGroupManager.getUserRoles("bob");
+        clock.advance(Duration.ofSeconds(2));
+        userGroupManager.getUserGroups("bob");
+
+        //then
+        verify(delegate, times(2)).getUserGroups("bob");
+        verify(delegate, times(1)).getUserRoles("bob");
+        assertThat(userGroupManager.getSharedHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReloadInvalidatedUsers() {
+        //given
+        CachingUserGroupManager userGroupManager = new CachingUserGroupManager(delegate, Duration.ofMinutes(1), 10, clock);
+        userGroupManager.getUserGroups("bob");
+        userGroupManager.getUserGroups("garth");
+
+        //when
+        userGroupManager.invalidate("bob");
+        userGroupManager.getUserGroups("bob");
+        userGroupManager.getUserGroups("garth");
+        userGroupManager.invalidateAll();
+        userGroupManager.getUserGroups("garth");
+
+        //then
+        verify(delegate, times(2)).getUserGroups("bob");
+        verify(delegate, times(2)).getUserGroups("garth");
+    }
+
+    @Test
+    public void shouldNotExceedMaxSize() {
+        //given
+        CachingUserGroupManager userGroupManager = new CachingUserGroupManager(delegate, Duration.ofMinutes(1), 1, clock);
+
+        //when
+        userGroupManager.getUserGroups("bob");
+        clock.advance(Duration.ofSeconds(1));
+        userGroupManager.getUserGroups("garth");
+        userGroupManager.getUserGroups("garth");
+
+        //then
+        assertThat(userGroupManager.getSize()).isEqualTo(1);
+        verify(delegate, times(1)).getUserGroups("garth");
+    }
+
+    @Test
+    public void shouldNotExposeCachedListsToMutation() {
+        //given
+        CachingUserGroupManager userGroupManager = new CachingUserGroupManager(delegate, Duration.ofMinutes(1), 10, clock);
+
+        //when
+        userGroupManager.getUserGroups("bob").add("admins");
+
+        //then
+        assertThat(userGroupManager.getUserGroups("bob")).containsExactly("developers");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2020-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
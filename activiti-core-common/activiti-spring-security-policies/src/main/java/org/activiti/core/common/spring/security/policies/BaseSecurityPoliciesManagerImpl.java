@@ -15,8 +15,6 @@
  */
 package org.activiti.core.common.spring.security.policies;
 
-import static java.util.Arrays.asList;
-
 import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
 
@@ -24,14 +22,27 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
 
 public abstract class BaseSecurityPoliciesManagerImpl implements SecurityPoliciesManager {
 
+    public static final int DEFAULT_MAX_CACHED_DECISIONS = 1000;
+
     protected SecurityManager securityManager;
 
     protected SecurityPoliciesProperties securityPoliciesProperties;
 
+    /**
+     * Upper bound of memoized (user, groups, access) decisions; the cache is dropped as a whole once exceeded.
+     */
+    protected int maxCachedDecisions = DEFAULT_MAX_CACHED_DECISIONS;
+
+    private volatile CompiledPolicies compiledPolicies;
+
     public BaseSecurityPoliciesManagerImpl(SecurityManager securityManager,
                                            SecurityPoliciesProperties securityPoliciesProperties) {
         this.securityManager = securityManager;
@@ -42,59 +53,60 @@ public abstract class BaseSecurityPoliciesManagerImpl implements SecurityPolicie
         return !securityPoliciesProperties.getPolicies().isEmpty();
     }
 
+    /**
+     * Discards the compiled policies and every memoized decision, so that the next check is evaluated against the
+     * current content of {@link SecurityPoliciesProperties}. To be called whenever the properties are rebound.
+     */
+    public void refresh() {
+        compiledPolicies = null;
+    }
+
+    public void setMaxCachedDecisions(int maxCachedDecisions) {
+        this.maxCachedDecisions = maxCachedDecisions;
+    }
+
     @Override
     public Map<String, Set<String>> getAllowedKeys(SecurityPolicyAccess... securityPoliciesAccess) {
+        Map<String, Set<String>> definitionKeysAllowedByPolicy = new HashMap<>();
+        getDecision(SecurityPoliciesIndex.resolveLevel(securityPoliciesAccess)).allowedKeys
+                .forEach((serviceName, keys) -> definitionKeysAllowedByPolicy.put(serviceName, new HashSet<>(keys)));
+        return definitionKeysAllowedByPolicy;
+    }
 
+    private Decision getDecision(SecurityPolicyAccess level) {
         String authenticatedUserId = securityManager.getAuthenticatedUserId();
-        List<SecurityPolicy> policies = securityPoliciesProperties.getPolicies();
-        Map<String, Set<String>> definitionKeysAllowedByPolicy = new HashMap<>();
 
         List<String> groups = null;
 
         if (authenticatedUserId != null) {
             groups = securityManager.getAuthenticatedUserGroups();
         }
-        for (SecurityPolicy ssp : policies) {
-            definitionKeysAllowedByPolicy.computeIfAbsent(ssp.getServiceName(),
-                                                          k -> new HashSet<>());
-
-            // I need to check that the user is listed in the user lists or that at least one of the user groups is in the group list
-            if (isUserInPolicy(ssp, authenticatedUserId) || isGroupInPolicy(ssp, groups)) {
-
-                // Here if securityPolicyAccess is READ, it should also include WRITES, if it is NONE nothing, and if it is WRITE only WRITE
-                List<SecurityPolicyAccess> securityPolicyAccesses = asList(securityPoliciesAccess);
-                if (securityPolicyAccesses.contains(SecurityPolicyAccess.WRITE)) {
-                    if (ssp.getAccess().equals(SecurityPolicyAccess.WRITE)) {
-                        definitionKeysAllowedByPolicy.get(ssp.getServiceName()).addAll(ssp.getKeys());
-                    }
-
-                } else if (securityPolicyAccesses.contains(SecurityPolicyAccess.READ)) {
-                    if (ssp.getAccess().equals(SecurityPolicyAccess.READ) || ssp.getAccess().equals(SecurityPolicyAccess.WRITE)) {
-                        definitionKeysAllowedByPolicy.get(ssp.getServiceName()).addAll(ssp.getKeys());
-                    }
-                }
-
 
+        CompiledPolicies compiled = getCompiledPolicies();
+        DecisionKey decisionKey = new DecisionKey(authenticatedUserId, groups, level);
+        Decision decision = compiled.decisions.get(decisionKey);
+        if (decision == null) {
+            if (compiled.decisions.size() >= maxCachedDecisions) {
+                compiled.decisions.clear();
             }
+            decision = compiled.decisions.computeIfAbsent(decisionKey,
+                    k -> new Decision(compiled.index.getAllowedKeys(k.userId, k.groups, k.level)));
         }
-        return definitionKeysAllowedByPolicy;
-    }
-
-
-    private boolean isUserInPolicy(SecurityPolicy ssp, String userId) {
-        return (ssp.getUsers() != null && !ssp.getUsers().isEmpty() && ssp.getUsers().contains(userId));
+        return decision;
     }
 
-    private boolean isGroupInPolicy(SecurityPolicy ssp, List<String> groups) {
-        if (ssp.getGroups() != null && groups != null) {
-            for (String g : ssp.getGroups()) {
-                if (groups.contains(g)) {
-                    return true;
+    private CompiledPolicies getCompiledPolicies() {
+        CompiledPolicies compiled = compiledPolicies;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = compiledPolicies;
+                if (compiled == null) {
+                    compiled = new CompiledPolicies(new SecurityPoliciesIndex(securityPoliciesProperties.getPolicies()));
+                    compiledPolicies = compiled;
                 }
-
             }
         }
-        return false;
+        return compiled;
     }
 
     @Override
@@ -127,8 +139,16 @@ public abstract class BaseSecurityPoliciesManagerImpl implements SecurityPolicie
             return true;
         }
 
+        Decision decision = getDecision(SecurityPoliciesIndex.resolveLevel(securityPolicyAccess));
+        Predicate<String> permission = appName != null
+                ? decision.permissions.computeIfAbsent(appName, name -> compilePermission(decision.allowedKeys, name))
+                : compilePermission(decision.allowedKeys, null);
+        return permission.test(processDefinitionKey);
+    }
+
+    private Predicate<String> compilePermission(Map<String, Set<String>> policiesMap,
+                                                String appName) {
         Set<String> keys = new HashSet<>();
-        Map<String, Set<String>> policiesMap = getAllowedKeys(securityPolicyAccess);
         if (policiesMap.get(appName) != null) {
             keys.addAll(policiesMap.get(appName));
         }
@@ -137,8 +157,31 @@ public abstract class BaseSecurityPoliciesManagerImpl implements SecurityPolicie
             keys.addAll(policiesMap.get(appName.replaceAll("-", "").toLowerCase()));
         }
 
-        return anEntryInSetStartsKey(keys,
-                processDefinitionKey) || keys.contains(securityPoliciesProperties.getWildcard());
+        if (keys.contains(securityPoliciesProperties.getWildcard())) {
+            return processDefinitionKey -> true;
+        }
+        return compileKeyMatcher(keys);
+    }
+
+    /**
+     * Compiles the keys allowed for an application into the matcher used by {@link #hasPermission}. The default
+     * matcher answers {@link #anEntryInSetStartsKey} through a prefix trie, unless {@link #isKeyMatcherCompilable}
+     * is switched off.
+     */
+    protected Predicate<String> compileKeyMatcher(Set<String> keys) {
+        if (!isKeyMatcherCompilable()) {
+            return processDefinitionKey -> anEntryInSetStartsKey(keys, processDefinitionKey);
+        }
+        return new KeyPrefixTrie(keys)::matchesPrefixOf;
+    }
+
+    /**
+     * @return false to match keys by calling {@link #anEntryInSetStartsKey} on every check instead of the compiled
+     * matcher. Subclasses overriding {@link #anEntryInSetStartsKey} must return false, or override
+     * {@link #compileKeyMatcher} with an equivalent matcher.
+     */
+    protected boolean isKeyMatcherCompilable() {
+        return true;
     }
 
     //startsWith logic supports the case of audit where only definition id might be available and it would start with the key
@@ -156,4 +199,66 @@ public abstract class BaseSecurityPoliciesManagerImpl implements SecurityPolicie
     protected SecurityPoliciesProperties getSecurityPoliciesProperties() {
         return securityPoliciesProperties;
     }
+
+    private static class CompiledPolicies {
+
+        private final SecurityPoliciesIndex index;
+
+        private final ConcurrentMap<DecisionKey, Decision> decisions = new ConcurrentHashMap<>();
+
+        private CompiledPolicies(SecurityPoliciesIndex index) {
+            this.index = index;
+        }
+    }
+
+    private static class Decision {
+
+        private final Map<String, Set<String>> allowedKeys;
+
+        private final ConcurrentMap<String, Predicate<String>> permissions = new ConcurrentHashMap<>();
+
+        private Decision(Map<String, Set<String>> allowedKeys) {
+            this.allowedKeys = allowedKeys;
+        }
+    }
+
+    private static class DecisionKey {
+
+        private final String userId;
+
+        private final Set<String> groups;
+
+        private final SecurityPolicyAccess level;
+
+        private final int hashCode;
+
+        private DecisionKey(String userId,
+                            List<String> groups,
+                            SecurityPolicyAccess level) {
+            this.userId = userId;
+            this.groups = groups != null ? new HashSet<>(groups) : null;
+            this.level = level;
+            this.hashCode = Objects.hash(userId, this.groups, level);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DecisionKey that = (DecisionKey) o;
+            return hashCode == that.hashCode &&
+                    Objects.equals(userId, that.userId) &&
+                    Objects.equals(groups, that.groups) &&
+                    level == that.level;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
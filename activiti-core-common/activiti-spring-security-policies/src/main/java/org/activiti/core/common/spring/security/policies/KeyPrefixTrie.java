@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.core.common.spring.security.policies;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prefix tree over the keys granted by a policy, answering whether any of them is a prefix of a process definition
+ * key (or id) in time proportional to the length of that key rather than to the number of granted keys.
+ */
+public class KeyPrefixTrie {
+
+    private final Node root = new Node();
+
+    public KeyPrefixTrie(Collection<String> keys) {
+        for (String key : keys) {
+            add(key);
+        }
+    }
+
+    private void add(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * @return true if at least one of the keys this trie was built from is a prefix of the given value.
+     */
+    public boolean matchesPrefixOf(String value) {
+        Node node = root;
+        if (node.terminal) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            node = node.children.get(value.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+
+        private boolean terminal;
+    }
+}
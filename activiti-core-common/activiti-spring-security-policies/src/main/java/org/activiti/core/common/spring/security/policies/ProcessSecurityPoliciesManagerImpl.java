@@ -22,8 +22,11 @@ import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesPr
 import org.springframework.beans.factory.annotation.Value;
 
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public class ProcessSecurityPoliciesManagerImpl extends BaseSecurityPoliciesManagerImpl implements ProcessSecurityPoliciesManager{
 
@@ -110,4 +113,15 @@ public class ProcessSecurityPoliciesManagerImpl extends BaseSecurityPoliciesMana
         return false;
     }
 
+    @Override
+    protected Predicate<String> compileKeyMatcher(Set<String> keys) {
+        if (!isKeyMatcherCompilable()) {
+            return processDefinitionKey -> anEntryInSetStartsKey(keys, processDefinitionKey);
+        }
+        Set<String> lowerCaseKeys = keys.stream()
+                .map(key -> key.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        return processDefinitionKey -> lowerCaseKeys.contains(processDefinitionKey.toLowerCase(Locale.ROOT));
+    }
+
 }
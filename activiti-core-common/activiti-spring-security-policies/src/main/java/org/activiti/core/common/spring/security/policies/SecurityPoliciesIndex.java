@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.core.common.spring.security.policies;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view of the configured {@link SecurityPolicy security policies}, compiled once so that resolving the
+ * keys allowed for a user does not have to scan every policy.
+ * <p>
+ * Policies are indexed per requested access level: a {@link SecurityPolicyAccess#WRITE} request only sees WRITE
+ * policies while a {@link SecurityPolicyAccess#READ} request sees both READ and WRITE policies.
+ */
+public class SecurityPoliciesIndex {
+
+    private final Set<String> serviceNames;
+
+    private final Map<SecurityPolicyAccess, Map<String, Set<SecurityPolicy>>> policiesByUser = new EnumMap<>(SecurityPolicyAccess.class);
+
+    private final Map<SecurityPolicyAccess, Map<String, Set<SecurityPolicy>>> policiesByGroup = new EnumMap<>(SecurityPolicyAccess.class);
+
+    private final boolean empty;
+
+    public SecurityPoliciesIndex(List<SecurityPolicy> policies) {
+        Set<String> names = new LinkedHashSet<>();
+        for (SecurityPolicy policy : policies) {
+            names.add(policy.getServiceName());
+            if (policy.getAccess() == SecurityPolicyAccess.WRITE) {
+                index(SecurityPolicyAccess.WRITE, policy);
+                index(SecurityPolicyAccess.READ, policy);
+            } else if (policy.getAccess() == SecurityPolicyAccess.READ) {
+                index(SecurityPolicyAccess.READ, policy);
+            }
+        }
+        this.serviceNames = Collections.unmodifiableSet(names);
+        this.empty = policies.isEmpty();
+    }
+
+    private void index(SecurityPolicyAccess level, SecurityPolicy policy) {
+        if (policy.getUsers() != null) {
+            Map<String, Set<SecurityPolicy>> byUser = policiesByUser.computeIfAbsent(level, k -> new HashMap<>());
+            for (String user : policy.getUsers()) {
+                byUser.computeIfAbsent(user, k -> new LinkedHashSet<>()).add(policy);
+            }
+        }
+        if (policy.getGroups() != null) {
+            Map<String, Set<SecurityPolicy>> byGroup = policiesByGroup.computeIfAbsent(level, k -> new HashMap<>());
+            for (String group : policy.getGroups()) {
+                byGroup.computeIfAbsent(group, k -> new LinkedHashSet<>()).add(policy);
+            }
+        }
+    }
+
+    /**
+     * Reduces the requested accesses to the level used for the lookup: WRITE wins over READ, anything else grants
+     * nothing.
+     */
+    public static SecurityPolicyAccess resolveLevel(SecurityPolicyAccess... securityPoliciesAccess) {
+        SecurityPolicyAccess level = SecurityPolicyAccess.NONE;
+        for (SecurityPolicyAccess access : securityPoliciesAccess) {
+            if (access == SecurityPolicyAccess.WRITE) {
+                return SecurityPolicyAccess.WRITE;
+            }
+            if (access == SecurityPolicyAccess.READ) {
+                level = SecurityPolicyAccess.READ;
+            }
+        }
+        return level;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public Set<String> getServiceNames() {
+        return serviceNames;
+    }
+
+    /**
+     * @return an unmodifiable map holding an entry for every configured service name, with the keys the given
+     * user and groups are allowed to access at the given level.
+     */
+    public Map<String, Set<String>> getAllowedKeys(String userId,
+                                                   Collection<String> groups,
+                                                   SecurityPolicyAccess level) {
+        Map<String, Set<String>> allowedKeys = new HashMap<>();
+        for (String serviceName : serviceNames) {
+            allowedKeys.put(serviceName, new HashSet<>());
+        }
+
+        Set<SecurityPolicy> matchingPolicies = new LinkedHashSet<>();
+        if (userId != null) {
+            matchingPolicies.addAll(lookup(policiesByUser, level, userId));
+            if (groups != null) {
+                for (String group : groups) {
+                    matchingPolicies.addAll(lookup(policiesByGroup, level, group));
+                }
+            }
+        }
+        for (SecurityPolicy policy : matchingPolicies) {
+            if (policy.getKeys() != null) {
+                allowedKeys.get(policy.getServiceName()).addAll(policy.getKeys());
+            }
+        }
+
+        Map<String, Set<String>> result = new HashMap<>();
+        allowedKeys.forEach((serviceName, keys) -> result.put(serviceName, Collections.unmodifiableSet(keys)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Set<SecurityPolicy> lookup(Map<SecurityPolicyAccess, Map<String, Set<SecurityPolicy>>> index,
+                                       SecurityPolicyAccess level,
+                                       String name) {
+        return index.getOrDefault(level, Collections.emptyMap()).getOrDefault(name, Collections.emptySet());
+    }
+}
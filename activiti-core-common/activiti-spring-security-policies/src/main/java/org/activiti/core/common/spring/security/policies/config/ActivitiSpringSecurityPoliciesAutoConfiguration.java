@@ -18,16 +18,23 @@ package org.activiti.core.common.spring.security.policies.config;
 import org.activiti.api.process.model.payloads.GetProcessDefinitionsPayload;
 import org.activiti.api.process.model.payloads.GetProcessInstancesPayload;
 import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.core.common.spring.security.policies.BaseSecurityPoliciesManagerImpl;
 import org.activiti.core.common.spring.security.policies.ProcessSecurityPoliciesManager;
 import org.activiti.core.common.spring.security.policies.ProcessSecurityPoliciesManagerImpl;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesProcessDefinitionRestrictionApplier;
+import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesProcessInstanceRestrictionApplier;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesRestrictionApplier;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 
 @Configuration
 @EnableConfigurationProperties(SecurityPoliciesProperties.class)
@@ -57,4 +64,27 @@ public class ActivitiSpringSecurityPoliciesAutoConfiguration {
         return new SecurityPoliciesProcessDefinitionRestrictionApplier();
     }
 
+    /**
+     * Recompiles the security policies of every manager once Spring Cloud has rebound the configuration properties,
+     * either after an environment change or a refresh scope refresh.
+     */
+    @Configuration
+    @ConditionalOnClass(EnvironmentChangeEvent.class)
+    public static class SecurityPoliciesRefreshConfiguration {
+
+        private final ObjectProvider<SecurityPoliciesManager> securityPoliciesManagers;
+
+        public SecurityPoliciesRefreshConfiguration(ObjectProvider<SecurityPoliciesManager> securityPoliciesManagers) {
+            this.securityPoliciesManagers = securityPoliciesManagers;
+        }
+
+        @EventListener({EnvironmentChangeEvent.class, RefreshScopeRefreshedEvent.class})
+        public void refreshSecurityPolicies() {
+            securityPoliciesManagers.stream()
+                    .filter(BaseSecurityPoliciesManagerImpl.class::isInstance)
+                    .map(BaseSecurityPoliciesManagerImpl.class::cast)
+                    .forEach(BaseSecurityPoliciesManagerImpl::refresh);
+        }
+    }
+
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.core.common.spring.security.policies;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SecurityPoliciesIndexTest {
+
+    private SecurityManager securityManager;
+
+    private SecurityPoliciesProperties properties;
+
+    private BaseSecurityPoliciesManagerImpl policiesManager;
+
+    @BeforeEach
+    public void setUp() {
+        securityManager = mock(SecurityManager.class);
+        properties = new SecurityPoliciesProperties();
+        properties.getPolicies().add(policy("runtime-bundle", SecurityPolicyAccess.WRITE, "bob", "developers", "SampleProcess1", "Invoice"));
+        properties.getPolicies().add(policy("application", SecurityPolicyAccess.READ, "garth", "finance", "SampleProcess3"));
+        policiesManager = new BaseSecurityPoliciesManagerImpl(securityManager, properties) {
+        };
+    }
+
+    @Test
+    public void shouldResolveKeysPerAccessLevel() {
+        //given
+        authenticate("garth", "developers");
+
+        //when
+        Map<String, Set<String>> writeKeys = policiesManager.getAllowedKeys(SecurityPolicyAccess.WRITE);
+        Map<String, Set<String>> readKeys = policiesManager.getAllowedKeys(SecurityPolicyAccess.READ);
+        Map<String, Set<String>> noKeys = policiesManager.getAllowedKeys();
+
+        //then
+        assertThat(writeKeys.get("runtime-bundle")).containsOnly("SampleProcess1", "Invoice");
+        assertThat(writeKeys.get("application")).isEmpty();
+        assertThat(readKeys.get("runtime-bundle")).containsOnly("SampleProcess1", "Invoice");
+        assertThat(readKeys.get("application")).containsOnly("SampleProcess3");
+        assertThat(noKeys).containsOnlyKeys("runtime-bundle", "application");
+        assertThat(noKeys.values()).allMatch(Set::isEmpty);
+    }
+
+    @Test
+    public void shouldMatchKeysByPrefix() {
+        //given
+        authenticate("bob");
+
+        //then
+        assertThat(policiesManager.canWrite("Invoice", "runtime-bundle")).isTrue();
+        assertThat(policiesManager.canWrite("Invoice:1:42", "runtime-bundle")).isTrue();
+        assertThat(policiesManager.canWrite("Invo", "runtime-bundle")).isFalse();
+        assertThat(policiesManager.canWrite("SampleProcess3", "runtime-bundle")).isFalse();
+        assertThat(policiesManager.canRead("SampleProcess1", "Runtime-Bundle")).isFalse();
+        assertThat(policiesManager.canRead("SampleProcess1", "runtimebundle")).isFalse();
+        assertThat(policiesManager.canRead("SampleProcess3", "application")).isFalse();
+    }
+
+    @Test
+    public void shouldNotShareDecisionsBetweenGroupSets() {
+        //given
+        authenticate("alice", "developers");
+        assertThat(policiesManager.canWrite("Invoice", "runtime-bundle")).isTrue();
+
+        //when
+        authenticate("alice", "finance");
+
+        //then
+        assertThat(policiesManager.canWrite("Invoice", "runtime-bundle")).isFalse();
+        assertThat(policiesManager.canRead("SampleProcess3", "application")).isTrue();
+    }
+
+    @Test
+    public void shouldPickUpChangedPoliciesOnRefresh() {
+        //given
+        authenticate("bob");
+        assertThat(policiesManager.canRead("Other", "runtime-bundle")).isFalse();
+        properties.getPolicies().add(policy("runtime-bundle", SecurityPolicyAccess.READ, "bob", null, "*"));
+
+        //when
+        boolean beforeRefresh = policiesManager.canRead("Other", "runtime-bundle");
+        policiesManager.refresh();
+
+        //then
+        assertThat(beforeRefresh).isFalse();
+        assertThat(policiesManager.canRead("Other", "runtime-bundle")).isTrue();
+    }
+
+    @Test
+    public void shouldHonourOverriddenKeyMatching() {
+        //given
+        authenticate("bob");
+        BaseSecurityPoliciesManagerImpl exactMatching = new BaseSecurityPoliciesManagerImpl(securityManager, properties) {
+            @Override
+            protected boolean anEntryInSetStartsKey(Set<String> keys, String processDefinitionKey) {
+                return keys.contains(processDefinitionKey);
+            }
+
+            @Override
+            protected boolean isKeyMatcherCompilable() {
+                return false;
+            }
+        };
+
+        //then
+        assertThat(exactMatching.canWrite("Invoice", "runtime-bundle")).isTrue();
+        assertThat(exactMatching.canWrite("Invoice:1:42", "runtime-bundle")).isFalse();
+    }
+
+    @Test
+    public void keyPrefixTrieShouldMatchWhenAnyKeyIsAPrefix() {
+        KeyPrefixTrie trie = new KeyPrefixTrie(asList("ProcessWithVariables", "Invoice"));
+
+        assertThat(trie.matchesPrefixOf("ProcessWithVariables")).isTrue();
+        assertThat(trie.matchesPrefixOf("ProcessWithVariables2")).isTrue();
+        assertThat(trie.matchesPrefixOf("Process")).isFalse();
+        assertThat(trie.matchesPrefixOf("invoice")).isFalse();
+        assertThat(new KeyPrefixTrie(singletonList("")).matchesPrefixOf("anything")).isTrue();
+    }
+
+    private void authenticate(String userId, String... groups) {
+        given(securityManager.getAuthenticatedUserId()).willReturn(userId);
+        given(securityManager.getAuthenticatedUserGroups()).willReturn(asList(groups));
+        given(securityManager.getAuthenticatedUserRoles()).willReturn(singletonList("ACTIVITI_USER"));
+    }
+
+    private SecurityPolicy policy(String serviceName, SecurityPolicyAccess access, String user, String group, String... keys) {
+        SecurityPolicy policy = new SecurityPolicy();
+        policy.setServiceName(serviceName);
+        policy.setAccess(access);
+        policy.setUsers(singletonList(user));
+        policy.setGroups(group != null ? singletonList(group) : null);
+        policy.setKeys(asList(keys));
+        return policy;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.activiti.core.common.spring.security.policies;
 
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.activiti.api.runtime.shared.security.SecurityManager;
@@ -22,6 +23,8 @@ import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesPr
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ContextConfiguration;
 
@@ -42,6 +45,9 @@ public class SecurityPoliciesServiceIT {
     @Autowired
     private SecurityManager securityManager;
 
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Test
     public void basicParsingTest() {
         List<SecurityPolicy> policies =
@@ -186,4 +192,27 @@ public class SecurityPoliciesServiceIT {
 
     }
 
+    @Test
+    @WithUserDetails(value = "garth", userDetailsServiceBeanName = "myUserDetailsService")
+    public void shouldRecompilePoliciesOnRefreshScopeRefresh() {
+        assertThat(processSecurityPoliciesManager.canWrite("SampleProcess4")).isFalse();
+
+        SecurityPolicy policy = new SecurityPolicy();
+        policy.setName("Refreshed Policy");
+        policy.setUsers(singletonList("garth"));
+        policy.setAccess(SecurityPolicyAccess.WRITE);
+        policy.setServiceName("myApp");
+        policy.setKeys(singletonList("SampleProcess4"));
+        securityPoliciesProperties.getPolicies().add(policy);
+        try {
+            applicationEventPublisher.publishEvent(new RefreshScopeRefreshedEvent());
+
+            assertThat(processSecurityPoliciesManager.canWrite("SampleProcess4")).isTrue();
+        } finally {
+            securityPoliciesProperties.getPolicies().remove(policy);
+            applicationEventPublisher.publishEvent(new RefreshScopeRefreshedEvent());
+        }
+        assertThat(processSecurityPoliciesManager.canWrite("SampleProcess4")).isFalse();
+    }
+
 }
@@ -16,16 +16,26 @@
 
 package org.activiti.runtime.api.conf;
 
+import java.util.ArrayList;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.engine.cfg.AbstractProcessEngineConfigurator;
+import org.activiti.engine.cfg.ProcessEngineConfigurator;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.bpmn.parser.factory.DefaultActivityBehaviorFactory;
 import org.activiti.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
 import org.activiti.engine.impl.el.ExpressionManager;
+import org.activiti.runtime.api.connector.AsyncConnectorExecutor;
+import org.activiti.runtime.api.connector.AsyncConnectorJobHandler;
+import org.activiti.runtime.api.connector.AsyncConnectorTimeoutJobHandler;
 import org.activiti.runtime.api.connector.DefaultServiceTaskBehavior;
 import org.activiti.runtime.api.connector.IntegrationContextBuilder;
 import org.activiti.runtime.api.impl.ExpressionResolver;
 import org.activiti.runtime.api.impl.ExtensionsVariablesMappingProvider;
 import org.activiti.spring.process.ProcessExtensionService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -56,10 +66,39 @@ public class ConnectorsAutoConfiguration {
     @ConditionalOnMissingBean(name = DefaultActivityBehaviorFactory.DEFAULT_SERVICE_TASK_BEAN_NAME)
     public DefaultServiceTaskBehavior defaultServiceTaskBehavior(ApplicationContext applicationContext,
                                                                  IntegrationContextBuilder integrationContextBuilder,
-                                                                 ExtensionsVariablesMappingProvider outboundVariablesProvider) {
+                                                                 ExtensionsVariablesMappingProvider outboundVariablesProvider,
+                                                                 @Autowired(required = false) AsyncConnectorExecutor asyncConnectorExecutor) {
         return new DefaultServiceTaskBehavior(applicationContext,
                                               integrationContextBuilder,
-                                              outboundVariablesProvider);
+                                              outboundVariablesProvider,
+                                              asyncConnectorExecutor);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.connectors.async.enabled", havingValue = "true")
+    public AsyncConnectorExecutor asyncConnectorExecutor() {
+        return new AsyncConnectorExecutor();
+    }
+
+    /**
+     * The retry and timeout jobs of asynchronous connectors are registered whether or not
+     * the async mode is enabled, so that jobs left behind after disabling it still run: the
+     * connector is then executed synchronously.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "asyncConnectorJobHandlerConfigurator")
+    public ProcessEngineConfigurator asyncConnectorJobHandlerConfigurator() {
+        return new AbstractProcessEngineConfigurator() {
+            @Override
+            public void beforeInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
+                if (processEngineConfiguration.getCustomJobHandlers() == null) {
+                    processEngineConfiguration.setCustomJobHandlers(new ArrayList<>());
+                }
+                processEngineConfiguration.getCustomJobHandlers().add(new AsyncConnectorJobHandler());
+                processEngineConfiguration.getCustomJobHandlers().add(new AsyncConnectorTimeoutJobHandler());
+            }
+        };
     }
 
     @Bean
@@ -50,7 +50,6 @@ import org.activiti.api.process.runtime.events.listener.ProcessRuntimeEventListe
 import org.activiti.api.runtime.shared.events.VariableEventListener;
 import org.activiti.common.util.DateFormatterProvider;
 import org.activiti.core.common.spring.security.policies.ProcessSecurityPoliciesManager;
-import org.activiti.engine.ManagementService;
 import org.activiti.engine.RepositoryService;
 import org.activiti.engine.RuntimeService;
 import org.activiti.engine.delegate.event.ActivitiEventType;
@@ -154,10 +153,8 @@ public class ProcessRuntimeAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean(ReceiveMessagePayloadEventListener.class)
-    public ReceiveMessagePayloadEventListener receiveMessagePayloadEventListener(RuntimeService runtimeService,
-                                                                                 ManagementService managementService) {
-        return new RuntimeReceiveMessagePayloadEventListener(runtimeService,
-                managementService);
+    public ReceiveMessagePayloadEventListener receiveMessagePayloadEventListener(RuntimeService runtimeService) {
+        return new RuntimeReceiveMessagePayloadEventListener(runtimeService);
     }
 
     @Bean
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.connector;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.api.process.model.IntegrationContext;
+import org.activiti.api.process.runtime.connector.Connector;
+
+/**
+ * Runs connectors outside of the engine transaction on a bounded pool of threads.
+ * <p>
+ * When the pool and its queue are full the returned future fails with a
+ * {@link RejectedExecutionException}, which the service task handles like any other
+ * connector failure: it is retried through a timer job.
+ * <p>
+ * When the timeout elapses the returned future fails with a {@link java.util.concurrent.TimeoutException}
+ * and the connector thread is interrupted. A connector that doesn't react to the interrupt
+ * keeps running while the failure is retried, and a node can stop before the result of a
+ * connector is recorded, so connectors are delivered at least once: the
+ * {@link IntegrationContext#getId() integration context id} stays the same for all attempts
+ * of one service task execution and can be used as an idempotency key.
+ */
+public class AsyncConnectorExecutor {
+
+    public static final int DEFAULT_POOL_SIZE = 10;
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ThreadPoolExecutor executor;
+
+    private final Duration timeout;
+
+    private final Duration recoveryDelay;
+
+    public AsyncConnectorExecutor() {
+        this(DEFAULT_POOL_SIZE,
+             DEFAULT_QUEUE_CAPACITY,
+             DEFAULT_TIMEOUT);
+    }
+
+    public AsyncConnectorExecutor(int poolSize,
+                                  int queueCapacity,
+                                  Duration timeout) {
+        this(poolSize,
+             queueCapacity,
+             timeout,
+             timeout.multipliedBy(2));
+    }
+
+    /**
+     * @param recoveryDelay the time after which a dispatched connector whose result was never
+     *                      recorded, for instance because the node stopped, is considered failed.
+     *                      It should be longer than the timeout.
+     */
+    public AsyncConnectorExecutor(int poolSize,
+                                  int queueCapacity,
+                                  Duration timeout,
+                                  Duration recoveryDelay) {
+        this.executor = new ThreadPoolExecutor(poolSize,
+                                               poolSize,
+                                               60L,
+                                               TimeUnit.SECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               new ConnectorThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timeout = timeout;
+        this.recoveryDelay = recoveryDelay;
+    }
+
+    public CompletableFuture<IntegrationContext> execute(Connector connector,
+                                                         IntegrationContext integrationContext) {
+        CompletableFuture<IntegrationContext> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    result.complete(connector.apply(integrationContext));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        result.orTimeout(timeout.toMillis(),
+                         TimeUnit.MILLISECONDS)
+            .whenComplete((integrationResult, error) -> {
+                if (error != null) {
+                    task.cancel(true);
+                }
+            });
+        return result;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Duration getRecoveryDelay() {
+        return recoveryDelay;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class ConnectorThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable,
+                                       "activiti-connector-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
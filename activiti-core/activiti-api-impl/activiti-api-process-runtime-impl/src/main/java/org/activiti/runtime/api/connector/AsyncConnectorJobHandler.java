@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.connector;
+
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.JobHandler;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntity;
+
+/**
+ * Dispatches a failed connector again once its retry timer is due, or when a dead
+ * letter job is moved back to the executable jobs.
+ * <p>
+ * The job configuration holds the id of the integration context of the failed attempts, which
+ * is reused for the next one. When it is gone the connector completed in the meantime and
+ * nothing is dispatched.
+ */
+public class AsyncConnectorJobHandler implements JobHandler {
+
+    public static final String TYPE = "async-connector";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job,
+                        String configuration,
+                        ExecutionEntity execution,
+                        CommandContext commandContext) {
+        FlowElement currentFlowElement = execution.getCurrentFlowElement();
+        Object behavior = currentFlowElement instanceof FlowNode ? ((FlowNode) currentFlowElement).getBehavior() : null;
+        if (!(behavior instanceof DefaultServiceTaskBehavior)) {
+            throw new ActivitiException("Execution " + execution.getId() + " is not waiting in a connector service task");
+        }
+        IntegrationContextEntity integrationContextEntity = null;
+        if (configuration != null) {
+            integrationContextEntity = commandContext.getProcessEngineConfiguration().getIntegrationContextManager().findById(configuration);
+            if (integrationContextEntity == null) {
+                return;
+            }
+        }
+        ((DefaultServiceTaskBehavior) behavior).retry(execution,
+                                                      job.getRetries(),
+                                                      integrationContextEntity);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.connector;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.JobHandler;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Fails an asynchronous connector attempt whose result was never recorded, for instance
+ * because the node running it stopped. The attempt then counts as a failed one: it is
+ * retried through an {@link AsyncConnectorJobHandler} job, or ends in a dead letter job.
+ * <p>
+ * The job configuration holds the id of the integration context of the attempt.
+ */
+public class AsyncConnectorTimeoutJobHandler implements JobHandler {
+
+    public static final String TYPE = "async-connector-timeout";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void execute(JobEntity job,
+                        String configuration,
+                        ExecutionEntity execution,
+                        CommandContext commandContext) {
+        new FailAsyncConnectorCmd(configuration,
+                                  null,
+                                  job.getRetries(),
+                                  new ActivitiException("The result of the connector for integration context " + configuration
+                                                            + " was not recorded in time"))
+            .execute(commandContext);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.connector;
+
+import java.util.Map;
+
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.AbstractJobEntity;
+import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextManager;
+
+/**
+ * Applies the result of a connector executed by the {@link AsyncConnectorExecutor}
+ * and moves the waiting execution out of the service task.
+ * <p>
+ * The timeout and retry jobs of the integration context are deleted: a result that arrives
+ * after an attempt was already considered failed still completes the service task.
+ */
+public class CompleteAsyncConnectorCmd implements Command<Void> {
+
+    private final String integrationContextId;
+
+    private final Map<String, Object> outBoundVariables;
+
+    public CompleteAsyncConnectorCmd(String integrationContextId,
+                                     Map<String, Object> outBoundVariables) {
+        this.integrationContextId = integrationContextId;
+        this.outBoundVariables = outBoundVariables;
+    }
+
+    @Override
+    public Void execute(CommandContext commandContext) {
+        IntegrationContextManager integrationContextManager = commandContext.getProcessEngineConfiguration().getIntegrationContextManager();
+        IntegrationContextEntity integrationContextEntity = integrationContextManager.findById(integrationContextId);
+        if (integrationContextEntity == null) {
+            // already completed, or removed together with its process instance
+            return null;
+        }
+        integrationContextManager.delete(integrationContextEntity);
+        deleteJobs(commandContext,
+                   integrationContextEntity);
+
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(integrationContextEntity.getExecutionId());
+        if (execution == null || !integrationContextEntity.getFlowNodeId().equals(execution.getCurrentActivityId())) {
+            return null;
+        }
+
+        if (outBoundVariables != null) {
+            execution.setVariablesLocal(outBoundVariables);
+        }
+        Context.getAgenda().planTriggerExecutionOperation(execution);
+        return null;
+    }
+
+    private void deleteJobs(CommandContext commandContext,
+                            IntegrationContextEntity integrationContextEntity) {
+        String executionId = integrationContextEntity.getExecutionId();
+        for (TimerJobEntity timerJob : commandContext.getTimerJobEntityManager().findJobsByExecutionId(executionId)) {
+            if (isJobOf(timerJob, integrationContextEntity)) {
+                commandContext.getTimerJobEntityManager().delete(timerJob);
+            }
+        }
+        for (DeadLetterJobEntity deadLetterJob : commandContext.getDeadLetterJobEntityManager().findJobsByExecutionId(executionId)) {
+            if (isJobOf(deadLetterJob, integrationContextEntity)) {
+                commandContext.getDeadLetterJobEntityManager().delete(deadLetterJob);
+            }
+        }
+    }
+
+    private boolean isJobOf(AbstractJobEntity job,
+                            IntegrationContextEntity integrationContextEntity) {
+        return (AsyncConnectorJobHandler.TYPE.equals(job.getJobHandlerType()) || AsyncConnectorTimeoutJobHandler.TYPE.equals(job.getJobHandlerType()))
+            && integrationContextEntity.getId().equals(job.getJobHandlerConfiguration());
+    }
+}
@@ -13,27 +13,65 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.activiti.runtime.api.connector;
 
+import java.util.Date;
+import java.util.concurrent.CompletionException;
+
 import org.activiti.api.process.model.IntegrationContext;
 import org.activiti.api.process.runtime.connector.Connector;
 import org.activiti.bpmn.model.ServiceTask;
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
 import org.activiti.engine.impl.bpmn.behavior.VariablesCalculator;
+import org.activiti.engine.impl.calendar.DurationHelper;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntityManager;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextManager;
+import org.activiti.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 
 public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultServiceTaskBehavior.class);
+
     private final ApplicationContext applicationContext;
     private final IntegrationContextBuilder integrationContextBuilder;
+    private final AsyncConnectorExecutor asyncConnectorExecutor;
 
     public DefaultServiceTaskBehavior(ApplicationContext applicationContext,
                                       IntegrationContextBuilder integrationContextBuilder,
                                       VariablesCalculator variablesCalculator) {
+        this(applicationContext,
+             integrationContextBuilder,
+             variablesCalculator,
+             null);
+    }
+
+    /**
+     * When an {@link AsyncConnectorExecutor} is given the connectors are not executed
+     * in the engine transaction: the service task persists an integration context and
+     * waits, the connector runs once the transaction is committed and its result
+     * triggers the execution in a follow-up command.
+     */
+    public DefaultServiceTaskBehavior(ApplicationContext applicationContext,
+                                      IntegrationContextBuilder integrationContextBuilder,
+                                      VariablesCalculator variablesCalculator,
+                                      AsyncConnectorExecutor asyncConnectorExecutor) {
         this.applicationContext = applicationContext;
         this.integrationContextBuilder = integrationContextBuilder;
+        this.asyncConnectorExecutor = asyncConnectorExecutor;
         setVariablesCalculator(variablesCalculator);
     }
 
@@ -43,6 +81,56 @@ public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior {
      **/
     @Override
     public void execute(DelegateExecution execution) {
+        if (isAsync()) {
+            dispatch(execution,
+                     resolveRetries(execution),
+                     null);
+        } else {
+            executeConnector(execution);
+        }
+    }
+
+    /**
+     * Runs the connector again after a failed asynchronous execution.
+     */
+    public void retry(DelegateExecution execution,
+                      int retries) {
+        retry(execution,
+              retries,
+              null);
+    }
+
+    /**
+     * Runs the connector again after a failed asynchronous execution, reusing the integration
+     * context of the previous attempts so its id stays the same.
+     */
+    public void retry(DelegateExecution execution,
+                      int retries,
+                      IntegrationContextEntity integrationContextEntity) {
+        if (isAsync()) {
+            dispatch(execution,
+                     retries,
+                     integrationContextEntity);
+        } else {
+            if (integrationContextEntity != null) {
+                Context.getProcessEngineConfiguration().getIntegrationContextManager().delete(integrationContextEntity);
+            }
+            executeConnector(execution);
+        }
+    }
+
+    @Override
+    public void trigger(DelegateExecution execution,
+                        String signalName,
+                        Object signalData) {
+        leave(execution);
+    }
+
+    public boolean isAsync() {
+        return asyncConnectorExecutor != null;
+    }
+
+    private void executeConnector(DelegateExecution execution) {
         Connector connector = getConnector(getImplementation(execution));
         IntegrationContext integrationContext = connector.apply(integrationContextBuilder.from(execution));
 
@@ -51,6 +139,79 @@ public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior {
         leave(execution);
     }
 
+    private void dispatch(DelegateExecution execution,
+                          int retries,
+                          IntegrationContextEntity existingIntegrationContextEntity) {
+        CommandContext commandContext = Context.getCommandContext();
+        ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+        IntegrationContextManager integrationContextManager = processEngineConfiguration.getIntegrationContextManager();
+
+        IntegrationContextEntity integrationContextEntity = existingIntegrationContextEntity;
+        if (integrationContextEntity == null) {
+            integrationContextEntity = integrationContextManager.create();
+            integrationContextEntity.setExecutionId(execution.getId());
+            integrationContextEntity.setProcessInstanceId(execution.getProcessInstanceId());
+            integrationContextEntity.setProcessDefinitionId(execution.getProcessDefinitionId());
+            integrationContextEntity.setFlowNodeId(execution.getCurrentActivityId());
+            integrationContextEntity.setCreatedDate(processEngineConfiguration.getClock().getCurrentTime());
+            integrationContextManager.insert(integrationContextEntity);
+        }
+
+        TimerJobEntity timeoutJob = insertTimeoutJob(commandContext,
+                                                     (ExecutionEntity) execution,
+                                                     integrationContextEntity,
+                                                     retries);
+
+        Connector connector = getConnector(getImplementation(execution));
+        IntegrationContext integrationContext = integrationContextBuilder.from(integrationContextEntity,
+                                                                              execution);
+        Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+                                                              new ConnectorDispatcher(processEngineConfiguration.getCommandExecutor(),
+                                                                                      connector,
+                                                                                      integrationContext,
+                                                                                      timeoutJob.getId(),
+                                                                                      retries));
+    }
+
+    /**
+     * Persists, in the transaction that dispatches the connector, a timer that fails the attempt
+     * if its result is never recorded, for instance because the node stopped before the connector
+     * finished. Recording the result of the connector deletes the timer.
+     */
+    private TimerJobEntity insertTimeoutJob(CommandContext commandContext,
+                                            ExecutionEntity execution,
+                                            IntegrationContextEntity integrationContextEntity,
+                                            int retries) {
+        TimerJobEntityManager timerJobEntityManager = commandContext.getTimerJobEntityManager();
+        TimerJobEntity timeoutJob = timerJobEntityManager.create();
+        timeoutJob.setJobType(Job.JOB_TYPE_TIMER);
+        timeoutJob.setExecution(execution);
+        timeoutJob.setExclusive(Job.DEFAULT_EXCLUSIVE);
+        timeoutJob.setJobHandlerType(AsyncConnectorTimeoutJobHandler.TYPE);
+        timeoutJob.setJobHandlerConfiguration(integrationContextEntity.getId());
+        timeoutJob.setRetries(retries);
+        timeoutJob.setTenantId(execution.getTenantId());
+        timeoutJob.setDuedate(new Date(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime().getTime()
+                                           + asyncConnectorExecutor.getRecoveryDelay().toMillis()));
+        timerJobEntityManager.insert(timeoutJob);
+        return timeoutJob;
+    }
+
+    private int resolveRetries(DelegateExecution execution) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+        String failedJobRetryTimeCycle = ((ServiceTask) execution.getCurrentFlowElement()).getFailedJobRetryTimeCycleValue();
+        if (failedJobRetryTimeCycle == null) {
+            return processEngineConfiguration.getAsyncExecutorNumberOfRetries();
+        }
+        try {
+            return new DurationHelper(failedJobRetryTimeCycle,
+                                      processEngineConfiguration.getClock()).getTimes();
+        } catch (Exception e) {
+            throw new ActivitiException("failedJobRetryTimeCycle has wrong format:" + failedJobRetryTimeCycle,
+                                        e);
+        }
+    }
+
     private String getImplementation(DelegateExecution execution) {
         return ((ServiceTask) execution.getCurrentFlowElement()).getImplementation();
     }
@@ -68,4 +229,75 @@ public class DefaultServiceTaskBehavior extends AbstractBpmnActivityBehavior {
         String implementation = getServiceTaskImplementation(execution);
         return applicationContext.containsBean(implementation) && applicationContext.getBean(implementation) instanceof Connector;
     }
+
+    /**
+     * Starts the connector once the transaction that persisted the integration context
+     * and its timeout job is committed, so that neither the connection nor the calling
+     * thread are held while it runs, its result always finds them, and a rolled back
+     * transaction never runs the connector.
+     */
+    private class ConnectorDispatcher implements TransactionListener {
+
+        private final CommandExecutor commandExecutor;
+        private final Connector connector;
+        private final IntegrationContext integrationContext;
+        private final String timeoutJobId;
+        private final int retries;
+
+        ConnectorDispatcher(CommandExecutor commandExecutor,
+                            Connector connector,
+                            IntegrationContext integrationContext,
+                            String timeoutJobId,
+                            int retries) {
+            this.commandExecutor = commandExecutor;
+            this.connector = connector;
+            this.integrationContext = integrationContext;
+            this.timeoutJobId = timeoutJobId;
+            this.retries = retries;
+        }
+
+        @Override
+        public void execute(CommandContext commandContext) {
+            asyncConnectorExecutor.execute(connector,
+                                           integrationContext)
+                .whenComplete((result, error) -> {
+                    if (error == null) {
+                        complete(commandExecutor,
+                                 result);
+                    } else {
+                        fail(commandExecutor,
+                             error);
+                    }
+                });
+        }
+
+        private void complete(CommandExecutor commandExecutor,
+                              IntegrationContext result) {
+            try {
+                commandExecutor.execute(new CompleteAsyncConnectorCmd(integrationContext.getId(),
+                                                                      result.getOutBoundVariables()));
+            } catch (RuntimeException e) {
+                fail(commandExecutor,
+                     e);
+            }
+        }
+
+        private void fail(CommandExecutor commandExecutor,
+                          Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            LOGGER.debug("Connector execution failed for integration context {}",
+                         integrationContext.getId(),
+                         cause);
+            try {
+                commandExecutor.execute(new FailAsyncConnectorCmd(integrationContext.getId(),
+                                                                  timeoutJobId,
+                                                                  retries,
+                                                                  cause));
+            } catch (RuntimeException e) {
+                LOGGER.error("Unable to record the failure of integration context {}",
+                             integrationContext.getId(),
+                             e);
+            }
+        }
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.connector;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.ServiceTask;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.calendar.DurationHelper;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.AbstractJobEntity;
+import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextManager;
+import org.activiti.engine.runtime.Job;
+
+/**
+ * Records a failed or timed out connector execution the same way a failing job is
+ * recorded: as a timer job holding the remaining retries and the exception, or as a
+ * dead letter job once the retries are exhausted. The job is handled by the
+ * {@link AsyncConnectorJobHandler}, which dispatches the connector again with the same
+ * integration context.
+ * <p>
+ * Each attempt is guarded by a timeout job, which is deleted here. When the timeout job
+ * is gone the attempt was already recorded as failed by the
+ * {@link AsyncConnectorTimeoutJobHandler}, and the late failure is ignored.
+ */
+public class FailAsyncConnectorCmd implements Command<AbstractJobEntity> {
+
+    private final String integrationContextId;
+
+    private final String timeoutJobId;
+
+    private final int retries;
+
+    private final Throwable exception;
+
+    /**
+     * @param timeoutJobId the timeout job of the failed attempt, or null when the failure is
+     *                     recorded by the timeout job itself
+     */
+    public FailAsyncConnectorCmd(String integrationContextId,
+                                 String timeoutJobId,
+                                 int retries,
+                                 Throwable exception) {
+        this.integrationContextId = integrationContextId;
+        this.timeoutJobId = timeoutJobId;
+        this.retries = retries;
+        this.exception = exception;
+    }
+
+    @Override
+    public AbstractJobEntity execute(CommandContext commandContext) {
+        IntegrationContextManager integrationContextManager = commandContext.getProcessEngineConfiguration().getIntegrationContextManager();
+        IntegrationContextEntity integrationContextEntity = integrationContextManager.findById(integrationContextId);
+        if (integrationContextEntity == null) {
+            return null;
+        }
+
+        if (timeoutJobId != null) {
+            TimerJobEntity timeoutJob = commandContext.getTimerJobEntityManager().findById(timeoutJobId);
+            if (timeoutJob == null) {
+                return null;
+            }
+            commandContext.getTimerJobEntityManager().delete(timeoutJob);
+        }
+
+        ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(integrationContextEntity.getExecutionId());
+        if (execution == null || !integrationContextEntity.getFlowNodeId().equals(execution.getCurrentActivityId())) {
+            integrationContextManager.delete(integrationContextEntity);
+            return null;
+        }
+
+        int remainingRetries = retries - 1;
+        AbstractJobEntity job;
+        if (remainingRetries <= 0) {
+            DeadLetterJobEntity deadLetterJob = commandContext.getDeadLetterJobEntityManager().create();
+            initJob(deadLetterJob, execution, integrationContextEntity, 0);
+            commandContext.getDeadLetterJobEntityManager().insert(deadLetterJob);
+            job = deadLetterJob;
+        } else {
+            TimerJobEntity timerJob = commandContext.getTimerJobEntityManager().create();
+            initJob(timerJob, execution, integrationContextEntity, remainingRetries);
+            timerJob.setDuedate(calculateRetryDate(commandContext,
+                                                  execution));
+            commandContext.getTimerJobEntityManager().insert(timerJob);
+            job = timerJob;
+        }
+        return job;
+    }
+
+    private void initJob(AbstractJobEntity job,
+                         ExecutionEntity execution,
+                         IntegrationContextEntity integrationContextEntity,
+                         int jobRetries) {
+        job.setJobType(Job.JOB_TYPE_TIMER);
+        job.setExecution(execution);
+        job.setExclusive(Job.DEFAULT_EXCLUSIVE);
+        job.setJobHandlerType(AsyncConnectorJobHandler.TYPE);
+        job.setJobHandlerConfiguration(integrationContextEntity.getId());
+        job.setRetries(jobRetries);
+        job.setTenantId(execution.getTenantId());
+        if (exception != null) {
+            job.setExceptionMessage(exception.getMessage());
+            job.setExceptionStacktrace(getExceptionStacktrace());
+        }
+    }
+
+    private Date calculateRetryDate(CommandContext commandContext,
+                                    ExecutionEntity execution) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+        FlowElement currentFlowElement = execution.getCurrentFlowElement();
+        String failedJobRetryTimeCycle = currentFlowElement instanceof ServiceTask ?
+            ((ServiceTask) currentFlowElement).getFailedJobRetryTimeCycleValue() : null;
+        if (failedJobRetryTimeCycle != null) {
+            try {
+                return new DurationHelper(failedJobRetryTimeCycle,
+                                          processEngineConfiguration.getClock()).getDateAfter();
+            } catch (Exception e) {
+                throw new ActivitiException("failedJobRetryTimeCycle has wrong format:" + failedJobRetryTimeCycle,
+                                            e);
+            }
+        }
+        Calendar calendar = new GregorianCalendar();
+        calendar.setTime(processEngineConfiguration.getClock().getCurrentTime());
+        calendar.add(Calendar.SECOND,
+                     processEngineConfiguration.getAsyncFailedJobWaitTime());
+        return calendar.getTime();
+    }
+
+    private String getExceptionStacktrace() {
+        StringWriter stringWriter = new StringWriter();
+        exception.printStackTrace(new PrintWriter(stringWriter));
+        return stringWriter.toString();
+    }
+}
@@ -16,8 +16,10 @@
 package org.activiti.runtime.api.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -42,6 +44,7 @@ public class ExpressionResolver {
     private static final String EXPRESSION_PATTERN_STRING = "([\\$]\\{([^\\}]*)\\})";
     private static final Pattern EXPRESSION_PATTERN = Pattern.compile(EXPRESSION_PATTERN_STRING);
     private static final int EXPRESSION_KEY_INDEX = 1;
+    private static final String EXPRESSION_START = "${";
 
     private ObjectMapper mapper;
     private final DelegateInterceptor delegateInterceptor;
@@ -56,8 +59,8 @@ public class ExpressionResolver {
         this.delegateInterceptor = delegateInterceptor;
     }
 
-    private Object resolveExpressions(final ExpressionEvaluator expressionEvaluator,
-                                      final Object value) {
+    public Object resolveExpressions(final ExpressionEvaluator expressionEvaluator,
+                                     final Object value) {
         if (value instanceof String) {
             return resolveExpressionsString(expressionEvaluator,
                                             (String) value);
@@ -96,7 +99,7 @@ public class ExpressionResolver {
 
     private Object resolveExpressionsString(final ExpressionEvaluator expressionEvaluator,
                                             final String sourceString) {
-        if (StringUtils.isBlank(sourceString)) {
+        if (StringUtils.isBlank(sourceString) || !sourceString.contains(EXPRESSION_START)) {
             return sourceString;
         }
         if (sourceString.matches(EXPRESSION_PATTERN_STRING)) {
@@ -110,8 +113,16 @@ public class ExpressionResolver {
 
     private Object resolveObjectPlaceHolder(ExpressionEvaluator expressionEvaluator,
                                             String sourceString) {
+        return resolveObjectPlaceHolder(expressionEvaluator,
+                                        expressionManager.createExpression(sourceString),
+                                        sourceString);
+    }
+
+    private Object resolveObjectPlaceHolder(ExpressionEvaluator expressionEvaluator,
+                                            Expression expression,
+                                            String sourceString) {
         try {
-            return expressionEvaluator.evaluate(expressionManager.createExpression(sourceString), expressionManager,
+            return expressionEvaluator.evaluate(expression, expressionManager,
                 delegateInterceptor);
         } catch (final Exception e) {
             logger.warn("Unable to resolve expression in variables, keeping original value",
@@ -141,14 +152,101 @@ public class ExpressionResolver {
         return sb.toString();
     }
 
+    /**
+     * Compiles a value known upfront (e.g. a mapping value of a process extension) into a template:
+     * scanning for <code>${}</code> placeholders, parsing their expressions and converting JSON objects is done once here,
+     * resolving the template only evaluates the expressions. The resolved value is the same
+     * {@link #resolveExpressions(ExpressionEvaluator, Object)} would return for the original value.
+     */
+    public ExpressionTemplate compileTemplate(final Object value) {
+        if (value instanceof String) {
+            return compileStringTemplate((String) value);
+        } else if (value instanceof ObjectNode) {
+            return compileMapTemplate(mapper.convertValue(value,
+                                                          MAP_STRING_OBJECT_TYPE));
+        } else if (value instanceof Map<?, ?>) {
+            return compileMapTemplate((Map<String, ?>) value);
+        } else if (value instanceof List<?>) {
+            return compileListTemplate((List<?>) value);
+        } else {
+            return expressionEvaluator -> value;
+        }
+    }
+
+    private ExpressionTemplate compileMapTemplate(final Map<String, ?> sourceMap) {
+        final Map<String, ExpressionTemplate> templates = new LinkedHashMap<>();
+        sourceMap.forEach((key,
+                           value) -> templates.put(key,
+                                                   compileTemplate(value)));
+        return expressionEvaluator -> {
+            final Map<String, Object> result = new LinkedHashMap<>();
+            templates.forEach((key,
+                               template) -> result.put(key,
+                                                       template.resolve(expressionEvaluator)));
+            return result;
+        };
+    }
+
+    private ExpressionTemplate compileListTemplate(final List<?> sourceList) {
+        final List<ExpressionTemplate> templates = new ArrayList<>();
+        sourceList.forEach(value -> templates.add(compileTemplate(value)));
+        return expressionEvaluator -> {
+            final List<Object> result = new LinkedList<>();
+            templates.forEach(template -> result.add(template.resolve(expressionEvaluator)));
+            return result;
+        };
+    }
+
+    private ExpressionTemplate compileStringTemplate(final String sourceString) {
+        if (StringUtils.isBlank(sourceString) || !containsExpressionString(sourceString)) {
+            return expressionEvaluator -> sourceString;
+        }
+        if (sourceString.matches(EXPRESSION_PATTERN_STRING)) {
+            final Expression expression = expressionManager.createExpression(sourceString);
+            return expressionEvaluator -> resolveObjectPlaceHolder(expressionEvaluator,
+                                                                   expression,
+                                                                   sourceString);
+        }
+
+        // alternating literal text and expressions, always starting and ending with (possibly empty) text
+        final List<String> texts = new ArrayList<>();
+        final List<String> expressionKeys = new ArrayList<>();
+        final List<Expression> expressions = new ArrayList<>();
+        final Matcher matcher = EXPRESSION_PATTERN.matcher(sourceString);
+        int textStart = 0;
+        while (matcher.find()) {
+            texts.add(sourceString.substring(textStart, matcher.start()));
+            final String expressionKey = matcher.group(EXPRESSION_KEY_INDEX);
+            expressionKeys.add(expressionKey);
+            expressions.add(expressionManager.createExpression(expressionKey));
+            textStart = matcher.end();
+        }
+        texts.add(sourceString.substring(textStart));
+
+        return expressionEvaluator -> {
+            final StringBuilder sb = new StringBuilder(texts.get(0));
+            for (int i = 0; i < expressions.size(); i++) {
+                try {
+                    sb.append(Objects.toString(expressionEvaluator.evaluate(expressions.get(i), expressionManager,
+                        delegateInterceptor)));
+                } catch (final Exception e) {
+                    logger.warn("Unable to resolve expression in variables, keeping original value",
+                                e);
+                    sb.append(expressionKeys.get(i));
+                }
+                sb.append(texts.get(i + 1));
+            }
+            return sb.toString();
+        };
+    }
+
     public boolean containsExpression(final Object source) {
         if (source == null) {
             return false;
         } else if (source instanceof String) {
             return containsExpressionString((String) source);
         } else if (source instanceof ObjectNode) {
-            return containsExpressionMap(mapper.convertValue(source,
-                                                             MAP_STRING_OBJECT_TYPE));
+            return containsExpressionJsonNode((ObjectNode) source);
         } else if (source instanceof Map<?, ?>) {
             return containsExpressionMap((Map<String, ?>) source);
         } else if (source instanceof List<?>) {
@@ -159,7 +257,19 @@ public class ExpressionResolver {
     }
 
     private boolean containsExpressionString(final String sourceString) {
-        return EXPRESSION_PATTERN.matcher(sourceString).find();
+        return sourceString.contains(EXPRESSION_START) && EXPRESSION_PATTERN.matcher(sourceString).find();
+    }
+
+    private boolean containsExpressionJsonNode(final JsonNode source) {
+        if (source.isTextual()) {
+            return containsExpressionString(source.textValue());
+        }
+        for (JsonNode child : source) {
+            if (containsExpressionJsonNode(child)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private boolean containsExpressionMap(final Map<String, ?> source) {
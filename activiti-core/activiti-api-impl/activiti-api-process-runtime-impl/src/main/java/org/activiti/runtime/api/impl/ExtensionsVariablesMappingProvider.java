@@ -20,127 +20,105 @@ import static java.util.Collections.emptyMap;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.impl.bpmn.behavior.MappingExecutionContext;
 import org.activiti.engine.impl.bpmn.behavior.VariablesCalculator;
+import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
+import org.activiti.runtime.api.impl.VariablesMappingPlan.ActivityPlan;
 import org.activiti.spring.process.ProcessExtensionService;
-import org.activiti.spring.process.model.ConstantDefinition;
-import org.activiti.spring.process.model.Extension;
-import org.activiti.spring.process.model.Mapping;
-import org.activiti.spring.process.model.ProcessConstantsMapping;
-import org.activiti.spring.process.model.ProcessVariablesMapping;
-import org.activiti.spring.process.model.VariableDefinition;
 
+/**
+ * Applies the variable mappings and constants of the process extensions. The extensions of a process definition
+ * are compiled once into a {@link VariablesMappingPlan}, cached by process definition id: applying it doesn't look up
+ * the process definition, nor re-parse the expressions of the mapping values. Like the extensions in the
+ * {@link ProcessExtensionService}, the plans are kept in a bounded LRU cache.
+ */
 public class ExtensionsVariablesMappingProvider implements VariablesCalculator {
 
     private ProcessExtensionService processExtensionService;
 
     private ExpressionResolver expressionResolver;
 
+    private DeploymentCache<VariablesMappingPlan> mappingPlans = new DefaultDeploymentCache<>(ProcessExtensionService.DEFAULT_CACHE_LIMIT);
+
     public ExtensionsVariablesMappingProvider(ProcessExtensionService processExtensionService,
                                     ExpressionResolver expressionResolver) {
         this.processExtensionService = processExtensionService;
         this.expressionResolver = expressionResolver;
     }
 
-    protected Optional<Object> calculateMappedValue(Mapping inputMapping,
-                                                    DelegateExecution execution,
-                                                    Extension extensions) {
-        if (inputMapping != null) {
-            if (Mapping.SourceMappingType.VALUE.equals(inputMapping.getType())) {
-                return Optional.of(inputMapping.getValue());
-            }
-
-            if (Mapping.SourceMappingType.VARIABLE.equals(inputMapping.getType())) {
-                String name = inputMapping.getValue().toString();
-
-                VariableDefinition processVariableDefinition = extensions.getPropertyByName(name);
-                if (processVariableDefinition != null) {
-                    return Optional.ofNullable(execution.getVariable(processVariableDefinition.getName()));
-                }
-            }
+    protected VariablesMappingPlan getMappingPlan(String processDefinitionId) {
+        VariablesMappingPlan mappingPlan = mappingPlans.get(processDefinitionId);
+        if (mappingPlan == null) {
+            // compiling is idempotent, so concurrent misses for the same process definition may both compile
+            mappingPlan = VariablesMappingPlan.compile(processExtensionService.getExtensionsForId(processDefinitionId),
+                                                       expressionResolver);
+            mappingPlans.add(processDefinitionId,
+                             mappingPlan);
         }
-        return Optional.empty();
+        return mappingPlan;
     }
 
-    public Map<String, Object> calculateInputVariables(DelegateExecution execution) {
+    /**
+     * Sets the maximum number of process definitions whose mapping plan is cached; a limit of 0 or less
+     * keeps all of them. Replaces the plans cached so far.
+     */
+    public void setMappingPlanCacheLimit(int mappingPlanCacheLimit) {
+        this.mappingPlans = mappingPlanCacheLimit > 0 ? new DefaultDeploymentCache<>(mappingPlanCacheLimit) : new DefaultDeploymentCache<>();
+    }
 
-        Extension extensions = processExtensionService.getExtensionsForId(execution.getProcessDefinitionId());
+    public Map<String, Object> calculateInputVariables(DelegateExecution execution) {
 
-        Map<String, Object> constants = calculateConstants(execution, extensions);
+        ActivityPlan plan = getMappingPlan(execution.getProcessDefinitionId()).getActivityPlan(execution.getCurrentActivityId());
 
-        if (!extensions.hasMapping(execution.getCurrentActivityId())) {
-            return constants;
+        if (!plan.isMapped()) {
+            return new HashMap<>(plan.getConstants());
         }
 
+        ExpressionEvaluator expressionEvaluator = new VariableScopeExpressionEvaluator(execution);
         Map<String, Object> inboundVariables;
 
-        if (extensions.shouldMapAllInputs(execution.getCurrentActivityId())) {
-            inboundVariables = execution.getVariables();
+        if (plan.isMapAllInputs()) {
+            inboundVariables = expressionResolver.resolveExpressionsMap(expressionEvaluator, execution.getVariables());
         } else {
-            inboundVariables = calculateInputVariables(execution, extensions);
+            inboundVariables = calculateInputVariables(execution, plan, expressionEvaluator);
         }
-        inboundVariables = expressionResolver.resolveExpressionsMap(new VariableScopeExpressionEvaluator(execution), inboundVariables);
-        inboundVariables.putAll(constants);
+        inboundVariables.putAll(plan.getConstants());
         return inboundVariables;
     }
 
-    private Map<String, Object> calculateConstants(DelegateExecution execution,
-                                                   Extension extensions) {
-        Map<String, Object> constants = new HashMap<>();
-
-        ProcessConstantsMapping processConstantsMapping = extensions.getConstantForFlowElement(execution.getCurrentActivityId());
-        for (Map.Entry<String, ConstantDefinition> mapping : processConstantsMapping.entrySet()) {
-            constants.put(mapping.getKey(), mapping.getValue().getValue());
-        }
-        return constants;
-    }
-
     private Map<String, Object> calculateInputVariables(DelegateExecution execution,
-                                                        Extension extensions) {
+                                                        ActivityPlan plan,
+                                                        ExpressionEvaluator expressionEvaluator) {
         Map<String, Object> inboundVariables = new HashMap<>();
 
-        ProcessVariablesMapping processVariablesMapping = extensions.getMappingForFlowElement(execution.getCurrentActivityId());
-
-        Map<String, Mapping> inputMappings = processVariablesMapping.getInputs();
-        for (Map.Entry<String, Mapping> mapping : inputMappings.entrySet()) {
-            Optional<Object> mappedValue = calculateMappedValue(mapping.getValue(),
-                                                                execution,
-                                                                extensions);
-            mappedValue.ifPresent(value -> inboundVariables.put(mapping.getKey(),
-                                                                value));
-        }
-        return inboundVariables;
-    }
-
-    private Optional<Object> calculateOutPutMappedValue(Mapping mapping,
-                                                        Map<String, Object> currentContextVariables) {
-        if (mapping != null) {
-            if (Mapping.SourceMappingType.VALUE.equals(mapping.getType())) {
-                return Optional.of(mapping.getValue());
-            } else {
-                if (Mapping.SourceMappingType.VARIABLE.equals(mapping.getType())) {
-                    String name = mapping.getValue().toString();
-
-                    return currentContextVariables != null ? Optional.ofNullable(currentContextVariables.get(name)) : Optional.empty();
-                }
+        for (Map.Entry<String, String> mapping : plan.getInputVariables().entrySet()) {
+            Object value = execution.getVariable(mapping.getValue());
+            if (value != null) {
+                // variable values can hold expressions as well
+                inboundVariables.put(mapping.getKey(),
+                                     expressionResolver.resolveExpressions(expressionEvaluator, value));
             }
         }
-        return Optional.empty();
+        for (Map.Entry<String, ExpressionTemplate> mapping : plan.getInputValues().entrySet()) {
+            inboundVariables.put(mapping.getKey(),
+                                 mapping.getValue().resolve(expressionEvaluator));
+        }
+        return inboundVariables;
     }
 
     public Map<String, Object> calculateOutPutVariables(MappingExecutionContext mappingExecutionContext,
                                                         Map<String, Object> availableVariables) {
 
-        Extension extensions = processExtensionService.getExtensionsForId(mappingExecutionContext.getProcessDefinitionId());
+        ActivityPlan plan = getMappingPlan(mappingExecutionContext.getProcessDefinitionId()).getActivityPlan(mappingExecutionContext.getActivityId());
 
-        if (!extensions.hasMapping(mappingExecutionContext.getActivityId())) {
+        if (!plan.isMapped()) {
             return emptyMap();
         }
 
-        if (extensions.shouldMapAllOutputs(mappingExecutionContext.getActivityId())) {
+        if (plan.isMapAllOutputs()) {
             return (availableVariables != null ? new HashMap<>(availableVariables) : emptyMap());
         }
 
@@ -148,34 +126,29 @@ public class ExtensionsVariablesMappingProvider implements VariablesCalculator {
             if (expressionResolver.containsExpression(availableVariables)) {
                 throw new ActivitiIllegalArgumentException("Expressions are not allowed as variable values in the output mapping");
             }
-            return calculateOutPutVariables(mappingExecutionContext, extensions, availableVariables);
+            return calculateOutPutVariables(plan, availableVariables);
         } else {
             return emptyMap();
         }
     }
 
-    private Map<String, Object> calculateOutPutVariables(MappingExecutionContext mappingExecutionContext,
-                                                         Extension extensions,
+    private Map<String, Object> calculateOutPutVariables(ActivityPlan plan,
                                                          Map<String, Object> availableVariables) {
         Map<String, Object> outboundVariables = new HashMap<>();
-        ProcessVariablesMapping processVariablesMapping = extensions.getMappingForFlowElement(mappingExecutionContext.getActivityId());
-        Map<String, Mapping> outputMappings = processVariablesMapping.getOutputs();
-
-        for (Map.Entry<String, Mapping> mapping : outputMappings.entrySet()) {
+        ExpressionEvaluator expressionEvaluator = new SimpleMapExpressionEvaluator(availableVariables);
 
-            String name = mapping.getKey();
-
-            VariableDefinition processVariableDefinition = extensions.getPropertyByName(name);
-
-            if (processVariableDefinition != null) {
-                calculateOutPutMappedValue(mapping.getValue(),
-                                           availableVariables)
-                                                              .ifPresent(value -> outboundVariables.put(name, value));
+        for (Map.Entry<String, String> mapping : plan.getOutputVariables().entrySet()) {
+            Object value = availableVariables.get(mapping.getValue());
+            if (value != null) {
+                outboundVariables.put(mapping.getKey(),
+                                      expressionResolver.resolveExpressions(expressionEvaluator, value));
             }
         }
+        for (Map.Entry<String, ExpressionTemplate> mapping : plan.getOutputValues().entrySet()) {
+            outboundVariables.put(mapping.getKey(),
+                                  mapping.getValue().resolve(expressionEvaluator));
+        }
 
-        return expressionResolver.resolveExpressionsMap(new SimpleMapExpressionEvaluator(availableVariables
-            ),
-                                                        outboundVariables);
+        return outboundVariables;
     }
 }
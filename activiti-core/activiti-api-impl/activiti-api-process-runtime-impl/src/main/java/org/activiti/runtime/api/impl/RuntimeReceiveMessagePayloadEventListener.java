@@ -16,33 +16,24 @@
 package org.activiti.runtime.api.impl;
 
 import org.activiti.api.process.model.payloads.ReceiveMessagePayload;
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiObjectNotFoundException;
-import org.activiti.engine.ManagementService;
 import org.activiti.engine.RuntimeService;
-import org.activiti.engine.impl.EventSubscriptionQueryImpl;
-import org.activiti.engine.impl.interceptor.Command;
-import org.activiti.engine.impl.interceptor.CommandContext;
-import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.activiti.engine.runtime.MessageCorrelationResult;
 import org.activiti.runtime.api.message.ReceiveMessagePayloadEventListener;
 
-import java.util.Map;
-import java.util.Objects;
-
 /**
- * Default implementation of SignalPayloadEventListener that delegates
- * Spring SignalPayload event into embedded RuntimeService.
+ * Default implementation of ReceiveMessagePayloadEventListener that delegates
+ * Spring ReceiveMessagePayload event into embedded RuntimeService.
  *
+ * The subscription lookup and the message delivery run in a single engine command.
  */
 public class RuntimeReceiveMessagePayloadEventListener implements ReceiveMessagePayloadEventListener {
 
     private final RuntimeService runtimeService;
 
-    private final ManagementService managementService;
-
-    public RuntimeReceiveMessagePayloadEventListener(RuntimeService runtimeService,
-                                                     ManagementService managementService) {
+    public RuntimeReceiveMessagePayloadEventListener(RuntimeService runtimeService) {
         this.runtimeService = runtimeService;
-        this.managementService = managementService;
     }
 
     @Override
@@ -50,35 +41,16 @@ public class RuntimeReceiveMessagePayloadEventListener implements ReceiveMessage
         String messageName = messagePayload.getName();
         String correlationKey = messagePayload.getCorrelationKey();
 
-        EventSubscriptionEntity subscription = managementService.executeCommand(new FindMessageEventSubscription(messageName,
-                                                                                                                 correlationKey));
-        if (subscription != null && Objects.equals(correlationKey, subscription.getConfiguration())) {
-            Map<String, Object> variables = messagePayload.getVariables();
-            String executionId = subscription.getExecutionId();
-
-            runtimeService.messageEventReceived(messageName,
-                                                executionId,
-                                                variables);
-        } else {
-            throw new ActivitiObjectNotFoundException("Message subscription name '" + messageName + "' with correlation key '" + correlationKey + "' not found.");
-        }
-    }
-
-    static class FindMessageEventSubscription implements Command<EventSubscriptionEntity> {
-
-        private final String messageName;
-        private final String correlationKey;
-
-        public FindMessageEventSubscription(String messageName, String correlationKey) {
-            this.messageName = messageName;
-            this.correlationKey = correlationKey;
-        }
-
-        public EventSubscriptionEntity execute(CommandContext commandContext) {
-            return new EventSubscriptionQueryImpl(commandContext).eventType("message")
-                                                                 .eventName(messageName)
-                                                                 .configuration(correlationKey)
-                                                                 .singleResult();
+        MessageCorrelationResult result = runtimeService.correlateMessage(messageName,
+                                                                          correlationKey,
+                                                                          messagePayload.getVariables());
+        switch (result.getStatus()) {
+            case CORRELATED:
+                break;
+            case SUSPENDED:
+                throw new ActivitiException("Cannot deliver message '" + messageName + "' with correlation key '" + correlationKey + "' because execution '" + result.getExecutionId() + "' is suspended");
+            default:
+                throw new ActivitiObjectNotFoundException("Message subscription name '" + messageName + "' with correlation key '" + correlationKey + "' not found.");
         }
     }
 }
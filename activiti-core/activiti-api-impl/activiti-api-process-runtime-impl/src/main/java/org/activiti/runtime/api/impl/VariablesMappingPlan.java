@@ -0,0 +1,188 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.impl;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.activiti.spring.process.model.ConstantDefinition;
+import org.activiti.spring.process.model.Extension;
+import org.activiti.spring.process.model.Mapping;
+import org.activiti.spring.process.model.ProcessVariablesMapping;
+
+/**
+ * Immutable, precompiled form of the variable mappings and constants of the activities of one process definition,
+ * as applied by the {@link ExtensionsVariablesMappingProvider}.
+ */
+public class VariablesMappingPlan {
+
+    private final Map<String, ActivityPlan> activityPlans;
+
+    private VariablesMappingPlan(Map<String, ActivityPlan> activityPlans) {
+        this.activityPlans = activityPlans;
+    }
+
+    public static VariablesMappingPlan compile(Extension extensions,
+                                               ExpressionResolver expressionResolver) {
+        Set<String> activityIds = new HashSet<>(extensions.getMappings().keySet());
+        activityIds.addAll(extensions.getConstants().keySet());
+
+        Map<String, ActivityPlan> activityPlans = new HashMap<>();
+        for (String activityId : activityIds) {
+            activityPlans.put(activityId,
+                              ActivityPlan.compile(extensions,
+                                                   activityId,
+                                                   expressionResolver));
+        }
+        return new VariablesMappingPlan(unmodifiableMap(activityPlans));
+    }
+
+    public ActivityPlan getActivityPlan(String activityId) {
+        ActivityPlan activityPlan = activityPlans.get(activityId);
+        return activityPlan != null ? activityPlan : ActivityPlan.EMPTY;
+    }
+
+    public static class ActivityPlan {
+
+        private static final ActivityPlan EMPTY = new ActivityPlan(false, false, false, emptyMap(), emptyMap(), emptyMap(), emptyMap(), emptyMap());
+
+        private final boolean mapped;
+        private final boolean mapAllInputs;
+        private final boolean mapAllOutputs;
+        private final Map<String, Object> constants;
+        private final Map<String, String> inputVariables;
+        private final Map<String, ExpressionTemplate> inputValues;
+        private final Map<String, String> outputVariables;
+        private final Map<String, ExpressionTemplate> outputValues;
+
+        private ActivityPlan(boolean mapped,
+                             boolean mapAllInputs,
+                             boolean mapAllOutputs,
+                             Map<String, Object> constants,
+                             Map<String, String> inputVariables,
+                             Map<String, ExpressionTemplate> inputValues,
+                             Map<String, String> outputVariables,
+                             Map<String, ExpressionTemplate> outputValues) {
+            this.mapped = mapped;
+            this.mapAllInputs = mapAllInputs;
+            this.mapAllOutputs = mapAllOutputs;
+            this.constants = constants;
+            this.inputVariables = inputVariables;
+            this.inputValues = inputValues;
+            this.outputVariables = outputVariables;
+            this.outputValues = outputValues;
+        }
+
+        private static ActivityPlan compile(Extension extensions,
+                                            String activityId,
+                                            ExpressionResolver expressionResolver) {
+            Map<String, Object> constants = new HashMap<>();
+            for (Map.Entry<String, ConstantDefinition> constant : extensions.getConstantForFlowElement(activityId).entrySet()) {
+                constants.put(constant.getKey(), constant.getValue().getValue());
+            }
+
+            if (!extensions.hasMapping(activityId)) {
+                return new ActivityPlan(false, false, false, unmodifiableMap(constants), emptyMap(), emptyMap(), emptyMap(), emptyMap());
+            }
+
+            ProcessVariablesMapping processVariablesMapping = extensions.getMappingForFlowElement(activityId);
+
+            // inputs: variables are only mapped when declared as process variable
+            Map<String, String> inputVariables = new HashMap<>();
+            Map<String, ExpressionTemplate> inputValues = new HashMap<>();
+            for (Map.Entry<String, Mapping> mapping : processVariablesMapping.getInputs().entrySet()) {
+                Mapping inputMapping = mapping.getValue();
+                if (inputMapping == null) {
+                    continue;
+                }
+                if (Mapping.SourceMappingType.VALUE.equals(inputMapping.getType())) {
+                    inputValues.put(mapping.getKey(), expressionResolver.compileTemplate(inputMapping.getValue()));
+                } else if (Mapping.SourceMappingType.VARIABLE.equals(inputMapping.getType())) {
+                    String name = inputMapping.getValue().toString();
+                    if (extensions.getPropertyByName(name) != null) {
+                        inputVariables.put(mapping.getKey(), name);
+                    }
+                }
+            }
+
+            // outputs: only mapped to variables declared as process variable
+            Map<String, String> outputVariables = new HashMap<>();
+            Map<String, ExpressionTemplate> outputValues = new HashMap<>();
+            for (Map.Entry<String, Mapping> mapping : processVariablesMapping.getOutputs().entrySet()) {
+                Mapping outputMapping = mapping.getValue();
+                if (outputMapping == null || extensions.getPropertyByName(mapping.getKey()) == null) {
+                    continue;
+                }
+                if (Mapping.SourceMappingType.VALUE.equals(outputMapping.getType())) {
+                    outputValues.put(mapping.getKey(), expressionResolver.compileTemplate(outputMapping.getValue()));
+                } else if (Mapping.SourceMappingType.VARIABLE.equals(outputMapping.getType())) {
+                    outputVariables.put(mapping.getKey(), outputMapping.getValue().toString());
+                }
+            }
+
+            return new ActivityPlan(true,
+                                    extensions.shouldMapAllInputs(activityId),
+                                    extensions.shouldMapAllOutputs(activityId),
+                                    unmodifiableMap(constants),
+                                    unmodifiableMap(inputVariables),
+                                    unmodifiableMap(inputValues),
+                                    unmodifiableMap(outputVariables),
+                                    unmodifiableMap(outputValues));
+        }
+
+        public boolean isMapped() {
+            return mapped;
+        }
+
+        public boolean isMapAllInputs() {
+            return mapAllInputs;
+        }
+
+        public boolean isMapAllOutputs() {
+            return mapAllOutputs;
+        }
+
+        public Map<String, Object> getConstants() {
+            return constants;
+        }
+
+        /**
+         * Target name to the name of the process variable it's mapped from.
+         */
+        public Map<String, String> getInputVariables() {
+            return inputVariables;
+        }
+
+        public Map<String, ExpressionTemplate> getInputValues() {
+            return inputValues;
+        }
+
+        /**
+         * Process variable name to the name of the task variable it's mapped from.
+         */
+        public Map<String, String> getOutputVariables() {
+            return outputVariables;
+        }
+
+        public Map<String, ExpressionTemplate> getOutputValues() {
+            return outputValues;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.runtime.api.connector;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.activiti.api.process.model.IntegrationContext;
+import org.activiti.api.process.runtime.connector.Connector;
+import org.activiti.api.runtime.model.impl.IntegrationContextImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AsyncConnectorExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private AsyncConnectorExecutor executor;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void should_completeWithConnectorResult_when_connectorSucceeds() throws Exception {
+        //given
+        executor = new AsyncConnectorExecutor();
+        IntegrationContextImpl integrationContext = new IntegrationContextImpl();
+        Connector connector = context -> {
+            context.addOutBoundVariable("thread", Thread.currentThread().getName());
+            return context;
+        };
+
+        //when
+        IntegrationContext result = executor.execute(connector, integrationContext).get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(result.getOutBoundVariables().get("thread").toString()).startsWith("activiti-connector-");
+    }
+
+    @Test
+    public void should_failWithTimeout_when_connectorIsTooSlow() {
+        //given
+        executor = new AsyncConnectorExecutor(1, 1, Duration.ofMillis(50));
+
+        //when
+        CompletableFuture<IntegrationContext> result = executor.execute(blockingConnector(), new IntegrationContextImpl());
+        Throwable throwable = catchThrowable(() -> result.get(5, TimeUnit.SECONDS));
+
+        //then
+        assertThat(throwable).isInstanceOf(ExecutionException.class);
+        assertThat(throwable.getCause()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void should_interruptConnector_when_timeoutElapses() throws Exception {
+        //given
+        executor = new AsyncConnectorExecutor(1, 1, Duration.ofMillis(50));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Connector connector = context -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return context;
+        };
+
+        //when
+        executor.execute(connector, new IntegrationContextImpl());
+
+        //then
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void should_failWithRejection_when_poolAndQueueAreFull() {
+        //given
+        executor = new AsyncConnectorExecutor(1, 1, Duration.ofSeconds(30));
+        executor.execute(blockingConnector(), new IntegrationContextImpl());
+        executor.execute(blockingConnector(), new IntegrationContextImpl());
+
+        //when
+        CompletableFuture<IntegrationContext> result = executor.execute(blockingConnector(), new IntegrationContextImpl());
+
+        //then
+        assertThat(result).isCompletedExceptionally();
+        assertThat(catchThrowable(result::join)).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    private Connector blockingConnector() {
+        return context -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return context;
+        };
+    }
+}
@@ -24,6 +24,8 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -395,6 +397,44 @@ public class ExtensionsVariablesMappingProviderTest {
                                                            tuple("task_input_variable_name_2", "static_value_1"));
     }
 
+    @Test
+    public void should_compileMappingsOnce_when_calculatingVariablesOfTheSameProcessDefinition() throws Exception {
+        DelegateExecution execution = initExpressionResolverTest("expression-in-mapping-input-value.json",
+            "Process_expressionMappingInputValue");
+
+        Map<String, Object> firstInputVariables = variablesMappingProvider.calculateInputVariables(execution);
+        Map<String, Object> secondInputVariables = variablesMappingProvider.calculateInputVariables(execution);
+        variablesMappingProvider.calculateOutPutVariables(buildMappingExecutionContext(execution),
+                                                          singletonMap("task_input_variable_name_1", "variable_value_1"));
+
+        assertThat(secondInputVariables).isEqualTo(firstInputVariables);
+        assertThat(secondInputVariables).containsEntry("task_input_variable_name_2", "variable_value_1");
+        verify(processExtensionService, times(1)).getExtensionsForId("procDefId");
+    }
+
+    @Test
+    public void should_compileMappingsAgain_when_mappingPlanWasEvictedFromTheCache() throws Exception {
+        variablesMappingProvider.setMappingPlanCacheLimit(1);
+        DelegateExecution execution = initExpressionResolverTest("expression-in-mapping-input-value.json",
+            "Process_expressionMappingInputValue");
+        Extension extensions = new ObjectMapper().readValue(new File("src/test/resources/expressions/expression-in-mapping-input-value.json"),
+                                                            ProcessExtensionModel.class)
+            .getExtensions("Process_expressionMappingInputValue");
+        DelegateExecution otherExecution = mock(DelegateExecution.class);
+        given(otherExecution.getProcessDefinitionId()).willReturn("otherProcDefId");
+        given(otherExecution.getCurrentActivityId()).willReturn("simpleTask");
+        given(processExtensionService.getExtensionsForId("otherProcDefId")).willReturn(extensions);
+        ExpressionResolverHelper.setExecutionVariables(otherExecution, execution.getVariables());
+
+        variablesMappingProvider.calculateInputVariables(execution);
+        variablesMappingProvider.calculateInputVariables(otherExecution);
+        Map<String, Object> inputVariables = variablesMappingProvider.calculateInputVariables(execution);
+
+        assertThat(inputVariables).containsEntry("task_input_variable_name_2", "variable_value_1");
+        verify(processExtensionService, times(2)).getExtensionsForId("procDefId");
+        verify(processExtensionService, times(1)).getExtensionsForId("otherProcDefId");
+    }
+
     @Test
     public void should_throwActivitiIllegalArgumentException_when_expressionIsOutputMapping() throws Exception {
         DelegateExecution execution = initExpressionResolverTest("expression-in-mapping-output-value.json",
@@ -36,6 +36,7 @@ import org.activiti.bpmn.model.DataObject;
 import org.activiti.bpmn.model.Event;
 import org.activiti.bpmn.model.FlowElement;
 import org.activiti.bpmn.model.FlowElementsContainer;
+import org.activiti.bpmn.model.FlowNode;
 import org.activiti.bpmn.model.Gateway;
 import org.activiti.bpmn.model.GraphicInfo;
 import org.activiti.bpmn.model.Process;
@@ -72,6 +73,12 @@ public class BpmnAutoLayout {
   protected int taskHeight = 60;
   protected int subProcessMargin = 20;
 
+  /**
+   * Processes with more flow nodes than this, subprocess content included, are laid out by the
+   * {@link LayeredBpmnLayout} instead of JGraphX. A negative value always uses JGraphX.
+   */
+  protected int layeredLayoutThreshold = 500;
+
   protected mxGraph graph;
   protected Object cellParent;
   protected Map<String, Association> associations;
@@ -98,6 +105,11 @@ public class BpmnAutoLayout {
 
     // Generate DI for each process
     for (Process process : bpmnModel.getProcesses()) {
+      if (layeredLayoutThreshold >= 0 && countFlowNodes(process) > layeredLayoutThreshold) {
+        createLayeredLayout().execute(process);
+        continue;
+      }
+
       layout(process);
 
       // Operations that can only be done after all elements have received
@@ -106,6 +118,29 @@ public class BpmnAutoLayout {
     }
   }
 
+  protected int countFlowNodes(FlowElementsContainer flowElementsContainer) {
+    int flowNodeCount = 0;
+    for (FlowElement flowElement : flowElementsContainer.getFlowElements()) {
+      if (flowElement instanceof FlowNode) {
+        flowNodeCount++;
+      }
+      if (flowElement instanceof SubProcess) {
+        flowNodeCount += countFlowNodes((SubProcess) flowElement);
+      }
+    }
+    return flowNodeCount;
+  }
+
+  protected LayeredBpmnLayout createLayeredLayout() {
+    LayeredBpmnLayout layeredLayout = new LayeredBpmnLayout(bpmnModel);
+    layeredLayout.setEventSize(eventSize);
+    layeredLayout.setGatewaySize(gatewaySize);
+    layeredLayout.setTaskWidth(taskWidth);
+    layeredLayout.setTaskHeight(taskHeight);
+    layeredLayout.setSubProcessMargin(subProcessMargin);
+    return layeredLayout;
+  }
+
   protected void layout(FlowElementsContainer flowElementsContainer) {
     graph = new mxGraph();
     cellParent = graph.getDefaultParent();
@@ -604,6 +639,14 @@ public class BpmnAutoLayout {
     this.subProcessMargin = subProcessMargin;
   }
 
+  public int getLayeredLayoutThreshold() {
+    return layeredLayoutThreshold;
+  }
+
+  public void setLayeredLayoutThreshold(int layeredLayoutThreshold) {
+    this.layeredLayoutThreshold = layeredLayoutThreshold;
+  }
+
   // Due to a bug (see
   // http://forum.jgraph.com/questions/5952/mxhierarchicallayout-not-correct-when-using-child-vertex)
   // We must extend the default hierarchical layout to tweak it a bit (see url
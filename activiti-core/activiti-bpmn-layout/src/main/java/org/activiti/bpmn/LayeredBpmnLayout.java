@@ -0,0 +1,835 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.bpmn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.activiti.bpmn.model.Artifact;
+import org.activiti.bpmn.model.Association;
+import org.activiti.bpmn.model.BaseElement;
+import org.activiti.bpmn.model.BoundaryEvent;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.CallActivity;
+import org.activiti.bpmn.model.Event;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowElementsContainer;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.Gateway;
+import org.activiti.bpmn.model.GraphicInfo;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.SubProcess;
+import org.activiti.bpmn.model.Task;
+import org.activiti.bpmn.model.TextAnnotation;
+
+/**
+ * Layered (Sugiyama style) auto layout of a {@link Process}, used by {@link BpmnAutoLayout} for processes
+ * beyond its layered layout threshold, where rebuilding JGraphX graphs gets too slow.
+ *
+ * The graph of every container is kept in primitive arrays: cycles are broken by reversing back edges, nodes
+ * are layered by longest path, edges spanning several layers are split by dummy nodes, and crossings are
+ * reduced with barycenter sweeps, counting the crossings between two layers in O(E log V). Subprocesses only
+ * depend on their own content, so they are laid out in parallel before their parent.
+ */
+public class LayeredBpmnLayout {
+
+  protected BpmnModel bpmnModel;
+
+  protected int eventSize = 30;
+  protected int gatewaySize = 40;
+  protected int taskWidth = 100;
+  protected int taskHeight = 60;
+  protected int subProcessMargin = 20;
+  protected int textAnnotationWidth = 100;
+  protected int textAnnotationHeight = 30;
+
+  protected double layerSpacing = 80.0;
+  protected double nodeSpacing = 50.0;
+  protected int crossingReductionSweeps = 8;
+  protected boolean parallelSubProcesses = true;
+
+  public LayeredBpmnLayout(BpmnModel bpmnModel) {
+    this.bpmnModel = bpmnModel;
+  }
+
+  public void execute(Process process) {
+    apply(layout(process), 0, 0);
+  }
+
+  protected ContainerLayout layout(FlowElementsContainer container) {
+    List<FlowNode> nodes = new ArrayList<FlowNode>();
+    List<SubProcess> subProcesses = new ArrayList<SubProcess>();
+    List<BoundaryEvent> boundaryEvents = new ArrayList<BoundaryEvent>();
+    List<SequenceFlow> sequenceFlows = new ArrayList<SequenceFlow>();
+
+    for (FlowElement flowElement : container.getFlowElements()) {
+      if (flowElement instanceof SequenceFlow) {
+        SequenceFlow sequenceFlow = (SequenceFlow) flowElement;
+        if (sequenceFlow.getId() == null) {
+          sequenceFlow.setId("sequenceFlow-" + UUID.randomUUID().toString());
+        }
+        sequenceFlows.add(sequenceFlow);
+      } else if (flowElement instanceof BoundaryEvent) {
+        boundaryEvents.add((BoundaryEvent) flowElement);
+      } else if (flowElement instanceof SubProcess) {
+        nodes.add((FlowNode) flowElement);
+        subProcesses.add((SubProcess) flowElement);
+      } else if (flowElement instanceof Event || flowElement instanceof Gateway || flowElement instanceof Task || flowElement instanceof CallActivity) {
+        nodes.add((FlowNode) flowElement);
+      }
+    }
+
+    ContainerLayout containerLayout = new ContainerLayout();
+    containerLayout.subProcessLayouts = layoutSubProcesses(subProcesses);
+
+    // Nodes and their sizes
+    int nodeCount = nodes.size();
+    Map<String, Integer> nodeIndex = new HashMap<String, Integer>();
+    double[] nodeWidth = new double[nodeCount];
+    double[] nodeHeight = new double[nodeCount];
+    for (int i = 0; i < nodeCount; i++) {
+      FlowNode node = nodes.get(i);
+      nodeIndex.put(node.getId(), i);
+      if (node instanceof SubProcess) {
+        ContainerLayout subProcessLayout = containerLayout.subProcessLayouts.get(node.getId());
+        nodeWidth[i] = Math.max(taskWidth, subProcessLayout.width + 2 * subProcessMargin);
+        nodeHeight[i] = Math.max(taskHeight, subProcessLayout.height + 2 * subProcessMargin);
+      } else if (node instanceof Event) {
+        nodeWidth[i] = eventSize;
+        nodeHeight[i] = eventSize;
+      } else if (node instanceof Gateway) {
+        nodeWidth[i] = gatewaySize;
+        nodeHeight[i] = gatewaySize;
+      } else {
+        nodeWidth[i] = taskWidth;
+        nodeHeight[i] = taskHeight;
+      }
+    }
+
+    // Boundary events are drawn on their host, flows leaving them are laid out as leaving the host
+    Map<String, Integer> boundaryEventHost = new HashMap<String, Integer>();
+    for (BoundaryEvent boundaryEvent : boundaryEvents) {
+      String attachedToRefId = null;
+      if (boundaryEvent.getAttachedToRefId() != null) {
+        attachedToRefId = boundaryEvent.getAttachedToRefId();
+      } else if (boundaryEvent.getAttachedToRef() != null) {
+        attachedToRefId = boundaryEvent.getAttachedToRef().getId();
+      } else {
+        throw new RuntimeException("Could not generate DI: boundaryEvent '" + boundaryEvent.getId() + "' has no attachedToRef");
+      }
+      Integer host = nodeIndex.get(attachedToRefId);
+      if (host != null) {
+        boundaryEventHost.put(boundaryEvent.getId(), host);
+      }
+    }
+
+    // Edges
+    int edgeCount = 0;
+    int[] edgeSource = new int[sequenceFlows.size()];
+    int[] edgeTarget = new int[sequenceFlows.size()];
+    SequenceFlow[] edgeFlows = new SequenceFlow[sequenceFlows.size()];
+    for (SequenceFlow sequenceFlow : sequenceFlows) {
+      Integer source = nodeIndex.get(sequenceFlow.getSourceRef());
+      if (source == null) {
+        source = boundaryEventHost.get(sequenceFlow.getSourceRef());
+      }
+      Integer target = nodeIndex.get(sequenceFlow.getTargetRef());
+      if (source != null && target != null) {
+        edgeSource[edgeCount] = source;
+        edgeTarget[edgeCount] = target;
+        edgeFlows[edgeCount] = sequenceFlow;
+        edgeCount++;
+      }
+    }
+
+    boolean[] reversed = breakCycles(nodeCount, edgeCount, edgeSource, edgeTarget);
+    int[] nodeLayer = assignLayers(nodeCount, edgeCount, edgeSource, edgeTarget, reversed);
+
+    // Split edges spanning several layers with dummy vertices, so every segment joins adjacent layers
+    IntArray vertexLayer = new IntArray(nodeCount + edgeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      vertexLayer.add(nodeLayer[i]);
+    }
+    IntArray segmentUpper = new IntArray(edgeCount);
+    IntArray segmentLower = new IntArray(edgeCount);
+    int[][] edgeChains = new int[edgeCount][];
+    for (int e = 0; e < edgeCount; e++) {
+      int from = reversed[e] ? edgeTarget[e] : edgeSource[e];
+      int to = reversed[e] ? edgeSource[e] : edgeTarget[e];
+      if (from == to) {
+        continue;
+      }
+      int span = nodeLayer[to] - nodeLayer[from];
+      int[] chain = new int[span + 1];
+      chain[0] = from;
+      for (int i = 1; i < span; i++) {
+        chain[i] = vertexLayer.size();
+        vertexLayer.add(nodeLayer[from] + i);
+      }
+      chain[span] = to;
+      for (int i = 0; i < span; i++) {
+        segmentUpper.add(chain[i]);
+        segmentLower.add(chain[i + 1]);
+      }
+      edgeChains[e] = chain;
+    }
+
+    int vertexCount = vertexLayer.size();
+    int layerCount = 0;
+    for (int v = 0; v < vertexCount; v++) {
+      layerCount = Math.max(layerCount, vertexLayer.get(v) + 1);
+    }
+    int[][] layers = createLayers(vertexCount, layerCount, vertexLayer);
+    int[][] predecessors = adjacency(vertexCount, segmentLower, segmentUpper);
+    int[][] successors = adjacency(vertexCount, segmentUpper, segmentLower);
+
+    int[] position = new int[vertexCount];
+    reduceCrossings(layers, predecessors, successors, position);
+
+    double[] vertexX = new double[vertexCount];
+    double[] vertexY = new double[vertexCount];
+    double[] vertexWidth = Arrays.copyOf(nodeWidth, vertexCount);
+    double[] vertexHeight = Arrays.copyOf(nodeHeight, vertexCount);
+    assignCoordinates(layers, predecessors, vertexWidth, vertexHeight, vertexX, vertexY);
+
+    // Collect the result
+    for (int i = 0; i < nodeCount; i++) {
+      containerLayout.addBounds(nodes.get(i), vertexX[i], vertexY[i], nodeWidth[i], nodeHeight[i]);
+    }
+
+    Map<Integer, Integer> boundaryEventsPerHost = new HashMap<Integer, Integer>();
+    for (BoundaryEvent boundaryEvent : boundaryEvents) {
+      Integer host = boundaryEventHost.get(boundaryEvent.getId());
+      if (host != null) {
+        int hostIndex = boundaryEventsPerHost.merge(host, 1, Integer::sum) - 1;
+        double x = vertexX[host] + 0.8 * nodeWidth[host] - eventSize / 2.0 - hostIndex * (eventSize + 5);
+        double y = vertexY[host] + nodeHeight[host] - eventSize / 2.0;
+        containerLayout.addBounds(boundaryEvent, x, y, eventSize, eventSize);
+      }
+    }
+
+    for (int e = 0; e < edgeCount; e++) {
+      containerLayout.addWaypoints(edgeFlows[e], routeSequenceFlow(containerLayout, edgeFlows[e], edgeChains[e], reversed[e],
+          vertexX, vertexY, vertexWidth, vertexHeight));
+    }
+
+    layoutTextAnnotations(container, containerLayout);
+
+    for (Artifact artifact : container.getArtifacts()) {
+      if (artifact instanceof Association) {
+        Association association = (Association) artifact;
+        double[] source = containerLayout.bounds.get(association.getSourceRef());
+        double[] target = containerLayout.bounds.get(association.getTargetRef());
+        if (source != null && target != null) {
+          List<double[]> waypoints = new ArrayList<double[]>();
+          waypoints.add(new double[] {source[0] + source[2], source[1] + source[3] / 2});
+          lineTo(waypoints, target[0], target[1] + target[3] / 2);
+          containerLayout.addWaypoints(association, waypoints);
+        }
+      }
+    }
+
+    return containerLayout;
+  }
+
+  /**
+   * Text annotations are placed in a row below the laid out nodes, each one under the element it is associated
+   * with, so they never overlap the flow. Annotations without association are appended at the end of the row.
+   */
+  protected void layoutTextAnnotations(FlowElementsContainer container, ContainerLayout containerLayout) {
+    Map<String, String> annotatedElements = new HashMap<String, String>();
+    for (Artifact artifact : container.getArtifacts()) {
+      if (artifact instanceof Association) {
+        Association association = (Association) artifact;
+        annotatedElements.put(association.getSourceRef(), association.getTargetRef());
+        annotatedElements.put(association.getTargetRef(), association.getSourceRef());
+      }
+    }
+
+    List<TextAnnotation> textAnnotations = new ArrayList<TextAnnotation>();
+    Map<String, Double> preferredX = new HashMap<String, Double>();
+    for (Artifact artifact : container.getArtifacts()) {
+      if (artifact instanceof TextAnnotation) {
+        if (artifact.getId() == null) {
+          artifact.setId("artifact-" + UUID.randomUUID().toString());
+        }
+        double[] annotated = containerLayout.bounds.get(annotatedElements.get(artifact.getId()));
+        preferredX.put(artifact.getId(), annotated != null ? annotated[0] : Double.MAX_VALUE);
+        textAnnotations.add((TextAnnotation) artifact);
+      }
+    }
+    if (textAnnotations.isEmpty()) {
+      return;
+    }
+    textAnnotations.sort(Comparator.comparingDouble(textAnnotation -> preferredX.get(textAnnotation.getId())));
+
+    double y = containerLayout.bounds.isEmpty() ? 0 : containerLayout.height + nodeSpacing;
+    double rowEnd = 0;
+    for (TextAnnotation textAnnotation : textAnnotations) {
+      double x = Math.max(rowEnd, Math.min(preferredX.get(textAnnotation.getId()), containerLayout.width));
+      containerLayout.addBounds(textAnnotation, x, y, textAnnotationWidth, textAnnotationHeight);
+      rowEnd = x + textAnnotationWidth + nodeSpacing / 2;
+    }
+  }
+
+  protected Map<String, ContainerLayout> layoutSubProcesses(List<SubProcess> subProcesses) {
+    Stream<SubProcess> subProcessStream = parallelSubProcesses && subProcesses.size() > 1 ? subProcesses.parallelStream() : subProcesses.stream();
+    return subProcessStream.collect(Collectors.toMap(SubProcess::getId, this::layout));
+  }
+
+  // Layering
+
+  /**
+   * Marks the edges closing a cycle, found by an iterative depth first search starting from the nodes without
+   * incoming edges. Laying out these edges reversed leaves an acyclic graph.
+   */
+  protected boolean[] breakCycles(int nodeCount, int edgeCount, int[] edgeSource, int[] edgeTarget) {
+    int[][] outgoing = new int[nodeCount][];
+    int[] outDegree = new int[nodeCount];
+    int[] inDegree = new int[nodeCount];
+    for (int e = 0; e < edgeCount; e++) {
+      outDegree[edgeSource[e]]++;
+      inDegree[edgeTarget[e]]++;
+    }
+    for (int v = 0; v < nodeCount; v++) {
+      outgoing[v] = new int[outDegree[v]];
+      outDegree[v] = 0;
+    }
+    for (int e = 0; e < edgeCount; e++) {
+      outgoing[edgeSource[e]][outDegree[edgeSource[e]]++] = e;
+    }
+
+    boolean[] reversed = new boolean[edgeCount];
+    byte[] state = new byte[nodeCount];
+    int[] cursor = new int[nodeCount];
+    int[] stack = new int[nodeCount];
+    for (int pass = 0; pass < 2; pass++) {
+      for (int root = 0; root < nodeCount; root++) {
+        if (state[root] != 0 || (pass == 0 && inDegree[root] > 0)) {
+          continue;
+        }
+        int stackSize = 0;
+        stack[stackSize++] = root;
+        state[root] = 1;
+        while (stackSize > 0) {
+          int v = stack[stackSize - 1];
+          if (cursor[v] < outgoing[v].length) {
+            int e = outgoing[v][cursor[v]++];
+            int w = edgeTarget[e];
+            if (state[w] == 1) {
+              reversed[e] = true;
+            } else if (state[w] == 0) {
+              state[w] = 1;
+              stack[stackSize++] = w;
+            }
+          } else {
+            state[v] = 2;
+            stackSize--;
+          }
+        }
+      }
+    }
+    return reversed;
+  }
+
+  /**
+   * Longest path layering over the acyclic graph, in topological order.
+   */
+  protected int[] assignLayers(int nodeCount, int edgeCount, int[] edgeSource, int[] edgeTarget, boolean[] reversed) {
+    int[] inDegree = new int[nodeCount];
+    int[] outDegree = new int[nodeCount];
+    for (int e = 0; e < edgeCount; e++) {
+      int from = reversed[e] ? edgeTarget[e] : edgeSource[e];
+      int to = reversed[e] ? edgeSource[e] : edgeTarget[e];
+      if (from != to) {
+        outDegree[from]++;
+        inDegree[to]++;
+      }
+    }
+    int[][] outgoing = new int[nodeCount][];
+    for (int v = 0; v < nodeCount; v++) {
+      outgoing[v] = new int[outDegree[v]];
+      outDegree[v] = 0;
+    }
+    for (int e = 0; e < edgeCount; e++) {
+      int from = reversed[e] ? edgeTarget[e] : edgeSource[e];
+      int to = reversed[e] ? edgeSource[e] : edgeTarget[e];
+      if (from != to) {
+        outgoing[from][outDegree[from]++] = to;
+      }
+    }
+
+    int[] layer = new int[nodeCount];
+    int[] queue = new int[nodeCount];
+    int head = 0;
+    int tail = 0;
+    for (int v = 0; v < nodeCount; v++) {
+      if (inDegree[v] == 0) {
+        queue[tail++] = v;
+      }
+    }
+    while (head < tail) {
+      int v = queue[head++];
+      for (int w : outgoing[v]) {
+        layer[w] = Math.max(layer[w], layer[v] + 1);
+        if (--inDegree[w] == 0) {
+          queue[tail++] = w;
+        }
+      }
+    }
+    return layer;
+  }
+
+  protected int[][] createLayers(int vertexCount, int layerCount, IntArray vertexLayer) {
+    int[] layerSize = new int[layerCount];
+    for (int v = 0; v < vertexCount; v++) {
+      layerSize[vertexLayer.get(v)]++;
+    }
+    int[][] layers = new int[layerCount][];
+    for (int l = 0; l < layerCount; l++) {
+      layers[l] = new int[layerSize[l]];
+      layerSize[l] = 0;
+    }
+    for (int v = 0; v < vertexCount; v++) {
+      int l = vertexLayer.get(v);
+      layers[l][layerSize[l]++] = v;
+    }
+    return layers;
+  }
+
+  protected int[][] adjacency(int vertexCount, IntArray from, IntArray to) {
+    int[] degree = new int[vertexCount];
+    for (int i = 0; i < from.size(); i++) {
+      degree[from.get(i)]++;
+    }
+    int[][] adjacency = new int[vertexCount][];
+    for (int v = 0; v < vertexCount; v++) {
+      adjacency[v] = new int[degree[v]];
+      degree[v] = 0;
+    }
+    for (int i = 0; i < from.size(); i++) {
+      adjacency[from.get(i)][degree[from.get(i)]++] = to.get(i);
+    }
+    return adjacency;
+  }
+
+  // Crossing reduction
+
+  /**
+   * Alternates downward and upward barycenter sweeps, keeping the ordering with the fewest crossings.
+   */
+  protected void reduceCrossings(int[][] layers, int[][] predecessors, int[][] successors, int[] position) {
+    updatePositions(layers, position);
+    long bestCrossings = countCrossings(layers, successors, position);
+    int[][] bestLayers = copyLayers(layers);
+
+    for (int sweep = 0; sweep < crossingReductionSweeps && bestCrossings > 0; sweep++) {
+      if (sweep % 2 == 0) {
+        for (int l = 1; l < layers.length; l++) {
+          orderByBarycenter(layers[l], predecessors, position);
+        }
+      } else {
+        for (int l = layers.length - 2; l >= 0; l--) {
+          orderByBarycenter(layers[l], successors, position);
+        }
+      }
+
+      long crossings = countCrossings(layers, successors, position);
+      if (crossings < bestCrossings) {
+        bestCrossings = crossings;
+        bestLayers = copyLayers(layers);
+      }
+    }
+
+    for (int l = 0; l < layers.length; l++) {
+      layers[l] = bestLayers[l];
+    }
+    updatePositions(layers, position);
+  }
+
+  protected void orderByBarycenter(int[] layer, int[][] neighbours, int[] position) {
+    double[] barycenter = new double[layer.length];
+    Integer[] order = new Integer[layer.length];
+    for (int i = 0; i < layer.length; i++) {
+      int[] vertexNeighbours = neighbours[layer[i]];
+      if (vertexNeighbours.length == 0) {
+        barycenter[i] = i;
+      } else {
+        double sum = 0;
+        for (int neighbour : vertexNeighbours) {
+          sum += position[neighbour];
+        }
+        barycenter[i] = sum / vertexNeighbours.length;
+      }
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingDouble(i -> barycenter[i]));
+
+    int[] ordered = new int[layer.length];
+    for (int i = 0; i < layer.length; i++) {
+      ordered[i] = layer[order[i]];
+    }
+    for (int i = 0; i < layer.length; i++) {
+      layer[i] = ordered[i];
+      position[layer[i]] = i;
+    }
+  }
+
+  /**
+   * Counts the crossings between each pair of adjacent layers as the inversions of the lower end positions of the
+   * segments in upper end order, using a Fenwick tree over the lower layer (Barth, Juenger and Mutzel).
+   */
+  protected long countCrossings(int[][] layers, int[][] successors, int[] position) {
+    long crossings = 0;
+    for (int l = 0; l < layers.length - 1; l++) {
+      long[] tree = new long[layers[l + 1].length + 1];
+      long inserted = 0;
+      for (int upper : layers[l]) {
+        int[] lowerEnds = new int[successors[upper].length];
+        for (int i = 0; i < lowerEnds.length; i++) {
+          lowerEnds[i] = position[successors[upper][i]];
+        }
+        Arrays.sort(lowerEnds);
+        for (int lowerPosition : lowerEnds) {
+          long notGreater = 0;
+          for (int i = lowerPosition + 1; i > 0; i -= i & -i) {
+            notGreater += tree[i];
+          }
+          crossings += inserted - notGreater;
+          for (int i = lowerPosition + 1; i < tree.length; i += i & -i) {
+            tree[i]++;
+          }
+          inserted++;
+        }
+      }
+    }
+    return crossings;
+  }
+
+  protected void updatePositions(int[][] layers, int[] position) {
+    for (int[] layer : layers) {
+      for (int i = 0; i < layer.length; i++) {
+        position[layer[i]] = i;
+      }
+    }
+  }
+
+  protected int[][] copyLayers(int[][] layers) {
+    int[][] copy = new int[layers.length][];
+    for (int l = 0; l < layers.length; l++) {
+      copy[l] = layers[l].clone();
+    }
+    return copy;
+  }
+
+  // Coordinates
+
+  /**
+   * Layers are placed left to right. Within a layer, each vertex is centered on its predecessors when there is
+   * room for it, and pushed down below the previous vertex of its layer otherwise.
+   */
+  protected void assignCoordinates(int[][] layers, int[][] predecessors, double[] vertexWidth, double[] vertexHeight,
+                                   double[] vertexX, double[] vertexY) {
+    double layerX = 0;
+    double minY = Double.MAX_VALUE;
+    for (int[] layer : layers) {
+      double layerWidth = 0;
+      for (int v : layer) {
+        layerWidth = Math.max(layerWidth, vertexWidth[v]);
+      }
+
+      double previousBottom = -Double.MAX_VALUE;
+      for (int v : layer) {
+        double spacing = vertexHeight[v] > 0 ? nodeSpacing : nodeSpacing / 2;
+        double y;
+        if (predecessors[v].length > 0) {
+          double centerSum = 0;
+          for (int predecessor : predecessors[v]) {
+            centerSum += vertexY[predecessor] + vertexHeight[predecessor] / 2;
+          }
+          y = centerSum / predecessors[v].length - vertexHeight[v] / 2;
+        } else {
+          y = previousBottom == -Double.MAX_VALUE ? 0 : previousBottom + spacing;
+        }
+        if (previousBottom != -Double.MAX_VALUE) {
+          y = Math.max(y, previousBottom + spacing);
+        }
+        vertexX[v] = layerX + (layerWidth - vertexWidth[v]) / 2;
+        vertexY[v] = y;
+        previousBottom = y + vertexHeight[v];
+        minY = Math.min(minY, y);
+      }
+      layerX += layerWidth + layerSpacing;
+    }
+
+    if (minY != Double.MAX_VALUE && minY != 0) {
+      for (int v = 0; v < vertexY.length; v++) {
+        vertexY[v] -= minY;
+      }
+    }
+  }
+
+  protected List<double[]> routeSequenceFlow(ContainerLayout containerLayout, SequenceFlow sequenceFlow, int[] chain, boolean reversed,
+                                             double[] vertexX, double[] vertexY, double[] vertexWidth, double[] vertexHeight) {
+    List<double[]> waypoints = new ArrayList<double[]>();
+    double[] source = containerLayout.bounds.get(sequenceFlow.getSourceRef());
+    double[] target = containerLayout.bounds.get(sequenceFlow.getTargetRef());
+    boolean fromBoundaryEvent = containerLayout.elements.get(sequenceFlow.getSourceRef()) instanceof BoundaryEvent;
+
+    if (chain == null) {
+      // Loop back to the same node
+      double loopY = Math.max(source[1] + source[3], target[1] + target[3]) + nodeSpacing / 2;
+      waypoints.add(new double[] {source[0] + source[2] / 2, source[1] + source[3]});
+      waypoints.add(new double[] {source[0] + source[2] / 2, loopY});
+      waypoints.add(new double[] {target[0] - layerSpacing / 4, loopY});
+      waypoints.add(new double[] {target[0] - layerSpacing / 4, target[1] + target[3] / 2});
+      waypoints.add(new double[] {target[0], target[1] + target[3] / 2});
+      return waypoints;
+    }
+
+    List<double[]> chainPoints = new ArrayList<double[]>();
+    int first = chain[0];
+    int last = chain[chain.length - 1];
+    chainPoints.add(new double[] {vertexX[first] + vertexWidth[first], vertexY[first] + vertexHeight[first] / 2});
+    for (int i = 1; i < chain.length - 1; i++) {
+      lineTo(chainPoints, vertexX[chain[i]], vertexY[chain[i]]);
+    }
+    lineTo(chainPoints, vertexX[last], vertexY[last] + vertexHeight[last] / 2);
+
+    if (reversed) {
+      Collections.reverse(chainPoints);
+    }
+    if (fromBoundaryEvent) {
+      waypoints.add(new double[] {source[0] + source[2] / 2, source[1] + source[3]});
+      waypoints.add(new double[] {source[0] + source[2] / 2, source[1] + source[3] + eventSize / 2.0});
+      for (int i = 1; i < chainPoints.size(); i++) {
+        double[] point = chainPoints.get(i);
+        lineTo(waypoints, point[0], point[1]);
+      }
+    } else {
+      waypoints.addAll(chainPoints);
+    }
+    return waypoints;
+  }
+
+  /**
+   * Adds an orthogonal segment to the given point, bending halfway when both coordinates change.
+   */
+  protected void lineTo(List<double[]> waypoints, double x, double y) {
+    double[] previous = waypoints.get(waypoints.size() - 1);
+    if (previous[0] != x && previous[1] != y) {
+      double middleX = (previous[0] + x) / 2;
+      waypoints.add(new double[] {middleX, previous[1]});
+      waypoints.add(new double[] {middleX, y});
+    }
+    waypoints.add(new double[] {x, y});
+  }
+
+  // Diagram interchange generation
+
+  protected void apply(ContainerLayout containerLayout, double offsetX, double offsetY) {
+    for (Map.Entry<String, double[]> entry : containerLayout.bounds.entrySet()) {
+      double[] bounds = entry.getValue();
+      BaseElement element = containerLayout.elements.get(entry.getKey());
+      GraphicInfo graphicInfo = new GraphicInfo();
+      graphicInfo.setX(Math.round(bounds[0] + offsetX));
+      graphicInfo.setY(Math.round(bounds[1] + offsetY));
+      graphicInfo.setWidth(Math.round(bounds[2]));
+      graphicInfo.setHeight(Math.round(bounds[3]));
+      graphicInfo.setElement(element);
+      if (element instanceof SubProcess) {
+        // Always expanded when auto layouting
+        graphicInfo.setExpanded(true);
+      }
+      bpmnModel.addGraphicInfo(entry.getKey(), graphicInfo);
+
+      ContainerLayout subProcessLayout = containerLayout.subProcessLayouts.get(entry.getKey());
+      if (subProcessLayout != null) {
+        apply(subProcessLayout, graphicInfo.getX() + subProcessMargin, graphicInfo.getY() + subProcessMargin);
+      }
+    }
+
+    for (Map.Entry<String, List<double[]>> entry : containerLayout.waypoints.entrySet()) {
+      BaseElement element = containerLayout.elements.get(entry.getKey());
+      List<GraphicInfo> graphicInfoForWaypoints = new ArrayList<GraphicInfo>();
+      for (double[] waypoint : entry.getValue()) {
+        GraphicInfo graphicInfo = new GraphicInfo();
+        graphicInfo.setElement(element);
+        graphicInfo.setX(Math.round(waypoint[0] + offsetX));
+        graphicInfo.setY(Math.round(waypoint[1] + offsetY));
+        graphicInfoForWaypoints.add(graphicInfo);
+      }
+      bpmnModel.addFlowGraphicInfoList(entry.getKey(), graphicInfoForWaypoints);
+    }
+  }
+
+  // Getters and Setters
+
+  public int getEventSize() {
+    return eventSize;
+  }
+
+  public void setEventSize(int eventSize) {
+    this.eventSize = eventSize;
+  }
+
+  public int getGatewaySize() {
+    return gatewaySize;
+  }
+
+  public void setGatewaySize(int gatewaySize) {
+    this.gatewaySize = gatewaySize;
+  }
+
+  public int getTaskWidth() {
+    return taskWidth;
+  }
+
+  public void setTaskWidth(int taskWidth) {
+    this.taskWidth = taskWidth;
+  }
+
+  public int getTaskHeight() {
+    return taskHeight;
+  }
+
+  public void setTaskHeight(int taskHeight) {
+    this.taskHeight = taskHeight;
+  }
+
+  public int getSubProcessMargin() {
+    return subProcessMargin;
+  }
+
+  public void setSubProcessMargin(int subProcessMargin) {
+    this.subProcessMargin = subProcessMargin;
+  }
+
+  public int getTextAnnotationWidth() {
+    return textAnnotationWidth;
+  }
+
+  public void setTextAnnotationWidth(int textAnnotationWidth) {
+    this.textAnnotationWidth = textAnnotationWidth;
+  }
+
+  public int getTextAnnotationHeight() {
+    return textAnnotationHeight;
+  }
+
+  public void setTextAnnotationHeight(int textAnnotationHeight) {
+    this.textAnnotationHeight = textAnnotationHeight;
+  }
+
+  public double getLayerSpacing() {
+    return layerSpacing;
+  }
+
+  public void setLayerSpacing(double layerSpacing) {
+    this.layerSpacing = layerSpacing;
+  }
+
+  public double getNodeSpacing() {
+    return nodeSpacing;
+  }
+
+  public void setNodeSpacing(double nodeSpacing) {
+    this.nodeSpacing = nodeSpacing;
+  }
+
+  public int getCrossingReductionSweeps() {
+    return crossingReductionSweeps;
+  }
+
+  public void setCrossingReductionSweeps(int crossingReductionSweeps) {
+    this.crossingReductionSweeps = crossingReductionSweeps;
+  }
+
+  public boolean isParallelSubProcesses() {
+    return parallelSubProcesses;
+  }
+
+  public void setParallelSubProcesses(boolean parallelSubProcesses) {
+    this.parallelSubProcesses = parallelSubProcesses;
+  }
+
+  /**
+   * Bounds and waypoints of the elements of one container, relative to the container.
+   */
+  static class ContainerLayout {
+
+    protected double width;
+    protected double height;
+    protected Map<String, BaseElement> elements = new HashMap<String, BaseElement>();
+    protected Map<String, double[]> bounds = new LinkedHashMap<String, double[]>();
+    protected Map<String, List<double[]>> waypoints = new LinkedHashMap<String, List<double[]>>();
+    protected Map<String, ContainerLayout> subProcessLayouts;
+
+    protected void addBounds(BaseElement element, double x, double y, double width, double height) {
+      elements.put(element.getId(), element);
+      bounds.put(element.getId(), new double[] {x, y, width, height});
+      this.width = Math.max(this.width, x + width);
+      this.height = Math.max(this.height, y + height);
+    }
+
+    protected void addWaypoints(BaseElement element, List<double[]> elementWaypoints) {
+      elements.put(element.getId(), element);
+      waypoints.put(element.getId(), elementWaypoints);
+      for (double[] waypoint : elementWaypoints) {
+        width = Math.max(width, waypoint[0]);
+        height = Math.max(height, waypoint[1]);
+      }
+    }
+  }
+
+  /**
+   * Growable array of primitive ints.
+   */
+  static class IntArray {
+
+    protected int[] values;
+    protected int size;
+
+    IntArray(int initialCapacity) {
+      values = new int[Math.max(initialCapacity, 16)];
+    }
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int get(int index) {
+      return values[index];
+    }
+
+    int size() {
+      return size;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.bpmn;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.bpmn.model.BpmnModel;
+
+/**
+ * Compares the {@link LayeredBpmnLayout} with the JGraphX layout of the {@link BpmnAutoLayout} on the synthetic
+ * models of {@link LayeredBpmnLayoutTest}: parallel blocks with boundary events, subprocesses and loops. Every model
+ * size is laid out by both layouts in alternating rounds after a warm up, and the median duration of each is printed.
+ *
+ * Not run as part of the build. Start it from the IDE or with
+ * <pre>
+ * mvn -pl activiti-core/activiti-bpmn-layout test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.activiti.bpmn.LayeredBpmnLayoutBenchmark
+ * </pre>
+ * The JGraphX layout of the largest models takes minutes per round; pass -Dbenchmark.jgraphxMaxNodes to only measure
+ * the layered layout above that size. Arguments: comma separated node counts (default 100,1000,10000), number of
+ * measured rounds (default 3).
+ */
+public class LayeredBpmnLayoutBenchmark {
+
+  protected static final int WARM_UP_ROUNDS = 2;
+
+  protected static final int WARM_UP_NODES = 100;
+
+  public static void main(String[] args) {
+    int[] nodeCounts = args.length > 0 ? parseNodeCounts(args[0]) : new int[] {100, 1000, 10000};
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+    int jgraphxMaxNodes = Integer.getInteger("benchmark.jgraphxMaxNodes", Integer.MAX_VALUE);
+
+    for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+      executeRound(WARM_UP_NODES, false);
+      executeRound(WARM_UP_NODES, true);
+    }
+
+    for (int nodeCount : nodeCounts) {
+      boolean measureJGraphX = nodeCount <= jgraphxMaxNodes;
+      double[] jgraphx = new double[rounds];
+      double[] layered = new double[rounds];
+      for (int i = 0; i < rounds; i++) {
+        if (measureJGraphX) {
+          jgraphx[i] = executeRound(nodeCount, false);
+        }
+        layered[i] = executeRound(nodeCount, true);
+      }
+
+      System.out.printf("%d rounds of a model with %d nodes%n", rounds, nodeCount);
+      if (measureJGraphX) {
+        System.out.printf("JGraphX layout: %.1f ms (median)%n", median(jgraphx));
+      } else {
+        System.out.printf("JGraphX layout: skipped above %d nodes%n", jgraphxMaxNodes);
+      }
+      System.out.printf("layered layout: %.1f ms (median)%n", median(layered));
+    }
+  }
+
+  protected static int[] parseNodeCounts(String nodeCounts) {
+    return Arrays.stream(nodeCounts.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+  }
+
+  /**
+   * Creates a synthetic model of the given size and lays it out. Returns the duration of the layout in milliseconds,
+   * the creation of the model excluded.
+   */
+  protected static double executeRound(int nodeCount, boolean layered) {
+    BpmnModel model = new LayeredBpmnLayoutTest().createSyntheticModel(nodeCount);
+    BpmnAutoLayout autoLayout = new BpmnAutoLayout(model);
+    autoLayout.setLayeredLayoutThreshold(layered ? 0 : -1);
+
+    long start = System.nanoTime();
+    autoLayout.execute();
+    long durationInNanos = System.nanoTime() - start;
+
+    if (model.getGraphicInfo("end") == null) {
+      throw new IllegalStateException("The model of the round was not laid out");
+    }
+    return durationInNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  protected static double median(double[] values) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int middle = sorted.length / 2;
+    return sorted.length % 2 == 0 ? (sorted[middle - 1] + sorted[middle]) / 2 : sorted[middle];
+  }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.bpmn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.activiti.bpmn.model.Artifact;
+import org.activiti.bpmn.model.Association;
+import org.activiti.bpmn.model.BoundaryEvent;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.ExclusiveGateway;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowElementsContainer;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.GraphicInfo;
+import org.activiti.bpmn.model.ParallelGateway;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.bpmn.model.SubProcess;
+import org.activiti.bpmn.model.TextAnnotation;
+import org.activiti.bpmn.model.TimerEventDefinition;
+import org.activiti.bpmn.model.UserTask;
+import org.junit.jupiter.api.Test;
+
+public class LayeredBpmnLayoutTest {
+
+  @Test
+  public void layoutSyntheticModelsOfIncreasingSize() {
+    for (int size : new int[] {100, 1000, 10000}) {
+      BpmnModel model = createSyntheticModel(size);
+      BpmnAutoLayout autoLayout = new BpmnAutoLayout(model);
+      autoLayout.setLayeredLayoutThreshold(0);
+      autoLayout.execute();
+      assertLaidOut(model, model.getMainProcess());
+    }
+  }
+
+  @Test
+  public void switchesToLayeredLayoutAboveThreshold() {
+    List<LayeredBpmnLayout> createdLayouts = new ArrayList<LayeredBpmnLayout>();
+    BpmnModel model = createSyntheticModel(100);
+    BpmnAutoLayout autoLayout = new BpmnAutoLayout(model) {
+      @Override
+      protected LayeredBpmnLayout createLayeredLayout() {
+        LayeredBpmnLayout layeredLayout = super.createLayeredLayout();
+        createdLayouts.add(layeredLayout);
+        return layeredLayout;
+      }
+    };
+
+    autoLayout.execute();
+    assertTrue(createdLayouts.isEmpty());
+
+    autoLayout.setLayeredLayoutThreshold(50);
+    autoLayout.execute();
+    assertEquals(1, createdLayouts.size());
+    assertLaidOut(model, model.getMainProcess());
+  }
+
+  @Test
+  public void layoutPlacesSubProcessContentInsideSubProcess() {
+    BpmnModel model = createSyntheticModel(100);
+    new LayeredBpmnLayout(model).execute(model.getMainProcess());
+
+    SubProcess subProcess = (SubProcess) model.getMainProcess().getFlowElement("sub0");
+    GraphicInfo subProcessInfo = model.getGraphicInfo(subProcess.getId());
+    assertTrue(subProcessInfo.getExpanded());
+    for (FlowElement flowElement : subProcess.getFlowElements()) {
+      if (flowElement instanceof FlowNode) {
+        GraphicInfo graphicInfo = model.getGraphicInfo(flowElement.getId());
+        assertTrue(graphicInfo.getX() >= subProcessInfo.getX());
+        assertTrue(graphicInfo.getY() >= subProcessInfo.getY());
+        assertTrue(graphicInfo.getX() + graphicInfo.getWidth() <= subProcessInfo.getX() + subProcessInfo.getWidth());
+        assertTrue(graphicInfo.getY() + graphicInfo.getHeight() <= subProcessInfo.getY() + subProcessInfo.getHeight());
+      }
+    }
+  }
+
+  @Test
+  public void layoutPlacesTextAnnotationsBelowTheFlow() {
+    BpmnModel model = createSyntheticModel(100);
+    Process process = model.getMainProcess();
+    SubProcess subProcess = (SubProcess) process.getFlowElement("sub0");
+    TextAnnotation guardedNote = addTextAnnotation(process, "guardedNote", "guarded0");
+    TextAnnotation processNote = addTextAnnotation(process, "processNote", null);
+    TextAnnotation subTaskNote = addTextAnnotation(subProcess, "subTaskNote", "subTask0");
+
+    new LayeredBpmnLayout(model).execute(process);
+
+    assertLaidOut(model, process);
+    for (TextAnnotation textAnnotation : new TextAnnotation[] {guardedNote, processNote, subTaskNote}) {
+      GraphicInfo graphicInfo = model.getGraphicInfo(textAnnotation.getId());
+      assertNotNull(graphicInfo, textAnnotation.getId());
+      assertTrue(graphicInfo.getWidth() > 0 && graphicInfo.getHeight() > 0, textAnnotation.getId());
+    }
+    assertNotNull(model.getFlowLocationGraphicInfo("association_guardedNote"));
+    assertNotNull(model.getFlowLocationGraphicInfo("association_subTaskNote"));
+    assertEquals(model.getGraphicInfo("guarded0").getX(), model.getGraphicInfo("guardedNote").getX());
+
+    GraphicInfo subProcessInfo = model.getGraphicInfo(subProcess.getId());
+    GraphicInfo subTaskNoteInfo = model.getGraphicInfo(subTaskNote.getId());
+    assertTrue(subTaskNoteInfo.getY() >= model.getGraphicInfo("subTask0").getY() + model.getGraphicInfo("subTask0").getHeight());
+    assertTrue(subTaskNoteInfo.getY() + subTaskNoteInfo.getHeight() <= subProcessInfo.getY() + subProcessInfo.getHeight());
+  }
+
+  protected void assertLaidOut(BpmnModel model, FlowElementsContainer container) {
+    List<GraphicInfo> nodeInfos = new ArrayList<GraphicInfo>();
+    for (FlowElement flowElement : container.getFlowElements()) {
+      if (flowElement instanceof SequenceFlow) {
+        List<GraphicInfo> waypoints = model.getFlowLocationGraphicInfo(flowElement.getId());
+        assertNotNull(waypoints, flowElement.getId());
+        assertTrue(waypoints.size() >= 2, flowElement.getId());
+      } else if (flowElement instanceof FlowNode) {
+        GraphicInfo graphicInfo = model.getGraphicInfo(flowElement.getId());
+        assertNotNull(graphicInfo, flowElement.getId());
+        if (!(flowElement instanceof BoundaryEvent)) {
+          nodeInfos.add(graphicInfo);
+        }
+      }
+      if (flowElement instanceof SubProcess) {
+        assertLaidOut(model, (SubProcess) flowElement);
+      }
+    }
+    for (Artifact artifact : container.getArtifacts()) {
+      if (artifact instanceof TextAnnotation) {
+        GraphicInfo graphicInfo = model.getGraphicInfo(artifact.getId());
+        assertNotNull(graphicInfo, artifact.getId());
+        nodeInfos.add(graphicInfo);
+      }
+    }
+    assertNoOverlap(nodeInfos);
+  }
+
+  protected void assertNoOverlap(List<GraphicInfo> nodeInfos) {
+    nodeInfos.sort(Comparator.comparingDouble(GraphicInfo::getX));
+    for (int i = 0; i < nodeInfos.size(); i++) {
+      GraphicInfo current = nodeInfos.get(i);
+      for (int j = i + 1; j < nodeInfos.size() && nodeInfos.get(j).getX() < current.getX() + current.getWidth(); j++) {
+        GraphicInfo other = nodeInfos.get(j);
+        boolean overlapping = other.getY() < current.getY() + current.getHeight() && current.getY() < other.getY() + other.getHeight();
+        assertFalse(overlapping, "Overlapping nodes " + current.getElement().getId() + " and " + other.getElement().getId());
+      }
+    }
+  }
+
+  /**
+   * Repeats a block of a parallel split over three branches, one with a timer boundary event and every fifth one
+   * with a subprocess, joined again and looping back on every seventh block, until the requested node count.
+   */
+  protected BpmnModel createSyntheticModel(int nodeCount) {
+    BpmnModel model = new BpmnModel();
+    Process process = new Process();
+    process.setId("synthetic" + nodeCount);
+    model.addProcess(process);
+
+    StartEvent startEvent = new StartEvent();
+    startEvent.setId("start");
+    process.addFlowElement(startEvent);
+    FlowNode previous = startEvent;
+    int count = 1;
+
+    for (int block = 0; count < nodeCount; block++) {
+      ParallelGateway fork = addNode(process, new ParallelGateway(), "fork" + block);
+      ParallelGateway join = addNode(process, new ParallelGateway(), "join" + block);
+      addFlow(process, previous, fork);
+      count += 2;
+
+      UserTask guarded = addNode(process, new UserTask(), "guarded" + block);
+      BoundaryEvent timer = addNode(process, new BoundaryEvent(), "timer" + block);
+      TimerEventDefinition timerEventDefinition = new TimerEventDefinition();
+      timerEventDefinition.setTimeDuration("PT1H");
+      timer.getEventDefinitions().add(timerEventDefinition);
+      timer.setAttachedToRef(guarded);
+      timer.setAttachedToRefId(guarded.getId());
+      guarded.getBoundaryEvents().add(timer);
+      UserTask escalation = addNode(process, new UserTask(), "escalation" + block);
+      addFlow(process, fork, guarded);
+      addFlow(process, guarded, join);
+      addFlow(process, timer, escalation);
+      addFlow(process, escalation, join);
+      count += 3;
+
+      FlowNode middle;
+      if (block % 5 == 0) {
+        SubProcess subProcess = addNode(process, new SubProcess(), "sub" + block);
+        StartEvent subStart = addNode(subProcess, new StartEvent(), "subStart" + block);
+        UserTask subTask = addNode(subProcess, new UserTask(), "subTask" + block);
+        EndEvent subEnd = addNode(subProcess, new EndEvent(), "subEnd" + block);
+        addFlow(subProcess, subStart, subTask);
+        addFlow(subProcess, subTask, subEnd);
+        middle = subProcess;
+        count += 4;
+      } else {
+        middle = addNode(process, new UserTask(), "middle" + block);
+        count++;
+      }
+      addFlow(process, fork, middle);
+      addFlow(process, middle, join);
+
+      UserTask last = addNode(process, new UserTask(), "last" + block);
+      addFlow(process, fork, last);
+      addFlow(process, last, join);
+      count++;
+
+      previous = join;
+      if (block % 7 == 6) {
+        ExclusiveGateway check = addNode(process, new ExclusiveGateway(), "check" + block);
+        addFlow(process, join, check);
+        addFlow(process, check, fork);
+        previous = check;
+        count++;
+      }
+    }
+
+    EndEvent endEvent = addNode(process, new EndEvent(), "end");
+    addFlow(process, previous, endEvent);
+    return model;
+  }
+
+  protected <T extends FlowNode> T addNode(FlowElementsContainer container, T flowNode, String id) {
+    flowNode.setId(id);
+    container.addFlowElement(flowNode);
+    return flowNode;
+  }
+
+  protected TextAnnotation addTextAnnotation(FlowElementsContainer container, String id, String annotatedElementId) {
+    TextAnnotation textAnnotation = new TextAnnotation();
+    textAnnotation.setId(id);
+    textAnnotation.setText(id);
+    container.addArtifact(textAnnotation);
+    if (annotatedElementId != null) {
+      Association association = new Association();
+      association.setId("association_" + id);
+      association.setSourceRef(annotatedElementId);
+      association.setTargetRef(id);
+      container.addArtifact(association);
+    }
+    return textAnnotation;
+  }
+
+  protected void addFlow(FlowElementsContainer container, FlowNode source, FlowNode target) {
+    SequenceFlow sequenceFlow = new SequenceFlow(source.getId(), target.getId());
+    sequenceFlow.setId("flow_" + source.getId() + "_" + target.getId());
+    source.getOutgoingFlows().add(sequenceFlow);
+    target.getIncomingFlows().add(sequenceFlow);
+    container.addFlowElement(sequenceFlow);
+  }
+}
@@ -31,6 +31,8 @@ import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.management.TablePage;
 import org.activiti.engine.management.TablePageQuery;
+import org.activiti.engine.runtime.Batch;
+import org.activiti.engine.runtime.BatchPart;
 import org.activiti.engine.runtime.DeadLetterJobQuery;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.JobQuery;
@@ -282,4 +284,68 @@ public interface ManagementService {
    */
   void deleteEventLogEntry(long logNr);
 
+  /**
+   * Suspends all process instances of the given process definition in the background, in chunks of
+   * {@link Batch#getChunkSize()} instances per transaction. The process definition itself is not changed.
+   *
+   * @return the started batch, which can be used to follow the progress
+   * @throws ActivitiObjectNotFoundException
+   *           when no process definition exists with the given id.
+   */
+  Batch suspendProcessInstancesInBatch(String processDefinitionId);
+
+  /**
+   * Activates all process instances of the given process definition in the background.
+   *
+   * @see #suspendProcessInstancesInBatch(String)
+   */
+  Batch activateProcessInstancesInBatch(String processDefinitionId);
+
+  /**
+   * Deletes all process instances of the given process definition in the background.
+   *
+   * @see #suspendProcessInstancesInBatch(String)
+   */
+  Batch deleteProcessInstancesInBatch(String processDefinitionId, String deleteReason);
+
+  /**
+   * Moves all process instances of the given process definition to another version of it, in the background.
+   *
+   * @throws ActivitiObjectNotFoundException
+   *           when the target version doesn't exist.
+   * @see #suspendProcessInstancesInBatch(String)
+   */
+  Batch migrateProcessInstancesInBatch(String processDefinitionId, int processDefinitionVersion);
+
+  /**
+   * @return the batch with the given id, or null when it doesn't exist (anymore).
+   */
+  Batch getBatch(String batchId);
+
+  /**
+   * @return all batches, oldest first. Completed batches are kept until they are deleted.
+   */
+  List<Batch> getBatches();
+
+  /**
+   * @return the parts the given batch has executed so far, plus the one that is waiting, in creation order.
+   */
+  List<BatchPart> getBatchParts(String batchId);
+
+  /**
+   * Stops the given batch once the part that is currently running is done.
+   */
+  void pauseBatch(String batchId);
+
+  /**
+   * Continues a paused batch where it stopped.
+   */
+  void resumeBatch(String batchId);
+
+  /**
+   * Deletes a batch together with its parts. A running batch is stopped; process instances it already
+   * changed stay changed.
+   */
+  void deleteBatch(String batchId);
+
 }
@@ -33,6 +33,8 @@ import org.activiti.engine.impl.persistence.entity.VariableInstance;
 import org.activiti.engine.runtime.DataObject;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ExecutionQuery;
+import org.activiti.engine.runtime.MessageCorrelation;
+import org.activiti.engine.runtime.MessageCorrelationResult;
 import org.activiti.engine.runtime.NativeExecutionQuery;
 import org.activiti.engine.runtime.NativeProcessInstanceQuery;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -1155,6 +1157,34 @@ public interface RuntimeService {
    */
   void messageEventReceivedAsync(String messageName, String executionId);
 
+  /**
+   * Notifies the process engine that a message event with the name 'messageName' and correlation key 'correlationKey' has been received.
+   *
+   * Looking up the waiting message event subscription and delivering the message to its execution happen in a single command, so no
+   * other transaction can consume the subscription in between. The waiting execution is notified synchronously.
+   *
+   * @param messageName
+   *          the name of the message event
+   * @param correlationKey
+   *          the correlation key the subscription was created with, can be null
+   * @param processVariables
+   *          a map of variables added to the execution, can be null
+   * @return the outcome of the correlation, never null
+   */
+  MessageCorrelationResult correlateMessage(String messageName, String correlationKey, Map<String, Object> processVariables);
+
+  /**
+   * Correlates a batch of messages in a single command and transaction, see {@link #correlateMessage(String, String, Map)}.
+   *
+   * Messages that cannot be correlated are reported with a non-correlated status instead of failing the batch. The returned list
+   * holds one result per given message, in the same order.
+   *
+   * @param messageCorrelations
+   *          the messages to correlate
+   * @return the outcome of each correlation
+   */
+  List<MessageCorrelationResult> correlateMessages(List<MessageCorrelation> messageCorrelations);
+
   /**
    * Adds an event-listener which will be notified of ALL events by the dispatcher.
    *
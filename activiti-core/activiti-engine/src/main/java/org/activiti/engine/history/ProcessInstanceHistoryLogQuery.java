@@ -15,6 +15,8 @@
  */
 package org.activiti.engine.history;
 
+import java.util.Iterator;
+
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.task.Comment;
 
@@ -63,4 +65,16 @@ public interface ProcessInstanceHistoryLogQuery {
   /** Executes the query. */
   ProcessInstanceHistoryLog singleResult();
 
+  /**
+   * Iterates over the included historic data ordered by time (ascending), without loading it all at once.
+   *
+   * Every included type is read with its own time ordered query, at most pageSize rows at a time, and these pages are
+   * merged while iterating. Every page is fetched in a separate transaction. Elements with the same time are returned
+   * in the order of the includeXXX() methods above.
+   *
+   * @param pageSize
+   *          the maximum number of rows fetched at once for each included type.
+   */
+  Iterator<HistoricData> iterator(int pageSize);
+
 }
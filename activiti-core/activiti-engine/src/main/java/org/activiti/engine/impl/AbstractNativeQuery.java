@@ -26,6 +26,7 @@ import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.interceptor.ReadOnlyCommand;
 import org.activiti.engine.query.NativeQuery;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -35,7 +36,7 @@ import org.apache.commons.lang3.StringUtils;
  *
 
  */
-public abstract class AbstractNativeQuery<T extends NativeQuery<?, ?>, U> implements Command<Object>, NativeQuery<T, U>, Serializable {
+public abstract class AbstractNativeQuery<T extends NativeQuery<?, ?>, U> implements Command<Object>, ReadOnlyCommand, NativeQuery<T, U>, Serializable {
 
   private static final long serialVersionUID = 1L;
 
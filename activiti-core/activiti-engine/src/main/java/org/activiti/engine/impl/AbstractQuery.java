@@ -16,8 +16,10 @@
 
 package org.activiti.engine.impl;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiIllegalArgumentException;
@@ -28,15 +30,17 @@ import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.interceptor.ReadOnlyCommand;
 import org.activiti.engine.query.Query;
 import org.activiti.engine.query.QueryProperty;
+import org.apache.ibatis.cursor.Cursor;
 
 /**
  * Abstract superclass for all query types.
  *
 
  */
-public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryParameterObject implements Command<Object>, Query<T, U>, Serializable {
+public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryParameterObject implements Command<Object>, ReadOnlyCommand, Query<T, U>, Serializable {
 
   private static final long serialVersionUID = 1L;
 
@@ -44,11 +48,12 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
   public static final String SORTORDER_DESC = "desc";
 
   private static enum ResultType {
-    LIST, LIST_PAGE, SINGLE_RESULT, COUNT
+    LIST, LIST_PAGE, SINGLE_RESULT, COUNT, FOR_EACH
   }
 
   protected transient CommandExecutor commandExecutor;
   protected transient CommandContext commandContext;
+  protected transient Consumer<? super U> resultConsumer;
 
   protected String databaseType;
 
@@ -154,6 +159,23 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
     return executeList(Context.getCommandContext(), new Page(firstResult, maxResults));
   }
 
+  public void forEach(Consumer<? super U> consumer) {
+    if (consumer == null) {
+      throw new ActivitiIllegalArgumentException("consumer is null");
+    }
+    this.resultType = ResultType.FOR_EACH;
+    if (commandExecutor != null) {
+      this.resultConsumer = consumer;
+      try {
+        commandExecutor.execute(this);
+      } finally {
+        this.resultConsumer = null;
+      }
+    } else {
+      executeForEach(Context.getCommandContext(), consumer);
+    }
+  }
+
   public long count() {
     this.resultType = ResultType.COUNT;
     if (commandExecutor != null) {
@@ -169,6 +191,9 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
       return executeSingleResult(commandContext);
     } else if (resultType == ResultType.LIST_PAGE) {
       return executeList(commandContext, null);
+    } else if (resultType == ResultType.FOR_EACH) {
+      executeForEach(commandContext, resultConsumer);
+      return null;
     } else {
       return executeCount(commandContext);
     }
@@ -184,6 +209,47 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
    */
   public abstract List<U> executeList(CommandContext commandContext, Page page);
 
+  /**
+   * Executes the query and passes every result to the consumer. When {@link #getCursorStatement(CommandContext)} is
+   * known, the results are read through a cursor, bypassing the entity cache. Otherwise the results of
+   * {@link #executeList(CommandContext, Page)} are passed.
+   */
+  public void executeForEach(CommandContext commandContext, Consumer<? super U> consumer) {
+    String statement = getCursorStatement(commandContext);
+    if (statement == null) {
+      executeList(commandContext, null).forEach(consumer);
+      return;
+    }
+
+    checkQueryOk();
+    setFetchSize(commandContext.getProcessEngineConfiguration().getQueryCursorFetchSize());
+    try (Cursor<U> cursor = commandContext.getDbSqlSession().selectCursor(statement, this)) {
+      for (U result : cursor) {
+        initializeCursorResult(commandContext, result);
+        consumer.accept(result);
+      }
+    } catch (IOException e) {
+      throw new ActivitiException("Could not close the cursor of " + statement, e);
+    } finally {
+      setFetchSize(0);
+    }
+  }
+
+  /**
+   * The statement that {@link #forEach(Consumer)} reads through a cursor, or null when this query does not support
+   * cursors (the default).
+   */
+  protected String getCursorStatement(CommandContext commandContext) {
+    return null;
+  }
+
+  /**
+   * Called for every result read through a cursor, before it is passed to the consumer, while the command context is
+   * still active.
+   */
+  protected void initializeCursorResult(CommandContext commandContext, U result) {
+  }
+
   public U executeSingleResult(CommandContext commandContext) {
     List<U> results = executeList(commandContext, null);
     if (results.size() == 1) {
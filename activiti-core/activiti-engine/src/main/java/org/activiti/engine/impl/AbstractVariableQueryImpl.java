@@ -19,6 +19,7 @@ package org.activiti.engine.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.impl.context.Context;
@@ -212,6 +213,12 @@ public abstract class AbstractVariableQueryImpl<T extends Query<?, ?>, U> extend
     return Boolean.class.isAssignableFrom(value.getClass()) || boolean.class.isAssignableFrom(value.getClass());
   }
 
+  @Override
+  public void executeForEach(CommandContext commandContext, Consumer<? super U> consumer) {
+    ensureVariablesInitialized();
+    super.executeForEach(commandContext, consumer);
+  }
+
   protected void ensureVariablesInitialized() {
     if (!queryVariableValues.isEmpty()) {
       VariableTypes variableTypes = Context.getProcessEngineConfiguration().getVariableTypes();
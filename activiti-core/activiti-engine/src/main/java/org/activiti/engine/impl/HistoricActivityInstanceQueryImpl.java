@@ -70,6 +70,11 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
     return commandContext.getHistoricActivityInstanceEntityManager().findHistoricActivityInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  protected String getCursorStatement(CommandContext commandContext) {
+    return "selectHistoricActivityInstancesByQueryCriteria";
+  }
+
   public HistoricActivityInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
     return this;
@@ -23,6 +23,7 @@ import org.activiti.engine.history.HistoricDetail;
 import org.activiti.engine.history.HistoricDetailQuery;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
 import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
 import org.activiti.engine.impl.variable.HistoricJPAEntityListVariableType;
 import org.activiti.engine.impl.variable.HistoricJPAEntityVariableType;
@@ -110,37 +111,56 @@ public class HistoricDetailQueryImpl extends AbstractQuery<HistoricDetailQuery,
     checkQueryOk();
     List<HistoricDetail> historicDetails = commandContext.getHistoricDetailEntityManager().findHistoricDetailsByQueryCriteria(this, page);
 
-    HistoricDetailVariableInstanceUpdateEntity varUpdate = null;
     if (historicDetails != null) {
       for (HistoricDetail historicDetail : historicDetails) {
-        if (historicDetail instanceof HistoricDetailVariableInstanceUpdateEntity) {
-          varUpdate = (HistoricDetailVariableInstanceUpdateEntity) historicDetail;
-
-          // Touch byte-array to ensure initialized inside context
-          // TODO there should be a generic way to initialize variable
-          // values
-          varUpdate.getBytes();
-
-          // ACT-863: EntityManagerFactorySession instance needed for
-          // fetching value, touch while inside context to store
-          // cached value
-          if (varUpdate.getVariableType() instanceof JPAEntityVariableType) {
-            // Use HistoricJPAEntityVariableType to force caching of
-            // value to return from query
-            varUpdate.setVariableType(HistoricJPAEntityVariableType.getSharedInstance());
-            varUpdate.getValue();
-          } else if (varUpdate.getVariableType() instanceof JPAEntityListVariableType) {
-            // Use HistoricJPAEntityListVariableType to force
-            // caching of list to return from query
-            varUpdate.setVariableType(HistoricJPAEntityListVariableType.getSharedInstance());
-            varUpdate.getValue();
-          }
-        }
+        initializeValue(historicDetail);
       }
     }
     return historicDetails;
   }
 
+  @Override
+  protected String getCursorStatement(CommandContext commandContext) {
+    return "selectHistoricDetailsByQueryCriteria";
+  }
+
+  @Override
+  protected void initializeCursorResult(CommandContext commandContext, HistoricDetail historicDetail) {
+    if (historicDetail instanceof HistoricDetailVariableInstanceUpdateEntity) {
+      ByteArrayRef byteArrayRef = ((HistoricDetailVariableInstanceUpdateEntity) historicDetail).getByteArrayRef();
+      if (byteArrayRef != null) {
+        byteArrayRef.initializeWithoutCaching();
+      }
+    }
+    initializeValue(historicDetail);
+  }
+
+  protected void initializeValue(HistoricDetail historicDetail) {
+    if (historicDetail instanceof HistoricDetailVariableInstanceUpdateEntity) {
+      HistoricDetailVariableInstanceUpdateEntity varUpdate = (HistoricDetailVariableInstanceUpdateEntity) historicDetail;
+
+      // Touch byte-array to ensure initialized inside context
+      // TODO there should be a generic way to initialize variable
+      // values
+      varUpdate.getBytes();
+
+      // ACT-863: EntityManagerFactorySession instance needed for
+      // fetching value, touch while inside context to store
+      // cached value
+      if (varUpdate.getVariableType() instanceof JPAEntityVariableType) {
+        // Use HistoricJPAEntityVariableType to force caching of
+        // value to return from query
+        varUpdate.setVariableType(HistoricJPAEntityVariableType.getSharedInstance());
+        varUpdate.getValue();
+      } else if (varUpdate.getVariableType() instanceof JPAEntityListVariableType) {
+        // Use HistoricJPAEntityListVariableType to force
+        // caching of list to return from query
+        varUpdate.setVariableType(HistoricJPAEntityListVariableType.getSharedInstance());
+        varUpdate.getValue();
+      }
+    }
+  }
+
   // order by
   // /////////////////////////////////////////////////////////////////
 
@@ -608,6 +608,21 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
     return results;
   }
 
+  @Override
+  protected String getCursorStatement(CommandContext commandContext) {
+    if (includeProcessVariables || !commandContext.getHistoryManager().isHistoryEnabled()) {
+      return null;
+    }
+    return "selectHistoricProcessInstancesByQueryCriteria";
+  }
+
+  @Override
+  protected void initializeCursorResult(CommandContext commandContext, HistoricProcessInstance processInstance) {
+    if (commandContext.getProcessEngineConfiguration().getPerformanceSettings().isEnableLocalization()) {
+      localize(processInstance, commandContext);
+    }
+  }
+
   protected void localize(HistoricProcessInstance processInstance, CommandContext commandContext) {
     HistoricProcessInstanceEntity processInstanceEntity = (HistoricProcessInstanceEntity) processInstance;
     processInstanceEntity.setLocalizedName(null);
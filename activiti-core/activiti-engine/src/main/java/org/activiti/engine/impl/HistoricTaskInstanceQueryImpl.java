@@ -1150,6 +1150,21 @@ public class HistoricTaskInstanceQueryImpl extends AbstractVariableQueryImpl<His
     return this;
   }
 
+  @Override
+  protected String getCursorStatement(CommandContext commandContext) {
+    if (includeTaskLocalVariables || includeProcessVariables || !commandContext.getHistoryManager().isHistoryEnabled()) {
+      return null;
+    }
+    return "selectHistoricTaskInstancesByQueryCriteria";
+  }
+
+  @Override
+  protected void initializeCursorResult(CommandContext commandContext, HistoricTaskInstance task) {
+    if (commandContext.getProcessEngineConfiguration().getPerformanceSettings().isEnableLocalization()) {
+      localize(task);
+    }
+  }
+
   protected void localize(HistoricTaskInstance task) {
     HistoricTaskInstanceEntity taskEntity = (HistoricTaskInstanceEntity) task;
     taskEntity.setLocalizedName(null);
@@ -19,6 +19,7 @@ package org.activiti.engine.impl;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.history.HistoricVariableInstance;
@@ -28,6 +29,7 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.activiti.engine.impl.variable.CacheableVariable;
+import org.activiti.engine.impl.variable.InputStreamType;
 import org.activiti.engine.impl.variable.JPAEntityListVariableType;
 import org.activiti.engine.impl.variable.JPAEntityVariableType;
 import org.activiti.engine.impl.variable.VariableTypes;
@@ -225,22 +227,47 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
 
     List<HistoricVariableInstance> historicVariableInstances = commandContext.getHistoricVariableInstanceEntityManager().findHistoricVariableInstancesByQueryCriteria(this, page);
 
-    if (!excludeVariableInitialization) {
-      for (HistoricVariableInstance historicVariableInstance : historicVariableInstances) {
-        if (historicVariableInstance instanceof HistoricVariableInstanceEntity) {
-          HistoricVariableInstanceEntity variableEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
-          if (variableEntity != null && variableEntity.getVariableType() != null) {
-            variableEntity.getValue();
-
-            // make sure JPA entities are cached for later retrieval
-            if (JPAEntityVariableType.TYPE_NAME.equals(variableEntity.getVariableType().getTypeName()) || JPAEntityListVariableType.TYPE_NAME.equals(variableEntity.getVariableType().getTypeName())) {
-              ((CacheableVariable) variableEntity.getVariableType()).setForceCacheable(true);
-            }
-          }
+    for (HistoricVariableInstance historicVariableInstance : historicVariableInstances) {
+      initializeValue(historicVariableInstance);
+    }
+    return historicVariableInstances;
+  }
+
+  @Override
+  public void executeForEach(CommandContext commandContext, Consumer<? super HistoricVariableInstance> consumer) {
+    ensureVariablesInitialized();
+    super.executeForEach(commandContext, consumer);
+  }
+
+  @Override
+  protected String getCursorStatement(CommandContext commandContext) {
+    return "selectHistoricVariableInstanceByQueryCriteria";
+  }
+
+  @Override
+  protected void initializeCursorResult(CommandContext commandContext, HistoricVariableInstance historicVariableInstance) {
+    if (!excludeVariableInitialization && historicVariableInstance instanceof HistoricVariableInstanceEntity) {
+      HistoricVariableInstanceEntity variableEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
+      // streamed content is only read when the value is consumed
+      if (variableEntity.getByteArrayRef() != null && !(variableEntity.getVariableType() instanceof InputStreamType)) {
+        variableEntity.getByteArrayRef().initializeWithoutCaching();
+      }
+    }
+    initializeValue(historicVariableInstance);
+  }
+
+  protected void initializeValue(HistoricVariableInstance historicVariableInstance) {
+    if (!excludeVariableInitialization && historicVariableInstance instanceof HistoricVariableInstanceEntity) {
+      HistoricVariableInstanceEntity variableEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
+      if (variableEntity.getVariableType() != null) {
+        variableEntity.getValue();
+
+        // make sure JPA entities are cached for later retrieval
+        if (JPAEntityVariableType.TYPE_NAME.equals(variableEntity.getVariableType().getTypeName()) || JPAEntityListVariableType.TYPE_NAME.equals(variableEntity.getVariableType().getTypeName())) {
+          ((CacheableVariable) variableEntity.getVariableType()).setForceCacheable(true);
         }
       }
     }
-    return historicVariableInstances;
   }
 
   // order by
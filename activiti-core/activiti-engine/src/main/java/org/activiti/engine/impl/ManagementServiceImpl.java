@@ -25,12 +25,16 @@ import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.ManagementService;
 import org.activiti.engine.event.EventLogEntry;
 import org.activiti.engine.impl.cmd.CustomSqlExecution;
+import org.activiti.engine.impl.cmd.DeleteBatchCmd;
 import org.activiti.engine.impl.cmd.DeleteDeadLetterJobCmd;
 import org.activiti.engine.impl.cmd.DeleteEventLogEntry;
 import org.activiti.engine.impl.cmd.DeleteJobCmd;
 import org.activiti.engine.impl.cmd.DeleteTimerJobCmd;
 import org.activiti.engine.impl.cmd.ExecuteCustomSqlCmd;
 import org.activiti.engine.impl.cmd.ExecuteJobCmd;
+import org.activiti.engine.impl.cmd.GetBatchCmd;
+import org.activiti.engine.impl.cmd.GetBatchPartsCmd;
+import org.activiti.engine.impl.cmd.GetBatchesCmd;
 import org.activiti.engine.impl.cmd.GetEventLogEntriesCmd;
 import org.activiti.engine.impl.cmd.GetJobExceptionStacktraceCmd;
 import org.activiti.engine.impl.cmd.GetPropertiesCmd;
@@ -41,8 +45,11 @@ import org.activiti.engine.impl.cmd.JobType;
 import org.activiti.engine.impl.cmd.MoveDeadLetterJobToExecutableJobCmd;
 import org.activiti.engine.impl.cmd.MoveJobToDeadLetterJobCmd;
 import org.activiti.engine.impl.cmd.MoveTimerToExecutableJobCmd;
+import org.activiti.engine.impl.cmd.PauseBatchCmd;
+import org.activiti.engine.impl.cmd.ResumeBatchCmd;
 import org.activiti.engine.impl.cmd.SetJobRetriesCmd;
 import org.activiti.engine.impl.cmd.SetTimerJobRetriesCmd;
+import org.activiti.engine.impl.cmd.StartBatchCmd;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.db.DbSqlSessionFactory;
 import org.activiti.engine.impl.interceptor.Command;
@@ -50,6 +57,8 @@ import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.management.TableMetaData;
 import org.activiti.engine.management.TablePageQuery;
+import org.activiti.engine.runtime.Batch;
+import org.activiti.engine.runtime.BatchPart;
 import org.activiti.engine.runtime.DeadLetterJobQuery;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.JobQuery;
@@ -216,4 +225,54 @@ public class ManagementServiceImpl extends ServiceImpl implements ManagementServ
     commandExecutor.execute(new DeleteEventLogEntry(logNr));
   }
 
+  @Override
+  public Batch suspendProcessInstancesInBatch(String processDefinitionId) {
+    return commandExecutor.execute(new StartBatchCmd(Batch.TYPE_SUSPEND_PROCESS_INSTANCES, processDefinitionId, null));
+  }
+
+  @Override
+  public Batch activateProcessInstancesInBatch(String processDefinitionId) {
+    return commandExecutor.execute(new StartBatchCmd(Batch.TYPE_ACTIVATE_PROCESS_INSTANCES, processDefinitionId, null));
+  }
+
+  @Override
+  public Batch deleteProcessInstancesInBatch(String processDefinitionId, String deleteReason) {
+    return commandExecutor.execute(new StartBatchCmd(Batch.TYPE_DELETE_PROCESS_INSTANCES, processDefinitionId, deleteReason));
+  }
+
+  @Override
+  public Batch migrateProcessInstancesInBatch(String processDefinitionId, int processDefinitionVersion) {
+    return commandExecutor.execute(new StartBatchCmd(Batch.TYPE_MIGRATE_PROCESS_INSTANCES, processDefinitionId, String.valueOf(processDefinitionVersion)));
+  }
+
+  @Override
+  public Batch getBatch(String batchId) {
+    return commandExecutor.execute(new GetBatchCmd(batchId));
+  }
+
+  @Override
+  public List<Batch> getBatches() {
+    return commandExecutor.execute(new GetBatchesCmd());
+  }
+
+  @Override
+  public List<BatchPart> getBatchParts(String batchId) {
+    return commandExecutor.execute(new GetBatchPartsCmd(batchId));
+  }
+
+  @Override
+  public void pauseBatch(String batchId) {
+    commandExecutor.execute(new PauseBatchCmd(batchId));
+  }
+
+  @Override
+  public void resumeBatch(String batchId) {
+    commandExecutor.execute(new ResumeBatchCmd(batchId));
+  }
+
+  @Override
+  public void deleteBatch(String batchId) {
+    commandExecutor.execute(new DeleteBatchCmd(batchId));
+  }
+
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.activiti.engine.history.HistoricData;
+import org.activiti.engine.impl.cmd.GetHistoricDataPageCmd;
+import org.activiti.engine.impl.cmd.GetHistoricDataPageCmd.Source;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * Iterates over the historic data of a process instance in time order, keeping at most one page per included
+ * {@link Source} in memory.
+ *
+ * Every source is read with its own query ordered by time and id. A page starts right after the last element of the
+ * previous page of the same source, so no offsets are involved and rows are never read twice. The heads of the
+ * sources are merged here: the element with the lowest time is returned first, ties are broken by the order of the
+ * sources.
+ *
+ * Every page is fetched in its own command (and thus its own transaction), so the elements returned by this iterator
+ * are detached.
+ */
+public class ProcessInstanceHistoryLogIterator implements Iterator<HistoricData> {
+
+  protected CommandExecutor commandExecutor;
+  protected String processInstanceId;
+  protected int pageSize;
+  protected List<SourceCursor> cursors = new ArrayList<SourceCursor>();
+
+  public ProcessInstanceHistoryLogIterator(CommandExecutor commandExecutor, String processInstanceId, List<Source> sources, int pageSize) {
+    this.commandExecutor = commandExecutor;
+    this.processInstanceId = processInstanceId;
+    this.pageSize = pageSize;
+    for (Source source : sources) {
+      cursors.add(new SourceCursor(source));
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextCursor() != null;
+  }
+
+  @Override
+  public HistoricData next() {
+    SourceCursor cursor = nextCursor();
+    if (cursor == null) {
+      throw new NoSuchElementException();
+    }
+    return cursor.page.removeFirst();
+  }
+
+  /**
+   * The cursor holding the element that comes next, or null when all sources are exhausted.
+   */
+  protected SourceCursor nextCursor() {
+    SourceCursor result = null;
+    for (SourceCursor cursor : cursors) {
+      HistoricData head = cursor.peek();
+      if (head != null && (result == null || head.getTime().compareTo(result.peek().getTime()) < 0)) {
+        result = cursor;
+      }
+    }
+    return result;
+  }
+
+  protected static String getId(HistoricData data) {
+    return ((Entity) data).getId();
+  }
+
+  protected class SourceCursor {
+
+    protected Source source;
+    protected Deque<HistoricData> page = new ArrayDeque<HistoricData>();
+    protected Date lastTime;
+    protected String lastId;
+    protected boolean exhausted;
+
+    public SourceCursor(Source source) {
+      this.source = source;
+    }
+
+    public HistoricData peek() {
+      if (page.isEmpty() && !exhausted) {
+        fetchPage();
+      }
+      return page.peekFirst();
+    }
+
+    protected void fetchPage() {
+      List<HistoricData> data = commandExecutor.execute(new GetHistoricDataPageCmd(source, processInstanceId, lastTime, lastId, pageSize));
+      if (data.size() < pageSize) {
+        exhausted = true;
+      }
+      if (!data.isEmpty()) {
+        HistoricData last = data.get(data.size() - 1);
+        lastTime = last.getTime();
+        lastId = getId(last);
+        page.addAll(data);
+      }
+    }
+
+  }
+
+}
@@ -15,14 +15,18 @@
  */
 package org.activiti.engine.impl;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.history.HistoricActivityInstance;
 import org.activiti.engine.history.HistoricData;
 import org.activiti.engine.history.HistoricVariableInstance;
 import org.activiti.engine.history.HistoricVariableUpdate;
 import org.activiti.engine.history.ProcessInstanceHistoryLog;
 import org.activiti.engine.history.ProcessInstanceHistoryLogQuery;
+import org.activiti.engine.impl.cmd.GetHistoricDataPageCmd.Source;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
@@ -93,6 +97,34 @@ public class ProcessInstanceHistoryLogQueryImpl implements ProcessInstanceHistor
     return commandExecutor.execute(this);
   }
 
+  @Override
+  public Iterator<HistoricData> iterator(int pageSize) {
+    if (pageSize < 1) {
+      throw new ActivitiIllegalArgumentException("pageSize must be at least 1");
+    }
+
+    List<Source> sources = new ArrayList<Source>();
+    if (includeTasks) {
+      sources.add(Source.TASKS);
+    }
+    if (includeActivities) {
+      sources.add(Source.ACTIVITIES);
+    }
+    if (includeVariables) {
+      sources.add(Source.VARIABLES);
+    }
+    if (includeComments) {
+      sources.add(Source.COMMENTS);
+    }
+    if (includeVariableUpdates) {
+      sources.add(Source.VARIABLE_UPDATES);
+    }
+    if (includeFormProperties) {
+      sources.add(Source.FORM_PROPERTIES);
+    }
+    return new ProcessInstanceHistoryLogIterator(commandExecutor, processInstanceId, sources, pageSize);
+  }
+
   @Override
   public ProcessInstanceHistoryLog execute(CommandContext commandContext) {
 
@@ -150,7 +182,7 @@ public class ProcessInstanceHistoryLogQueryImpl implements ProcessInstanceHistor
     // Details: variables
     if (includeVariableUpdates) {
       List<? extends HistoricData> variableUpdates = commandContext.getHistoricDetailEntityManager().findHistoricDetailsByQueryCriteria(
-          new HistoricDetailQueryImpl(commandExecutor).variableUpdates(), null);
+          new HistoricDetailQueryImpl(commandExecutor).processInstanceId(processInstanceId).variableUpdates(), null);
 
       // Make sure all variables values are fetched (similar to the HistoricVariableInstance query)
       for (HistoricData historicData : variableUpdates) {
@@ -164,7 +196,7 @@ public class ProcessInstanceHistoryLogQueryImpl implements ProcessInstanceHistor
     // Details: form properties
     if (includeFormProperties) {
       List<? extends HistoricData> formProperties = commandContext.getHistoricDetailEntityManager().findHistoricDetailsByQueryCriteria(
-          new HistoricDetailQueryImpl(commandExecutor).formProperties(), null);
+          new HistoricDetailQueryImpl(commandExecutor).processInstanceId(processInstanceId).formProperties(), null);
       processInstanceHistoryLog.addHistoricData(formProperties);
     }
 
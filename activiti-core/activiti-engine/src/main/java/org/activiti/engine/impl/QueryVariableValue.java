@@ -41,6 +41,7 @@ public class QueryVariableValue implements Serializable {
 
   private VariableInstanceEntity variableInstanceEntity;
   private boolean local;
+  private boolean indexed;
 
   public QueryVariableValue(String name, Object value, QueryOperator operator, boolean local) {
     this.name = name;
@@ -61,6 +62,8 @@ public class QueryVariableValue implements Serializable {
       } else {
         // Type implementation determines which fields are set on the entity
         variableInstanceEntity = Context.getCommandContext().getVariableInstanceEntityManager().create(name, type, value);
+        indexed = !local && getOperator().equals(QueryOperator.EQUALS.toString())
+            && Context.getCommandContext().getVariableIndexEntityManager().isIndexedQueryValue(name, variableInstanceEntity);
       }
     }
   }
@@ -114,4 +117,11 @@ public class QueryVariableValue implements Serializable {
   public boolean isLocal() {
     return local;
   }
+
+  /**
+   * Whether this process variable condition is answered from the variable index table.
+   */
+  public boolean isIndexed() {
+    return indexed;
+  }
 }
@@ -50,6 +50,7 @@ import org.activiti.engine.impl.cmd.GetIdentityLinksForProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.AddEventListenerCommand;
 import org.activiti.engine.impl.cmd.SignalEventReceivedCmd;
 import org.activiti.engine.impl.cmd.MessageEventReceivedCmd;
+import org.activiti.engine.impl.cmd.CorrelateMessagesCmd;
 import org.activiti.engine.impl.cmd.DeleteIdentityLinkForProcessInstanceCmd;
 import org.activiti.engine.impl.cmd.SetExecutionVariablesCmd;
 import org.activiti.engine.impl.cmd.GetExecutionVariableInstanceCmd;
@@ -67,6 +68,8 @@ import org.activiti.engine.impl.runtime.ProcessInstanceBuilderImpl;
 import org.activiti.engine.runtime.DataObject;
 import org.activiti.engine.runtime.Execution;
 import org.activiti.engine.runtime.ExecutionQuery;
+import org.activiti.engine.runtime.MessageCorrelation;
+import org.activiti.engine.runtime.MessageCorrelationResult;
 import org.activiti.engine.runtime.NativeExecutionQuery;
 import org.activiti.engine.runtime.NativeProcessInstanceQuery;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -475,6 +478,16 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
         commandExecutor.execute(new MessageEventReceivedCmd(messageName, executionId, true));
     }
 
+    @Override
+    public MessageCorrelationResult correlateMessage(String messageName, String correlationKey, Map<String, Object> processVariables) {
+        return commandExecutor.execute(new CorrelateMessagesCmd(new MessageCorrelation(messageName, correlationKey, processVariables))).get(0);
+    }
+
+    @Override
+    public List<MessageCorrelationResult> correlateMessages(List<MessageCorrelation> messageCorrelations) {
+        return commandExecutor.execute(new CorrelateMessagesCmd(messageCorrelations));
+    }
+
     @Override
     public void addEventListener(ActivitiEventListener listenerToAdd) {
         commandExecutor.execute(new AddEventListenerCommand(listenerToAdd));
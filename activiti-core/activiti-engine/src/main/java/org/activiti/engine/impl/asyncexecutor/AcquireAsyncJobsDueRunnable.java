@@ -41,8 +41,16 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
 
   protected long millisToWait;
 
+  /** When set, acquisitions are sized and spaced by the controller instead of the fixed wait time */
+  protected final AcquisitionController acquisitionController;
+
   public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, null);
+  }
+
+  public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor, AcquisitionController acquisitionController) {
     this.asyncExecutor = asyncExecutor;
+    this.acquisitionController = acquisitionController;
   }
 
   public synchronized void run() {
@@ -54,28 +62,10 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
-        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
-
-        boolean allJobsSuccessfullyOffered = true;
-        for (JobEntity job : acquiredJobs.getJobs()) {
-          boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
-          if (!jobSuccessFullyOffered) {
-            allJobsSuccessfullyOffered = false;
-          }
-        }
-
-        // If all jobs are executed, we check if we got back the amount we expected
-        // If not, we will wait, as to not query the database needlessly.
-        // Otherwise, we set the wait time to 0, as to query again immediately.
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
-          millisToWait = 0;
-        }
-
-        // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
-        if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
-          millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+        if (acquisitionController != null) {
+          millisToWait = acquireJobsAdaptively(commandExecutor);
+        } else {
+          millisToWait = acquireJobs(commandExecutor);
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
@@ -88,7 +78,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
       } catch (Throwable e) {
         log.error("exception during async job acquisition: {}", e.getMessage(), e);
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+        millisToWait = acquisitionController != null ? acquisitionController.idle() : asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
       }
 
       if (millisToWait > 0) {
@@ -119,6 +109,79 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  protected long acquireJobs(CommandExecutor commandExecutor) {
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+    boolean allJobsSuccessfullyOffered = offerJobs(acquiredJobs);
+
+    // If all jobs are executed, we check if we got back the amount we expected
+    // If not, we will wait, as to not query the database needlessly.
+    // Otherwise, we set the wait time to 0, as to query again immediately.
+    long waitTime = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+    int jobsAcquired = acquiredJobs.size();
+    if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
+      waitTime = 0;
+    }
+
+    // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
+    if (waitTime == 0 && !allJobsSuccessfullyOffered) {
+      waitTime = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+    }
+    return waitTime;
+  }
+
+  protected long acquireJobsAdaptively(CommandExecutor commandExecutor) {
+    int batchSize = acquisitionController.nextBatchSize(asyncExecutor.getMaxAsyncJobsDuePerAcquisition(), getFreeCapacity());
+    if (batchSize == 0) {
+      // The executor can't take any job right now: acquiring would only lock jobs to unacquire them again
+      return getQueueFullWaitTime();
+    }
+
+    long start = System.nanoTime();
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, batchSize));
+    long waitTime = acquisitionController.acquired(batchSize, acquiredJobs.size(), System.nanoTime() - start);
+
+    if (!offerJobs(acquiredJobs)) {
+      waitTime = Math.max(waitTime, getQueueFullWaitTime());
+    }
+    return waitTime;
+  }
+
+  protected boolean offerJobs(AcquiredJobEntities acquiredJobs) {
+    boolean allJobsSuccessfullyOffered = true;
+    for (JobEntity job : acquiredJobs.getJobs()) {
+      boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
+      if (!jobSuccessFullyOffered) {
+        allJobsSuccessfullyOffered = false;
+      }
+    }
+    return allJobsSuccessfullyOffered;
+  }
+
+  protected int getFreeCapacity() {
+    if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+      return ((DefaultAsyncJobExecutor) asyncExecutor).getRemainingCapacity();
+    }
+    return -1;
+  }
+
+  protected long getQueueFullWaitTime() {
+    return Math.max(asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis(), acquisitionController.getMinWaitTimeInMillis());
+  }
+
+  /**
+   * Cuts the current wait short, for example because a job was created or handed back locally.
+   */
+  public void wakeUp() {
+    if (acquisitionController != null) {
+      acquisitionController.hint();
+    }
+    synchronized (MONITOR) {
+      if (isWaiting.compareAndSet(true, false)) {
+        MONITOR.notifyAll();
+      }
+    }
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
@@ -135,4 +198,8 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
   public void setMillisToWait(long millisToWait) {
     this.millisToWait = millisToWait;
   }
+
+  public AcquisitionController getAcquisitionController() {
+    return acquisitionController;
+  }
 }
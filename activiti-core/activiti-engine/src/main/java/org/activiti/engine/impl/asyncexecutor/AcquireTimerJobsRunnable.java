@@ -44,9 +44,17 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
   protected long millisToWait;
 
+  /** When set, the wait between acquisitions is decided by the controller instead of the fixed wait time */
+  protected final AcquisitionController acquisitionController;
+
   public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager) {
+    this(asyncExecutor, jobManager, null);
+  }
+
+  public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager, AcquisitionController acquisitionController) {
     this.asyncExecutor = asyncExecutor;
     this.jobManager = jobManager;
+    this.acquisitionController = acquisitionController;
   }
 
   public synchronized void run() {
@@ -58,24 +66,24 @@ public class AcquireTimerJobsRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
-        final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
-
-        commandExecutor.execute(new Command<Void>() {
-
-          @Override
-          public Void execute(CommandContext commandContext) {
-            for (TimerJobEntity job : acquiredJobs.getJobs()) {
-              jobManager.moveTimerJobToExecutableJob(job);
-            }
-            return null;
+        if (acquisitionController != null) {
+          int batchSize = asyncExecutor.getMaxTimerJobsPerAcquisition();
+          long start = System.nanoTime();
+          AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, batchSize));
+          long acquisitionTime = System.nanoTime() - start;
+          moveTimerJobsToExecutableJobs(commandExecutor, acquiredJobs);
+          millisToWait = acquisitionController.acquired(batchSize, acquiredJobs.size(), acquisitionTime);
+
+        } else {
+          AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+          moveTimerJobsToExecutableJobs(commandExecutor, acquiredJobs);
+
+          // if all jobs were executed
+          millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+          int jobsAcquired = acquiredJobs.size();
+          if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
+            millisToWait = 0;
           }
-        });
-
-        // if all jobs were executed
-        millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
-          millisToWait = 0;
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
@@ -88,7 +96,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
         }
       } catch (Throwable e) {
         log.error("exception during timer job acquisition: {}", e.getMessage(), e);
-        millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+        millisToWait = acquisitionController != null ? acquisitionController.idle() : asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
       }
 
       if (millisToWait > 0) {
@@ -119,6 +127,33 @@ public class AcquireTimerJobsRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  protected void moveTimerJobsToExecutableJobs(CommandExecutor commandExecutor, final AcquiredTimerJobEntities acquiredJobs) {
+    commandExecutor.execute(new Command<Void>() {
+
+      @Override
+      public Void execute(CommandContext commandContext) {
+        for (TimerJobEntity job : acquiredJobs.getJobs()) {
+          jobManager.moveTimerJobToExecutableJob(job);
+        }
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Cuts the current wait short, for example because a timer job was created locally.
+   */
+  public void wakeUp() {
+    if (acquisitionController != null) {
+      acquisitionController.hint();
+    }
+    synchronized (MONITOR) {
+      if (isWaiting.compareAndSet(true, false)) {
+        MONITOR.notifyAll();
+      }
+    }
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
@@ -135,4 +170,8 @@ public class AcquireTimerJobsRunnable implements Runnable {
   public void setMillisToWait(long millisToWait) {
     this.millisToWait = millisToWait;
   }
+
+  public AcquisitionController getAcquisitionController() {
+    return acquisitionController;
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides how many jobs a job acquisition thread fetches and how long it waits before the next fetch.
+ *
+ * <ul>
+ *   <li>Batches are sized to the free capacity of the executor, so jobs are not fetched and locked only to be
+ *       rejected by a full queue.</li>
+ *   <li>A full batch means there is a backlog: the next acquisition happens immediately.</li>
+ *   <li>A partial batch means the backlog is drained: the thread waits the minimum wait time.</li>
+ *   <li>An empty batch doubles the wait time, up to the maximum wait time (the configured default acquire wait time).</li>
+ *   <li>A {@link #hint()} (a job was created or rejected locally) resets the wait time to the minimum.</li>
+ * </ul>
+ *
+ * Also keeps the acquisition metrics: number of acquisitions, acquired jobs and time spent acquiring.
+ */
+public class AcquisitionController {
+
+  protected final int minWaitTimeInMillis;
+  protected final int maxWaitTimeInMillis;
+
+  protected volatile long idleWaitTimeInMillis;
+
+  protected final long startTime = System.nanoTime();
+  protected final AtomicLong acquisitionCount = new AtomicLong();
+  protected final AtomicLong acquiredJobCount = new AtomicLong();
+  protected final AtomicLong acquisitionTimeInNanos = new AtomicLong();
+  protected volatile int lastBatchSize;
+
+  public AcquisitionController(int minWaitTimeInMillis, int maxWaitTimeInMillis) {
+    this.minWaitTimeInMillis = Math.max(0, Math.min(minWaitTimeInMillis, maxWaitTimeInMillis));
+    this.maxWaitTimeInMillis = maxWaitTimeInMillis;
+    this.idleWaitTimeInMillis = this.minWaitTimeInMillis;
+  }
+
+  /**
+   * @param maxBatchSize the configured maximum number of jobs per acquisition
+   * @param freeCapacity the number of jobs the executor can currently take, or a negative value when unknown
+   * @return the number of jobs to acquire, 0 meaning the acquisition should be skipped
+   */
+  public int nextBatchSize(int maxBatchSize, int freeCapacity) {
+    if (freeCapacity < 0) {
+      return maxBatchSize;
+    }
+    return Math.min(maxBatchSize, freeCapacity);
+  }
+
+  /**
+   * Records an acquisition and returns the time to wait before the next one.
+   */
+  public long acquired(int batchSize, int jobsAcquired, long durationInNanos) {
+    acquisitionCount.incrementAndGet();
+    acquiredJobCount.addAndGet(jobsAcquired);
+    acquisitionTimeInNanos.addAndGet(durationInNanos);
+    lastBatchSize = jobsAcquired;
+
+    if (jobsAcquired > 0 && jobsAcquired >= batchSize) {
+      idleWaitTimeInMillis = minWaitTimeInMillis;
+      return 0;
+    }
+    if (jobsAcquired > 0) {
+      idleWaitTimeInMillis = minWaitTimeInMillis;
+      return minWaitTimeInMillis;
+    }
+    return idle();
+  }
+
+  /**
+   * No acquisition was possible (no free capacity or an error): wait as if nothing was found.
+   */
+  public long idle() {
+    long waitTime = idleWaitTimeInMillis;
+    idleWaitTimeInMillis = Math.min(Math.max(1, waitTime * 2), maxWaitTimeInMillis);
+    return waitTime;
+  }
+
+  /**
+   * A job was created or handed back locally: the next wait is short again.
+   */
+  public void hint() {
+    idleWaitTimeInMillis = minWaitTimeInMillis;
+  }
+
+  public long getAcquisitionCount() {
+    return acquisitionCount.get();
+  }
+
+  public long getAcquiredJobCount() {
+    return acquiredJobCount.get();
+  }
+
+  public int getLastBatchSize() {
+    return lastBatchSize;
+  }
+
+  public double getAverageBatchSize() {
+    long acquisitions = acquisitionCount.get();
+    return acquisitions == 0 ? 0 : (double) acquiredJobCount.get() / acquisitions;
+  }
+
+  public double getAverageAcquisitionTimeInMillis() {
+    long acquisitions = acquisitionCount.get();
+    return acquisitions == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(acquisitionTimeInNanos.get()) / acquisitions / 1000;
+  }
+
+  /**
+   * @return the number of acquisitions per second since this controller was created
+   */
+  public double getAcquisitionRate() {
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    return elapsedMillis == 0 ? 0 : acquisitionCount.get() * 1000.0 / elapsedMillis;
+  }
+
+  public long getIdleWaitTimeInMillis() {
+    return idleWaitTimeInMillis;
+  }
+
+  public int getMinWaitTimeInMillis() {
+    return minWaitTimeInMillis;
+  }
+
+  public int getMaxWaitTimeInMillis() {
+    return maxWaitTimeInMillis;
+  }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+/**
+ * The kind of threads the {@link DefaultAsyncJobExecutor} runs jobs on.
+ */
+public enum AsyncJobExecutorThreadModel {
+
+  /**
+   * A bounded {@link java.util.concurrent.ThreadPoolExecutor} with a job queue (corePoolSize, maxPoolSize and queueSize apply).
+   */
+  PLATFORM,
+
+  /**
+   * A work-stealing {@link java.util.concurrent.ForkJoinPool} with maxPoolSize as parallelism.
+   * The number of jobs handed to it is limited by maxConcurrentJobs.
+   */
+  WORK_STEALING,
+
+  /**
+   * A new virtual thread per job, limited by maxConcurrentJobs. Requires JDK 21 or later,
+   * older runtimes fall back to {@link #PLATFORM}.
+   */
+  VIRTUAL
+
+}
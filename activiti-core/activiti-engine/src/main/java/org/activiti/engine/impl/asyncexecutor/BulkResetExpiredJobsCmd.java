@@ -0,0 +1,56 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Finds up to pageSize expired jobs and resets all of them with one update statement,
+ * instead of one command per job as the {@link ResetExpiredJobsCmd} does.
+ *
+ * Unlike {@link ResetExpiredJobsCmd}, the jobs keep their id: only the lock is cleared.
+ * Returns the number of jobs that were reset.
+ */
+public class BulkResetExpiredJobsCmd implements Command<Integer> {
+
+  protected int pageSize;
+
+  public BulkResetExpiredJobsCmd(int pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  @Override
+  public Integer execute(CommandContext commandContext) {
+    List<JobEntity> expiredJobs = commandContext.getJobEntityManager().findExpiredJobs(new Page(0, pageSize));
+    if (expiredJobs.isEmpty()) {
+      return 0;
+    }
+
+    List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
+    for (JobEntity expiredJob : expiredJobs) {
+      expiredJobIds.add(expiredJob.getId());
+    }
+    return commandContext.getJobEntityManager().resetExpiredJobs(expiredJobIds,
+        commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+  }
+
+}
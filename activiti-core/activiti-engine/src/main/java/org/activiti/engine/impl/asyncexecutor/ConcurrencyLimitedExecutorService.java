@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands at most a fixed number of tasks at a time to an unbounded executor service, taking the place
+ * of the job queue of a {@link java.util.concurrent.ThreadPoolExecutor}.
+ *
+ * When all permits are taken, {@link #execute(Runnable)} throws a {@link RejectedExecutionException}
+ * immediately, exactly like a full queue does, so the {@link DefaultAsyncJobExecutor} unacquires the job.
+ */
+public class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+
+  protected final ExecutorService delegate;
+  protected final Semaphore permits;
+  protected final int maxConcurrentTasks;
+
+  public ConcurrencyLimitedExecutorService(ExecutorService delegate, int maxConcurrentTasks) {
+    this.delegate = delegate;
+    this.maxConcurrentTasks = maxConcurrentTasks;
+    this.permits = new Semaphore(maxConcurrentTasks);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException("Maximum of " + maxConcurrentTasks + " concurrent jobs reached");
+    }
+    try {
+      delegate.execute(() -> {
+        try {
+          command.run();
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  public int getMaxConcurrentTasks() {
+    return maxConcurrentTasks;
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+
+}
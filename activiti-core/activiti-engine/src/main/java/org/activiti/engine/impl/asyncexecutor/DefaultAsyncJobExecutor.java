@@ -16,14 +16,22 @@
 
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
@@ -67,6 +75,16 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   /** The executor service used for job execution */
   protected ExecutorService executorService;
 
+  /** The kind of threads jobs are executed on, see {@link AsyncJobExecutorThreadModel} */
+  protected AsyncJobExecutorThreadModel threadModel = AsyncJobExecutorThreadModel.PLATFORM;
+
+  /**
+   * The number of jobs that can be handed to the executor service at the same time when not using the
+   * {@link AsyncJobExecutorThreadModel#PLATFORM platform} thread pool. If not positive, maxPoolSize + queueSize is used,
+   * which is the number of jobs a platform pool accepts.
+   */
+  protected int maxConcurrentJobs;
+
   /**
    * The time (in seconds) that is waited to gracefully shut down the threadpool used for job execution
    */
@@ -92,6 +110,14 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
   protected int defaultQueueSizeFullWaitTime = 0;
 
+  /**
+   * When enabled, the acquisition threads use an {@link AcquisitionController}: async job batches are sized to the free
+   * capacity of the executor, and the wait between acquisitions backs off exponentially from
+   * {@link #minAcquireWaitTimeInMillis} to the default acquire wait times while no jobs are found.
+   */
+  protected boolean adaptiveAcquisition;
+  protected int minAcquireWaitTimeInMillis = 100;
+
   protected String lockOwner = UUID.randomUUID().toString();
   protected int timerLockTimeInMillis = 5 * 60 * 1000;
   protected int asyncJobLockTimeInMillis = 5 * 60 * 1000;
@@ -100,6 +126,27 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected int resetExpiredJobsInterval = 60 * 1000;
   protected int resetExpiredJobsPageSize = 3;
 
+  /** When true, expired jobs are reset with one update statement per page, see {@link BulkResetExpiredJobsCmd} */
+  protected boolean resetExpiredJobsInBulk;
+
+  /**
+   * When true, the locks of the jobs accepted by this executor are renewed every {@link #renewJobLocksInterval} milliseconds
+   * until they are done, so the async job lock time can be kept short, see {@link RenewJobLocksRunnable}.
+   */
+  protected boolean renewJobLocks;
+
+  /** If not positive, a third of the async job lock time is used */
+  protected int renewJobLocksInterval;
+
+  /** When true, jobs are locked, executed and unlocked in one transaction, see {@link FusedExecuteAsyncRunnable} */
+  protected boolean fusedJobExecution;
+
+  /** Ids of the jobs handed to the executor service that haven't finished yet */
+  protected final Set<String> inFlightJobIds = ConcurrentHashMap.newKeySet();
+
+  protected Thread renewJobLocksThread;
+  protected RenewJobLocksRunnable renewJobLocksRunnable;
+
   // Job queue used when async executor is not yet started and jobs are already added.
   // This is mainly used for testing purpose.
   protected LinkedList<Job> temporaryJobQueue = new LinkedList<Job>();
@@ -116,11 +163,12 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
     Runnable runnable = null;
     if (isActive) {
-      runnable = createRunnableForJob(job);
+      runnable = trackInFlight(job, createRunnableForJob(job));
 
       try {
         executorService.execute(runnable);
       } catch (RejectedExecutionException e) {
+        inFlightJobIds.remove(job.getId());
 
         // When a RejectedExecutionException is caught, this means that the queue for holding the jobs
         // that are to be executed is full and can't store more.
@@ -145,6 +193,12 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
           });
         }
 
+        // The job is back in the database: don't let the acquisition thread back off too long before picking it up
+        AcquireAsyncJobsDueRunnable acquireRunnable = asyncJobsDueRunnable;
+        if (acquireRunnable != null && acquireRunnable.getAcquisitionController() != null) {
+          acquireRunnable.getAcquisitionController().hint();
+        }
+
         // Job queue full, returning true so (if wanted) the acquiring can be throttled
         return false;
       }
@@ -158,12 +212,36 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
   protected Runnable createRunnableForJob(final Job job) {
     if (executeAsyncRunnableFactory == null) {
+      if (fusedJobExecution) {
+        return new FusedExecuteAsyncRunnable(job, processEngineConfiguration);
+      }
       return new ExecuteAsyncRunnable(job, processEngineConfiguration);
     } else {
       return executeAsyncRunnableFactory.createExecuteAsyncRunnable(job, processEngineConfiguration);
     }
   }
 
+  /**
+   * Registers the job as in flight until the returned runnable has run, so its lock can be renewed in the meantime.
+   */
+  protected Runnable trackInFlight(final Job job, final Runnable runnable) {
+    if (!renewJobLocks) {
+      return runnable;
+    }
+    final String jobId = job.getId();
+    inFlightJobIds.add(jobId);
+    return new Runnable() {
+      @Override
+      public void run() {
+        try {
+          runnable.run();
+        } finally {
+          inFlightJobIds.remove(jobId);
+        }
+      }
+    };
+  }
+
   /** Starts the async executor */
   public void start() {
     if (isActive) {
@@ -173,15 +251,17 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     log.info("Starting up the default async job executor [{}].", getClass().getName());
 
     if (timerJobRunnable == null) {
-      timerJobRunnable = new AcquireTimerJobsRunnable(this, processEngineConfiguration.getJobManager());
+      timerJobRunnable = new AcquireTimerJobsRunnable(this, processEngineConfiguration.getJobManager(),
+          adaptiveAcquisition ? new AcquisitionController(minAcquireWaitTimeInMillis, defaultTimerJobAcquireWaitTimeInMillis) : null);
     }
 
     if (resetExpiredJobsRunnable == null) {
-      resetExpiredJobsRunnable = new ResetExpiredJobsRunnable(this);
+      resetExpiredJobsRunnable = new ResetExpiredJobsRunnable(this, resetExpiredJobsInBulk);
     }
 
     if (!isMessageQueueMode && asyncJobsDueRunnable == null) {
-      asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(this);
+      asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(this,
+          adaptiveAcquisition ? new AcquisitionController(minAcquireWaitTimeInMillis, defaultAsyncJobAcquireWaitTimeInMillis) : null);
     }
 
     if (!isMessageQueueMode) {
@@ -192,11 +272,52 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     startTimerAcquisitionThread();
     startResetExpiredJobsThread();
 
+    if (renewJobLocks && !isMessageQueueMode) {
+      startRenewJobLocksThread();
+    }
+
     isActive = true;
 
     executeTemporaryJobs();
   }
 
+  /**
+   * @return the number of jobs the executor service can take right now, or -1 when this can't be determined
+   */
+  public int getRemainingCapacity() {
+    ExecutorService executor = executorService;
+    if (executor instanceof ConcurrencyLimitedExecutorService) {
+      return ((ConcurrencyLimitedExecutorService) executor).getAvailablePermits();
+    }
+    if (executor instanceof ThreadPoolExecutor) {
+      ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executor;
+      int idleThreads = Math.max(0, threadPoolExecutor.getMaximumPoolSize() - threadPoolExecutor.getActiveCount());
+      return threadPoolExecutor.getQueue().remainingCapacity() + idleThreads;
+    }
+    return -1;
+  }
+
+  /**
+   * Hints the timer acquisition thread that a timer job was created locally, so it doesn't sleep through it.
+   */
+  public void hintTimerJobAcquisition() {
+    AcquireTimerJobsRunnable runnable = timerJobRunnable;
+    if (runnable != null && runnable.getAcquisitionController() != null) {
+      runnable.wakeUp();
+    }
+  }
+
+  /**
+   * Hints the async job acquisition thread that jobs are waiting in the database, used by the
+   * {@link ResetExpiredJobsRunnable} after unlocking expired jobs.
+   */
+  public void hintAsyncJobAcquisition() {
+    AcquireAsyncJobsDueRunnable runnable = asyncJobsDueRunnable;
+    if (runnable != null && runnable.getAcquisitionController() != null) {
+      runnable.wakeUp();
+    }
+  }
+
   protected void executeTemporaryJobs() {
     while (!temporaryJobQueue.isEmpty()) {
       Job job = temporaryJobQueue.pop();
@@ -225,6 +346,8 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     stopTimerAcquisitionThread();
     stopJobAcquisitionThread();
     stopExecutingAsyncJobs();
+    // only after the jobs are done: their locks have to be renewed while finishing
+    stopRenewJobLocksThread();
 
     timerJobRunnable = null;
     asyncJobsDueRunnable = null;
@@ -234,6 +357,27 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   }
 
   protected void initAsyncJobExecutionThreadPool() {
+    if (executorService == null) {
+      AsyncJobExecutorThreadModel model = threadModel != null ? threadModel : AsyncJobExecutorThreadModel.PLATFORM;
+      if (model == AsyncJobExecutorThreadModel.VIRTUAL) {
+        ExecutorService virtualThreadExecutor = createVirtualThreadPerTaskExecutor();
+        if (virtualThreadExecutor != null) {
+          log.info("Creating virtual thread per job executor service with maxConcurrentJobs {}", getEffectiveMaxConcurrentJobs());
+          executorService = new ConcurrencyLimitedExecutorService(virtualThreadExecutor, getEffectiveMaxConcurrentJobs());
+          return;
+        }
+        log.warn("Virtual threads are not available on this JVM (JDK 21 or later is required), falling back to a platform thread pool");
+        model = AsyncJobExecutorThreadModel.PLATFORM;
+      }
+
+      if (model == AsyncJobExecutorThreadModel.WORK_STEALING) {
+        log.info("Creating work-stealing executor service with parallelism {} and maxConcurrentJobs {}", maxPoolSize, getEffectiveMaxConcurrentJobs());
+        ForkJoinPool forkJoinPool = new ForkJoinPool(maxPoolSize, new NamedForkJoinWorkerThreadFactory(), null, true);
+        executorService = new ConcurrencyLimitedExecutorService(forkJoinPool, getEffectiveMaxConcurrentJobs());
+        return;
+      }
+    }
+
     if (threadPoolQueue == null) {
       log.info("Creating thread pool queue of size {}", queueSize);
       threadPoolQueue = new ArrayBlockingQueue<Runnable>(queueSize);
@@ -247,6 +391,39 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  /**
+   * Looked up reflectively, so the engine keeps running on JDKs without virtual threads.
+   *
+   * @return an executor starting a new virtual thread per task, or null when the JVM has no virtual threads
+   */
+  protected ExecutorService createVirtualThreadPerTaskExecutor() {
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (NoSuchMethodException e) {
+      return null;
+    } catch (ReflectiveOperationException e) {
+      log.warn("Could not create virtual thread executor", e);
+      return null;
+    }
+  }
+
+  protected int getEffectiveMaxConcurrentJobs() {
+    return maxConcurrentJobs > 0 ? maxConcurrentJobs : maxPoolSize + queueSize;
+  }
+
+  protected static class NamedForkJoinWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+    protected final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("activiti-async-job-executor-thread-" + threadNumber.incrementAndGet());
+      return thread;
+    }
+  }
+
   protected void stopExecutingAsyncJobs() {
     if (executorService != null) {
 
@@ -325,6 +502,31 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     }
   }
 
+  protected void startRenewJobLocksThread() {
+    if (renewJobLocksRunnable == null) {
+      renewJobLocksRunnable = new RenewJobLocksRunnable(this);
+    }
+    if (renewJobLocksThread == null) {
+      renewJobLocksThread = new Thread(renewJobLocksRunnable);
+    }
+    renewJobLocksThread.start();
+  }
+
+  protected void stopRenewJobLocksThread() {
+    if (renewJobLocksRunnable != null) {
+      renewJobLocksRunnable.stop();
+    }
+    if (renewJobLocksThread != null) {
+      try {
+        renewJobLocksThread.join();
+      } catch (InterruptedException e) {
+        log.warn("Interrupted while waiting for the renew job locks thread to terminate", e);
+      }
+      renewJobLocksThread = null;
+    }
+    renewJobLocksRunnable = null;
+  }
+
   public void applyConfig(ProcessEngineConfigurationImpl processEngineConfiguration){
     isMessageQueueMode = processEngineConfiguration.isAsyncExecutorIsMessageQueueMode();
     applyThreadPoolConfig(processEngineConfiguration);
@@ -337,6 +539,10 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
 
     resetExpiredJobsInterval = processEngineConfiguration.getAsyncExecutorResetExpiredJobsInterval();
     resetExpiredJobsPageSize = processEngineConfiguration.getAsyncExecutorResetExpiredJobsPageSize();
+    resetExpiredJobsInBulk = processEngineConfiguration.isAsyncExecutorResetExpiredJobsInBulk();
+    renewJobLocks = processEngineConfiguration.isAsyncExecutorRenewJobLocks();
+    renewJobLocksInterval = processEngineConfiguration.getAsyncExecutorRenewJobLocksInterval();
+    fusedJobExecution = processEngineConfiguration.isAsyncExecutorFusedJobExecution();
 
     secondsToWaitOnShutdown = processEngineConfiguration.getAsyncExecutorSecondsToWaitOnShutdown();
 
@@ -344,6 +550,9 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     maxTimerJobsPerAcquisition = processEngineConfiguration.getAsyncExecutorMaxTimerJobsPerAcquisition();
 
     retryWaitTimeInMillis = processEngineConfiguration.getAsyncFailedJobWaitTime();
+
+    adaptiveAcquisition = processEngineConfiguration.isAsyncExecutorAdaptiveAcquisition();
+    minAcquireWaitTimeInMillis = processEngineConfiguration.getAsyncExecutorMinJobAcquireWaitTime();
   }
 
   private void applyLockConfig(ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -366,6 +575,10 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     corePoolSize = processEngineConfiguration.getAsyncExecutorCorePoolSize();
     maxPoolSize = processEngineConfiguration.getAsyncExecutorMaxPoolSize();
     keepAliveTime = processEngineConfiguration.getAsyncExecutorThreadKeepAliveTime();
+    if (processEngineConfiguration.getAsyncExecutorThreadModel() != null) {
+      threadModel = processEngineConfiguration.getAsyncExecutorThreadModel();
+    }
+    maxConcurrentJobs = processEngineConfiguration.getAsyncExecutorMaxConcurrentJobs();
   }
 
   /* getters and setters */
@@ -479,6 +692,90 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     this.executorService = executorService;
   }
 
+  public boolean isResetExpiredJobsInBulk() {
+    return resetExpiredJobsInBulk;
+  }
+
+  public void setResetExpiredJobsInBulk(boolean resetExpiredJobsInBulk) {
+    this.resetExpiredJobsInBulk = resetExpiredJobsInBulk;
+  }
+
+  public boolean isRenewJobLocks() {
+    return renewJobLocks;
+  }
+
+  public void setRenewJobLocks(boolean renewJobLocks) {
+    this.renewJobLocks = renewJobLocks;
+  }
+
+  public int getRenewJobLocksInterval() {
+    return renewJobLocksInterval > 0 ? renewJobLocksInterval : Math.max(1, asyncJobLockTimeInMillis / 3);
+  }
+
+  public void setRenewJobLocksInterval(int renewJobLocksInterval) {
+    this.renewJobLocksInterval = renewJobLocksInterval;
+  }
+
+  public boolean isFusedJobExecution() {
+    return fusedJobExecution;
+  }
+
+  public void setFusedJobExecution(boolean fusedJobExecution) {
+    this.fusedJobExecution = fusedJobExecution;
+  }
+
+  public Set<String> getInFlightJobIds() {
+    return Collections.unmodifiableSet(inFlightJobIds);
+  }
+
+  public boolean isAdaptiveAcquisition() {
+    return adaptiveAcquisition;
+  }
+
+  public void setAdaptiveAcquisition(boolean adaptiveAcquisition) {
+    this.adaptiveAcquisition = adaptiveAcquisition;
+  }
+
+  public int getMinAcquireWaitTimeInMillis() {
+    return minAcquireWaitTimeInMillis;
+  }
+
+  public void setMinAcquireWaitTimeInMillis(int minAcquireWaitTimeInMillis) {
+    this.minAcquireWaitTimeInMillis = minAcquireWaitTimeInMillis;
+  }
+
+  /**
+   * @return the controller of the async job acquisition, holding its metrics, or null when adaptive acquisition is disabled
+   */
+  public AcquisitionController getAsyncJobAcquisitionController() {
+    AcquireAsyncJobsDueRunnable runnable = asyncJobsDueRunnable;
+    return runnable != null ? runnable.getAcquisitionController() : null;
+  }
+
+  /**
+   * @return the controller of the timer job acquisition, holding its metrics, or null when adaptive acquisition is disabled
+   */
+  public AcquisitionController getTimerJobAcquisitionController() {
+    AcquireTimerJobsRunnable runnable = timerJobRunnable;
+    return runnable != null ? runnable.getAcquisitionController() : null;
+  }
+
+  public AsyncJobExecutorThreadModel getThreadModel() {
+    return threadModel;
+  }
+
+  public void setThreadModel(AsyncJobExecutorThreadModel threadModel) {
+    this.threadModel = threadModel;
+  }
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
   public String getLockOwner() {
     return lockOwner;
   }
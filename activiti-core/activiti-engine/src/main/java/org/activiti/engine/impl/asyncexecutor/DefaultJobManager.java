@@ -121,6 +121,7 @@ public class DefaultJobManager implements JobManager {
     }
 
     processEngineConfiguration.getTimerJobEntityManager().insert(timerJob);
+    hintTimerJobAcquisitionIfNeeded(timerJob);
 
     CommandContext commandContext = Context.getCommandContext();
     ActivitiEventDispatcher eventDispatcher = commandContext.getEventDispatcher();
@@ -129,6 +130,24 @@ public class DefaultJobManager implements JobManager {
     }
   }
 
+  protected void hintTimerJobAcquisitionIfNeeded(TimerJobEntity timerJob) {
+    // With adaptive acquisition the timer acquisition thread may be backing off: wake it up
+    // when the new timer is due before its regular wait would end
+    if (!isAsyncExecutorActive() || !(getAsyncExecutor() instanceof DefaultAsyncJobExecutor) || timerJob.getDuedate() == null) {
+      return;
+    }
+    final DefaultAsyncJobExecutor asyncExecutor = (DefaultAsyncJobExecutor) getAsyncExecutor();
+    long millisUntilDue = timerJob.getDuedate().getTime() - processEngineConfiguration.getClock().getCurrentTime().getTime();
+    if (asyncExecutor.isAdaptiveAcquisition() && millisUntilDue < asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis()) {
+      Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        @Override
+        public void execute(CommandContext commandContext) {
+          asyncExecutor.hintTimerJobAcquisition();
+        }
+      });
+    }
+  }
+
   @Override
   public JobEntity moveTimerJobToExecutableJob(TimerJobEntity timerJob) {
     if (timerJob == null) {
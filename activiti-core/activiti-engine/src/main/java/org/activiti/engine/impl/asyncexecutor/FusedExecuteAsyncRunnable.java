@@ -0,0 +1,166 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.ExecuteFusedAsyncJobCmd;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.runtime.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ExecuteAsyncRunnable} that locks, executes and unlocks a job in a single transaction with the
+ * {@link ExecuteFusedAsyncJobCmd}, using the job entity as it was acquired. When the job fails, the failed job command
+ * runs in one transaction as well. Jobs that weren't handed over as entities are executed the regular way.
+ */
+public class FusedExecuteAsyncRunnable extends ExecuteAsyncRunnable {
+
+  private static Logger log = LoggerFactory.getLogger(FusedExecuteAsyncRunnable.class);
+
+  /**
+   * SQL states of lock wait timeouts that aren't in the transaction rollback class (40): lock not available (Postgres)
+   * and timeout expired (H2, SQL Server).
+   */
+  protected static final Set<String> LOCK_NOT_AVAILABLE_SQL_STATES = new HashSet<String>(Arrays.asList("55P03", "HYT00"));
+
+  public FusedExecuteAsyncRunnable(String jobId, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super(jobId, processEngineConfiguration);
+  }
+
+  public FusedExecuteAsyncRunnable(Job job, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super(job, processEngineConfiguration);
+  }
+
+  @Override
+  public void run() {
+    if (job != null && !(job instanceof JobEntity)) {
+      super.run();
+      return;
+    }
+
+    if (job == null) {
+      job = processEngineConfiguration.getCommandExecutor().execute(new Command<JobEntity>() {
+        @Override
+        public JobEntity execute(CommandContext commandContext) {
+          return commandContext.getJobEntityManager().findById(jobId);
+        }
+      });
+      if (job == null) {
+        log.debug("Job {} does not exist anymore and will not be executed.", jobId);
+        return;
+      }
+    }
+
+    executeJob();
+  }
+
+  @Override
+  protected void executeJob() {
+    try {
+      processEngineConfiguration.getCommandExecutor().execute(new ExecuteFusedAsyncJobCmd((JobEntity) job));
+
+    } catch (final ActivitiOptimisticLockingException e) {
+
+      handleFailedJob(e);
+
+      if (log.isDebugEnabled()) {
+        log.debug("Optimistic locking exception during job execution. If you have multiple async executors running against the same database, "
+            + "this exception means that this thread tried to execute a job, which already was changed by another async executor thread."
+            + "This is expected behavior in a clustered environment. " + "You can ignore this message if you indeed have multiple job executor threads running against the same database. "
+            + "Exception message: {}", e.getMessage());
+      }
+
+    } catch (Throwable exception) {
+      if (isLockWaitFailure(exception)) {
+        // Another exclusive job of the process instance held its row lock for too long: like a failed optimistic lock of the
+        // process instance, this is no failure of the job itself, so it is released without using up one of its retries
+        log.debug("Timed out waiting for the lock of process instance {} of job {}. Unacquiring job so it can be acquired again.",
+            ((JobEntity) job).getProcessInstanceId(), job.getId());
+        unacquireJob();
+        return;
+      }
+
+      handleFailedJob(exception);
+
+      String message = "Job " + jobId + " failed";
+      log.error(message, exception);
+    }
+  }
+
+  /**
+   * Whether the exception is caused by a lock wait timeout or a deadlock of the database, reported by the JDBC driver
+   * through the matching exception type or SQL state.
+   */
+  protected boolean isLockWaitFailure(Throwable exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLTimeoutException || cause instanceof SQLTransactionRollbackException) {
+        return true;
+      }
+      if (cause instanceof SQLException) {
+        String sqlState = ((SQLException) cause).getSQLState();
+        if (sqlState != null && (sqlState.startsWith("40") || LOCK_NOT_AVAILABLE_SQL_STATES.contains(sqlState))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Runs the failed job command in the same transaction as the failure event, instead of in a nested new transaction.
+   */
+  @Override
+  protected void handleFailedJob(final Throwable exception) {
+    processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+
+      @Override
+      public Void execute(CommandContext commandContext) {
+        FailedJobCommandFactory failedJobCommandFactory = commandContext.getFailedJobCommandFactory();
+        Command<Object> cmd = failedJobCommandFactory.getCommand(job.getId(), exception);
+
+        log.trace("Using FailedJobCommandFactory '" + failedJobCommandFactory.getClass() + "' and command of type '" + cmd.getClass() + "'");
+        cmd.execute(commandContext);
+
+        // The event is dispatched in a try-catch block, so a failing listener doesn't roll back the retry handling
+        if (commandContext.getEventDispatcher().isEnabled()) {
+          try {
+            commandContext.getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityExceptionEvent(ActivitiEventType.JOB_EXECUTION_FAILURE, job, exception));
+          } catch (Throwable ignore) {
+            log.warn("Exception occurred while dispatching job failure event, ignoring.", ignore);
+          }
+        }
+
+        return null;
+      }
+
+    });
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Extends the lock of jobs that are still being executed (or waiting to be executed) by a live async executor,
+ * so they don't expire and get picked up by another executor while in flight.
+ * The exclusive lock of the process instances of these jobs is extended as well, so a sibling exclusive job
+ * can't be executed while a long running exclusive job still holds the process instance.
+ * Returns the number of jobs of which the lock was extended.
+ */
+public class RenewJobLocksCmd implements Command<Integer> {
+
+  protected String lockOwner;
+  protected Collection<String> jobIds;
+  protected int lockTimeInMillis;
+  protected boolean renewProcessInstanceLocks;
+
+  public RenewJobLocksCmd(String lockOwner, Collection<String> jobIds, int lockTimeInMillis) {
+    this(lockOwner, jobIds, lockTimeInMillis, true);
+  }
+
+  public RenewJobLocksCmd(String lockOwner, Collection<String> jobIds, int lockTimeInMillis, boolean renewProcessInstanceLocks) {
+    this.lockOwner = lockOwner;
+    this.jobIds = jobIds;
+    this.lockTimeInMillis = lockTimeInMillis;
+    this.renewProcessInstanceLocks = renewProcessInstanceLocks;
+  }
+
+  @Override
+  public Integer execute(CommandContext commandContext) {
+    if (jobIds.isEmpty()) {
+      return 0;
+    }
+    GregorianCalendar gregorianCalendar = new GregorianCalendar();
+    gregorianCalendar.setTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+    gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
+    Date lockTime = gregorianCalendar.getTime();
+
+    int renewed = commandContext.getJobEntityManager().renewJobLocks(lockOwner, jobIds, lockTime);
+    if (renewProcessInstanceLocks) {
+      commandContext.getExecutionEntityManager().renewProcessInstanceLockTimes(lockOwner, jobIds, lockTime);
+    }
+    return renewed;
+  }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Heartbeat of a {@link DefaultAsyncJobExecutor}: periodically extends the lock of all jobs it has accepted
+ * and not yet finished.
+ *
+ * As long as the executor is alive, its jobs never expire, no matter how long they run. So the async job lock time
+ * only needs to cover a few heartbeats, and the jobs of a crashed executor are reset by the
+ * {@link ResetExpiredJobsRunnable} shortly after the crash.
+ */
+public class RenewJobLocksRunnable implements Runnable {
+
+  private static Logger log = LoggerFactory.getLogger(RenewJobLocksRunnable.class);
+
+  protected static final int MAX_JOBS_PER_RENEWAL = 500;
+
+  protected final DefaultAsyncJobExecutor asyncExecutor;
+
+  protected volatile boolean isInterrupted;
+  protected final Object MONITOR = new Object();
+  protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
+
+  public RenewJobLocksRunnable(DefaultAsyncJobExecutor asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+  }
+
+  public synchronized void run() {
+    log.info("{} starting to renew job locks");
+    Thread.currentThread().setName("activiti-renew-job-locks");
+
+    while (!isInterrupted) {
+
+      try {
+        List<String> jobIds = new ArrayList<String>(asyncExecutor.getInFlightJobIds());
+        // chunked, as some databases limit the number of elements of an 'in' list
+        for (int from = 0; from < jobIds.size(); from += MAX_JOBS_PER_RENEWAL) {
+          List<String> chunk = jobIds.subList(from, Math.min(from + MAX_JOBS_PER_RENEWAL, jobIds.size()));
+          int renewed = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+              .execute(new RenewJobLocksCmd(asyncExecutor.getLockOwner(), new ArrayList<String>(chunk), asyncExecutor.getAsyncJobLockTimeInMillis(),
+                  renewProcessInstanceLocks()));
+          if (log.isDebugEnabled()) {
+            log.debug("renewed the lock of {} of {} in-flight jobs", renewed, chunk.size());
+          }
+        }
+
+      } catch (Throwable e) {
+        log.error("exception during renewing job locks", e);
+      }
+
+      // Sleep
+      try {
+        synchronized (MONITOR) {
+          if (!isInterrupted) {
+            isWaiting.set(true);
+            MONITOR.wait(asyncExecutor.getRenewJobLocksInterval());
+          }
+        }
+      } catch (InterruptedException e) {
+        if (log.isDebugEnabled()) {
+          log.debug("renew job locks wait interrupted");
+        }
+      } finally {
+        isWaiting.set(false);
+      }
+    }
+
+    log.info("{} stopped renewing job locks");
+  }
+
+  /**
+   * With fused job execution the process instance lock never outlives the transaction of the job, so there is nothing
+   * to renew. Touching it would only make the heartbeat wait for the row lock held by the running job.
+   */
+  protected boolean renewProcessInstanceLocks() {
+    return !asyncExecutor.isFusedJobExecution();
+  }
+
+  public void stop() {
+    synchronized (MONITOR) {
+      isInterrupted = true;
+      if (isWaiting.compareAndSet(true, false)) {
+        MONITOR.notifyAll();
+      }
+    }
+  }
+
+}
@@ -47,8 +47,19 @@ public class ResetExpiredJobsRunnable implements Runnable {
   protected final Object MONITOR = new Object();
   protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
+  /**
+   * When true, all expired jobs are reset each round, one update statement per page,
+   * instead of one page per round with one command per job.
+   */
+  protected final boolean bulkReset;
+
   public ResetExpiredJobsRunnable(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, false);
+  }
+
+  public ResetExpiredJobsRunnable(AsyncExecutor asyncExecutor, boolean bulkReset) {
     this.asyncExecutor = asyncExecutor;
+    this.bulkReset = bulkReset;
   }
 
   public synchronized void run() {
@@ -59,17 +70,10 @@ public class ResetExpiredJobsRunnable implements Runnable {
 
       try {
 
-        List<JobEntity> expiredJobs = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
-            .execute(new FindExpiredJobsCmd(asyncExecutor.getResetExpiredJobsPageSize()));
-
-        List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
-        for (JobEntity expiredJob : expiredJobs) {
-          expiredJobIds.add(expiredJob.getId());
-        }
-
-        if (expiredJobIds.size() > 0) {
-          asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
-            .execute(new ResetExpiredJobsCmd(expiredJobIds));
+        if (bulkReset) {
+          resetExpiredJobsInBulk();
+        } else {
+          resetExpiredJobs();
         }
 
       } catch (Throwable e) {
@@ -103,6 +107,47 @@ public class ResetExpiredJobsRunnable implements Runnable {
     log.info("{} stopped resetting expired jobs");
   }
 
+  protected void resetExpiredJobs() {
+    List<JobEntity> expiredJobs = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+        .execute(new FindExpiredJobsCmd(asyncExecutor.getResetExpiredJobsPageSize()));
+
+    List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
+    for (JobEntity expiredJob : expiredJobs) {
+      expiredJobIds.add(expiredJob.getId());
+    }
+
+    if (expiredJobIds.size() > 0) {
+      asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+        .execute(new ResetExpiredJobsCmd(expiredJobIds));
+      hintAsyncJobAcquisition();
+    }
+  }
+
+  protected void resetExpiredJobsInBulk() {
+    int pageSize = asyncExecutor.getResetExpiredJobsPageSize();
+    int resetJobs;
+    do {
+      resetJobs = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+          .execute(new BulkResetExpiredJobsCmd(pageSize));
+      if (resetJobs > 0 && log.isDebugEnabled()) {
+        log.debug("reset {} expired jobs", resetJobs);
+      }
+      // a full page means there are probably more expired jobs: keep going
+      if (resetJobs > 0) {
+        hintAsyncJobAcquisition();
+      }
+    } while (resetJobs >= pageSize && !isInterrupted);
+  }
+
+  /**
+   * The reset jobs are back in the database, unlocked: wake up an adaptive acquisition thread that may be backing off.
+   */
+  protected void hintAsyncJobAcquisition() {
+    if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+      ((DefaultAsyncJobExecutor) asyncExecutor).hintAsyncJobAcquisition();
+    }
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
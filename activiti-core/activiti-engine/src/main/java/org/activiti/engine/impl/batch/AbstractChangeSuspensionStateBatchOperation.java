@@ -0,0 +1,42 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.batch;
+
+import org.activiti.engine.impl.cmd.AbstractSetProcessInstanceStateCmd;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.SuspensionState;
+import org.activiti.engine.repository.ProcessDefinition;
+
+public abstract class AbstractChangeSuspensionStateBatchOperation implements BatchOperation {
+
+  public void validate(ProcessDefinition processDefinition, String configuration, CommandContext commandContext) {
+    // nothing to configure
+  }
+
+  public void execute(String processInstanceId, String configuration, CommandContext commandContext) {
+    ExecutionEntity processInstance = commandContext.getExecutionEntityManager().findById(processInstanceId);
+    if (processInstance == null || processInstance.getSuspensionState() == getNewState().getStateCode()) {
+      return;
+    }
+    getProcessInstanceChangeStateCmd(processInstanceId).execute(commandContext);
+  }
+
+  protected abstract SuspensionState getNewState();
+
+  protected abstract AbstractSetProcessInstanceStateCmd getProcessInstanceChangeStateCmd(String processInstanceId);
+
+}
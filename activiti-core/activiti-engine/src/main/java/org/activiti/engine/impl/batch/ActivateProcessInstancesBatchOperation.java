@@ -0,0 +1,37 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.batch;
+
+import org.activiti.engine.impl.cmd.AbstractSetProcessInstanceStateCmd;
+import org.activiti.engine.impl.cmd.ActivateProcessInstanceCmd;
+import org.activiti.engine.impl.persistence.entity.SuspensionState;
+import org.activiti.engine.runtime.Batch;
+
+public class ActivateProcessInstancesBatchOperation extends AbstractChangeSuspensionStateBatchOperation {
+
+  public String getType() {
+    return Batch.TYPE_ACTIVATE_PROCESS_INSTANCES;
+  }
+
+  protected SuspensionState getNewState() {
+    return SuspensionState.ACTIVE;
+  }
+
+  protected AbstractSetProcessInstanceStateCmd getProcessInstanceChangeStateCmd(String processInstanceId) {
+    return new ActivateProcessInstanceCmd(processInstanceId);
+  }
+
+}
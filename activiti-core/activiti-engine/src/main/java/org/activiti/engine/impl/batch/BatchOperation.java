@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.batch;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.repository.ProcessDefinition;
+
+/**
+ * The work a batch applies to each process instance it selects. Operations are registered by type on the
+ * process engine configuration and are called chunk by chunk from the batch part job.
+ *
+ * Implementations must be idempotent: a chunk can be executed again when the transaction of the job that
+ * processed it fails afterwards.
+ */
+public interface BatchOperation {
+
+  /**
+   * @return the batch type this operation handles, see the constants on {@link org.activiti.engine.runtime.Batch}
+   */
+  String getType();
+
+  /**
+   * Called once when the batch is started, so invalid configurations fail the caller instead of every chunk.
+   */
+  void validate(ProcessDefinition processDefinition, String configuration, CommandContext commandContext);
+
+  /**
+   * Applies the operation to a single process instance. Process instances that don't exist anymore, or
+   * that are already in the wanted state, are skipped silently.
+   */
+  void execute(String processInstanceId, String configuration, CommandContext commandContext);
+
+}
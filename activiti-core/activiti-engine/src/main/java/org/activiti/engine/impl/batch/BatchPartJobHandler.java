@@ -0,0 +1,163 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.batch;
+
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.JobHandler;
+import org.activiti.engine.impl.persistence.entity.BatchEntity;
+import org.activiti.engine.impl.persistence.entity.BatchPartEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.runtime.Batch;
+import org.activiti.engine.runtime.BatchPart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes one part of a batch: selects the next chunk of process instance ids after the part's cursor,
+ * applies the batch operation to them and then either schedules the next part or completes the batch.
+ *
+ * Everything happens in the transaction of the job, so the chunk and the bookkeeping of the part commit or roll
+ * back together and no second transaction is opened while the job's one is still running. When the chunk fails, the
+ * job is retried by the job executor as usual; the retry switches the part to {@link BatchPart#STATUS_ISOLATING},
+ * in which a new job per process instance applies the operation to one instance only. When such a job fails too,
+ * its retry records the instance as failed on the part, with the message of the job's exception, and moves on, so
+ * one broken instance only fails itself. This needs at least two job retries; with less the failing job ends up as a
+ * dead letter job.
+ */
+public class BatchPartJobHandler implements JobHandler {
+
+  private static final Logger log = LoggerFactory.getLogger(BatchPartJobHandler.class);
+
+  public static final String TYPE = "batch-part";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    BatchPartEntity batchPart = commandContext.getBatchPartEntityManager().findById(configuration);
+    if (batchPart == null || BatchPart.STATUS_COMPLETED.equals(batchPart.getStatus())) {
+      return; // the batch was deleted meanwhile
+    }
+    BatchEntity batch = commandContext.getBatchEntityManager().findById(batchPart.getBatchId());
+    if (batch == null) {
+      return;
+    }
+    if (Batch.STATUS_PAUSED.equals(batch.getStatus())) {
+      batchPart.setJobId(null); // resuming the batch schedules a new job
+      return;
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    BatchOperation operation = processEngineConfiguration.getBatchOperations().get(batch.getType());
+    if (operation == null) {
+      throw new ActivitiException("No batch operation registered for type '" + batch.getType() + "'");
+    }
+
+    boolean previousAttemptFailed = job.getExceptionMessage() != null;
+    if (BatchPart.STATUS_WAITING.equals(batchPart.getStatus())) {
+      if (previousAttemptFailed) {
+        log.debug("Chunk of batch part {} failed, continuing with one process instance per job", batchPart.getId());
+        batchPart.setStatus(BatchPart.STATUS_ISOLATING);
+        commandContext.getBatchPartEntityManager().scheduleBatchPart(batchPart, batch.getTenantId());
+      } else {
+        executeChunk(batchPart, batch, operation, commandContext);
+      }
+    } else {
+      executeIsolated(batchPart, batch, operation, previousAttemptFailed ? job.getExceptionMessage() : null, commandContext);
+    }
+  }
+
+  protected void executeChunk(BatchPartEntity batchPart, BatchEntity batch, BatchOperation operation, CommandContext commandContext) {
+    List<String> processInstanceIds = commandContext.getExecutionEntityManager()
+        .findProcessInstanceIdsByProcessDefinitionId(batch.getSearchKey(), batchPart.getStartAfterId(), batch.getChunkSize());
+
+    for (String processInstanceId : processInstanceIds) {
+      operation.execute(processInstanceId, batch.getConfiguration(), commandContext);
+    }
+
+    batchPart.setProcessedCount(processInstanceIds.size());
+    batch.setProcessedCount(batch.getProcessedCount() + processInstanceIds.size());
+    if (!processInstanceIds.isEmpty()) {
+      batchPart.setLastId(processInstanceIds.get(processInstanceIds.size() - 1));
+    }
+    completeBatchPart(batchPart, batch, processInstanceIds.size() >= batch.getChunkSize(), commandContext);
+  }
+
+  /**
+   * Handles the next process instance of an isolating part: applies the operation to it, or records it as failed
+   * when the previous attempt of the job failed on it.
+   */
+  protected void executeIsolated(BatchPartEntity batchPart, BatchEntity batch, BatchOperation operation, String failure, CommandContext commandContext) {
+    String startAfterId = batchPart.getLastId() != null ? batchPart.getLastId() : batchPart.getStartAfterId();
+    List<String> processInstanceIds = commandContext.getExecutionEntityManager()
+        .findProcessInstanceIdsByProcessDefinitionId(batch.getSearchKey(), startAfterId, 1);
+    if (processInstanceIds.isEmpty()) {
+      completeBatchPart(batchPart, batch, false, commandContext);
+      return;
+    }
+
+    String processInstanceId = processInstanceIds.get(0);
+    if (failure == null) {
+      operation.execute(processInstanceId, batch.getConfiguration(), commandContext);
+      batchPart.setProcessedCount(batchPart.getProcessedCount() + 1);
+      batch.setProcessedCount(batch.getProcessedCount() + 1);
+    } else {
+      log.warn("Batch operation failed for process instance {}: {}", processInstanceId, failure);
+      batchPart.setFailedCount(batchPart.getFailedCount() + 1);
+      batchPart.setFailure(appendFailure(batchPart.getFailure(), processInstanceId, failure));
+      batch.setFailedCount(batch.getFailedCount() + 1);
+    }
+    batchPart.setLastId(processInstanceId);
+
+    if (batchPart.getProcessedCount() + batchPart.getFailedCount() >= batch.getChunkSize()) {
+      completeBatchPart(batchPart, batch, true, commandContext);
+    } else {
+      commandContext.getBatchPartEntityManager().scheduleBatchPart(batchPart, batch.getTenantId());
+    }
+  }
+
+  protected void completeBatchPart(BatchPartEntity batchPart, BatchEntity batch, boolean hasNextPart, CommandContext commandContext) {
+    batchPart.setStatus(BatchPart.STATUS_COMPLETED);
+    batchPart.setJobId(null);
+    batchPart.setCompleteTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
+
+    if (hasNextPart) {
+      commandContext.getBatchPartEntityManager().createBatchPart(batch, batchPart.getLastId());
+    } else {
+      batch.setStatus(Batch.STATUS_COMPLETED);
+      batch.setCompleteTime(batchPart.getCompleteTime());
+    }
+  }
+
+  protected String appendFailure(String failure, String processInstanceId, String message) {
+    String line = processInstanceId + ": " + message;
+    if (failure == null) {
+      return line;
+    }
+    if (failure.length() >= BatchPart.MAX_FAILURE_LENGTH) {
+      return failure;
+    }
+    String appended = failure + '\n' + line;
+    return appended.length() > BatchPart.MAX_FAILURE_LENGTH ? appended.substring(0, BatchPart.MAX_FAILURE_LENGTH) : appended;
+  }
+
+}
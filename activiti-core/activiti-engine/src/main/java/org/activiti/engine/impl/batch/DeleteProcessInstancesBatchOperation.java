@@ -0,0 +1,44 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.batch;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.Batch;
+
+/**
+ * Deletes process instances. The batch configuration holds the delete reason.
+ */
+public class DeleteProcessInstancesBatchOperation implements BatchOperation {
+
+  public String getType() {
+    return Batch.TYPE_DELETE_PROCESS_INSTANCES;
+  }
+
+  public void validate(ProcessDefinition processDefinition, String configuration, CommandContext commandContext) {
+    // any delete reason is fine
+  }
+
+  public void execute(String processInstanceId, String configuration, CommandContext commandContext) {
+    ExecutionEntity processInstance = commandContext.getExecutionEntityManager().findById(processInstanceId);
+    if (processInstance == null) {
+      return;
+    }
+    commandContext.getExecutionEntityManager().deleteProcessInstance(processInstanceId, configuration, false);
+  }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.batch;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.activiti.engine.impl.cmd.SetProcessDefinitionVersionCmd;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.Batch;
+
+/**
+ * Moves process instances to another version of their process definition. The batch configuration holds
+ * the target version.
+ */
+public class MigrateProcessInstancesBatchOperation implements BatchOperation {
+
+  public String getType() {
+    return Batch.TYPE_MIGRATE_PROCESS_INSTANCES;
+  }
+
+  public void validate(ProcessDefinition processDefinition, String configuration, CommandContext commandContext) {
+    int version = parseVersion(configuration);
+    ProcessDefinition target = commandContext.getProcessDefinitionEntityManager()
+        .findProcessDefinitionByKeyAndVersionAndTenantId(processDefinition.getKey(), version, processDefinition.getTenantId());
+    if (target == null) {
+      throw new ActivitiObjectNotFoundException("no processes deployed with key = '" + processDefinition.getKey()
+          + "' and version = '" + version + "'", ProcessDefinition.class);
+    }
+  }
+
+  public void execute(String processInstanceId, String configuration, CommandContext commandContext) {
+    ExecutionEntity processInstance = commandContext.getExecutionEntityManager().findById(processInstanceId);
+    if (processInstance == null) {
+      return;
+    }
+    new SetProcessDefinitionVersionCmd(processInstanceId, parseVersion(configuration)).execute(commandContext);
+  }
+
+  protected int parseVersion(String configuration) {
+    try {
+      return Integer.parseInt(configuration);
+    } catch (NumberFormatException e) {
+      throw new ActivitiIllegalArgumentException("Invalid target process definition version '" + configuration + "'", e);
+    }
+  }
+
+}
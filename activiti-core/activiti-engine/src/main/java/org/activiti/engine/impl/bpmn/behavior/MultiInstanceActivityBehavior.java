@@ -208,8 +208,16 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
     }
   }
 
-  @SuppressWarnings("rawtypes")
   protected void executeOriginalBehavior(DelegateExecution execution, int loopCounter) {
+    prepareOriginalBehavior(execution, loopCounter);
+    Context.getAgenda().planContinueMultiInstanceOperation((ExecutionEntity) execution);
+  }
+
+  /**
+   * Sets the collection element of the given loop counter and moves the execution to the activity, without executing it yet.
+   */
+  @SuppressWarnings("rawtypes")
+  protected void prepareOriginalBehavior(DelegateExecution execution, int loopCounter) {
     if (usesCollection() && collectionElementVariable != null) {
       Collection collection = (Collection) resolveCollection(execution);
 
@@ -224,7 +232,6 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
     }
 
     execution.setCurrentFlowElement(activity);
-    Context.getAgenda().planContinueMultiInstanceOperation((ExecutionEntity) execution);
   }
 
   @SuppressWarnings("rawtypes")
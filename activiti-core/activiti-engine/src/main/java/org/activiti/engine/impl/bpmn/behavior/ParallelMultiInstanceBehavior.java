@@ -18,7 +18,10 @@ package org.activiti.engine.impl.bpmn.behavior;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+
 import org.activiti.bpmn.model.Activity;
 import org.activiti.bpmn.model.BoundaryEvent;
 import org.activiti.bpmn.model.CallActivity;
@@ -28,12 +31,15 @@ import org.activiti.bpmn.model.SubProcess;
 import org.activiti.bpmn.model.Transaction;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.impl.asyncexecutor.JobManager;
 import org.activiti.engine.impl.bpmn.helper.ScopeUtil;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.delegate.ActivityBehavior;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.ParallelMultiInstanceJobHandler;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.impl.util.CollectionUtil;
 import org.apache.commons.lang3.StringUtils;
 
@@ -45,12 +51,22 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
 
   private static final long serialVersionUID = 1L;
 
+  // Only set on the multi instance root when the loop is sliced
+  protected static final String NUMBER_OF_STARTED_INSTANCES = "nrOfStartedInstances";
+
+  // Command context attribute with the ids of the instances started in the current transaction
+  protected static final String INSTANCES_STARTED_IN_TRANSACTION = "parallelMultiInstanceInstancesStarted";
+
   public ParallelMultiInstanceBehavior(Activity activity, AbstractBpmnActivityBehavior originalActivityBehavior) {
     super(activity, originalActivityBehavior);
   }
 
   /**
    * Handles the parallel case of spawning the instances. Will create child executions accordingly for every instance needed.
+   *
+   * When a parallel multi-instance window size is configured in the {@link org.activiti.engine.impl.cfg.PerformanceSettings} and the loop has more
+   * instances than the window, only the first window of instances is created here. The others are started as earlier instances complete,
+   * see {@link #startNextPendingInstance(DelegateExecution, DelegateExecution, int, int, int)}.
    */
   protected int createInstances(DelegateExecution execution) {
     int nrOfInstances = resolveNrOfInstances(execution);
@@ -64,13 +80,16 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     setLoopVariable(execution, NUMBER_OF_COMPLETED_INSTANCES, 0);
     setLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES, nrOfInstances);
 
+    int nrOfInstancesToStart = nrOfInstances;
+    int windowSize = getWindowSize();
+    if (windowSize > 0 && nrOfInstances > windowSize) {
+      nrOfInstancesToStart = windowSize;
+      setLoopVariable(execution, NUMBER_OF_STARTED_INSTANCES, nrOfInstancesToStart);
+    }
+
     List<DelegateExecution> concurrentExecutions = new ArrayList<DelegateExecution>();
-    for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
-      DelegateExecution concurrentExecution = Context.getCommandContext().getExecutionEntityManager()
-          .createChildExecution((ExecutionEntity) execution);
-      concurrentExecution.setCurrentFlowElement(activity);
-      concurrentExecution.setActive(true);
-      concurrentExecution.setScope(false);
+    for (int loopCounter = 0; loopCounter < nrOfInstancesToStart; loopCounter++) {
+      DelegateExecution concurrentExecution = createConcurrentExecution(execution);
 
       concurrentExecutions.add(concurrentExecution);
       logLoopDetails(concurrentExecution, "initialized", loopCounter, 0, nrOfInstances, nrOfInstances);
@@ -79,12 +98,13 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     // Before the activities are executed, all executions MUST be created up front
     // Do not try to merge this loop with the previous one, as it will lead
     // to bugs, due to possible child execution pruning.
-    for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
+    for (int loopCounter = 0; loopCounter < nrOfInstancesToStart; loopCounter++) {
       DelegateExecution concurrentExecution = concurrentExecutions.get(loopCounter);
       // executions can be inactive, if instances are all automatics
       // (no-waitstate) and completionCondition has been met in the meantime
       if (concurrentExecution.isActive() && !concurrentExecution.isEnded() && concurrentExecution.getParent().isActive() && !concurrentExecution.getParent().isEnded()) {
         setLoopVariable(concurrentExecution, getCollectionElementIndexVariable(), loopCounter);
+        markStartedInCurrentTransaction(concurrentExecution);
         executeOriginalBehavior(concurrentExecution, loopCounter);
       }
     }
@@ -101,6 +121,78 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     return nrOfInstances;
   }
 
+  protected DelegateExecution createConcurrentExecution(DelegateExecution miRootExecution) {
+    DelegateExecution concurrentExecution = Context.getCommandContext().getExecutionEntityManager()
+        .createChildExecution((ExecutionEntity) miRootExecution);
+    concurrentExecution.setCurrentFlowElement(activity);
+    concurrentExecution.setActive(true);
+    concurrentExecution.setScope(false);
+    return concurrentExecution;
+  }
+
+  /**
+   * Starts the next instance of a sliced loop, if not all instances have been started yet.
+   *
+   * Pending instances are counted as active (as they would be without a window), so nrOfInstances, nrOfActiveInstances and nrOfCompletedInstances
+   * have the same values whether or not the loop is sliced.
+   *
+   * When the completed instance was started in the current transaction, its activity completed synchronously: starting the next instance right
+   * away would run the whole loop in one transaction after all. The next instance is then started by an async job, see
+   * {@link #executePendingInstance(ExecutionEntity)}.
+   */
+  protected void startNextPendingInstance(DelegateExecution miRootExecution, DelegateExecution completedExecution, int nrOfInstances,
+      int nrOfCompletedInstances, int nrOfActiveInstances) {
+    Integer nrOfStartedInstances = getLocalLoopVariable(miRootExecution, NUMBER_OF_STARTED_INSTANCES);
+    if (nrOfStartedInstances == null || nrOfStartedInstances >= nrOfInstances || miRootExecution.isEnded()) {
+      return;
+    }
+
+    int loopCounter = nrOfStartedInstances;
+    setLoopVariable(miRootExecution, NUMBER_OF_STARTED_INSTANCES, loopCounter + 1);
+
+    DelegateExecution concurrentExecution = createConcurrentExecution(miRootExecution);
+    logLoopDetails(concurrentExecution, "initialized", loopCounter, nrOfCompletedInstances, nrOfActiveInstances, nrOfInstances);
+
+    setLoopVariable(concurrentExecution, getCollectionElementIndexVariable(), loopCounter);
+    if (isStartedInCurrentTransaction(completedExecution)) {
+      prepareOriginalBehavior(concurrentExecution, loopCounter);
+      JobManager jobManager = Context.getCommandContext().getJobManager();
+      JobEntity job = jobManager.createAsyncJob((ExecutionEntity) concurrentExecution, true);
+      job.setJobHandlerType(ParallelMultiInstanceJobHandler.TYPE);
+      jobManager.scheduleAsyncJob(job);
+    } else {
+      markStartedInCurrentTransaction(concurrentExecution);
+      executeOriginalBehavior(concurrentExecution, loopCounter);
+    }
+  }
+
+  /**
+   * Executes an instance of a sliced loop whose start was handed over to an async job by {@link #startNextPendingInstance}.
+   */
+  public void executePendingInstance(ExecutionEntity concurrentExecution) {
+    markStartedInCurrentTransaction(concurrentExecution);
+    Context.getAgenda().planContinueMultiInstanceOperation(concurrentExecution);
+  }
+
+  protected void markStartedInCurrentTransaction(DelegateExecution concurrentExecution) {
+    CommandContext commandContext = Context.getCommandContext();
+    Set<String> startedExecutionIds = commandContext.getGenericAttribute(INSTANCES_STARTED_IN_TRANSACTION);
+    if (startedExecutionIds == null) {
+      startedExecutionIds = new HashSet<String>();
+      commandContext.addAttribute(INSTANCES_STARTED_IN_TRANSACTION, startedExecutionIds);
+    }
+    startedExecutionIds.add(concurrentExecution.getId());
+  }
+
+  protected boolean isStartedInCurrentTransaction(DelegateExecution concurrentExecution) {
+    Set<String> startedExecutionIds = Context.getCommandContext().getGenericAttribute(INSTANCES_STARTED_IN_TRANSACTION);
+    return startedExecutionIds != null && startedExecutionIds.contains(concurrentExecution.getId());
+  }
+
+  protected int getWindowSize() {
+    return Context.getProcessEngineConfiguration().getPerformanceSettings().getParallelMultiInstanceWindowSize();
+  }
+
   /**
    * Called when the wrapped {@link ActivityBehavior} calls the {@link AbstractBpmnActivityBehavior#leave(ActivityExecution)} method. Handles the completion of one of the parallel instances
    */
@@ -217,6 +309,9 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         executionToUse.setScope(false);
         executionToUse.setMultiInstanceRoot(false);
         Context.getAgenda().planTakeOutgoingSequenceFlowsOperation(executionToUse, true);
+
+      } else if (miRootExecution != null) {
+        startNextPendingInstance(miRootExecution, execution, nrOfInstances, nrOfCompletedInstances, nrOfActiveInstances);
       }
       dispatchActivityCompletedEvent(executionEntity);
 
@@ -20,8 +20,11 @@ import javax.transaction.TransactionManager;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.jta.JtaTransactionContextFactory;
+import org.activiti.engine.impl.db.ReadReplicaRouter;
 import org.activiti.engine.impl.interceptor.CommandInterceptor;
+import org.activiti.engine.impl.interceptor.JtaRetryInterceptor;
 import org.activiti.engine.impl.interceptor.JtaTransactionInterceptor;
+import org.activiti.engine.impl.interceptor.RetryInterceptor;
 
 /**
 
@@ -43,6 +46,22 @@ public class JtaProcessEngineConfiguration extends ProcessEngineConfigurationImp
     return new JtaTransactionInterceptor(transactionManager);
   }
 
+  /**
+   * Every command runs in a JTA transaction, whether it started it or joined an existing one, so writes cannot
+   * be told apart from reads: commands always use the primary data source.
+   */
+  @Override
+  public ReadReplicaRouter createReadReplicaRouter() {
+    ReadReplicaRouter readReplicaRouter = super.createReadReplicaRouter();
+    readReplicaRouter.setWriteTransactionActive(() -> true);
+    return readReplicaRouter;
+  }
+
+  @Override
+  public RetryInterceptor createRetryInterceptor() {
+    return new JtaRetryInterceptor(transactionManager);
+  }
+
   @Override
   public void initTransactionContextFactory() {
     if (transactionContextFactory == null) {
@@ -54,6 +54,25 @@ public class PerformanceSettings {
    */
   protected boolean enableLocalization = true;
 
+  /**
+   * Maximum number of instances of a parallel multi-instance activity that are started up front.
+   * When the loop has more instances, the remaining ones are started one by one as earlier instances complete,
+   * which keeps the number of executions created in a single transaction bounded for large collections.
+   *
+   * A value of zero or less (the default) starts all instances at once.
+   */
+  protected int parallelMultiInstanceWindowSize;
+
+  /**
+   * Experimental setting: when true, getVariable(name) and getVariables(names) only fetch the requested
+   * names instead of all variables of every scope in the hierarchy. The lookup for a whole scope chain
+   * (task, execution, parent executions) is done in a single query, and names found missing are remembered
+   * per scope.
+   *
+   * Mostly useful for executions holding many (or large) variables of which only a few are used in expressions.
+   */
+  protected boolean enableTargetedVariableFetching;
+
   public boolean isEnableEagerExecutionTreeFetching() {
     return enableEagerExecutionTreeFetching;
   }
@@ -86,4 +105,20 @@ public class PerformanceSettings {
     this.enableLocalization = enableLocalization;
   }
 
+  public int getParallelMultiInstanceWindowSize() {
+    return parallelMultiInstanceWindowSize;
+  }
+
+  public void setParallelMultiInstanceWindowSize(int parallelMultiInstanceWindowSize) {
+    this.parallelMultiInstanceWindowSize = parallelMultiInstanceWindowSize;
+  }
+
+  public boolean isEnableTargetedVariableFetching() {
+    return enableTargetedVariableFetching;
+  }
+
+  public void setEnableTargetedVariableFetching(boolean enableTargetedVariableFetching) {
+    this.enableTargetedVariableFetching = enableTargetedVariableFetching;
+  }
+
 }
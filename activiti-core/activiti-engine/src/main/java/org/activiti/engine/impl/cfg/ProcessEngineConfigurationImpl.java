@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -37,6 +38,8 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -69,11 +72,19 @@ import org.activiti.engine.impl.ServiceImpl;
 import org.activiti.engine.impl.TaskServiceImpl;
 import org.activiti.engine.impl.agenda.DefaultActivitiEngineAgendaFactory;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.AsyncJobExecutorThreadModel;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.asyncexecutor.DefaultJobManager;
 import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.activiti.engine.impl.asyncexecutor.FusedExecuteAsyncRunnable;
 import org.activiti.engine.impl.asyncexecutor.JobManager;
 import org.activiti.engine.impl.bpmn.data.ItemInstance;
+import org.activiti.engine.impl.batch.ActivateProcessInstancesBatchOperation;
+import org.activiti.engine.impl.batch.BatchOperation;
+import org.activiti.engine.impl.batch.BatchPartJobHandler;
+import org.activiti.engine.impl.batch.DeleteProcessInstancesBatchOperation;
+import org.activiti.engine.impl.batch.MigrateProcessInstancesBatchOperation;
+import org.activiti.engine.impl.batch.SuspendProcessInstancesBatchOperation;
 import org.activiti.engine.impl.bpmn.deployer.BpmnDeployer;
 import org.activiti.engine.impl.bpmn.deployer.BpmnDeploymentHelper;
 import org.activiti.engine.impl.bpmn.deployer.CachingAndArtifactsManager;
@@ -125,10 +136,16 @@ import org.activiti.engine.impl.calendar.DueDateBusinessCalendar;
 import org.activiti.engine.impl.calendar.DurationBusinessCalendar;
 import org.activiti.engine.impl.calendar.MapBusinessCalendarManager;
 import org.activiti.engine.impl.cfg.standalone.StandaloneMybatisTransactionContextFactory;
+import org.activiti.engine.impl.cmd.BuildVariableIndexCmd;
+import org.activiti.engine.impl.cmd.DeleteVariableIndexesCmd;
 import org.activiti.engine.impl.cmd.ValidateExecutionRelatedEntityCountCfgCmd;
+import org.activiti.engine.impl.db.CommandMetricsSqlInterceptor;
+import org.activiti.engine.impl.db.CursorFetchSizeInterceptor;
 import org.activiti.engine.impl.db.DbIdGenerator;
 import org.activiti.engine.impl.db.DbSqlSessionFactory;
 import org.activiti.engine.impl.db.IbatisVariableTypeHandler;
+import org.activiti.engine.impl.db.ReadReplicaLagProvider;
+import org.activiti.engine.impl.db.ReadReplicaRouter;
 import org.activiti.engine.impl.delegate.invocation.DefaultDelegateInterceptor;
 import org.activiti.engine.impl.el.ExpressionManager;
 import org.activiti.engine.impl.event.CompensationEventHandler;
@@ -146,15 +163,20 @@ import org.activiti.engine.impl.interceptor.CommandContextInterceptor;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.interceptor.CommandInterceptor;
 import org.activiti.engine.impl.interceptor.CommandInvoker;
+import org.activiti.engine.impl.interceptor.CommandMetricsInterceptor;
+import org.activiti.engine.impl.interceptor.CommandMetricsListener;
 import org.activiti.engine.impl.interceptor.DebugCommandInvoker;
 import org.activiti.engine.impl.interceptor.DelegateInterceptor;
 import org.activiti.engine.impl.interceptor.LogInterceptor;
+import org.activiti.engine.impl.interceptor.RetryInterceptor;
 import org.activiti.engine.impl.interceptor.SessionFactory;
 import org.activiti.engine.impl.interceptor.TransactionContextInterceptor;
 import org.activiti.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.activiti.engine.impl.jobexecutor.BuildVariableIndexJobHandler;
 import org.activiti.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.activiti.engine.impl.jobexecutor.JobHandler;
+import org.activiti.engine.impl.jobexecutor.ParallelMultiInstanceJobHandler;
 import org.activiti.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.activiti.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.activiti.engine.impl.jobexecutor.TimerStartEventJobHandler;
@@ -171,6 +193,10 @@ import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManager;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManagerImpl;
+import org.activiti.engine.impl.persistence.entity.BatchEntityManager;
+import org.activiti.engine.impl.persistence.entity.BatchEntityManagerImpl;
+import org.activiti.engine.impl.persistence.entity.BatchPartEntityManager;
+import org.activiti.engine.impl.persistence.entity.BatchPartEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.CommentEntityManager;
@@ -219,9 +245,13 @@ import org.activiti.engine.impl.persistence.entity.TaskEntityManager;
 import org.activiti.engine.impl.persistence.entity.TaskEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityManager;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityManagerImpl;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntityManager;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityManager;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityManagerImpl;
 import org.activiti.engine.impl.persistence.entity.data.AttachmentDataManager;
+import org.activiti.engine.impl.persistence.entity.data.BatchDataManager;
+import org.activiti.engine.impl.persistence.entity.data.BatchPartDataManager;
 import org.activiti.engine.impl.persistence.entity.data.ByteArrayDataManager;
 import org.activiti.engine.impl.persistence.entity.data.CommentDataManager;
 import org.activiti.engine.impl.persistence.entity.data.DeadLetterJobDataManager;
@@ -245,8 +275,11 @@ import org.activiti.engine.impl.persistence.entity.data.ResourceDataManager;
 import org.activiti.engine.impl.persistence.entity.data.SuspendedJobDataManager;
 import org.activiti.engine.impl.persistence.entity.data.TaskDataManager;
 import org.activiti.engine.impl.persistence.entity.data.TimerJobDataManager;
+import org.activiti.engine.impl.persistence.entity.data.VariableIndexDataManager;
 import org.activiti.engine.impl.persistence.entity.data.VariableInstanceDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisAttachmentDataManager;
+import org.activiti.engine.impl.persistence.entity.data.impl.MybatisBatchDataManager;
+import org.activiti.engine.impl.persistence.entity.data.impl.MybatisBatchPartDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisByteArrayDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisCommentDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisDeadLetterJobDataManager;
@@ -270,6 +303,7 @@ import org.activiti.engine.impl.persistence.entity.data.impl.MybatisResourceData
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisSuspendedJobDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisTaskDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisTimerJobDataManager;
+import org.activiti.engine.impl.persistence.entity.data.impl.MybatisVariableIndexDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.MybatisVariableInstanceDataManager;
 import org.activiti.engine.impl.persistence.entity.data.integration.IntegrationContextDataManager;
 import org.activiti.engine.impl.persistence.entity.data.integration.MybatisIntegrationContextDataManager;
@@ -293,6 +327,7 @@ import org.activiti.engine.impl.variable.DefaultVariableTypes;
 import org.activiti.engine.impl.variable.DoubleType;
 import org.activiti.engine.impl.variable.EntityManagerSession;
 import org.activiti.engine.impl.variable.EntityManagerSessionFactory;
+import org.activiti.engine.impl.variable.InputStreamType;
 import org.activiti.engine.impl.variable.IntegerType;
 import org.activiti.engine.impl.variable.JPAEntityListVariableType;
 import org.activiti.engine.impl.variable.JPAEntityVariableType;
@@ -310,6 +345,7 @@ import org.activiti.engine.impl.variable.SerializableType;
 import org.activiti.engine.impl.variable.ShortType;
 import org.activiti.engine.impl.variable.StringType;
 import org.activiti.engine.impl.variable.UUIDType;
+import org.activiti.engine.impl.variable.VariableBlobStore;
 import org.activiti.engine.impl.variable.VariableType;
 import org.activiti.engine.impl.variable.VariableTypes;
 import org.activiti.engine.integration.IntegrationContextService;
@@ -377,6 +413,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected List<CommandInterceptor> commandInterceptors;
 
+  /**
+   * When enabled, a {@link CommandMetricsInterceptor} records timings, agenda, flush and SQL statement counts of
+   * every command and hands them to the {@link #commandMetricsListeners}.
+   */
+  protected boolean enableCommandMetrics;
+  protected List<CommandMetricsListener> commandMetricsListeners;
+
+  /**
+   * When enabled, the {@link #retryInterceptor} is the first of the default interceptors, retrying commands that
+   * fail with an optimistic locking exception.
+   */
+  protected boolean enableCommandRetry;
+  protected RetryInterceptor retryInterceptor;
+
+  /**
+   * Optional data source, typically a read replica, on which queries and other
+   * {@link org.activiti.engine.impl.interceptor.ReadOnlyCommand}s are executed, see {@link ReadReplicaRouter}.
+   */
+  protected DataSource readOnlyDataSource;
+  protected ReadReplicaLagProvider readReplicaLagProvider;
+  protected Map<Class<?>, Long> readReplicaStalenessTolerances;
+  protected long readReplicaDefaultStalenessToleranceInMs = Long.MAX_VALUE;
+  protected ReadReplicaRouter readReplicaRouter;
+
   /** this will be initialized during the configurationComplete() */
   protected CommandExecutor commandExecutor;
 
@@ -407,6 +467,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected ResourceDataManager resourceDataManager;
   protected TaskDataManager taskDataManager;
   protected VariableInstanceDataManager variableInstanceDataManager;
+  protected VariableIndexDataManager variableIndexDataManager;
+  protected BatchDataManager batchDataManager;
+  protected BatchPartDataManager batchPartDataManager;
   private IntegrationContextDataManager integrationContextDataManager;
 
 
@@ -438,6 +501,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected TableDataManager tableDataManager;
   protected TaskEntityManager taskEntityManager;
   protected VariableInstanceEntityManager variableInstanceEntityManager;
+  protected VariableIndexEntityManager variableIndexEntityManager;
+  protected BatchEntityManager batchEntityManager;
+  protected BatchPartEntityManager batchPartEntityManager;
   private IntegrationContextManager integrationContextManager;
   private EventSubscriptionPayloadMappingProvider eventSubscriptionPayloadMappingProvider =
                                                               new EventSubscriptionPayloadMappingProvider() {};
@@ -489,6 +555,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<JobHandler> customJobHandlers;
   protected Map<String, JobHandler> jobHandlers;
 
+  // BATCHES //////////////////////////////////////////////////////////////////
+
+  protected List<BatchOperation> customBatchOperations;
+  protected Map<String, BatchOperation> batchOperations;
+
+  /**
+   * Number of process instances a batch part handles in one job.
+   */
+  protected int batchChunkSize = 100;
+
+  /**
+   * When suspending or activating a process definition together with its process instances, more instances
+   * than this are changed by a background batch instead of within the calling transaction. 0 disables it.
+   */
+  protected int processInstanceBatchThreshold;
+
   // HELPERS //////////////////////////////////////////////////////////////////
   protected ProcessInstanceHelper processInstanceHelper;
   protected ListenerNotificationHelper listenerNotificationHelper;
@@ -548,6 +630,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected BlockingQueue<Runnable> asyncExecutorThreadPoolQueue;
 
+  /**
+   * The kind of threads async jobs are executed on. By default null, meaning the
+   * executor's own default (a bounded platform thread pool for the {@link DefaultAsyncJobExecutor}).
+   */
+  protected AsyncJobExecutorThreadModel asyncExecutorThreadModel;
+
+  /**
+   * The number of jobs that may execute at the same time with the
+   * {@link AsyncJobExecutorThreadModel#WORK_STEALING work-stealing} and
+   * {@link AsyncJobExecutorThreadModel#VIRTUAL virtual} thread models, which have no job queue.
+   * If not positive, maxPoolSize + queueSize is used.
+   */
+  protected int asyncExecutorMaxConcurrentJobs;
+
   /**
    * The time (in seconds) that is waited to gracefully shut down the threadpool
    * used for job execution when the a shutdown on the executor (or process
@@ -614,6 +710,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorDefaultQueueSizeFullWaitTime = 0;
 
+  /**
+   * When true, job acquisition sizes each batch to the free capacity of the executor and backs off exponentially
+   * from {@link #asyncExecutorMinJobAcquireWaitTime} up to the default acquire wait times while no jobs are found.
+   * Default value = false. (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorAdaptiveAcquisition;
+
+  /**
+   * The shortest time (in milliseconds) an adaptive acquisition thread waits when it found fewer jobs than requested.
+   * Default value = 100.
+   */
+  protected int asyncExecutorMinJobAcquireWaitTime = 100;
+
   /**
    * When a job is acquired, it is locked so other async executors can't lock
    * and execute it. While doing this, the 'name' of the lock owner is written
@@ -675,6 +784,32 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorResetExpiredJobsPageSize = 3;
 
+  /**
+   * When true, all expired jobs are reset each round with one update statement per page
+   * ({@link #asyncExecutorResetExpiredJobsPageSize}), instead of one page per round and one command per job.
+   * Default value = false.
+   */
+  protected boolean asyncExecutorResetExpiredJobsInBulk;
+
+  /**
+   * When true, the async executor periodically renews the lock of the jobs it is executing, so long running jobs
+   * don't expire while a much shorter {@link #asyncExecutorAsyncJobLockTimeInMillis} can be used.
+   * Default value = false. (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorRenewJobLocks;
+
+  /**
+   * The time (in milliseconds) between two lock renewals. If not positive, a third of the async job lock time is used.
+   */
+  protected int asyncExecutorRenewJobLocksInterval;
+
+  /**
+   * When true, the async executor locks the process instance of an exclusive job, executes the job and releases the lock
+   * in a single transaction, reusing the job entity fetched by the acquisition, see {@link FusedExecuteAsyncRunnable}.
+   * Default value = false. (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorFusedJobExecution;
+
   /**
    * Experimental!
    *
@@ -739,10 +874,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean serializePOJOsInVariablesToJson = false;
   protected String javaClassFieldForJackson = JsonTypeInfo.Id.CLASS.getDefaultPropertyName();
 
+  /**
+   * Optional external storage for the content of {@link InputStream} variables.
+   * When not set, that content is streamed to and from the ACT_GE_BYTEARRAY table.
+   */
+  protected VariableBlobStore variableBlobStore;
+
   protected ExpressionManager expressionManager;
   protected List<String> customScriptingEngineClasses;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
+  protected boolean cacheCompiledScripts = true;
+  protected int compiledScriptCacheLimit = ScriptingEngines.DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT;
 
   protected BusinessCalendarManager businessCalendarManager;
 
@@ -751,6 +894,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int historicTaskQueryLimit = 20000;
   protected int historicProcessInstancesQueryLimit = 20000;
 
+  /**
+   * JDBC fetch size hint for queries that read their results through a database cursor (see {@link org.activiti.engine.query.Query#forEach}).
+   * 0 or less keeps the default of the driver.
+   */
+  protected int queryCursorFetchSize = 1000;
+
   protected String wsSyncFactoryClassName = DEFAULT_WS_SYNC_FACTORY;
   protected ConcurrentMap<QName, URL> wsOverridenEndpointAddresses = new ConcurrentHashMap<QName, URL>();
 
@@ -849,6 +998,41 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PerformanceSettings performanceSettings = new PerformanceSettings();
 
+  /**
+   * When enabled, the duration of every init phase and of the schema operations is recorded by a
+   * {@link StartupProfiler} and logged once the engine is built.
+   */
+  protected boolean enableStartupProfiling;
+  protected StartupProfiler startupProfiler;
+
+  /**
+   * When enabled, the MyBatis configuration (by far the most expensive init phase) is parsed on a separate thread
+   * while the other, independent phases are initialized.
+   */
+  protected boolean enableParallelInit;
+
+  /**
+   * Names of process instance variables that are mirrored into the variable index table,
+   * so equality queries on them don't need to scan the generic variable table. The names are engine wide:
+   * a registered name is indexed in the process instances of every process definition.
+   */
+  protected Set<String> indexedVariableNames = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The indexed variable names whose existing values have been indexed, see {@link BuildVariableIndexJobHandler}.
+   * Equality queries on the other indexed names keep using the generic variable table.
+   */
+  protected Set<String> builtIndexedVariableNames = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The indexed variable names whose index build was scheduled by this engine and is not done yet.
+   */
+  protected Set<String> scheduledIndexedVariableNames = ConcurrentHashMap.newKeySet();
+
+  protected int variableIndexBuildBatchSize = 1000;
+
+  protected boolean variableIndexBuildEnabled;
+
 
   // buildProcessEngine
   // ///////////////////////////////////////////////////////
@@ -859,6 +1043,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEngineImpl processEngine = new ProcessEngineImpl(this);
     postProcessEngineInitialisation();
 
+    if (startupProfiler != null) {
+      startupProfiler.logSummary(processEngineName);
+    }
+
     return processEngine;
   }
 
@@ -866,56 +1054,106 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // /////////////////////////////////////////////////////////////////////
 
   public void init() {
-    initConfigurators();
-    configuratorsBeforeInit();
-    initHistoryLevel();
-    initExpressionManager();
-
-    if (usingRelationalDatabase) {
-      initDataSource();
-    }
-
-    initAgendaFactory();
-    initHelpers();
-    initVariableTypes();
-    initBeans();
-    initScriptingEngines();
-    initClock();
-    initBusinessCalendarManager();
-    initCommandContextFactory();
-    initTransactionContextFactory();
-    initCommandExecutors();
-    initServices();
-    initIdGenerator();
-    initBehaviorFactory();
-    initListenerFactory();
-    initBpmnParser();
-    initProcessDefinitionCache();
-    initProcessDefinitionInfoCache();
-    initKnowledgeBaseCache();
-    initJobHandlers();
-    initJobManager();
-    initAsyncExecutor();
-
-    initTransactionFactory();
+    if (enableStartupProfiling && startupProfiler == null) {
+      startupProfiler = new StartupProfiler();
+    }
+    initPhase("initConfigurators", this::initConfigurators);
+    initPhase("configuratorsBeforeInit", this::configuratorsBeforeInit);
+    initPhase("initHistoryLevel", this::initHistoryLevel);
+    initPhase("initExpressionManager", this::initExpressionManager);
 
     if (usingRelationalDatabase) {
-      initSqlSessionFactory();
+      initPhase("initDataSource", this::initDataSource);
+    }
+
+    CompletableFuture<Void> sqlSessionFactoryInit = null;
+    if (usingRelationalDatabase && enableParallelInit) {
+      initPhase("initTransactionFactory", this::initTransactionFactory);
+      sqlSessionFactoryInit = initPhaseAsync("initSqlSessionFactory", this::initSqlSessionFactory);
+    }
+
+    initPhase("initAgendaFactory", this::initAgendaFactory);
+    initPhase("initHelpers", this::initHelpers);
+    initPhase("initVariableTypes", this::initVariableTypes);
+    initPhase("initBeans", this::initBeans);
+    initPhase("initScriptingEngines", this::initScriptingEngines);
+    initPhase("initClock", this::initClock);
+    initPhase("initBusinessCalendarManager", this::initBusinessCalendarManager);
+    initPhase("initCommandContextFactory", this::initCommandContextFactory);
+    initPhase("initTransactionContextFactory", this::initTransactionContextFactory);
+    initPhase("initCommandExecutors", this::initCommandExecutors);
+    initPhase("initServices", this::initServices);
+    initPhase("initIdGenerator", this::initIdGenerator);
+    initPhase("initBehaviorFactory", this::initBehaviorFactory);
+    initPhase("initListenerFactory", this::initListenerFactory);
+    initPhase("initBpmnParser", this::initBpmnParser);
+    initPhase("initProcessDefinitionCache", this::initProcessDefinitionCache);
+    initPhase("initProcessDefinitionInfoCache", this::initProcessDefinitionInfoCache);
+    initPhase("initKnowledgeBaseCache", this::initKnowledgeBaseCache);
+    initPhase("initJobHandlers", this::initJobHandlers);
+    initPhase("initBatchOperations", this::initBatchOperations);
+    initPhase("initJobManager", this::initJobManager);
+    initPhase("initAsyncExecutor", this::initAsyncExecutor);
+
+    initPhase("initTransactionFactory", this::initTransactionFactory);
+
+    if (sqlSessionFactoryInit != null) {
+      awaitPhase(sqlSessionFactoryInit);
+    } else if (usingRelationalDatabase) {
+      initPhase("initSqlSessionFactory", this::initSqlSessionFactory);
+    }
+
+    initPhase("initSessionFactories", this::initSessionFactories);
+    initPhase("initDataManagers", this::initDataManagers);
+    initPhase("initEntityManagers", this::initEntityManagers);
+    initPhase("initHistoryManager", this::initHistoryManager);
+    initPhase("initJpa", this::initJpa);
+    initPhase("initDeployers", this::initDeployers);
+    initPhase("initDelegateInterceptor", this::initDelegateInterceptor);
+    initPhase("initEventHandlers", this::initEventHandlers);
+    initPhase("initFailedJobCommandFactory", this::initFailedJobCommandFactory);
+    initPhase("initEventDispatcher", this::initEventDispatcher);
+    initPhase("initProcessValidator", this::initProcessValidator);
+    initPhase("initDatabaseEventLogging", this::initDatabaseEventLogging);
+    initPhase("configuratorsAfterInit", this::configuratorsAfterInit);
+  }
+
+  protected void initPhase(String phase, Runnable initializer) {
+    if (startupProfiler != null) {
+      startupProfiler.time(phase, initializer);
+    } else {
+      initializer.run();
     }
+  }
+
+  /**
+   * Runs the given phase on a separate thread. The phase must only depend on configuration that is complete
+   * at the time this method is called and must not be touched by the phases running in the meantime.
+   */
+  protected CompletableFuture<Void> initPhaseAsync(String phase, Runnable initializer) {
+    // resources are loaded through the context class loader, which a pooled thread would not inherit
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    return CompletableFuture.runAsync(() -> {
+      Thread thread = Thread.currentThread();
+      ClassLoader original = thread.getContextClassLoader();
+      thread.setContextClassLoader(classLoader);
+      try {
+        initPhase(phase, initializer);
+      } finally {
+        thread.setContextClassLoader(original);
+      }
+    });
+  }
 
-    initSessionFactories();
-    initDataManagers();
-    initEntityManagers();
-    initHistoryManager();
-    initJpa();
-    initDeployers();
-    initDelegateInterceptor();
-    initEventHandlers();
-    initFailedJobCommandFactory();
-    initEventDispatcher();
-    initProcessValidator();
-    initDatabaseEventLogging();
-    configuratorsAfterInit();
+  protected void awaitPhase(CompletableFuture<Void> phase) {
+    try {
+      phase.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new ActivitiException("Error during parallel process engine initialization", e.getCause());
+    }
   }
 
   // failedJobCommandFactory
@@ -963,6 +1201,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   public void initCommandInterceptors() {
     if (commandInterceptors == null) {
       commandInterceptors = new ArrayList<CommandInterceptor>();
+      if (enableCommandMetrics) {
+        commandInterceptors.add(new CommandMetricsInterceptor(commandMetricsListeners));
+      }
       if (customPreCommandInterceptors != null) {
         commandInterceptors.addAll(customPreCommandInterceptors);
       }
@@ -976,6 +1217,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public Collection<? extends CommandInterceptor> getDefaultCommandInterceptors() {
     List<CommandInterceptor> interceptors = new ArrayList<CommandInterceptor>();
+    if (enableCommandRetry) {
+      if (retryInterceptor == null) {
+        retryInterceptor = createRetryInterceptor();
+      }
+      interceptors.add(retryInterceptor);
+    }
     interceptors.add(new LogInterceptor());
 
     CommandInterceptor transactionInterceptor = createTransactionInterceptor();
@@ -994,6 +1241,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return interceptors;
   }
 
+  public RetryInterceptor createRetryInterceptor() {
+    return new RetryInterceptor();
+  }
+
   public void initCommandExecutor() {
     if (commandExecutor == null) {
       CommandInterceptor first = initInterceptorChain(commandInterceptors);
@@ -1231,6 +1482,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initMybatisTypeHandlers(configuration);
     initCustomMybatisMappers(configuration);
 
+    if (enableCommandMetrics) {
+      configuration.addInterceptor(new CommandMetricsSqlInterceptor());
+    }
+    configuration.addInterceptor(new CursorFetchSizeInterceptor());
+
     configuration = parseMybatisConfiguration(configuration, parser);
     return configuration;
   }
@@ -1363,6 +1619,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (variableInstanceDataManager == null) {
       variableInstanceDataManager = new MybatisVariableInstanceDataManager(this);
     }
+    if (variableIndexDataManager == null) {
+      variableIndexDataManager = new MybatisVariableIndexDataManager(this);
+    }
+    if (batchDataManager == null) {
+      batchDataManager = new MybatisBatchDataManager(this);
+    }
+    if (batchPartDataManager == null) {
+      batchPartDataManager = new MybatisBatchPartDataManager(this);
+    }
   }
 
     // Entity managers //////////////////////////////////////////////////////////
@@ -1447,6 +1712,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (variableInstanceEntityManager == null) {
       variableInstanceEntityManager = new VariableInstanceEntityManagerImpl(this, variableInstanceDataManager);
     }
+    if (variableIndexEntityManager == null) {
+      variableIndexEntityManager = new VariableIndexEntityManagerImpl(this, variableIndexDataManager);
+    }
+    if (batchEntityManager == null) {
+      batchEntityManager = new BatchEntityManagerImpl(this, batchDataManager);
+    }
+    if (batchPartEntityManager == null) {
+      batchPartEntityManager = new BatchPartEntityManagerImpl(this, batchPartDataManager);
+    }
   }
 
     // History manager ///////////////////////////////////////////////////////////
@@ -1501,9 +1775,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
     dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+    if (readOnlyDataSource != null) {
+      readReplicaRouter = createReadReplicaRouter();
+      dbSqlSessionFactory.setReadReplicaRouter(readReplicaRouter);
+    }
     addSessionFactory(dbSqlSessionFactory);
   }
 
+  public ReadReplicaRouter createReadReplicaRouter() {
+    ReadReplicaRouter readReplicaRouter = new ReadReplicaRouter(readOnlyDataSource);
+    readReplicaRouter.setLagProvider(readReplicaLagProvider);
+    readReplicaRouter.setDefaultStalenessToleranceInMs(readReplicaDefaultStalenessToleranceInMs);
+    if (readReplicaStalenessTolerances != null) {
+      readReplicaRouter.setStalenessTolerances(readReplicaStalenessTolerances);
+    }
+    return readReplicaRouter;
+  }
+
   public DbSqlSessionFactory createDbSqlSessionFactory() {
     return new DbSqlSessionFactory();
   }
@@ -1844,6 +2132,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
     jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+    BatchPartJobHandler batchPartJobHandler = new BatchPartJobHandler();
+    jobHandlers.put(batchPartJobHandler.getType(), batchPartJobHandler);
+
+    BuildVariableIndexJobHandler buildVariableIndexJobHandler = new BuildVariableIndexJobHandler();
+    jobHandlers.put(buildVariableIndexJobHandler.getType(), buildVariableIndexJobHandler);
+
+    ParallelMultiInstanceJobHandler parallelMultiInstanceJobHandler = new ParallelMultiInstanceJobHandler();
+    jobHandlers.put(parallelMultiInstanceJobHandler.getType(), parallelMultiInstanceJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers() != null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1852,6 +2149,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  public void initBatchOperations() {
+    if (batchOperations == null) {
+      batchOperations = new HashMap<String, BatchOperation>();
+    }
+    addBatchOperation(new SuspendProcessInstancesBatchOperation());
+    addBatchOperation(new ActivateProcessInstancesBatchOperation());
+    addBatchOperation(new DeleteProcessInstancesBatchOperation());
+    addBatchOperation(new MigrateProcessInstancesBatchOperation());
+
+    if (getCustomBatchOperations() != null) {
+      for (BatchOperation customBatchOperation : getCustomBatchOperations()) {
+        batchOperations.put(customBatchOperation.getType(), customBatchOperation);
+      }
+    }
+  }
+
+  protected void addBatchOperation(BatchOperation batchOperation) {
+    if (!batchOperations.containsKey(batchOperation.getType())) {
+      batchOperations.put(batchOperation.getType(), batchOperation);
+    }
+  }
+
   // async executor
   // /////////////////////////////////////////////////////////////
 
@@ -1953,6 +2272,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       variableTypes.addType(new DoubleType());
       variableTypes.addType(new UUIDType());
       variableTypes.addType(new BigDecimalType());
+      variableTypes.addType(new InputStreamType());
 
         objectMapper.configOverride(BigDecimal.class)
             .setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.STRING));
@@ -1999,6 +2319,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
     if (scriptingEngines == null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(this, resolverFactories));
+      scriptingEngines.setCacheCompiledScripts(cacheCompiledScripts);
+      scriptingEngines.setCompiledScriptCacheLimit(compiledScriptCacheLimit);
     }
   }
 
@@ -2130,6 +2452,39 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (performanceSettings.isValidateExecutionRelationshipCountConfigOnBoot()) {
       commandExecutor.execute(new ValidateExecutionRelatedEntityCountCfgCmd());
     }
+    variableIndexBuildEnabled = true;
+    scheduleVariableIndexBuilds(indexedVariableNames);
+  }
+
+  /**
+   * Schedules the async jobs that index the values written before the given names were registered, see
+   * {@link BuildVariableIndexJobHandler}. Names whose index is built or already scheduled are skipped.
+   */
+  protected void scheduleVariableIndexBuilds(Collection<String> variableNames) {
+    if (!variableIndexBuildEnabled) {
+      return;
+    }
+    CommandConfig commandConfig = new CommandConfig(false).transactionRequiresNew();
+    for (String variableName : variableNames) {
+      if (!builtIndexedVariableNames.contains(variableName) && scheduledIndexedVariableNames.add(variableName)) {
+        try {
+          commandExecutor.execute(commandConfig, new BuildVariableIndexCmd(variableName));
+        } catch (RuntimeException e) {
+          scheduledIndexedVariableNames.remove(variableName);
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Called once the last batch of the index build of the given name is committed.
+   */
+  public void variableIndexBuilt(String variableName) {
+    scheduledIndexedVariableNames.remove(variableName);
+    if (indexedVariableNames.contains(variableName)) {
+      builtIndexedVariableNames.add(variableName);
+    }
   }
 
   // getters and setters
@@ -2177,6 +2532,112 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableCommandMetrics() {
+    return enableCommandMetrics;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableCommandMetrics(boolean enableCommandMetrics) {
+    this.enableCommandMetrics = enableCommandMetrics;
+    return this;
+  }
+
+  public List<CommandMetricsListener> getCommandMetricsListeners() {
+    return commandMetricsListeners;
+  }
+
+  public ProcessEngineConfigurationImpl setCommandMetricsListeners(List<CommandMetricsListener> commandMetricsListeners) {
+    this.commandMetricsListeners = commandMetricsListeners;
+    return this;
+  }
+
+  public boolean isEnableCommandRetry() {
+    return enableCommandRetry;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableCommandRetry(boolean enableCommandRetry) {
+    this.enableCommandRetry = enableCommandRetry;
+    return this;
+  }
+
+  public RetryInterceptor getRetryInterceptor() {
+    return retryInterceptor;
+  }
+
+  public ProcessEngineConfigurationImpl setRetryInterceptor(RetryInterceptor retryInterceptor) {
+    this.retryInterceptor = retryInterceptor;
+    return this;
+  }
+
+  public DataSource getReadOnlyDataSource() {
+    return readOnlyDataSource;
+  }
+
+  public ProcessEngineConfigurationImpl setReadOnlyDataSource(DataSource readOnlyDataSource) {
+    this.readOnlyDataSource = readOnlyDataSource;
+    return this;
+  }
+
+  public ReadReplicaLagProvider getReadReplicaLagProvider() {
+    return readReplicaLagProvider;
+  }
+
+  public ProcessEngineConfigurationImpl setReadReplicaLagProvider(ReadReplicaLagProvider readReplicaLagProvider) {
+    this.readReplicaLagProvider = readReplicaLagProvider;
+    return this;
+  }
+
+  public Map<Class<?>, Long> getReadReplicaStalenessTolerances() {
+    return readReplicaStalenessTolerances;
+  }
+
+  public ProcessEngineConfigurationImpl setReadReplicaStalenessTolerances(Map<Class<?>, Long> readReplicaStalenessTolerances) {
+    this.readReplicaStalenessTolerances = readReplicaStalenessTolerances;
+    return this;
+  }
+
+  public long getReadReplicaDefaultStalenessToleranceInMs() {
+    return readReplicaDefaultStalenessToleranceInMs;
+  }
+
+  public ProcessEngineConfigurationImpl setReadReplicaDefaultStalenessToleranceInMs(long readReplicaDefaultStalenessToleranceInMs) {
+    this.readReplicaDefaultStalenessToleranceInMs = readReplicaDefaultStalenessToleranceInMs;
+    return this;
+  }
+
+  /**
+   * The router created from the read-only data source settings, or null when no read-only data source is configured.
+   */
+  public ReadReplicaRouter getReadReplicaRouter() {
+    return readReplicaRouter;
+  }
+
+  public boolean isEnableStartupProfiling() {
+    return enableStartupProfiling;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableStartupProfiling(boolean enableStartupProfiling) {
+    this.enableStartupProfiling = enableStartupProfiling;
+    return this;
+  }
+
+  public StartupProfiler getStartupProfiler() {
+    return startupProfiler;
+  }
+
+  public ProcessEngineConfigurationImpl setStartupProfiler(StartupProfiler startupProfiler) {
+    this.startupProfiler = startupProfiler;
+    return this;
+  }
+
+  public boolean isEnableParallelInit() {
+    return enableParallelInit;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableParallelInit(boolean enableParallelInit) {
+    this.enableParallelInit = enableParallelInit;
+    return this;
+  }
+
   public List<CommandInterceptor> getCommandInterceptors() {
     return commandInterceptors;
   }
@@ -2451,6 +2912,24 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public boolean isCacheCompiledScripts() {
+    return cacheCompiledScripts;
+  }
+
+  public ProcessEngineConfigurationImpl setCacheCompiledScripts(boolean cacheCompiledScripts) {
+    this.cacheCompiledScripts = cacheCompiledScripts;
+    return this;
+  }
+
+  public int getCompiledScriptCacheLimit() {
+    return compiledScriptCacheLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+    this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+    return this;
+  }
+
   public VariableTypes getVariableTypes() {
     return variableTypes;
   }
@@ -2476,6 +2955,15 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     this.serializePOJOsInVariablesToJson = serializePOJOsInVariablesToJson;
   }
 
+  public VariableBlobStore getVariableBlobStore() {
+    return variableBlobStore;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableBlobStore(VariableBlobStore variableBlobStore) {
+    this.variableBlobStore = variableBlobStore;
+    return this;
+  }
+
   public String getJavaClassFieldForJackson() {
     return javaClassFieldForJackson;
   }
@@ -2538,6 +3026,15 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public int getQueryCursorFetchSize() {
+    return queryCursorFetchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setQueryCursorFetchSize(int queryCursorFetchSize) {
+    this.queryCursorFetchSize = queryCursorFetchSize;
+    return this;
+  }
+
   public CommandContextFactory getCommandContextFactory() {
     return commandContextFactory;
   }
@@ -2646,6 +3143,42 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public List<BatchOperation> getCustomBatchOperations() {
+    return customBatchOperations;
+  }
+
+  public ProcessEngineConfigurationImpl setCustomBatchOperations(List<BatchOperation> customBatchOperations) {
+    this.customBatchOperations = customBatchOperations;
+    return this;
+  }
+
+  public Map<String, BatchOperation> getBatchOperations() {
+    return batchOperations;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchOperations(Map<String, BatchOperation> batchOperations) {
+    this.batchOperations = batchOperations;
+    return this;
+  }
+
+  public int getBatchChunkSize() {
+    return batchChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchChunkSize(int batchChunkSize) {
+    this.batchChunkSize = batchChunkSize;
+    return this;
+  }
+
+  public int getProcessInstanceBatchThreshold() {
+    return processInstanceBatchThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessInstanceBatchThreshold(int processInstanceBatchThreshold) {
+    this.processInstanceBatchThreshold = processInstanceBatchThreshold;
+    return this;
+  }
+
   public List<String> getCustomScriptingEngineClasses() {
     return customScriptingEngineClasses;
   }
@@ -2997,6 +3530,62 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public ProcessEngineConfigurationImpl setParallelMultiInstanceWindowSize(int parallelMultiInstanceWindowSize) {
+    this.performanceSettings.setParallelMultiInstanceWindowSize(parallelMultiInstanceWindowSize);
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableTargetedVariableFetching(boolean enableTargetedVariableFetching) {
+    this.performanceSettings.setEnableTargetedVariableFetching(enableTargetedVariableFetching);
+    return this;
+  }
+
+  public Set<String> getIndexedVariableNames() {
+    return indexedVariableNames;
+  }
+
+  /**
+   * Replaces the indexed variable names. Once the engine is built, the index rows of the names that are no longer
+   * registered are deleted and the index build of the newly registered names is scheduled.
+   */
+  public ProcessEngineConfigurationImpl setIndexedVariableNames(Collection<String> indexedVariableNames) {
+    Set<String> names = ConcurrentHashMap.newKeySet();
+    names.addAll(indexedVariableNames);
+    Set<String> removedNames = new HashSet<String>(this.indexedVariableNames);
+    removedNames.removeAll(names);
+    this.indexedVariableNames = names;
+    this.builtIndexedVariableNames.retainAll(names);
+    this.scheduledIndexedVariableNames.retainAll(names);
+    if (variableIndexBuildEnabled && !removedNames.isEmpty()) {
+      commandExecutor.execute(new CommandConfig(false).transactionRequiresNew(), new DeleteVariableIndexesCmd(removedNames));
+    }
+    scheduleVariableIndexBuilds(names);
+    return this;
+  }
+
+  /**
+   * Registers additional indexed variable names. Once the engine is built, the index build of the new names
+   * is scheduled.
+   */
+  public ProcessEngineConfigurationImpl addIndexedVariableNames(Collection<String> indexedVariableNames) {
+    this.indexedVariableNames.addAll(indexedVariableNames);
+    scheduleVariableIndexBuilds(indexedVariableNames);
+    return this;
+  }
+
+  public Set<String> getBuiltIndexedVariableNames() {
+    return builtIndexedVariableNames;
+  }
+
+  public int getVariableIndexBuildBatchSize() {
+    return variableIndexBuildBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableIndexBuildBatchSize(int variableIndexBuildBatchSize) {
+    this.variableIndexBuildBatchSize = variableIndexBuildBatchSize;
+    return this;
+  }
+
   public AttachmentDataManager getAttachmentDataManager() {
     return attachmentDataManager;
   }
@@ -3223,6 +3812,33 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public BatchDataManager getBatchDataManager() {
+    return batchDataManager;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchDataManager(BatchDataManager batchDataManager) {
+    this.batchDataManager = batchDataManager;
+    return this;
+  }
+
+  public BatchPartDataManager getBatchPartDataManager() {
+    return batchPartDataManager;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchPartDataManager(BatchPartDataManager batchPartDataManager) {
+    this.batchPartDataManager = batchPartDataManager;
+    return this;
+  }
+
+  public VariableIndexDataManager getVariableIndexDataManager() {
+    return variableIndexDataManager;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableIndexDataManager(VariableIndexDataManager variableIndexDataManager) {
+    this.variableIndexDataManager = variableIndexDataManager;
+    return this;
+  }
+
   public boolean isEnableConfiguratorServiceLoader() {
     return enableConfiguratorServiceLoader;
   }
@@ -3453,6 +4069,33 @@ public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return this;
   }
 
+  public BatchEntityManager getBatchEntityManager() {
+    return batchEntityManager;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchEntityManager(BatchEntityManager batchEntityManager) {
+    this.batchEntityManager = batchEntityManager;
+    return this;
+  }
+
+  public BatchPartEntityManager getBatchPartEntityManager() {
+    return batchPartEntityManager;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchPartEntityManager(BatchPartEntityManager batchPartEntityManager) {
+    this.batchPartEntityManager = batchPartEntityManager;
+    return this;
+  }
+
+  public VariableIndexEntityManager getVariableIndexEntityManager() {
+    return variableIndexEntityManager;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableIndexEntityManager(VariableIndexEntityManager variableIndexEntityManager) {
+    this.variableIndexEntityManager = variableIndexEntityManager;
+    return this;
+  }
+
   public TableDataManager getTableDataManager() {
     return tableDataManager;
   }
@@ -3569,6 +4212,24 @@ public ProcessEngineConfigurationImpl setClock(Clock clock) {
     return this;
   }
 
+  public AsyncJobExecutorThreadModel getAsyncExecutorThreadModel() {
+    return asyncExecutorThreadModel;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorThreadModel(AsyncJobExecutorThreadModel asyncExecutorThreadModel) {
+    this.asyncExecutorThreadModel = asyncExecutorThreadModel;
+    return this;
+  }
+
+  public int getAsyncExecutorMaxConcurrentJobs() {
+    return asyncExecutorMaxConcurrentJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMaxConcurrentJobs(int asyncExecutorMaxConcurrentJobs) {
+    this.asyncExecutorMaxConcurrentJobs = asyncExecutorMaxConcurrentJobs;
+    return this;
+  }
+
   public long getAsyncExecutorSecondsToWaitOnShutdown() {
     return asyncExecutorSecondsToWaitOnShutdown;
   }
@@ -3623,6 +4284,24 @@ public ProcessEngineConfigurationImpl setClock(Clock clock) {
     return this;
   }
 
+  public boolean isAsyncExecutorAdaptiveAcquisition() {
+    return asyncExecutorAdaptiveAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquisition(boolean asyncExecutorAdaptiveAcquisition) {
+    this.asyncExecutorAdaptiveAcquisition = asyncExecutorAdaptiveAcquisition;
+    return this;
+  }
+
+  public int getAsyncExecutorMinJobAcquireWaitTime() {
+    return asyncExecutorMinJobAcquireWaitTime;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorMinJobAcquireWaitTime(int asyncExecutorMinJobAcquireWaitTime) {
+    this.asyncExecutorMinJobAcquireWaitTime = asyncExecutorMinJobAcquireWaitTime;
+    return this;
+  }
+
   public String getAsyncExecutorLockOwner() {
     return asyncExecutorLockOwner;
   }
@@ -3677,6 +4356,42 @@ public ProcessEngineConfigurationImpl setClock(Clock clock) {
     return this;
   }
 
+  public boolean isAsyncExecutorResetExpiredJobsInBulk() {
+    return asyncExecutorResetExpiredJobsInBulk;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorResetExpiredJobsInBulk(boolean asyncExecutorResetExpiredJobsInBulk) {
+    this.asyncExecutorResetExpiredJobsInBulk = asyncExecutorResetExpiredJobsInBulk;
+    return this;
+  }
+
+  public boolean isAsyncExecutorRenewJobLocks() {
+    return asyncExecutorRenewJobLocks;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorRenewJobLocks(boolean asyncExecutorRenewJobLocks) {
+    this.asyncExecutorRenewJobLocks = asyncExecutorRenewJobLocks;
+    return this;
+  }
+
+  public int getAsyncExecutorRenewJobLocksInterval() {
+    return asyncExecutorRenewJobLocksInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorRenewJobLocksInterval(int asyncExecutorRenewJobLocksInterval) {
+    this.asyncExecutorRenewJobLocksInterval = asyncExecutorRenewJobLocksInterval;
+    return this;
+  }
+
+  public boolean isAsyncExecutorFusedJobExecution() {
+    return asyncExecutorFusedJobExecution;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorFusedJobExecution(boolean asyncExecutorFusedJobExecution) {
+    this.asyncExecutorFusedJobExecution = asyncExecutorFusedJobExecution;
+    return this;
+  }
+
   public boolean isAsyncExecutorIsMessageQueueMode() {
     return asyncExecutorMessageQueueMode;
   }
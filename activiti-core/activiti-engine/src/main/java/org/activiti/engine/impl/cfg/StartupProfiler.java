@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cfg;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.api.internal.Internal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records how long each phase of the process engine build takes.
+ *
+ * Phases are timed in the order they are reported, so the resulting map reads like the
+ * startup sequence itself. Phases running on another thread (see parallel init in
+ * {@link ProcessEngineConfigurationImpl}) are reported when they are joined.
+ */
+@Internal
+public class StartupProfiler {
+
+  private static final Logger log = LoggerFactory.getLogger(StartupProfiler.class);
+
+  protected final long startNanos = System.nanoTime();
+
+  protected final Map<String, Long> phaseDurations = new LinkedHashMap<String, Long>();
+
+  public void time(String phase, Runnable runnable) {
+    long start = System.nanoTime();
+    try {
+      runnable.run();
+    } finally {
+      record(phase, System.nanoTime() - start);
+    }
+  }
+
+  public synchronized void record(String phase, long durationInNanos) {
+    Long previous = phaseDurations.get(phase);
+    phaseDurations.put(phase, previous != null ? previous + durationInNanos : durationInNanos);
+  }
+
+  /**
+   * @return the duration of each phase in milliseconds, in the order the phases were recorded
+   */
+  public synchronized Map<String, Long> getPhaseDurationsInMillis() {
+    Map<String, Long> durations = new LinkedHashMap<String, Long>();
+    for (Map.Entry<String, Long> entry : phaseDurations.entrySet()) {
+      durations.put(entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue()));
+    }
+    return Collections.unmodifiableMap(durations);
+  }
+
+  /**
+   * @return the wall clock time since this profiler was created, in milliseconds
+   */
+  public long getElapsedTimeInMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+
+  public void logSummary(String processEngineName) {
+    if (log.isInfoEnabled()) {
+      StringBuilder summary = new StringBuilder();
+      for (Map.Entry<String, Long> entry : getPhaseDurationsInMillis().entrySet()) {
+        summary.append("\n  ").append(entry.getKey()).append(": ").append(entry.getValue()).append(" ms");
+      }
+      log.info("ProcessEngine {} built in {} ms:{}", processEngineName, getElapsedTimeInMillis(), summary);
+    }
+  }
+
+}
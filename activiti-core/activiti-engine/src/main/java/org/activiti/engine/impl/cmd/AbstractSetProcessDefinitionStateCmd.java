@@ -39,6 +39,7 @@ import org.activiti.engine.impl.persistence.entity.SuspensionState;
 import org.activiti.engine.impl.persistence.entity.SuspensionState.SuspensionStateUtil;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.Batch;
 import org.activiti.engine.runtime.ProcessInstance;
 
 /**
@@ -157,7 +158,10 @@ public abstract class AbstractSetProcessDefinitionStateCmd implements Command<Vo
       commandContext.getProcessEngineConfiguration().getDeploymentManager().getProcessDefinitionCache().remove(processDefinition.getId());
 
       // Suspend process instances (if needed)
-      if (includeProcessInstances) {
+      if (includeProcessInstances && exceedsProcessInstanceBatchThreshold(commandContext, processDefinition)) {
+        commandContext.getBatchEntityManager().startBatch(getProcessInstanceBatchType(), processDefinition, null);
+
+      } else if (includeProcessInstances) {
 
         int currentStartIndex = 0;
         List<ProcessInstance> processInstances = fetchProcessInstancesPage(commandContext, processDefinition, currentStartIndex);
@@ -176,6 +180,24 @@ public abstract class AbstractSetProcessDefinitionStateCmd implements Command<Vo
     }
   }
 
+  protected boolean exceedsProcessInstanceBatchThreshold(CommandContext commandContext, ProcessDefinition processDefinition) {
+    int threshold = commandContext.getProcessEngineConfiguration().getProcessInstanceBatchThreshold();
+    if (threshold <= 0) {
+      return false;
+    }
+    ProcessInstanceQueryImpl query = new ProcessInstanceQueryImpl(commandContext).processDefinitionId(processDefinition.getId());
+    if (SuspensionState.ACTIVE.equals(getProcessDefinitionSuspensionState())) {
+      query.suspended();
+    } else {
+      query.active();
+    }
+    return query.count() > threshold;
+  }
+
+  protected String getProcessInstanceBatchType() {
+    return SuspensionState.ACTIVE.equals(getProcessDefinitionSuspensionState()) ? Batch.TYPE_ACTIVATE_PROCESS_INSTANCES : Batch.TYPE_SUSPEND_PROCESS_INSTANCES;
+  }
+
   protected List<ProcessInstance> fetchProcessInstancesPage(CommandContext commandContext, ProcessDefinition processDefinition, int currentPageStartIndex) {
 
     if (SuspensionState.ACTIVE.equals(getProcessDefinitionSuspensionState())) {
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Schedules the async job that indexes the process instance variables with the given name that were written before
+ * the name was registered as searchable, see {@link org.activiti.engine.impl.jobexecutor.BuildVariableIndexJobHandler}.
+ */
+public class BuildVariableIndexCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String variableName;
+
+  public BuildVariableIndexCmd(String variableName) {
+    this.variableName = variableName;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    commandContext.getVariableIndexEntityManager().scheduleVariableIndexBuild(variableName);
+    return null;
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Streams the content of a byte array to the given output stream, in chunks, so the content is never held in
+ * memory as a whole. Returns whether the byte array exists.
+ */
+public class CopyByteArrayContentCmd implements Command<Boolean> {
+
+  protected String byteArrayId;
+  protected OutputStream target;
+
+  public CopyByteArrayContentCmd(String byteArrayId, OutputStream target) {
+    this.byteArrayId = byteArrayId;
+    this.target = target;
+  }
+
+  public Boolean execute(CommandContext commandContext) {
+    try (InputStream content = commandContext.getByteArrayEntityManager().openByteArrayStream(byteArrayId)) {
+      if (content == null) {
+        return false;
+      }
+      byte[] buffer = new byte[8192];
+      int read;
+      while ((read = content.read(buffer)) != -1) {
+        target.write(buffer, 0, read);
+      }
+      return true;
+    } catch (IOException e) {
+      throw new ActivitiException("Couldn't copy content of byte array " + byteArrayId, e);
+    }
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.EventSubscriptionQueryImpl;
+import org.activiti.engine.impl.event.MessageEventHandler;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.runtime.MessageCorrelation;
+import org.activiti.engine.runtime.MessageCorrelationResult;
+import org.activiti.engine.runtime.MessageCorrelationResult.Status;
+
+/**
+ * Looks up the message event subscription for each given message name and correlation key and delivers the message to
+ * the subscribed execution, all within the same command (and thus the same transaction).
+ *
+ * A message without a matching subscription, or whose execution is suspended, is reported through its
+ * {@link MessageCorrelationResult} rather than failing the whole batch. Any other exception (for example one thrown
+ * while continuing the triggered executions) rolls back every message of the batch.
+ */
+public class CorrelateMessagesCmd implements Command<List<MessageCorrelationResult>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final List<MessageCorrelation> messageCorrelations;
+
+  public CorrelateMessagesCmd(MessageCorrelation messageCorrelation) {
+    this(Collections.singletonList(messageCorrelation));
+  }
+
+  public CorrelateMessagesCmd(List<MessageCorrelation> messageCorrelations) {
+    this.messageCorrelations = messageCorrelations;
+  }
+
+  public List<MessageCorrelationResult> execute(CommandContext commandContext) {
+    if (messageCorrelations == null) {
+      throw new ActivitiIllegalArgumentException("messageCorrelations is null");
+    }
+
+    List<MessageCorrelationResult> results = new ArrayList<MessageCorrelationResult>(messageCorrelations.size());
+    Set<String> triggeredEventSubscriptionIds = new HashSet<String>();
+    for (MessageCorrelation messageCorrelation : messageCorrelations) {
+      results.add(correlate(commandContext, messageCorrelation, triggeredEventSubscriptionIds));
+    }
+    return results;
+  }
+
+  protected MessageCorrelationResult correlate(CommandContext commandContext, MessageCorrelation messageCorrelation, Set<String> triggeredEventSubscriptionIds) {
+    if (messageCorrelation == null || messageCorrelation.getMessageName() == null) {
+      throw new ActivitiIllegalArgumentException("messageName cannot be null");
+    }
+
+    String messageName = messageCorrelation.getMessageName();
+    String correlationKey = messageCorrelation.getCorrelationKey();
+
+    EventSubscriptionEntity eventSubscription = findEventSubscription(commandContext, messageName, correlationKey, triggeredEventSubscriptionIds);
+    if (eventSubscription == null || !Objects.equals(correlationKey, eventSubscription.getConfiguration())) {
+      return new MessageCorrelationResult(messageName, correlationKey, Status.NOT_FOUND, null, null);
+    }
+
+    ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(eventSubscription.getExecutionId());
+    if (execution == null) {
+      return new MessageCorrelationResult(messageName, correlationKey, Status.NOT_FOUND, null, null);
+    }
+    if (execution.isSuspended()) {
+      return new MessageCorrelationResult(messageName, correlationKey, Status.SUSPENDED, execution.getId(), execution.getProcessInstanceId());
+    }
+
+    triggeredEventSubscriptionIds.add(eventSubscription.getId());
+    commandContext.getEventSubscriptionEntityManager().eventReceived(eventSubscription, messageCorrelation.getProcessVariables(), false);
+
+    return new MessageCorrelationResult(messageName, correlationKey, Status.CORRELATED, execution.getId(), execution.getProcessInstanceId());
+  }
+
+  protected EventSubscriptionEntity findEventSubscription(CommandContext commandContext, String messageName, String correlationKey, Set<String> triggeredEventSubscriptionIds) {
+    List<EventSubscriptionEntity> eventSubscriptions = new EventSubscriptionQueryImpl(commandContext)
+        .eventType(MessageEventHandler.EVENT_HANDLER_TYPE)
+        .eventName(messageName)
+        .configuration(correlationKey)
+        .list();
+
+    // the subscriptions triggered earlier in this batch are only removed once the agenda runs, so skip them here
+    for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      if (!eventSubscription.isDeleted() && !triggeredEventSubscriptionIds.contains(eventSubscription.getId())) {
+        return eventSubscription;
+      }
+    }
+    return null;
+  }
+
+}
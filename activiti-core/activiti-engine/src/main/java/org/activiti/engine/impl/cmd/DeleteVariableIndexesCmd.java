@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Deletes the index rows of variable names that are no longer indexed, so registering a name again rebuilds
+ * its index from the current values.
+ */
+public class DeleteVariableIndexesCmd implements Command<Void>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected Collection<String> variableNames;
+
+  public DeleteVariableIndexesCmd(Collection<String> variableNames) {
+    this.variableNames = new ArrayList<String>(variableNames);
+  }
+
+  public Void execute(CommandContext commandContext) {
+    for (String variableName : variableNames) {
+      commandContext.getVariableIndexEntityManager().deleteVariableIndexesByName(variableName);
+    }
+    return null;
+  }
+
+}
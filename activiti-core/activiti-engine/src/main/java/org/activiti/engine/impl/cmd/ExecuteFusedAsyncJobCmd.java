@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Locks the process instance of an exclusive job, executes the job and releases the lock again in one transaction,
+ * instead of the three transactions of {@link LockExclusiveJobCmd}, {@link ExecuteAsyncJobCmd} and {@link UnlockExclusiveJobCmd}.
+ *
+ * The job entity handed over by the acquisition is used as is instead of being fetched again: its revision is the one
+ * written by the acquisition, so a concurrent delete or reset of the job makes the delete at the end of the execution fail
+ * and rolls back the whole transaction. The process instance is locked first: while the transaction runs, the row lock taken
+ * by the lock time update keeps other executors away from the process instance, so the lock time never becomes visible to
+ * them and is cleared before the commit.
+ */
+public class ExecuteFusedAsyncJobCmd implements Command<Object>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static Logger log = LoggerFactory.getLogger(ExecuteFusedAsyncJobCmd.class);
+
+  protected JobEntity job;
+
+  public ExecuteFusedAsyncJobCmd(JobEntity job) {
+    this.job = job;
+  }
+
+  public Object execute(CommandContext commandContext) {
+
+    if (job == null) {
+      throw new ActivitiIllegalArgumentException("job is null");
+    }
+
+    // Register the acquired job as loaded in this transaction, so it isn't fetched again
+    commandContext.getEntityCache().put(job, true);
+
+    // The process instance is locked before anything else is loaded: when this transaction has to wait for the row lock
+    // of a concurrent job of the same process instance, it only reads the executions once that job has committed.
+    String lockedProcessInstanceId = null;
+    if (job.isExclusive() && job.getProcessInstanceId() != null) {
+      try {
+        commandContext.getExecutionEntityManager().updateProcessInstanceLockTime(job.getProcessInstanceId());
+        lockedProcessInstanceId = job.getProcessInstanceId();
+
+      } catch (ActivitiOptimisticLockingException e) {
+        if (commandContext.getExecutionEntityManager().findById(job.getProcessInstanceId()) == null) {
+          log.debug("Process instance of job {} does not exist anymore and the job will not be executed.", job.getId());
+          return null;
+        }
+
+        if (log.isDebugEnabled()) {
+          log.debug("Could not lock process instance {} of exclusive job {}. Unacquiring job so it can be acquired again.",
+              job.getProcessInstanceId(), job.getId());
+        }
+
+        // Release the job again so it can be acquired later or by another node
+        commandContext.getJobManager().unacquire(job);
+        return null;
+      }
+    }
+
+    if (job.getExecutionId() != null) {
+      ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(job.getExecutionId());
+      if (execution == null) {
+        log.debug("Execution of job {} does not exist anymore and the job will not be executed. It has most likely been deleted "
+            + "as part of another concurrent part of the process instance.", job.getId());
+        if (lockedProcessInstanceId != null) {
+          commandContext.getExecutionEntityManager().clearProcessInstanceLockTime(lockedProcessInstanceId);
+        }
+        return null;
+      }
+    }
+
+    if (log.isDebugEnabled()) {
+      log.debug("Executing async job {}", job.getId());
+    }
+
+    commandContext.getJobManager().execute(job);
+
+    if (commandContext.getEventDispatcher().isEnabled()) {
+      commandContext.getEventDispatcher().dispatchEvent(
+          ActivitiEventBuilder.createEntityEvent(ActivitiEventType.JOB_EXECUTION_SUCCESS, job));
+    }
+
+    if (lockedProcessInstanceId != null) {
+      commandContext.getExecutionEntityManager().clearProcessInstanceLockTime(lockedProcessInstanceId);
+    }
+
+    return null;
+  }
+}
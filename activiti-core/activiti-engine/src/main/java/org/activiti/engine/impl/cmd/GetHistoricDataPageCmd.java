@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.history.HistoricData;
+import org.activiti.engine.history.HistoricVariableUpdate;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.activiti.engine.impl.variable.CacheableVariable;
+import org.activiti.engine.impl.variable.JPAEntityListVariableType;
+import org.activiti.engine.impl.variable.JPAEntityVariableType;
+
+/**
+ * Fetches one page of the historic data of a process instance for one {@link Source}, ordered by time and id,
+ * starting right after the given time and id (the last element of the previous page).
+ */
+public class GetHistoricDataPageCmd implements Command<List<HistoricData>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The tables a process instance history log is built from. The declaration order is used to order elements with the
+   * same time.
+   */
+  public enum Source {
+    TASKS, ACTIVITIES, VARIABLES, COMMENTS, VARIABLE_UPDATES, FORM_PROPERTIES
+  }
+
+  protected Source source;
+  protected String processInstanceId;
+  protected Date afterTime;
+  protected String afterId;
+  protected int pageSize;
+
+  public GetHistoricDataPageCmd(Source source, String processInstanceId, Date afterTime, String afterId, int pageSize) {
+    this.source = source;
+    this.processInstanceId = processInstanceId;
+    this.afterTime = afterTime;
+    this.afterId = afterId;
+    this.pageSize = pageSize;
+  }
+
+  public List<HistoricData> execute(CommandContext commandContext) {
+    switch (source) {
+    case TASKS:
+      return new ArrayList<HistoricData>(commandContext.getHistoricTaskInstanceEntityManager()
+          .findHistoricTaskInstancesByProcessInstanceIdAfter(processInstanceId, afterTime, afterId, pageSize));
+
+    case ACTIVITIES:
+      return new ArrayList<HistoricData>(commandContext.getHistoricActivityInstanceEntityManager()
+          .findHistoricActivityInstancesByProcessInstanceIdAfter(processInstanceId, afterTime, afterId, pageSize));
+
+    case VARIABLES:
+      List<HistoricVariableInstanceEntity> variables = commandContext.getHistoricVariableInstanceEntityManager()
+          .findHistoricVariableInstancesByProcessInstanceIdAfter(processInstanceId, afterTime, afterId, pageSize);
+
+      // Make sure all variables values are fetched (similar to the HistoricVariableInstance query)
+      for (HistoricVariableInstanceEntity variableEntity : variables) {
+        variableEntity.getValue();
+
+        // make sure JPA entities are cached for later retrieval
+        if (JPAEntityVariableType.TYPE_NAME.equals(variableEntity.getVariableType().getTypeName()) || JPAEntityListVariableType.TYPE_NAME.equals(variableEntity.getVariableType().getTypeName())) {
+          ((CacheableVariable) variableEntity.getVariableType()).setForceCacheable(true);
+        }
+      }
+      return new ArrayList<HistoricData>(variables);
+
+    case COMMENTS:
+      return new ArrayList<HistoricData>(commandContext.getCommentEntityManager()
+          .findCommentsByProcessInstanceIdAfter(processInstanceId, afterTime, afterId, pageSize));
+
+    case VARIABLE_UPDATES:
+      List<HistoricDetailEntity> variableUpdates = commandContext.getHistoricDetailEntityManager()
+          .findHistoricDetailsByProcessInstanceIdAfter(processInstanceId, "VariableUpdate", afterTime, afterId, pageSize);
+      for (HistoricDetailEntity variableUpdate : variableUpdates) {
+        ((HistoricVariableUpdate) variableUpdate).getValue();
+      }
+      return new ArrayList<HistoricData>(variableUpdates);
+
+    case FORM_PROPERTIES:
+      return new ArrayList<HistoricData>(commandContext.getHistoricDetailEntityManager()
+          .findHistoricDetailsByProcessInstanceIdAfter(processInstanceId, "FormProperty", afterTime, afterId, pageSize));
+
+    default:
+      throw new ActivitiException("Unknown historic data source " + source);
+    }
+  }
+
+}
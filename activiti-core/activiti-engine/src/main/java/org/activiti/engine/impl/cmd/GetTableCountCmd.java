@@ -21,11 +21,12 @@ import java.util.Map;
 
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.ReadOnlyCommand;
 
 /**
 
  */
-public class GetTableCountCmd implements Command<Map<String, Long>>, Serializable {
+public class GetTableCountCmd implements Command<Map<String, Long>>, ReadOnlyCommand, Serializable {
 
   private static final long serialVersionUID = 1L;
 
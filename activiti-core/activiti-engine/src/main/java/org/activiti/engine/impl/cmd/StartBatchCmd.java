@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.Batch;
+
+public class StartBatchCmd implements Command<Batch>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String type;
+  protected String processDefinitionId;
+  protected String configuration;
+
+  public StartBatchCmd(String type, String processDefinitionId, String configuration) {
+    this.type = type;
+    this.processDefinitionId = processDefinitionId;
+    this.configuration = configuration;
+  }
+
+  public Batch execute(CommandContext commandContext) {
+    if (processDefinitionId == null) {
+      throw new ActivitiIllegalArgumentException("processDefinitionId is null");
+    }
+
+    ProcessDefinitionEntity processDefinition = commandContext.getProcessDefinitionEntityManager().findById(processDefinitionId);
+    if (processDefinition == null) {
+      throw new ActivitiObjectNotFoundException("Cannot find process definition for id '" + processDefinitionId + "'", ProcessDefinition.class);
+    }
+
+    return commandContext.getBatchEntityManager().startBatch(type, processDefinition, configuration);
+  }
+
+}
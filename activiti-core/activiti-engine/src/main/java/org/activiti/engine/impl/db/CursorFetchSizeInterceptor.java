@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.db;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * MyBatis plugin applying the fetch size of a {@link ListQueryParameterObject} to the JDBC statement executing it, so
+ * that a query read through a cursor is fetched from the database in chunks instead of all at once.
+ */
+@Intercepts({
+  @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})
+})
+public class CursorFetchSizeInterceptor implements Interceptor {
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    Statement statement = (Statement) invocation.proceed();
+    Object parameter = ((StatementHandler) invocation.getTarget()).getParameterHandler().getParameterObject();
+    if (parameter instanceof ListQueryParameterObject) {
+      int fetchSize = ((ListQueryParameterObject) parameter).getFetchSize();
+      if (fetchSize > 0) {
+        statement.setFetchSize(fetchSize);
+      }
+    }
+    return statement;
+  }
+
+}
@@ -59,6 +59,7 @@ import org.activiti.engine.impl.TaskQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.db.upgrade.DbUpgradeStep;
+import org.activiti.engine.impl.interceptor.CommandMetrics;
 import org.activiti.engine.impl.interceptor.Session;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
@@ -67,6 +68,7 @@ import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.PropertyEntity;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.session.SqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -139,6 +141,8 @@ public class DbSqlSession implements Session {
         // Version 7
         ACTIVITI_VERSIONS.add(new ActivitiVersion("7.0.0.0"));
         ACTIVITI_VERSIONS.add(new ActivitiVersion("7.1.0.0"));
+        ACTIVITI_VERSIONS.add(new ActivitiVersion("7.1.0-M6"));
+        ACTIVITI_VERSIONS.add(new ActivitiVersion("7.1.0-M7"));
 
         /* Current */
         ACTIVITI_VERSIONS.add(new ActivitiVersion(ProcessEngine.VERSION));
@@ -156,6 +160,9 @@ public class DbSqlSession implements Session {
             = new HashMap<Class<? extends Entity>, List<BulkDeleteOperation>>();
     protected List<Entity> updatedObjects = new ArrayList<Entity>();
 
+    protected CommandMetrics commandMetrics;
+    protected Connection readOnlyConnection; // set when the session reads from the read-only data source
+
     protected String connectionMetadataDefaultCatalog;
     protected String connectionMetadataDefaultSchema;
 
@@ -428,6 +435,17 @@ public class DbSqlSession implements Session {
                                      parameter);
     }
 
+    /**
+     * Selects through a MyBatis {@link Cursor}: rows are mapped one by one while iterating, instead of being collected
+     * in a list first. The results are not put in the entity cache. The cursor must be closed before the session is.
+     */
+    public <T> Cursor<T> selectCursor(String statement,
+                                      Object parameter) {
+        statement = dbSqlSessionFactory.mapStatement(statement);
+        return sqlSession.selectCursor(statement,
+                                       parameter);
+    }
+
     public Object selectOne(String statement,
                             Object parameter) {
         statement = dbSqlSessionFactory.mapStatement(statement);
@@ -516,6 +534,10 @@ public class DbSqlSession implements Session {
         determineUpdatedObjects(); // Needs to be done before the removeUnnecessaryOperations, as removeUnnecessaryOperations will remove stuff from the cache
         removeUnnecessaryOperations();
 
+        if (readOnlyConnection != null && hasPendingWrites()) {
+            throw new ActivitiException("Command routed to the read-only data source tried to write data");
+        }
+
         if (log.isDebugEnabled()) {
             debugFlush();
         }
@@ -525,6 +547,23 @@ public class DbSqlSession implements Session {
         flushDeletes();
     }
 
+    protected boolean hasPendingWrites() {
+        if (!updatedObjects.isEmpty() || !bulkDeleteOperations.isEmpty()) {
+            return true;
+        }
+        for (Map<String, Entity> entities : insertedObjects.values()) {
+            if (!entities.isEmpty()) {
+                return true;
+            }
+        }
+        for (Map<String, Entity> entities : deletedObjects.values()) {
+            if (!entities.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Clears all deleted and inserted objects from the cache,
      * and removes inserts and deletes that cancel each other.
@@ -784,6 +823,9 @@ public class DbSqlSession implements Session {
                   entity);
         sqlSession.insert(insertStatement,
                           entity);
+        if (commandMetrics != null) {
+            commandMetrics.addInsert(clazz.getName());
+        }
 
         // See https://activiti.atlassian.net/browse/ACT-1290
         if (entity instanceof HasRevision) {
@@ -817,6 +859,9 @@ public class DbSqlSession implements Session {
             }
             sqlSession.insert(insertStatement,
                               subList);
+            if (commandMetrics != null) {
+                commandMetrics.addBulkInsert(clazz.getName());
+            }
         }
 
         if (hasRevision != null && hasRevision) {
@@ -850,6 +895,9 @@ public class DbSqlSession implements Session {
             if (updatedRecords == 0) {
                 throw new ActivitiOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
             }
+            if (commandMetrics != null) {
+                commandMetrics.addUpdate(updatedObject.getClass().getName());
+            }
 
             // See https://activiti.atlassian.net/browse/ACT-1290
             if (updatedObject instanceof HasRevision) {
@@ -892,6 +940,9 @@ public class DbSqlSession implements Session {
         if (bulkDeleteOperations.containsKey(entityClass)) {
             for (BulkDeleteOperation bulkDeleteOperation : bulkDeleteOperations.get(entityClass)) {
                 bulkDeleteOperation.execute(sqlSession);
+                if (commandMetrics != null) {
+                    commandMetrics.addBulkDelete();
+                }
             }
         }
     }
@@ -917,11 +968,14 @@ public class DbSqlSession implements Session {
                 sqlSession.delete(deleteStatement,
                                   entity);
             }
+            if (commandMetrics != null) {
+                commandMetrics.addDelete(entityClass.getName());
+            }
         }
     }
 
     public void close() {
-        sqlSession.close();
+        sqlSession.close(); // also closes the read-only connection, as the sql session was opened on it
     }
 
     public void commit() {
@@ -1536,6 +1590,22 @@ public class DbSqlSession implements Session {
         return sqlSession;
     }
 
+    public boolean isReadOnly() {
+        return readOnlyConnection != null;
+    }
+
+    public void setReadOnlyConnection(Connection readOnlyConnection) {
+        this.readOnlyConnection = readOnlyConnection;
+    }
+
+    public CommandMetrics getCommandMetrics() {
+        return commandMetrics;
+    }
+
+    public void setCommandMetrics(CommandMetrics commandMetrics) {
+        this.commandMetrics = commandMetrics;
+    }
+
     public DbSqlSessionFactory getDbSqlSessionFactory() {
         return dbSqlSessionFactory;
     }
@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.db;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
@@ -71,12 +72,28 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean isDbHistoryUsed = true;
   protected int maxNrOfStatementsInBulkInsert = 100;
 
+  protected ReadReplicaRouter readReplicaRouter;
+
+  public ReadReplicaRouter getReadReplicaRouter() {
+    return readReplicaRouter;
+  }
+
+  public void setReadReplicaRouter(ReadReplicaRouter readReplicaRouter) {
+    this.readReplicaRouter = readReplicaRouter;
+  }
+
   public Class<?> getSessionType() {
     return DbSqlSession.class;
   }
 
   public Session openSession(CommandContext commandContext) {
-    DbSqlSession dbSqlSession = new DbSqlSession(this, commandContext.getEntityCache());
+    DbSqlSession dbSqlSession;
+    if (readReplicaRouter != null && readReplicaRouter.isRoutedToReplica(commandContext.getCommand())) {
+      dbSqlSession = openReadReplicaSession(commandContext);
+    } else {
+      dbSqlSession = new DbSqlSession(this, commandContext.getEntityCache());
+    }
+    dbSqlSession.setCommandMetrics(commandContext.getCommandMetrics());
     if (getDatabaseSchema() != null && getDatabaseSchema().length() > 0) {
       try {
         dbSqlSession.getSqlSession().getConnection().setSchema(getDatabaseSchema());
@@ -94,6 +111,18 @@ public class DbSqlSessionFactory implements SessionFactory {
     return dbSqlSession;
   }
 
+  protected DbSqlSession openReadReplicaSession(CommandContext commandContext) {
+    Connection connection;
+    try {
+      connection = readReplicaRouter.getConnection();
+    } catch (SQLException e) {
+      throw new ActivitiException("Could not obtain a connection from the read-only data source", e);
+    }
+    DbSqlSession dbSqlSession = new DbSqlSession(this, commandContext.getEntityCache(), connection, getDatabaseCatalog(), getDatabaseSchema());
+    dbSqlSession.setReadOnlyConnection(connection);
+    return dbSqlSession;
+  }
+
   // insert, update and delete statements
   // /////////////////////////////////////
 
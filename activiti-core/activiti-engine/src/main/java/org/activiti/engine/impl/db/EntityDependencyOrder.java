@@ -20,6 +20,8 @@ import java.util.Collections;
 import java.util.List;
 
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityImpl;
+import org.activiti.engine.impl.persistence.entity.BatchEntityImpl;
+import org.activiti.engine.impl.persistence.entity.BatchPartEntityImpl;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl;
 import org.activiti.engine.impl.persistence.entity.CommentEntityImpl;
 import org.activiti.engine.impl.persistence.entity.CompensateEventSubscriptionEntityImpl;
@@ -52,6 +54,7 @@ import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntity
 import org.activiti.engine.impl.persistence.entity.SuspendedJobEntityImpl;
 import org.activiti.engine.impl.persistence.entity.TaskEntityImpl;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityImpl;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntityImpl;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
 
 
@@ -106,6 +109,15 @@ public class EntityDependencyOrder {
 		 */
 		DELETE_ORDER.add(VariableInstanceEntityImpl.class);
 
+		/* No FK */
+		DELETE_ORDER.add(VariableIndexEntityImpl.class);
+
+		/* No FK */
+		DELETE_ORDER.add(BatchPartEntityImpl.class);
+
+		/* No FK */
+		DELETE_ORDER.add(BatchEntityImpl.class);
+
 		/*
 		 * FK to ByteArray
 		 * FK to ProcessDefinition
@@ -26,6 +26,7 @@ public class ListQueryParameterObject {
   protected int firstResult;
   protected Object parameter;
   protected String databaseType;
+  protected int fetchSize;
 
   public ListQueryParameterObject() {
   }
@@ -88,4 +89,15 @@ public class ListQueryParameterObject {
     return databaseType;
   }
 
+  /**
+   * The JDBC fetch size hint for the statement, see {@link CursorFetchSizeInterceptor}. 0 keeps the default.
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
 }
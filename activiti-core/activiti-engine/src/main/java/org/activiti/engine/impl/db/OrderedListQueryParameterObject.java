@@ -0,0 +1,36 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.db;
+
+/**
+ * A {@link ListQueryParameterObject} with a fixed order, for internal statements that page through rows with a keyset
+ * (e.g. "everything after the last row of the previous page") rather than with an offset.
+ */
+public class OrderedListQueryParameterObject extends ListQueryParameterObject {
+
+  protected String orderBy;
+
+  public OrderedListQueryParameterObject(Object parameter, String orderBy, int firstResult, int maxResults) {
+    super(parameter, firstResult, maxResults);
+    this.orderBy = orderBy;
+  }
+
+  @Override
+  public String getOrderBy() {
+    return orderBy;
+  }
+
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.db;
+
+/**
+ * Tells how far the read-only data source lags behind the primary one. Called for every command eligible for
+ * the replica, so implementations should return a cached value.
+ */
+public interface ReadReplicaLagProvider {
+
+  /**
+   * @return the replication lag in milliseconds, or a negative value when it is unknown
+   */
+  long getReplicationLagInMillis();
+
+}
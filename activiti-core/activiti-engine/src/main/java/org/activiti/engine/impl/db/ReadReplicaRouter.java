@@ -0,0 +1,128 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.ReadOnlyCommand;
+
+/**
+ * Decides whether a command is executed on the read-only data source.
+ *
+ * Only {@link ReadOnlyCommand}s, such as queries, are routed, and only when they open their own command context
+ * outside of a write transaction. The staleness each command type tolerates can be configured; the closest
+ * configured superclass or interface applies. A negative tolerance keeps the type on the primary data source.
+ * When a {@link ReadReplicaLagProvider} is set, a command is only routed while the replication lag is known and
+ * within its tolerance.
+ */
+public class ReadReplicaRouter {
+
+  protected DataSource dataSource;
+  protected ReadReplicaLagProvider lagProvider;
+  protected Map<Class<?>, Long> stalenessTolerances = new ConcurrentHashMap<Class<?>, Long>();
+  protected long defaultStalenessToleranceInMs = Long.MAX_VALUE;
+  protected BooleanSupplier writeTransactionActive = () -> false;
+
+  public ReadReplicaRouter(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  public boolean isRoutedToReplica(Command<?> command) {
+    if (!(command instanceof ReadOnlyCommand)) {
+      return false;
+    }
+    long stalenessTolerance = getStalenessTolerance(command.getClass());
+    if (stalenessTolerance < 0 || writeTransactionActive.getAsBoolean()) {
+      return false;
+    }
+    if (lagProvider == null) {
+      return true;
+    }
+    long lag = lagProvider.getReplicationLagInMillis();
+    return lag >= 0 && lag <= stalenessTolerance;
+  }
+
+  public long getStalenessTolerance(Class<?> commandClass) {
+    Class<?> clazz = commandClass;
+    while (clazz != null) {
+      Long stalenessTolerance = stalenessTolerances.get(clazz);
+      if (stalenessTolerance != null) {
+        return stalenessTolerance;
+      }
+      for (Class<?> implementedInterface : clazz.getInterfaces()) {
+        stalenessTolerance = stalenessTolerances.get(implementedInterface);
+        if (stalenessTolerance != null) {
+          return stalenessTolerance;
+        }
+      }
+      clazz = clazz.getSuperclass();
+    }
+    return defaultStalenessToleranceInMs;
+  }
+
+  public Connection getConnection() throws SQLException {
+    return dataSource.getConnection();
+  }
+
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  public ReadReplicaLagProvider getLagProvider() {
+    return lagProvider;
+  }
+
+  public void setLagProvider(ReadReplicaLagProvider lagProvider) {
+    this.lagProvider = lagProvider;
+  }
+
+  public Map<Class<?>, Long> getStalenessTolerances() {
+    return stalenessTolerances;
+  }
+
+  public void setStalenessTolerances(Map<Class<?>, Long> stalenessTolerances) {
+    this.stalenessTolerances = new ConcurrentHashMap<Class<?>, Long>(stalenessTolerances);
+  }
+
+  public long getDefaultStalenessToleranceInMs() {
+    return defaultStalenessToleranceInMs;
+  }
+
+  public void setDefaultStalenessToleranceInMs(long defaultStalenessToleranceInMs) {
+    this.defaultStalenessToleranceInMs = defaultStalenessToleranceInMs;
+  }
+
+  public BooleanSupplier getWriteTransactionActive() {
+    return writeTransactionActive;
+  }
+
+  /**
+   * Tells whether the current thread runs in a transaction that may have written data, in which case the
+   * primary data source has to be used. Set by the process engine configurations that run commands in
+   * externally managed transactions.
+   */
+  public void setWriteTransactionActive(BooleanSupplier writeTransactionActive) {
+    this.writeTransactionActive = writeTransactionActive;
+  }
+
+}
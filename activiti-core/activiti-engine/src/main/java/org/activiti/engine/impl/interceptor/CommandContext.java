@@ -34,8 +34,11 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.db.DbSqlSession;
 import org.activiti.engine.impl.history.HistoryManager;
 import org.activiti.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.activiti.engine.impl.persistence.cache.CachedEntity;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManager;
+import org.activiti.engine.impl.persistence.entity.BatchEntityManager;
+import org.activiti.engine.impl.persistence.entity.BatchPartEntityManager;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.activiti.engine.impl.persistence.entity.CommentEntityManager;
 import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntityManager;
@@ -61,6 +64,7 @@ import org.activiti.engine.impl.persistence.entity.SuspendedJobEntityManager;
 import org.activiti.engine.impl.persistence.entity.TableDataManager;
 import org.activiti.engine.impl.persistence.entity.TaskEntityManager;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityManager;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntityManager;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityManager;
 import org.activiti.engine.logging.LogMDC;
 import org.slf4j.Logger;
@@ -83,6 +87,7 @@ public class CommandContext {
     protected ActivitiEngineAgenda agenda;
     protected Map<String, ExecutionEntity> involvedExecutions = new HashMap<>(1); // The executions involved with the command
     protected LinkedList<Object> resultStack = new LinkedList<>(); // needs to be a stack, as JavaDelegates can do api calls again
+    protected CommandMetrics commandMetrics; // only set when command metrics are enabled
 
     public CommandContext(Command<?> command,
                           ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -91,6 +96,9 @@ public class CommandContext {
         this.failedJobCommandFactory = processEngineConfiguration.getFailedJobCommandFactory();
         this.sessionFactories = processEngineConfiguration.getSessionFactories();
         this.agenda = processEngineConfiguration.getEngineAgendaFactory().createAgenda(this);
+        if (processEngineConfiguration.isEnableCommandMetrics()) {
+            this.commandMetrics = CommandMetrics.getCurrent();
+        }
     }
 
     public void close() {
@@ -128,6 +136,9 @@ public class CommandContext {
                 // Catch exceptions during rollback
                 exception(exception);
             } finally {
+                if (commandMetrics != null) {
+                    commandMetrics.setEntityCacheSize(countCachedEntities());
+                }
                 // Sessions need to be closed, regardless of exceptions/commit/rollback
                 closeSessions();
             }
@@ -190,56 +201,92 @@ public class CommandContext {
 
     protected void executeCloseListenersClosing() {
         if (closeListeners != null) {
+            long start = commandMetrics != null ? System.nanoTime() : 0L;
             try {
                 for (CommandContextCloseListener listener : closeListeners) {
                     listener.closing(this);
                 }
             } catch (Throwable exception) {
                 exception(exception);
+            } finally {
+                if (commandMetrics != null) {
+                    commandMetrics.addCloseListenersTime(System.nanoTime() - start);
+                }
             }
         }
     }
 
     protected void executeCloseListenersAfterSessionFlushed() {
         if (closeListeners != null) {
+            long start = commandMetrics != null ? System.nanoTime() : 0L;
             try {
                 for (CommandContextCloseListener listener : closeListeners) {
                     listener.afterSessionsFlush(this);
                 }
             } catch (Throwable exception) {
                 exception(exception);
+            } finally {
+                if (commandMetrics != null) {
+                    commandMetrics.addCloseListenersTime(System.nanoTime() - start);
+                }
             }
         }
     }
 
     protected void executeCloseListenersClosed() {
         if (closeListeners != null) {
+            long start = commandMetrics != null ? System.nanoTime() : 0L;
             try {
                 for (CommandContextCloseListener listener : closeListeners) {
                     listener.closed(this);
                 }
             } catch (Throwable exception) {
                 exception(exception);
+            } finally {
+                if (commandMetrics != null) {
+                    commandMetrics.addCloseListenersTime(System.nanoTime() - start);
+                }
             }
         }
     }
 
     protected void executeCloseListenersCloseFailure() {
         if (closeListeners != null) {
+            long start = commandMetrics != null ? System.nanoTime() : 0L;
             try {
                 for (CommandContextCloseListener listener : closeListeners) {
                     listener.closeFailure(this);
                 }
             } catch (Throwable exception) {
                 exception(exception);
+            } finally {
+                if (commandMetrics != null) {
+                    commandMetrics.addCloseListenersTime(System.nanoTime() - start);
+                }
             }
         }
     }
 
     protected void flushSessions() {
+        long start = commandMetrics != null ? System.nanoTime() : 0L;
         for (Session session : sessions.values()) {
             session.flush();
         }
+        if (commandMetrics != null) {
+            commandMetrics.addFlushTime(System.nanoTime() - start);
+        }
+    }
+
+    protected long countCachedEntities() {
+        EntityCache entityCache = (EntityCache) sessions.get(EntityCache.class);
+        if (entityCache == null) {
+            return 0;
+        }
+        long count = 0;
+        for (Map<String, CachedEntity> cachedEntities : entityCache.getAllCachedEntities().values()) {
+            count += cachedEntities.size();
+        }
+        return count;
     }
 
     protected void closeSessions() {
@@ -360,6 +407,18 @@ public class CommandContext {
         return processEngineConfiguration.getVariableInstanceEntityManager();
     }
 
+    public VariableIndexEntityManager getVariableIndexEntityManager() {
+        return processEngineConfiguration.getVariableIndexEntityManager();
+    }
+
+    public BatchEntityManager getBatchEntityManager() {
+        return processEngineConfiguration.getBatchEntityManager();
+    }
+
+    public BatchPartEntityManager getBatchPartEntityManager() {
+        return processEngineConfiguration.getBatchPartEntityManager();
+    }
+
     public HistoricProcessInstanceEntityManager getHistoricProcessInstanceEntityManager() {
         return processEngineConfiguration.getHistoricProcessInstanceEntityManager();
     }
@@ -468,6 +527,10 @@ public class CommandContext {
         return failedJobCommandFactory;
     }
 
+    public CommandMetrics getCommandMetrics() {
+        return commandMetrics;
+    }
+
     public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
         return processEngineConfiguration;
     }
@@ -56,8 +56,12 @@ public class CommandInvoker extends AbstractCommandInterceptor {
   }
 
   protected void executeOperations(final CommandContext commandContext) {
+    CommandMetrics commandMetrics = commandContext.getCommandMetrics();
     while (!commandContext.getAgenda().isEmpty()) {
       Runnable runnable = commandContext.getAgenda().getNextOperation();
+      if (commandMetrics != null) {
+        commandMetrics.addAgendaOperation();
+      }
       executeOperation(runnable);
     }
   }
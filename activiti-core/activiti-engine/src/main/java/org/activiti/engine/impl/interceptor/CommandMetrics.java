@@ -0,0 +1,204 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.interceptor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Performance figures of one command execution, gathered by the {@link CommandMetricsInterceptor} and handed
+ * to the {@link CommandMetricsListener}s once the command has finished.
+ *
+ * Commands executed while another command is running on the same thread are accounted to the outer command.
+ */
+public class CommandMetrics {
+
+  private static final ThreadLocal<CommandMetrics> current = new ThreadLocal<CommandMetrics>();
+
+  protected String commandClassName;
+  protected long totalTimeInNanos;
+  protected long flushTimeInNanos;
+  protected long closeListenersTimeInNanos;
+  protected long agendaOperations;
+  protected long flushes;
+  protected long entityCacheSize;
+  protected long optimisticLockingFailures;
+  protected Throwable exception;
+
+  protected Map<String, Long> inserts = new HashMap<String, Long>();
+  protected Map<String, Long> updates = new HashMap<String, Long>();
+  protected Map<String, Long> deletes = new HashMap<String, Long>();
+  protected long bulkInserts;
+  protected long bulkDeletes;
+
+  protected Map<String, SqlStatementMetrics> sqlStatements = new HashMap<String, SqlStatementMetrics>();
+
+  public CommandMetrics(String commandClassName) {
+    this.commandClassName = commandClassName;
+  }
+
+  public static CommandMetrics getCurrent() {
+    return current.get();
+  }
+
+  static void setCurrent(CommandMetrics commandMetrics) {
+    current.set(commandMetrics);
+  }
+
+  static void removeCurrent() {
+    current.remove();
+  }
+
+  public void addFlushTime(long timeInNanos) {
+    flushes++;
+    flushTimeInNanos += timeInNanos;
+  }
+
+  public void addCloseListenersTime(long timeInNanos) {
+    closeListenersTimeInNanos += timeInNanos;
+  }
+
+  public void addAgendaOperation() {
+    agendaOperations++;
+  }
+
+  public void addOptimisticLockingFailure() {
+    optimisticLockingFailures++;
+  }
+
+  public void addInsert(String entityType) {
+    increment(inserts, entityType);
+  }
+
+  public void addBulkInsert(String entityType) {
+    bulkInserts++;
+    increment(inserts, entityType);
+  }
+
+  public void addUpdate(String entityType) {
+    increment(updates, entityType);
+  }
+
+  public void addDelete(String entityType) {
+    increment(deletes, entityType);
+  }
+
+  public void addBulkDelete() {
+    bulkDeletes++;
+  }
+
+  public void addSqlStatement(String statementId, long timeInNanos) {
+    SqlStatementMetrics statementMetrics = sqlStatements.get(statementId);
+    if (statementMetrics == null) {
+      statementMetrics = new SqlStatementMetrics();
+      sqlStatements.put(statementId, statementMetrics);
+    }
+    statementMetrics.count++;
+    statementMetrics.timeInNanos += timeInNanos;
+  }
+
+  protected void increment(Map<String, Long> counts, String key) {
+    Long count = counts.get(key);
+    counts.put(key, count == null ? 1L : count + 1);
+  }
+
+  public String getCommandClassName() {
+    return commandClassName;
+  }
+
+  public long getTotalTimeInNanos() {
+    return totalTimeInNanos;
+  }
+
+  public void setTotalTimeInNanos(long totalTimeInNanos) {
+    this.totalTimeInNanos = totalTimeInNanos;
+  }
+
+  public long getFlushTimeInNanos() {
+    return flushTimeInNanos;
+  }
+
+  public long getCloseListenersTimeInNanos() {
+    return closeListenersTimeInNanos;
+  }
+
+  public long getAgendaOperations() {
+    return agendaOperations;
+  }
+
+  public long getFlushes() {
+    return flushes;
+  }
+
+  public long getEntityCacheSize() {
+    return entityCacheSize;
+  }
+
+  public void setEntityCacheSize(long entityCacheSize) {
+    this.entityCacheSize = Math.max(this.entityCacheSize, entityCacheSize);
+  }
+
+  public long getOptimisticLockingFailures() {
+    return optimisticLockingFailures;
+  }
+
+  public Throwable getException() {
+    return exception;
+  }
+
+  public void setException(Throwable exception) {
+    this.exception = exception;
+  }
+
+  public Map<String, Long> getInserts() {
+    return inserts;
+  }
+
+  public Map<String, Long> getUpdates() {
+    return updates;
+  }
+
+  public Map<String, Long> getDeletes() {
+    return deletes;
+  }
+
+  public long getBulkInserts() {
+    return bulkInserts;
+  }
+
+  public long getBulkDeletes() {
+    return bulkDeletes;
+  }
+
+  public Map<String, SqlStatementMetrics> getSqlStatements() {
+    return sqlStatements;
+  }
+
+  public static class SqlStatementMetrics {
+
+    protected long count;
+    protected long timeInNanos;
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getTimeInNanos() {
+      return timeInNanos;
+    }
+  }
+
+}
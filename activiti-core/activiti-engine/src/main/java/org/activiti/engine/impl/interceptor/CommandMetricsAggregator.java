@@ -0,0 +1,162 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.interceptor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link CommandMetricsListener} keeping running totals per command class and per SQL statement id, suited for
+ * periodic export to a monitoring system (e.g. as gauges of a metrics registry).
+ */
+public class CommandMetricsAggregator implements CommandMetricsListener {
+
+  protected Map<String, CommandStatistics> commandStatistics = new ConcurrentHashMap<String, CommandStatistics>();
+  protected Map<String, SqlStatementStatistics> sqlStatementStatistics = new ConcurrentHashMap<String, SqlStatementStatistics>();
+
+  @Override
+  public void onCommandExecuted(CommandMetrics commandMetrics) {
+    commandStatistics.computeIfAbsent(commandMetrics.getCommandClassName(), key -> new CommandStatistics()).add(commandMetrics);
+    for (Map.Entry<String, CommandMetrics.SqlStatementMetrics> entry : commandMetrics.getSqlStatements().entrySet()) {
+      sqlStatementStatistics.computeIfAbsent(entry.getKey(), key -> new SqlStatementStatistics()).add(entry.getValue());
+    }
+  }
+
+  public Map<String, CommandStatistics> getCommandStatistics() {
+    return Collections.unmodifiableMap(commandStatistics);
+  }
+
+  public Map<String, SqlStatementStatistics> getSqlStatementStatistics() {
+    return Collections.unmodifiableMap(sqlStatementStatistics);
+  }
+
+  public void reset() {
+    commandStatistics.clear();
+    sqlStatementStatistics.clear();
+  }
+
+  public static class CommandStatistics {
+
+    protected LongAdder executions = new LongAdder();
+    protected LongAdder failures = new LongAdder();
+    protected LongAdder optimisticLockingFailures = new LongAdder();
+    protected LongAdder totalTimeInNanos = new LongAdder();
+    protected LongAccumulator maxTimeInNanos = new LongAccumulator(Long::max, 0L);
+    protected LongAdder flushTimeInNanos = new LongAdder();
+    protected LongAdder closeListenersTimeInNanos = new LongAdder();
+    protected LongAdder agendaOperations = new LongAdder();
+    protected LongAdder flushedInserts = new LongAdder();
+    protected LongAdder flushedUpdates = new LongAdder();
+    protected LongAdder flushedDeletes = new LongAdder();
+    protected LongAdder bulkOperations = new LongAdder();
+
+    protected void add(CommandMetrics commandMetrics) {
+      executions.increment();
+      if (commandMetrics.getException() != null) {
+        failures.increment();
+      }
+      optimisticLockingFailures.add(commandMetrics.getOptimisticLockingFailures());
+      totalTimeInNanos.add(commandMetrics.getTotalTimeInNanos());
+      maxTimeInNanos.accumulate(commandMetrics.getTotalTimeInNanos());
+      flushTimeInNanos.add(commandMetrics.getFlushTimeInNanos());
+      closeListenersTimeInNanos.add(commandMetrics.getCloseListenersTimeInNanos());
+      agendaOperations.add(commandMetrics.getAgendaOperations());
+      flushedInserts.add(sum(commandMetrics.getInserts()));
+      flushedUpdates.add(sum(commandMetrics.getUpdates()));
+      flushedDeletes.add(sum(commandMetrics.getDeletes()));
+      bulkOperations.add(commandMetrics.getBulkInserts() + commandMetrics.getBulkDeletes());
+    }
+
+    protected long sum(Map<String, Long> counts) {
+      long sum = 0;
+      for (Long count : counts.values()) {
+        sum += count;
+      }
+      return sum;
+    }
+
+    public long getExecutions() {
+      return executions.sum();
+    }
+
+    public long getFailures() {
+      return failures.sum();
+    }
+
+    public long getOptimisticLockingFailures() {
+      return optimisticLockingFailures.sum();
+    }
+
+    public long getTotalTimeInNanos() {
+      return totalTimeInNanos.sum();
+    }
+
+    public long getMaxTimeInNanos() {
+      return maxTimeInNanos.get();
+    }
+
+    public long getFlushTimeInNanos() {
+      return flushTimeInNanos.sum();
+    }
+
+    public long getCloseListenersTimeInNanos() {
+      return closeListenersTimeInNanos.sum();
+    }
+
+    public long getAgendaOperations() {
+      return agendaOperations.sum();
+    }
+
+    public long getFlushedInserts() {
+      return flushedInserts.sum();
+    }
+
+    public long getFlushedUpdates() {
+      return flushedUpdates.sum();
+    }
+
+    public long getFlushedDeletes() {
+      return flushedDeletes.sum();
+    }
+
+    public long getBulkOperations() {
+      return bulkOperations.sum();
+    }
+  }
+
+  public static class SqlStatementStatistics {
+
+    protected LongAdder executions = new LongAdder();
+    protected LongAdder totalTimeInNanos = new LongAdder();
+
+    protected void add(CommandMetrics.SqlStatementMetrics statementMetrics) {
+      executions.add(statementMetrics.getCount());
+      totalTimeInNanos.add(statementMetrics.getTimeInNanos());
+    }
+
+    public long getExecutions() {
+      return executions.sum();
+    }
+
+    public long getTotalTimeInNanos() {
+      return totalTimeInNanos.sum();
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.interceptor;
+
+import java.util.List;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records {@link CommandMetrics} for each command and passes them to the configured
+ * {@link CommandMetricsListener}s. It is the first interceptor of the chain, so the measured time includes
+ * the transaction and the flush of the command context.
+ */
+public class CommandMetricsInterceptor extends AbstractCommandInterceptor {
+
+  private static final Logger log = LoggerFactory.getLogger(CommandMetricsInterceptor.class);
+
+  protected List<CommandMetricsListener> listeners;
+
+  public CommandMetricsInterceptor(List<CommandMetricsListener> listeners) {
+    this.listeners = listeners;
+  }
+
+  public <T> T execute(CommandConfig config, Command<T> command) {
+    if (CommandMetrics.getCurrent() != null) {
+      // nested command: accounted to the outer one
+      return next.execute(config, command);
+    }
+
+    CommandMetrics commandMetrics = new CommandMetrics(command.getClass().getName());
+    CommandMetrics.setCurrent(commandMetrics);
+    long start = System.nanoTime();
+    try {
+      return next.execute(config, command);
+
+    } catch (RuntimeException e) {
+      commandMetrics.setException(e);
+      if (e instanceof ActivitiOptimisticLockingException) {
+        commandMetrics.addOptimisticLockingFailure();
+      }
+      throw e;
+
+    } finally {
+      commandMetrics.setTotalTimeInNanos(System.nanoTime() - start);
+      CommandMetrics.removeCurrent();
+      notifyListeners(commandMetrics);
+    }
+  }
+
+  protected void notifyListeners(CommandMetrics commandMetrics) {
+    if (listeners == null) {
+      return;
+    }
+    for (CommandMetricsListener listener : listeners) {
+      try {
+        listener.onCommandExecuted(commandMetrics);
+      } catch (Exception e) {
+        log.warn("Command metrics listener {} failed", listener, e);
+      }
+    }
+  }
+
+}
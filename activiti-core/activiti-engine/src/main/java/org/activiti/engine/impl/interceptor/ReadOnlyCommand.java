@@ -0,0 +1,27 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.interceptor;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * Marks a {@link Command} that only reads data. When a read-only data source is configured, such commands may
+ * be executed against it instead of the primary data source, see {@link org.activiti.engine.impl.db.ReadReplicaRouter}.
+ */
+@Internal
+public interface ReadOnlyCommand {
+
+}
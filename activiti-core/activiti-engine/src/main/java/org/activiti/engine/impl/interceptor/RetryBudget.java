@@ -0,0 +1,61 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.interceptor;
+
+/**
+ * Limits the retries of the {@link RetryInterceptor} to a share of the executed commands, so that heavy
+ * contention does not multiply the load with retries.
+ *
+ * Every command execution deposits {@code retryRatio} into the budget, every retry withdraws one. The balance
+ * is capped at {@code maxBalance} and starts full, which lets a low-traffic engine retry freely.
+ */
+public class RetryBudget {
+
+  protected final double retryRatio;
+  protected final double maxBalance;
+  protected double balance;
+
+  public RetryBudget(double retryRatio, double maxBalance) {
+    this.retryRatio = retryRatio;
+    this.maxBalance = maxBalance;
+    this.balance = maxBalance;
+  }
+
+  public synchronized void deposit() {
+    balance = Math.min(maxBalance, balance + retryRatio);
+  }
+
+  public synchronized boolean tryWithdraw() {
+    if (balance < 1) {
+      return false;
+    }
+    balance -= 1;
+    return true;
+  }
+
+  public synchronized double getBalance() {
+    return balance;
+  }
+
+  public double getRetryRatio() {
+    return retryRatio;
+  }
+
+  public double getMaxBalance() {
+    return maxBalance;
+  }
+
+}
@@ -13,17 +13,33 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.activiti.engine.impl.interceptor;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.asyncexecutor.ResetExpiredJobsCmd;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
+import org.activiti.engine.impl.cmd.ExecuteAsyncJobCmd;
+import org.activiti.engine.impl.cmd.LockExclusiveJobCmd;
+import org.activiti.engine.impl.context.Context;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Intercepts {@link ActivitiOptimisticLockingException} and tries to run the same command again. The number of retries and the time waited between retries is configurable.
  *
+ * The wait times follow a {@link RetryPolicy}, which can be set per command class. The policy of the closest
+ * registered superclass applies, the default policy otherwise. The commands of the async executor are not
+ * retried by default: it handles optimistic locking failures itself. All retries are drawn from a shared
+ * {@link RetryBudget}, and the outcomes are counted in {@link RetryMetrics}.
+ *
+ * Commands that run inside the command context of another command are not retried, as the failed context
+ * cannot be reused; the outermost command is retried instead.
+ *
 
  */
 public class RetryInterceptor extends AbstractCommandInterceptor {
@@ -34,30 +50,79 @@ public class RetryInterceptor extends AbstractCommandInterceptor {
   protected int waitTimeInMs = 50;
   protected int waitIncreaseFactor = 5;
 
+  protected RetryPolicy defaultRetryPolicy;
+  protected Map<Class<?>, RetryPolicy> commandRetryPolicies = new ConcurrentHashMap<Class<?>, RetryPolicy>();
+  protected RetryBudget retryBudget = new RetryBudget(0.2, 100);
+  protected RetryMetrics retryMetrics = new RetryMetrics();
+
+  public RetryInterceptor() {
+    commandRetryPolicies.put(AcquireJobsCmd.class, RetryPolicy.NO_RETRY);
+    commandRetryPolicies.put(AcquireTimerJobsCmd.class, RetryPolicy.NO_RETRY);
+    commandRetryPolicies.put(ExecuteAsyncJobCmd.class, RetryPolicy.NO_RETRY);
+    commandRetryPolicies.put(LockExclusiveJobCmd.class, RetryPolicy.NO_RETRY);
+    commandRetryPolicies.put(ResetExpiredJobsCmd.class, RetryPolicy.NO_RETRY);
+  }
+
   public <T> T execute(CommandConfig config, Command<T> command) {
-    long waitTime = waitTimeInMs;
+    if (config.isContextReusePossible() && Context.getCommandContext() != null) {
+      return next.execute(config, command);
+    }
+
+    RetryPolicy retryPolicy = getRetryPolicy(command);
+    retryBudget.deposit();
+
+    long waitTime = 0;
     int failedAttempts = 0;
+    ActivitiOptimisticLockingException lastException;
 
     do {
       if (failedAttempts > 0) {
+        waitTime = retryPolicy.nextWaitTime(waitTime);
         log.info("Waiting for {}ms before retrying the command.", waitTime);
         waitBeforeRetry(waitTime);
-        waitTime *= waitIncreaseFactor;
+        retryMetrics.recordRetry(command);
       }
 
       try {
 
         // try to execute the command
-        return next.execute(config, command);
+        T result = next.execute(config, command);
+        if (failedAttempts > 0) {
+          retryMetrics.recordSucceededAfterRetry();
+        }
+        return result;
 
       } catch (ActivitiOptimisticLockingException e) {
         log.info("Caught optimistic locking exception: " + e);
+        lastException = e;
       }
 
       failedAttempts++;
-    } while (failedAttempts <= numOfRetries);
 
-    throw new ActivitiException(numOfRetries + " retries failed with ActivitiOptimisticLockingException. Giving up.");
+      if (failedAttempts <= retryPolicy.getMaxRetries() && !retryBudget.tryWithdraw()) {
+        log.info("Retry budget exhausted, not retrying {}", command.getClass().getName());
+        retryMetrics.recordBudgetExhausted();
+        throw lastException;
+      }
+    } while (failedAttempts <= retryPolicy.getMaxRetries());
+
+    if (retryPolicy.getMaxRetries() == 0) {
+      throw lastException;
+    }
+    retryMetrics.recordRetriesExhausted();
+    throw new ActivitiException(retryPolicy.getMaxRetries() + " retries failed with ActivitiOptimisticLockingException. Giving up.", lastException);
+  }
+
+  public RetryPolicy getRetryPolicy(Command<?> command) {
+    Class<?> commandClass = command.getClass();
+    while (commandClass != null) {
+      RetryPolicy retryPolicy = commandRetryPolicies.get(commandClass);
+      if (retryPolicy != null) {
+        return retryPolicy;
+      }
+      commandClass = commandClass.getSuperclass();
+    }
+    return getDefaultRetryPolicy();
   }
 
   protected void waitBeforeRetry(long waitTime) {
@@ -91,4 +156,44 @@ public class RetryInterceptor extends AbstractCommandInterceptor {
   public int getWaitTimeInMs() {
     return waitTimeInMs;
   }
+
+  /**
+   * Defaults to {@link #getNumOfRetries()} retries, waiting between {@link #getWaitTimeInMs()} and the wait time
+   * the former fixed backoff used before its last retry.
+   */
+  public RetryPolicy getDefaultRetryPolicy() {
+    if (defaultRetryPolicy != null) {
+      return defaultRetryPolicy;
+    }
+    long maxWaitTime = waitTimeInMs;
+    for (int i = 1; i < numOfRetries; i++) {
+      maxWaitTime *= waitIncreaseFactor;
+    }
+    return new RetryPolicy(numOfRetries, waitTimeInMs, maxWaitTime);
+  }
+
+  public void setDefaultRetryPolicy(RetryPolicy defaultRetryPolicy) {
+    this.defaultRetryPolicy = defaultRetryPolicy;
+  }
+
+  public RetryInterceptor setRetryPolicy(Class<? extends Command> commandClass, RetryPolicy retryPolicy) {
+    commandRetryPolicies.put(commandClass, retryPolicy);
+    return this;
+  }
+
+  public Map<Class<?>, RetryPolicy> getCommandRetryPolicies() {
+    return commandRetryPolicies;
+  }
+
+  public RetryBudget getRetryBudget() {
+    return retryBudget;
+  }
+
+  public void setRetryBudget(RetryBudget retryBudget) {
+    this.retryBudget = retryBudget;
+  }
+
+  public RetryMetrics getRetryMetrics() {
+    return retryMetrics;
+  }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.interceptor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the {@link RetryInterceptor}: how many retries were made, per command class, and how the retried
+ * commands ended.
+ */
+public class RetryMetrics {
+
+  protected LongAdder retries = new LongAdder();
+  protected LongAdder succeededAfterRetry = new LongAdder();
+  protected LongAdder retriesExhausted = new LongAdder();
+  protected LongAdder budgetExhausted = new LongAdder();
+  protected Map<String, LongAdder> retriesPerCommand = new ConcurrentHashMap<String, LongAdder>();
+
+  public void recordRetry(Command<?> command) {
+    retries.increment();
+    retriesPerCommand.computeIfAbsent(command.getClass().getName(), key -> new LongAdder()).increment();
+  }
+
+  public void recordSucceededAfterRetry() {
+    succeededAfterRetry.increment();
+  }
+
+  public void recordRetriesExhausted() {
+    retriesExhausted.increment();
+  }
+
+  public void recordBudgetExhausted() {
+    budgetExhausted.increment();
+  }
+
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  public long getSucceededAfterRetry() {
+    return succeededAfterRetry.sum();
+  }
+
+  public long getRetriesExhausted() {
+    return retriesExhausted.sum();
+  }
+
+  public long getBudgetExhausted() {
+    return budgetExhausted.sum();
+  }
+
+  public Map<String, LongAdder> getRetriesPerCommand() {
+    return Collections.unmodifiableMap(retriesPerCommand);
+  }
+
+}
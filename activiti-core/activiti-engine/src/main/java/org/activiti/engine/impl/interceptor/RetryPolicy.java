@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.interceptor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often and how long apart a command failing with an optimistic locking exception is retried by the
+ * {@link RetryInterceptor}.
+ *
+ * The wait times use decorrelated jitter: each wait is picked at random between the base wait time and three
+ * times the previous wait, capped at the maximum wait time. Concurrent callers that failed on the same
+ * conflict therefore spread out instead of retrying in lockstep.
+ */
+public class RetryPolicy {
+
+  public static final RetryPolicy NO_RETRY = new RetryPolicy(0, 0, 0);
+
+  protected final int maxRetries;
+  protected final long baseWaitTimeInMs;
+  protected final long maxWaitTimeInMs;
+
+  public RetryPolicy(int maxRetries, long baseWaitTimeInMs, long maxWaitTimeInMs) {
+    this.maxRetries = maxRetries;
+    this.baseWaitTimeInMs = baseWaitTimeInMs;
+    this.maxWaitTimeInMs = Math.max(baseWaitTimeInMs, maxWaitTimeInMs);
+  }
+
+  /**
+   * @param previousWaitTimeInMs the previous wait time, 0 before the first retry
+   */
+  public long nextWaitTime(long previousWaitTimeInMs) {
+    long upperBound = Math.min(maxWaitTimeInMs, Math.max(baseWaitTimeInMs, previousWaitTimeInMs * 3));
+    if (upperBound <= baseWaitTimeInMs) {
+      return baseWaitTimeInMs;
+    }
+    return ThreadLocalRandom.current().nextLong(baseWaitTimeInMs, upperBound + 1);
+  }
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  public long getBaseWaitTimeInMs() {
+    return baseWaitTimeInMs;
+  }
+
+  public long getMaxWaitTimeInMs() {
+    return maxWaitTimeInMs;
+  }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntityManager;
+
+/**
+ * Indexes one batch of the existing values of an indexed variable name, the configuration of the job.
+ * A full batch schedules the job of the next batch; otherwise the index is built once the transaction
+ * commits, and equality queries on the name start using it.
+ */
+public class BuildVariableIndexJobHandler implements JobHandler {
+
+  public static final String TYPE = "build-variable-index";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.getIndexedVariableNames().contains(configuration)) {
+      return; // the name was unregistered meanwhile
+    }
+
+    VariableIndexEntityManager variableIndexEntityManager = commandContext.getVariableIndexEntityManager();
+    int batchSize = processEngineConfiguration.getVariableIndexBuildBatchSize();
+    if (variableIndexEntityManager.indexUnindexedVariables(configuration, batchSize) >= batchSize) {
+      variableIndexEntityManager.scheduleVariableIndexBuild(configuration);
+    } else {
+      Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED,
+          transactionCommandContext -> processEngineConfiguration.variableIndexBuilt(configuration));
+    }
+  }
+
+}
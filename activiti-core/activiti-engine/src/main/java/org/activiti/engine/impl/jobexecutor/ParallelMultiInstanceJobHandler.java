@@ -0,0 +1,47 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import org.activiti.bpmn.model.Activity;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Starts a pending instance of a parallel multi-instance loop with a window size, when the instance that made room for it
+ * completed synchronously. Every instance then runs in a transaction of its own instead of the whole loop running in one.
+ */
+public class ParallelMultiInstanceJobHandler implements JobHandler {
+
+  public static final String TYPE = "parallel-multi-instance";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    FlowElement flowElement = execution.getCurrentFlowElement();
+    Object behavior = flowElement instanceof Activity ? ((Activity) flowElement).getBehavior() : null;
+    if (!(behavior instanceof ParallelMultiInstanceBehavior)) {
+      throw new ActivitiException("Execution " + execution.getId() + " is not at a parallel multi-instance activity");
+    }
+    ((ParallelMultiInstanceBehavior) behavior).executePendingInstance(execution);
+  }
+
+}
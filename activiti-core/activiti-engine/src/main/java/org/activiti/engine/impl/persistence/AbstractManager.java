@@ -26,6 +26,8 @@ import org.activiti.engine.impl.history.HistoryManager;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
 import org.activiti.engine.impl.persistence.entity.AttachmentEntityManager;
+import org.activiti.engine.impl.persistence.entity.BatchEntityManager;
+import org.activiti.engine.impl.persistence.entity.BatchPartEntityManager;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityManager;
 import org.activiti.engine.impl.persistence.entity.CommentEntityManager;
 import org.activiti.engine.impl.persistence.entity.DeadLetterJobEntityManager;
@@ -47,6 +49,7 @@ import org.activiti.engine.impl.persistence.entity.ResourceEntityManager;
 import org.activiti.engine.impl.persistence.entity.SuspendedJobEntityManager;
 import org.activiti.engine.impl.persistence.entity.TaskEntityManager;
 import org.activiti.engine.impl.persistence.entity.TimerJobEntityManager;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntityManager;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityManager;
 import org.activiti.engine.runtime.Clock;
 
@@ -146,6 +149,18 @@ public abstract class AbstractManager {
     return getProcessEngineConfiguration().getVariableInstanceEntityManager();
   }
 
+  protected VariableIndexEntityManager getVariableIndexEntityManager() {
+    return getProcessEngineConfiguration().getVariableIndexEntityManager();
+  }
+
+  protected BatchEntityManager getBatchEntityManager() {
+    return getProcessEngineConfiguration().getBatchEntityManager();
+  }
+
+  protected BatchPartEntityManager getBatchPartEntityManager() {
+    return getProcessEngineConfiguration().getBatchPartEntityManager();
+  }
+
   protected JobEntityManager getJobEntityManager() {
     return getProcessEngineConfiguration().getJobEntityManager();
   }
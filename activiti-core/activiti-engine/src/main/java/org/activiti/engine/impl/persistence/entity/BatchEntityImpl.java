@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ProcessEngineConfiguration;
+
+public class BatchEntityImpl extends AbstractEntity implements BatchEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String type;
+  protected String status;
+  protected String searchKey;
+  protected String configuration;
+  protected int chunkSize;
+  protected int total;
+  protected int processedCount;
+  protected int failedCount;
+  protected Date createTime;
+  protected Date completeTime;
+  protected String tenantId = ProcessEngineConfiguration.NO_TENANT_ID;
+
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("status", status);
+    persistentState.put("processedCount", processedCount);
+    persistentState.put("failedCount", failedCount);
+    persistentState.put("completeTime", completeTime);
+    return persistentState;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public String getSearchKey() {
+    return searchKey;
+  }
+
+  public void setSearchKey(String searchKey) {
+    this.searchKey = searchKey;
+  }
+
+  public String getConfiguration() {
+    return configuration;
+  }
+
+  public void setConfiguration(String configuration) {
+    this.configuration = configuration;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public int getTotal() {
+    return total;
+  }
+
+  public void setTotal(int total) {
+    this.total = total;
+  }
+
+  public int getProcessedCount() {
+    return processedCount;
+  }
+
+  public void setProcessedCount(int processedCount) {
+    this.processedCount = processedCount;
+  }
+
+  public int getFailedCount() {
+    return failedCount;
+  }
+
+  public void setFailedCount(int failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  public Date getCompleteTime() {
+    return completeTime;
+  }
+
+  public void setCompleteTime(Date completeTime) {
+    this.completeTime = completeTime;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public void setTenantId(String tenantId) {
+    this.tenantId = tenantId;
+  }
+
+  @Override
+  public String toString() {
+    return "BatchEntity[id=" + id + ", type=" + type + ", status=" + status + ", searchKey=" + searchKey + "]";
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.Batch;
+
+@Internal
+public interface BatchEntityManager extends EntityManager<BatchEntity> {
+
+  /**
+   * @return all batches, oldest first
+   */
+  List<Batch> findBatches();
+
+  /**
+   * Creates a batch applying the operation of the given type to all process instances of the process
+   * definition, and schedules the job for its first part.
+   */
+  BatchEntity startBatch(String type, ProcessDefinition processDefinition, String configuration);
+
+  /**
+   * Stops the batch after the part that is currently running, if any.
+   */
+  void pauseBatch(BatchEntity batch);
+
+  /**
+   * Continues a paused batch with its next waiting part.
+   */
+  void resumeBatch(BatchEntity batch);
+
+  /**
+   * Deletes the batch, its parts and the job of the part that was still waiting.
+   */
+  void deleteBatch(BatchEntity batch);
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.ProcessInstanceQueryImpl;
+import org.activiti.engine.impl.batch.BatchOperation;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.entity.data.BatchDataManager;
+import org.activiti.engine.impl.persistence.entity.data.DataManager;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.Batch;
+import org.activiti.engine.runtime.BatchPart;
+
+public class BatchEntityManagerImpl extends AbstractEntityManager<BatchEntity> implements BatchEntityManager {
+
+  protected BatchDataManager batchDataManager;
+
+  public BatchEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, BatchDataManager batchDataManager) {
+    super(processEngineConfiguration);
+    this.batchDataManager = batchDataManager;
+  }
+
+  @Override
+  protected DataManager<BatchEntity> getDataManager() {
+    return batchDataManager;
+  }
+
+  @Override
+  public List<Batch> findBatches() {
+    return batchDataManager.findBatches();
+  }
+
+  @Override
+  public BatchEntity startBatch(String type, ProcessDefinition processDefinition, String configuration) {
+    BatchOperation operation = getProcessEngineConfiguration().getBatchOperations().get(type);
+    if (operation == null) {
+      throw new ActivitiIllegalArgumentException("No batch operation registered for type '" + type + "'");
+    }
+    operation.validate(processDefinition, configuration, getCommandContext());
+
+    long total = new ProcessInstanceQueryImpl(getCommandContext()).processDefinitionId(processDefinition.getId()).count();
+
+    BatchEntity batch = create();
+    batch.setType(type);
+    batch.setStatus(Batch.STATUS_EXECUTING);
+    batch.setSearchKey(processDefinition.getId());
+    batch.setConfiguration(configuration);
+    batch.setChunkSize(getProcessEngineConfiguration().getBatchChunkSize());
+    batch.setTotal((int) total);
+    batch.setCreateTime(getClock().getCurrentTime());
+    if (processDefinition.getTenantId() != null) {
+      batch.setTenantId(processDefinition.getTenantId());
+    }
+    insert(batch);
+
+    getBatchPartEntityManager().createBatchPart(batch, null);
+    return batch;
+  }
+
+  @Override
+  public void pauseBatch(BatchEntity batch) {
+    if (!Batch.STATUS_EXECUTING.equals(batch.getStatus())) {
+      throw new ActivitiException("Cannot pause batch '" + batch.getId() + "': it is " + batch.getStatus());
+    }
+    batch.setStatus(Batch.STATUS_PAUSED);
+  }
+
+  @Override
+  public void resumeBatch(BatchEntity batch) {
+    if (!Batch.STATUS_PAUSED.equals(batch.getStatus())) {
+      throw new ActivitiException("Cannot resume batch '" + batch.getId() + "': it is " + batch.getStatus());
+    }
+    batch.setStatus(Batch.STATUS_EXECUTING);
+
+    // a part whose job already ran while the batch was paused has given its job up, so it needs a new one
+    BatchPartEntityManager batchPartEntityManager = getBatchPartEntityManager();
+    for (BatchPart batchPart : batchPartEntityManager.findBatchPartsByBatchId(batch.getId())) {
+      if (!BatchPart.STATUS_COMPLETED.equals(batchPart.getStatus()) && batchPart.getJobId() == null) {
+        batchPartEntityManager.scheduleBatchPart((BatchPartEntity) batchPart, batch.getTenantId());
+      }
+    }
+  }
+
+  @Override
+  public void deleteBatch(BatchEntity batch) {
+    BatchPartEntityManager batchPartEntityManager = getBatchPartEntityManager();
+    for (BatchPart batchPart : batchPartEntityManager.findBatchPartsByBatchId(batch.getId())) {
+      if (batchPart.getJobId() != null) {
+        JobEntity job = getJobEntityManager().findById(batchPart.getJobId());
+        if (job != null) {
+          getJobEntityManager().delete(job);
+        }
+        // a failed job waits for its retry as a timer job, or ends up as a dead letter job
+        TimerJobEntity timerJob = getTimerJobEntityManager().findById(batchPart.getJobId());
+        if (timerJob != null) {
+          getTimerJobEntityManager().delete(timerJob);
+        }
+        DeadLetterJobEntity deadLetterJob = getDeadLetterJobEntityManager().findById(batchPart.getJobId());
+        if (deadLetterJob != null) {
+          getDeadLetterJobEntityManager().delete(deadLetterJob);
+        }
+      }
+    }
+    batchPartEntityManager.deleteBatchPartsByBatchId(batch.getId());
+    delete(batch);
+  }
+
+  public BatchDataManager getBatchDataManager() {
+    return batchDataManager;
+  }
+
+  public void setBatchDataManager(BatchDataManager batchDataManager) {
+    this.batchDataManager = batchDataManager;
+  }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.Date;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.runtime.BatchPart;
+
+@Internal
+public interface BatchPartEntity extends BatchPart, Entity, HasRevision {
+
+  void setBatchId(String batchId);
+
+  void setStatus(String status);
+
+  void setJobId(String jobId);
+
+  void setStartAfterId(String startAfterId);
+
+  void setLastId(String lastId);
+
+  void setProcessedCount(int processedCount);
+
+  void setFailedCount(int failedCount);
+
+  void setFailure(String failure);
+
+  void setCreateTime(Date createTime);
+
+  void setCompleteTime(Date completeTime);
+
+}
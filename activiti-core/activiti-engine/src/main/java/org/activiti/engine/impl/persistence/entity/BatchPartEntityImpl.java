@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BatchPartEntityImpl extends AbstractEntity implements BatchPartEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String batchId;
+  protected String status;
+  protected String jobId;
+  protected String startAfterId;
+  protected String lastId;
+  protected int processedCount;
+  protected int failedCount;
+  protected String failure;
+  protected Date createTime;
+  protected Date completeTime;
+
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("status", status);
+    persistentState.put("jobId", jobId);
+    persistentState.put("lastId", lastId);
+    persistentState.put("processedCount", processedCount);
+    persistentState.put("failedCount", failedCount);
+    persistentState.put("failure", failure);
+    persistentState.put("completeTime", completeTime);
+    return persistentState;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public String getBatchId() {
+    return batchId;
+  }
+
+  public void setBatchId(String batchId) {
+    this.batchId = batchId;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public void setJobId(String jobId) {
+    this.jobId = jobId;
+  }
+
+  public String getStartAfterId() {
+    return startAfterId;
+  }
+
+  public void setStartAfterId(String startAfterId) {
+    this.startAfterId = startAfterId;
+  }
+
+  public String getLastId() {
+    return lastId;
+  }
+
+  public void setLastId(String lastId) {
+    this.lastId = lastId;
+  }
+
+  public int getProcessedCount() {
+    return processedCount;
+  }
+
+  public void setProcessedCount(int processedCount) {
+    this.processedCount = processedCount;
+  }
+
+  public int getFailedCount() {
+    return failedCount;
+  }
+
+  public void setFailedCount(int failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  public String getFailure() {
+    return failure;
+  }
+
+  public void setFailure(String failure) {
+    this.failure = failure;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  public Date getCompleteTime() {
+    return completeTime;
+  }
+
+  public void setCompleteTime(Date completeTime) {
+    this.completeTime = completeTime;
+  }
+
+  @Override
+  public String toString() {
+    return "BatchPartEntity[id=" + id + ", batchId=" + batchId + ", status=" + status + "]";
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.runtime.BatchPart;
+
+@Internal
+public interface BatchPartEntityManager extends EntityManager<BatchPartEntity> {
+
+  /**
+   * @return the parts of the given batch, in creation order
+   */
+  List<BatchPart> findBatchPartsByBatchId(String batchId);
+
+  /**
+   * Bulk deletes the parts of the given batch, without loading them.
+   */
+  void deleteBatchPartsByBatchId(String batchId);
+
+  /**
+   * Inserts a waiting part that continues the batch after the given process instance id
+   * (or from the start when null) and schedules its job.
+   */
+  BatchPartEntity createBatchPart(BatchEntity batch, String startAfterId);
+
+  /**
+   * Schedules the async job that executes the given waiting part.
+   */
+  void scheduleBatchPart(BatchPartEntity batchPart, String tenantId);
+
+}
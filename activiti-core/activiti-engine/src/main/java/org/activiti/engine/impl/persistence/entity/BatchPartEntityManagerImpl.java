@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.activiti.engine.impl.batch.BatchPartJobHandler;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.entity.data.BatchPartDataManager;
+import org.activiti.engine.impl.persistence.entity.data.DataManager;
+import org.activiti.engine.runtime.BatchPart;
+
+public class BatchPartEntityManagerImpl extends AbstractEntityManager<BatchPartEntity> implements BatchPartEntityManager {
+
+  protected BatchPartDataManager batchPartDataManager;
+
+  public BatchPartEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, BatchPartDataManager batchPartDataManager) {
+    super(processEngineConfiguration);
+    this.batchPartDataManager = batchPartDataManager;
+  }
+
+  @Override
+  protected DataManager<BatchPartEntity> getDataManager() {
+    return batchPartDataManager;
+  }
+
+  @Override
+  public List<BatchPart> findBatchPartsByBatchId(String batchId) {
+    return batchPartDataManager.findBatchPartsByBatchId(batchId);
+  }
+
+  @Override
+  public void deleteBatchPartsByBatchId(String batchId) {
+    batchPartDataManager.deleteBatchPartsByBatchId(batchId);
+  }
+
+  @Override
+  public BatchPartEntity createBatchPart(BatchEntity batch, String startAfterId) {
+    BatchPartEntity batchPart = create();
+    batchPart.setBatchId(batch.getId());
+    batchPart.setStatus(BatchPart.STATUS_WAITING);
+    batchPart.setStartAfterId(startAfterId);
+    batchPart.setCreateTime(getClock().getCurrentTime());
+    insert(batchPart);
+
+    scheduleBatchPart(batchPart, batch.getTenantId());
+    return batchPart;
+  }
+
+  @Override
+  public void scheduleBatchPart(BatchPartEntity batchPart, String tenantId) {
+    JobEntity job = getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setRevision(1);
+    job.setRetries(getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    job.setJobHandlerType(BatchPartJobHandler.TYPE);
+    job.setJobHandlerConfiguration(batchPart.getId());
+    if (tenantId != null) {
+      job.setTenantId(tenantId);
+    }
+    getJobManager().scheduleAsyncJob(job);
+
+    batchPart.setJobId(job.getId());
+  }
+
+  public BatchPartDataManager getBatchPartDataManager() {
+    return batchPartDataManager;
+  }
+
+  public void setBatchPartDataManager(BatchPartDataManager batchPartDataManager) {
+    this.batchPartDataManager = batchPartDataManager;
+  }
+
+}
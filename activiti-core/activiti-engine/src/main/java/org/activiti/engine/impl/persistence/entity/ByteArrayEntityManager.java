@@ -18,6 +18,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import org.activiti.engine.api.internal.Internal;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -38,4 +39,26 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
    */
   void deleteByteArrayById(String byteArrayEntityId);
 
+  /**
+   * Inserts a new byte array, streaming the content straight to the BYTES_ column instead of
+   * holding it in memory. The insert is executed immediately (not on flush) within the current transaction.
+   *
+   * @return the id of the new byte array
+   */
+  String insertByteArrayStream(String name, InputStream content);
+
+  /**
+   * Replaces the content of an existing byte array, streaming it straight to the BYTES_ column.
+   * As with {@link #deleteByteArrayById(String)}, no optimistic locking is done.
+   */
+  void updateByteArrayStream(String byteArrayEntityId, InputStream content);
+
+  /**
+   * Opens a stream on the content of the byte array with the given id, without loading it in memory.
+   * The stream is only valid during the current command and is closed with it at the latest.
+   *
+   * @return the stream or null if no byte array with the given id exists
+   */
+  InputStream openByteArrayStream(String byteArrayEntityId);
+
 }
@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -52,6 +53,23 @@ public class ByteArrayEntityManagerImpl extends AbstractEntityManager<ByteArrayE
     byteArrayDataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
   }
 
+  @Override
+  public String insertByteArrayStream(String name, InputStream content) {
+    String byteArrayEntityId = getProcessEngineConfiguration().getIdGenerator().getNextId();
+    byteArrayDataManager.insertByteArrayStream(byteArrayEntityId, name, content);
+    return byteArrayEntityId;
+  }
+
+  @Override
+  public void updateByteArrayStream(String byteArrayEntityId, InputStream content) {
+    byteArrayDataManager.updateByteArrayStream(byteArrayEntityId, content);
+  }
+
+  @Override
+  public InputStream openByteArrayStream(String byteArrayEntityId) {
+    return byteArrayDataManager.openByteArrayStream(byteArrayEntityId);
+  }
+
   public ByteArrayDataManager getByteArrayDataManager() {
     return byteArrayDataManager;
   }
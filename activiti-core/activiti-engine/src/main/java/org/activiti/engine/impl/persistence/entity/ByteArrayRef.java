@@ -15,9 +15,11 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.io.Serializable;
 
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.cache.EntityCache;
 
 /**
  * <p>
@@ -38,7 +40,7 @@ public class ByteArrayRef implements Serializable {
   public ByteArrayRef() {
   }
 
-  // Only intended to be used by ByteArrayRefTypeHandler
+  // Only intended to be used by ByteArrayRefTypeHandler and for sharing streamed content
   public ByteArrayRef(String id) {
     this.id = id;
   }
@@ -77,6 +79,42 @@ public class ByteArrayRef implements Serializable {
     }
   }
 
+  /**
+   * Streams the content to the byte array, without holding it in memory. An existing
+   * byte array is updated in place, so anything sharing its id sees the new content.
+   */
+  public void setValue(String name, InputStream content) {
+    this.name = name;
+    ByteArrayEntityManager byteArrayEntityManager = Context.getCommandContext().getByteArrayEntityManager();
+    if (id == null) {
+      id = byteArrayEntityManager.insertByteArrayStream(name, content);
+      deleted = false;
+    } else {
+      byteArrayEntityManager.updateByteArrayStream(id, content);
+      entity = null;
+    }
+  }
+
+  public InputStream getInputStream() {
+    return (id != null ? Context.getCommandContext().getByteArrayEntityManager().openByteArrayStream(id) : null);
+  }
+
+  /**
+   * Loads the byte array like {@link #getBytes()} does, but doesn't leave it in the entity cache of the command
+   * unless it was cached already. For results that are handed out one at a time and then dropped, like the
+   * results of a query read through a cursor.
+   */
+  public void initializeWithoutCaching() {
+    if (id != null && entity == null) {
+      EntityCache entityCache = Context.getCommandContext().getEntityCache();
+      boolean cached = entityCache.findInCache(ByteArrayEntityImpl.class, id) != null;
+      ensureInitialized();
+      if (!cached) {
+        entityCache.cacheRemove(ByteArrayEntityImpl.class, id);
+      }
+    }
+  }
+
   public ByteArrayEntity getEntity() {
     ensureInitialized();
     return entity;
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
@@ -51,4 +52,6 @@ public interface CommentEntityManager extends EntityManager<CommentEntity> {
 
   Event findEvent(String commentId);
 
+  List<Comment> findCommentsByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults);
+
 }
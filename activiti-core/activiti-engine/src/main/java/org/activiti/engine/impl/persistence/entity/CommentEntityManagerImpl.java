@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.ActivitiException;
@@ -167,6 +168,12 @@ public class CommentEntityManagerImpl extends AbstractEntityManager<CommentEntit
     }
   }
 
+  @Override
+  public List<Comment> findCommentsByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults) {
+    checkHistoryEnabled();
+    return commentDataManager.findCommentsByProcessInstanceIdAfter(processInstanceId, afterTime, afterId, maxResults);
+  }
+
   public CommentDataManager getCommentDataManager() {
     return commentDataManager;
   }
@@ -534,6 +534,11 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     return getParent();
   }
 
+  @Override
+  protected String getVariableScopeExecutionId() {
+    return id;
+  }
+
   /**
    * used to calculate the sourceActivityExecution for method {@link #updateActivityInstanceIdInHistoricVariableUpdate(HistoricDetailVariableInstanceUpdateEntity, ExecutionEntityImpl)}
    */
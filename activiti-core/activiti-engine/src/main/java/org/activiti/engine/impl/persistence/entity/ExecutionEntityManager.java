@@ -17,6 +17,7 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -68,6 +69,12 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
   Collection<ExecutionEntity> findInactiveExecutionsByActivityIdAndProcessInstanceId(String activityId, String processInstanceId);
 
+  /**
+   * Returns at most maxResults ids of the process instances of the given definition, ordered by id and
+   * starting after the given id (or from the first one when null). Used to walk large instance sets in chunks.
+   */
+  List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId, String afterProcessInstanceId, int maxResults);
+
   List<Execution> findExecutionsByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   List<ProcessInstance> findProcessInstanceByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
@@ -111,4 +118,12 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
   void clearProcessInstanceLockTime(String processInstanceId);
 
+  /**
+   * Extends the exclusive lock of the process instances of the given exclusive jobs, as long as they are locked
+   * by the given lock owner and the process instance is currently locked.
+   *
+   * @return the number of process instances of which the lock was extended
+   */
+  int renewProcessInstanceLockTimes(String lockOwner, Collection<String> jobIds, Date lockTime);
+
 }
@@ -194,6 +194,11 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
    return executionDataManager.findInactiveExecutionsByActivityIdAndProcessInstanceId(activityId, processInstanceId);
   }
 
+  @Override
+  public List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId, String afterProcessInstanceId, int maxResults) {
+    return executionDataManager.findProcessInstanceIdsByProcessDefinitionId(processDefinitionId, afterProcessInstanceId, maxResults);
+  }
+
   @Override
   public List<Execution> findExecutionsByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return executionDataManager.findExecutionsByNativeQuery(parameterMap, firstResult, maxResults);
@@ -752,6 +757,11 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     executionDataManager.clearProcessInstanceLockTime(processInstanceId);
   }
 
+  @Override
+  public int renewProcessInstanceLockTimes(String lockOwner, Collection<String> jobIds, Date lockTime) {
+    return executionDataManager.renewProcessInstanceLockTimes(lockOwner, jobIds, lockTime);
+  }
+
   @Override
   public String updateProcessInstanceBusinessKey(ExecutionEntity executionEntity, String businessKey) {
     if (executionEntity.isProcessInstanceType() && businessKey != null) {
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -44,4 +45,6 @@ public interface HistoricActivityInstanceEntityManager extends EntityManager<His
 
   void deleteHistoricActivityInstancesByProcessInstanceId(String historicProcessInstanceId);
 
+  List<HistoricActivityInstanceEntity> findHistoricActivityInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults);
+
 }
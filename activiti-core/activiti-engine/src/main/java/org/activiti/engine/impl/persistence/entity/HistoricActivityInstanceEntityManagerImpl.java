@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -84,6 +85,11 @@ public class HistoricActivityInstanceEntityManagerImpl extends AbstractEntityMan
     return historicActivityInstanceDataManager.findHistoricActivityInstanceCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public List<HistoricActivityInstanceEntity> findHistoricActivityInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults) {
+    return historicActivityInstanceDataManager.findHistoricActivityInstancesByProcessInstanceIdAfter(processInstanceId, afterTime, afterId, maxResults);
+  }
+
   public HistoricActivityInstanceDataManager getHistoricActivityInstanceDataManager() {
     return historicActivityInstanceDataManager;
   }
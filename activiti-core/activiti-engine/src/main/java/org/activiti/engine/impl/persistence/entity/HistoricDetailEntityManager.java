@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -41,4 +42,6 @@ public interface HistoricDetailEntityManager extends EntityManager<HistoricDetai
 
   void deleteHistoricDetailsByProcessInstanceId(String historicProcessInstanceId);
 
+  List<HistoricDetailEntity> findHistoricDetailsByProcessInstanceIdAfter(String processInstanceId, String type, Date afterTime, String afterId, int maxResults);
+
 }
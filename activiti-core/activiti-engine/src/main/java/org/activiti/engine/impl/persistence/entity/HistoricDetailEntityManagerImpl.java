@@ -17,6 +17,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +28,7 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.HistoricDetailDataManager;
+import org.activiti.engine.impl.variable.InputStreamType;
 
 public class HistoricDetailEntityManagerImpl extends AbstractEntityManager<HistoricDetailEntity> implements HistoricDetailEntityManager {
 
@@ -57,7 +59,10 @@ public class HistoricDetailEntityManagerImpl extends AbstractEntityManager<Histo
     historicVariableUpdate.setDoubleValue(variableInstance.getDoubleValue());
     historicVariableUpdate.setLongValue(variableInstance.getLongValue());
 
-    if (variableInstance.getBytes() != null) {
+    if (variableInstance.getType() instanceof InputStreamType) {
+      // streamed content is neither copied nor referenced: the referenced content is removed when the variable changes
+      historicVariableUpdate.setTextValue2(null);
+    } else if (variableInstance.getBytes() != null) {
       historicVariableUpdate.setBytes(variableInstance.getBytes());
     }
 
@@ -118,6 +123,11 @@ public class HistoricDetailEntityManagerImpl extends AbstractEntityManager<Histo
     return historicDetailDataManager.findHistoricDetailCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public List<HistoricDetailEntity> findHistoricDetailsByProcessInstanceIdAfter(String processInstanceId, String type, Date afterTime, String afterId, int maxResults) {
+    return historicDetailDataManager.findHistoricDetailsByProcessInstanceIdAfter(processInstanceId, type, afterTime, afterId, maxResults);
+  }
+
   public HistoricDetailDataManager getHistoricDetailDataManager() {
     return historicDetailDataManager;
   }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -43,4 +44,6 @@ public interface HistoricTaskInstanceEntityManager extends EntityManager<Histori
 
   void deleteHistoricTaskInstancesByProcessInstanceId(String processInstanceId);
 
+  List<HistoricTaskInstanceEntity> findHistoricTaskInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults);
+
 }
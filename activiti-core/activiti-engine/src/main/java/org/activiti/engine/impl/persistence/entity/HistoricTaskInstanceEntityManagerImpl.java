@@ -19,6 +19,7 @@ package org.activiti.engine.impl.persistence.entity;
 
 import static java.util.Collections.emptyList;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -118,6 +119,11 @@ public class HistoricTaskInstanceEntityManagerImpl extends AbstractEntityManager
     return historicTaskInstanceDataManager.findHistoricTaskInstanceCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public List<HistoricTaskInstanceEntity> findHistoricTaskInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults) {
+    return historicTaskInstanceDataManager.findHistoricTaskInstancesByProcessInstanceIdAfter(processInstanceId, afterTime, afterId, maxResults);
+  }
+
   public HistoricTaskInstanceDataManager getHistoricTaskInstanceDataManager() {
     return historicTaskInstanceDataManager;
   }
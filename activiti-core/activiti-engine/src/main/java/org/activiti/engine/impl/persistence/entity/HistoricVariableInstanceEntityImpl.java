@@ -213,6 +213,10 @@ public class HistoricVariableInstanceEntityImpl extends AbstractEntity implement
     return byteArrayRef;
   }
 
+  public void setByteArrayRef(ByteArrayRef byteArrayRef) {
+    this.byteArrayRef = byteArrayRef;
+  }
+
   // common methods //////////////////////////////////////////////////////////
 
   @Override
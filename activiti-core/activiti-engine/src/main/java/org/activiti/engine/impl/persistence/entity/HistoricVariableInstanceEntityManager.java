@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -48,4 +49,6 @@ public interface HistoricVariableInstanceEntityManager extends EntityManager<His
 
   void deleteHistoricVariableInstanceByProcessInstanceId(String historicProcessInstanceId);
 
+  List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults);
+
 }
@@ -28,6 +28,8 @@ import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.HistoricVariableInstanceDataManager;
+import org.activiti.engine.impl.variable.InputStreamType;
+import org.activiti.engine.impl.variable.VariableType;
 
 /**
 
@@ -71,24 +73,51 @@ public class HistoricVariableInstanceEntityManagerImpl extends AbstractEntityMan
 
   @Override
   public void copyVariableValue(HistoricVariableInstanceEntity historicVariableInstance, VariableInstanceEntity variableInstance) {
+    VariableType previousType = historicVariableInstance.getVariableType();
+
     historicVariableInstance.setTextValue(variableInstance.getTextValue());
     historicVariableInstance.setTextValue2(variableInstance.getTextValue2());
     historicVariableInstance.setDoubleValue(variableInstance.getDoubleValue());
     historicVariableInstance.setLongValue(variableInstance.getLongValue());
 
     historicVariableInstance.setVariableType(variableInstance.getType());
-    if (variableInstance.getByteArrayRef() != null) {
-      historicVariableInstance.setBytes(variableInstance.getBytes());
+    if (variableInstance.getType() instanceof InputStreamType) {
+      copyStreamedContentReference(historicVariableInstance, variableInstance, previousType);
+    } else {
+      if (previousType instanceof InputStreamType) {
+        // the shared streamed content has already been removed by the runtime variable
+        historicVariableInstance.setByteArrayRef(null);
+      }
+      if (variableInstance.getByteArrayRef() != null) {
+        historicVariableInstance.setBytes(variableInstance.getBytes());
+      }
     }
 
     historicVariableInstance.setLastUpdatedTime(getClock().getCurrentTime());
   }
 
+  /**
+   * Streamed content isn't copied: the historic variable references the content of the runtime variable.
+   */
+  protected void copyStreamedContentReference(HistoricVariableInstanceEntity historicVariableInstance, VariableInstanceEntity variableInstance, VariableType previousType) {
+    ByteArrayRef runtimeByteArrayRef = variableInstance.getByteArrayRef();
+    String byteArrayId = runtimeByteArrayRef != null ? runtimeByteArrayRef.getId() : null;
+
+    ByteArrayRef historicByteArrayRef = historicVariableInstance.getByteArrayRef();
+    if (historicByteArrayRef != null && !(previousType instanceof InputStreamType)) {
+      // bytes previously copied for a non-streamed value
+      historicByteArrayRef.delete();
+    }
+    historicVariableInstance.setByteArrayRef(byteArrayId != null ? new ByteArrayRef(byteArrayId) : null);
+  }
+
   @Override
   public void delete(HistoricVariableInstanceEntity entity, boolean fireDeleteEvent) {
     super.delete(entity, fireDeleteEvent);
 
-    if (entity.getByteArrayRef() != null) {
+    if (entity.getVariableType() instanceof InputStreamType) {
+      ((InputStreamType) entity.getVariableType()).deleteContent(entity);
+    } else if (entity.getByteArrayRef() != null) {
       entity.getByteArrayRef().delete();
     }
   }
@@ -139,6 +168,11 @@ public class HistoricVariableInstanceEntityManagerImpl extends AbstractEntityMan
   }
 
 
+  @Override
+  public List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults) {
+    return historicVariableInstanceDataManager.findHistoricVariableInstancesByProcessInstanceIdAfter(processInstanceId, afterTime, afterId, maxResults);
+  }
+
   public HistoricVariableInstanceDataManager getHistoricVariableInstanceDataManager() {
     return historicVariableInstanceDataManager;
   }
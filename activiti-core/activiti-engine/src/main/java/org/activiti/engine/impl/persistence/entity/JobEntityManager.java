@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.api.internal.Internal;
@@ -92,6 +94,20 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   void resetExpiredJob(String jobId);
 
+  /**
+   * Resets the given jobs with a single update, as far as their lock is still expired at the given time.
+   *
+   * @return the number of jobs that were reset
+   */
+  int resetExpiredJobs(Collection<String> jobIds, Date now);
+
+  /**
+   * Extends the lock of the given jobs, as far as they are still locked by the given lock owner.
+   *
+   * @return the number of jobs of which the lock was extended
+   */
+  int renewJobLocks(String lockOwner, Collection<String> jobIds, Date lockExpirationTime);
+
   /**
    * Changes the tenantId for all jobs related to a given {@link DeploymentEntity}.
    */
@@ -17,6 +17,8 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.delegate.event.ActivitiEventType;
@@ -122,6 +124,22 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
         jobDataManager.resetExpiredJob(jobId);
     }
 
+    @Override
+    public int resetExpiredJobs(Collection<String> jobIds,
+                                Date now) {
+        return jobDataManager.resetExpiredJobs(jobIds,
+                                               now);
+    }
+
+    @Override
+    public int renewJobLocks(String lockOwner,
+                             Collection<String> jobIds,
+                             Date lockExpirationTime) {
+        return jobDataManager.renewJobLocks(lockOwner,
+                                            jobIds,
+                                            lockExpirationTime);
+    }
+
     @Override
     public List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery,
                                              Page page) {
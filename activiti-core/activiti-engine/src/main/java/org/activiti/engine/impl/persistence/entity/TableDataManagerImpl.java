@@ -70,6 +70,9 @@ public class TableDataManagerImpl extends AbstractManager implements TableDataMa
     entityToTableNameMap.put(ExecutionEntity.class, "ACT_RU_EXECUTION");
     entityToTableNameMap.put(IdentityLinkEntity.class, "ACT_RU_IDENTITYLINK");
     entityToTableNameMap.put(VariableInstanceEntity.class, "ACT_RU_VARIABLE");
+    entityToTableNameMap.put(VariableIndexEntity.class, "ACT_RU_VAR_INDEX");
+    entityToTableNameMap.put(BatchEntity.class, "ACT_RU_BATCH");
+    entityToTableNameMap.put(BatchPartEntity.class, "ACT_RU_BATCH_PART");
 
     entityToTableNameMap.put(JobEntity.class, "ACT_RU_JOB");
     entityToTableNameMap.put(TimerJobEntity.class, "ACT_RU_TIMER_JOB");
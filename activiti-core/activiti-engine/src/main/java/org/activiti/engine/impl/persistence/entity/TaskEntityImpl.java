@@ -173,6 +173,11 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
     variableInstance.setProcessInstanceId(processInstanceId);
   }
 
+  @Override
+  protected String getVariableScopeTaskId() {
+    return id;
+  }
+
   @Override
   protected List<VariableInstanceEntity> loadVariableInstances() {
     return Context.getCommandContext().getVariableInstanceEntityManager().findVariableInstancesByTaskId(id);
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.entity;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * Lookup row mirroring the value of a process instance variable whose name was declared searchable.
+ * Equality queries on such variables are answered from this narrow table instead of the generic
+ * variable table.
+ */
+@Internal
+public interface VariableIndexEntity extends Entity {
+
+  /**
+   * Only text values up to this length are indexed, longer values leave the text column empty.
+   */
+  int MAX_TEXT_LENGTH = 255;
+
+  String getName();
+
+  void setName(String name);
+
+  String getTypeName();
+
+  void setTypeName(String typeName);
+
+  String getProcessInstanceId();
+
+  void setProcessInstanceId(String processInstanceId);
+
+  String getTextValue();
+
+  void setTextValue(String textValue);
+
+  Long getLongValue();
+
+  void setLongValue(Long longValue);
+
+  Double getDoubleValue();
+
+  void setDoubleValue(Double doubleValue);
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The id of an index row is the id of the variable instance it mirrors.
+ */
+public class VariableIndexEntityImpl extends AbstractEntityNoRevision implements VariableIndexEntity, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String name;
+  protected String typeName;
+  protected String processInstanceId;
+  protected String textValue;
+  protected Long longValue;
+  protected Double doubleValue;
+
+  public VariableIndexEntityImpl() {
+
+  }
+
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("typeName", typeName);
+    persistentState.put("textValue", textValue);
+    persistentState.put("longValue", longValue);
+    persistentState.put("doubleValue", doubleValue);
+    return persistentState;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getTypeName() {
+    return typeName;
+  }
+
+  public void setTypeName(String typeName) {
+    this.typeName = typeName;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public void setProcessInstanceId(String processInstanceId) {
+    this.processInstanceId = processInstanceId;
+  }
+
+  public String getTextValue() {
+    return textValue;
+  }
+
+  public void setTextValue(String textValue) {
+    this.textValue = textValue;
+  }
+
+  public Long getLongValue() {
+    return longValue;
+  }
+
+  public void setLongValue(Long longValue) {
+    this.longValue = longValue;
+  }
+
+  public Double getDoubleValue() {
+    return doubleValue;
+  }
+
+  public void setDoubleValue(Double doubleValue) {
+    this.doubleValue = doubleValue;
+  }
+
+  @Override
+  public String toString() {
+    return "VariableIndexEntity[id=" + id + ", name=" + name + ", type=" + typeName + ", processInstanceId=" + processInstanceId + "]";
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.activiti.engine.api.internal.Internal;
+import org.activiti.engine.impl.Page;
+
+/**
+ * Keeps {@link VariableIndexEntity} rows in line with the process instance variables whose name
+ * is registered in {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#getIndexedVariableNames()}.
+ */
+@Internal
+public interface VariableIndexEntityManager extends EntityManager<VariableIndexEntity> {
+
+  /**
+   * Whether the given variable is a process instance variable with a searchable name.
+   */
+  boolean isIndexed(VariableInstanceEntity variableInstance);
+
+  /**
+   * Whether an equality query for the given name and value can be answered from the index. This is only the case
+   * once the index of the name is built, see
+   * {@link org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl#getBuiltIndexedVariableNames()}.
+   */
+  boolean isIndexedQueryValue(String variableName, VariableInstanceEntity queryValue);
+
+  void insertVariableIndex(VariableInstanceEntity variableInstance);
+
+  void updateVariableIndex(VariableInstanceEntity variableInstance);
+
+  void deleteVariableIndex(VariableInstanceEntity variableInstance);
+
+  void deleteVariableIndexesByName(String variableName);
+
+  /**
+   * Indexes one batch of the process instance variables with the given name that have no index row yet, because
+   * they were written before the name was registered. Returns the number of variables of the batch, so the
+   * build is complete when it is smaller than the batch size.
+   */
+  int indexUnindexedVariables(String variableName, int batchSize);
+
+  /**
+   * Schedules an async job that builds the index of the given name one batch at a time, see
+   * {@link org.activiti.engine.impl.jobexecutor.BuildVariableIndexJobHandler}.
+   */
+  void scheduleVariableIndexBuild(String variableName);
+
+}
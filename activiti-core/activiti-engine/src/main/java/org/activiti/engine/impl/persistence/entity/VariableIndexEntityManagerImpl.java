@@ -0,0 +1,234 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.entity;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+import org.activiti.engine.impl.jobexecutor.BuildVariableIndexJobHandler;
+import org.activiti.engine.impl.persistence.entity.data.DataManager;
+import org.activiti.engine.impl.persistence.entity.data.VariableIndexDataManager;
+
+/**
+ * Maintains the index rows as a side effect of variable inserts, updates and deletes. Nothing is done
+ * (and nothing is queried) for variables whose name is not searchable, so the default engine behaviour
+ * is unchanged.
+ *
+ * Updates write the index row once the sessions are flushed, and only insert it when no row was updated.
+ * Like the index build, they do so while holding the lock of the variable row, so an update and the build
+ * never both insert the index row of the same variable.
+ */
+public class VariableIndexEntityManagerImpl extends AbstractEntityManager<VariableIndexEntity> implements VariableIndexEntityManager {
+
+  /**
+   * Variable types that store a scalar value in the text, long or double columns.
+   */
+  protected static final Set<String> INDEXED_TYPES = new HashSet<String>(Arrays.asList(
+      "string", "uuid", "boolean", "short", "integer", "long", "double", "date"));
+
+  protected VariableIndexDataManager variableIndexDataManager;
+
+  public VariableIndexEntityManagerImpl(ProcessEngineConfigurationImpl processEngineConfiguration, VariableIndexDataManager variableIndexDataManager) {
+    super(processEngineConfiguration);
+    this.variableIndexDataManager = variableIndexDataManager;
+  }
+
+  @Override
+  protected DataManager<VariableIndexEntity> getDataManager() {
+    return variableIndexDataManager;
+  }
+
+  @Override
+  public boolean isIndexed(VariableInstanceEntity variableInstance) {
+    return isIndexedVariableName(variableInstance.getName())
+        && variableInstance.getTaskId() == null
+        && variableInstance.getExecutionId() != null
+        && variableInstance.getExecutionId().equals(variableInstance.getProcessInstanceId());
+  }
+
+  @Override
+  public boolean isIndexedQueryValue(String variableName, VariableInstanceEntity queryValue) {
+    if (!isBuiltIndexedVariableName(variableName) || queryValue == null || !INDEXED_TYPES.contains(queryValue.getType().getTypeName())) {
+      return false;
+    }
+    if (queryValue.getTextValue2() != null) {
+      return false;
+    }
+    if (queryValue.getLongValue() != null || queryValue.getDoubleValue() != null) {
+      return true;
+    }
+    return queryValue.getTextValue() != null && queryValue.getTextValue().length() <= VariableIndexEntity.MAX_TEXT_LENGTH;
+  }
+
+  @Override
+  public void insertVariableIndex(VariableInstanceEntity variableInstance) {
+    VariableIndexEntity variableIndex = create();
+    variableIndex.setId(variableInstance.getId());
+    variableIndex.setName(variableInstance.getName());
+    variableIndex.setProcessInstanceId(variableInstance.getProcessInstanceId());
+    copyValue(variableInstance, variableIndex);
+    insert(variableIndex, false);
+  }
+
+  @Override
+  public void updateVariableIndex(VariableInstanceEntity variableInstance) {
+    VariableIndexEntity variableIndex = variableIndexDataManager.findCachedVariableIndex(variableInstance.getId());
+    if (variableIndex != null) {
+      // Inserted in this command, flushed with the latest value
+      copyValue(variableInstance, variableIndex);
+      return;
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    PendingVariableIndexUpdates pendingUpdates = commandContext.getGenericAttribute(PendingVariableIndexUpdates.ATTRIBUTE);
+    if (pendingUpdates == null) {
+      pendingUpdates = new PendingVariableIndexUpdates();
+      commandContext.addAttribute(PendingVariableIndexUpdates.ATTRIBUTE, pendingUpdates);
+      commandContext.addCloseListener(pendingUpdates);
+    }
+    pendingUpdates.add(variableInstance);
+  }
+
+  protected void writeVariableIndex(VariableInstanceEntity variableInstance) {
+    if (variableIndexDataManager.lockVariableInstance(variableInstance.getId()) == 0) {
+      return; // deleted in this command
+    }
+    VariableIndexEntity variableIndex = create();
+    variableIndex.setId(variableInstance.getId());
+    variableIndex.setName(variableInstance.getName());
+    variableIndex.setProcessInstanceId(variableInstance.getProcessInstanceId());
+    copyValue(variableInstance, variableIndex);
+    if (variableIndexDataManager.updateVariableIndexValue(variableIndex) == 0) {
+      // The variable was written before its name was declared searchable and the index is not built yet
+      variableIndexDataManager.insertVariableIndexValue(variableIndex);
+    }
+  }
+
+  @Override
+  public void deleteVariableIndex(VariableInstanceEntity variableInstance) {
+    variableIndexDataManager.deleteVariableIndexById(variableInstance.getId());
+  }
+
+  @Override
+  public void deleteVariableIndexesByName(String variableName) {
+    variableIndexDataManager.deleteVariableIndexesByName(variableName);
+  }
+
+  @Override
+  public int indexUnindexedVariables(String variableName, int batchSize) {
+    List<String> variableInstanceIds = variableIndexDataManager.findUnindexedVariableIdsByName(variableName, new Page(0, batchSize));
+    for (String variableInstanceId : variableInstanceIds) {
+      // Selected again once locked: a concurrent update may have changed the value or written the index row
+      if (variableIndexDataManager.lockVariableInstance(variableInstanceId) > 0) {
+        VariableInstanceEntity variableInstance = variableIndexDataManager.findUnindexedVariableById(variableInstanceId);
+        if (variableInstance != null) {
+          insertVariableIndex(variableInstance);
+        }
+      }
+    }
+    return variableInstanceIds.size();
+  }
+
+  @Override
+  public void scheduleVariableIndexBuild(String variableName) {
+    JobEntity job = getJobEntityManager().create();
+    job.setJobType(JobEntity.JOB_TYPE_MESSAGE);
+    job.setRevision(1);
+    job.setRetries(getProcessEngineConfiguration().getAsyncExecutorNumberOfRetries());
+    job.setJobHandlerType(BuildVariableIndexJobHandler.TYPE);
+    job.setJobHandlerConfiguration(variableName);
+    getJobManager().scheduleAsyncJob(job);
+  }
+
+  protected boolean isIndexedVariableName(String variableName) {
+    return variableName != null && getProcessEngineConfiguration().getIndexedVariableNames().contains(variableName);
+  }
+
+  protected boolean isBuiltIndexedVariableName(String variableName) {
+    return variableName != null && getProcessEngineConfiguration().getBuiltIndexedVariableNames().contains(variableName);
+  }
+
+  protected void copyValue(VariableInstanceEntity variableInstance, VariableIndexEntity variableIndex) {
+    String typeName = variableInstance.getType().getTypeName();
+    variableIndex.setTypeName(typeName);
+    if (INDEXED_TYPES.contains(typeName)) {
+      String textValue = variableInstance.getTextValue();
+      variableIndex.setTextValue(textValue != null && textValue.length() <= VariableIndexEntity.MAX_TEXT_LENGTH ? textValue : null);
+      variableIndex.setLongValue(variableInstance.getLongValue());
+      variableIndex.setDoubleValue(variableInstance.getDoubleValue());
+    } else {
+      variableIndex.setTextValue(null);
+      variableIndex.setLongValue(null);
+      variableIndex.setDoubleValue(null);
+    }
+  }
+
+  /**
+   * The variables updated in the current command whose index row is written once the sessions are flushed,
+   * when the update of the variable row holds its lock.
+   */
+  protected class PendingVariableIndexUpdates implements CommandContextCloseListener {
+
+    protected static final String ATTRIBUTE = "pendingVariableIndexUpdates";
+
+    protected Map<String, VariableInstanceEntity> variableInstances = new LinkedHashMap<String, VariableInstanceEntity>();
+
+    public void add(VariableInstanceEntity variableInstance) {
+      variableInstances.put(variableInstance.getId(), variableInstance);
+    }
+
+    public void closing(CommandContext commandContext) {
+
+    }
+
+    public void afterSessionsFlush(CommandContext commandContext) {
+      for (VariableInstanceEntity variableInstance : variableInstances.values()) {
+        if (!variableInstance.isDeleted()) {
+          writeVariableIndex(variableInstance);
+        }
+      }
+    }
+
+    public void closed(CommandContext commandContext) {
+
+    }
+
+    public void closeFailure(CommandContext commandContext) {
+
+    }
+
+  }
+
+  public VariableIndexDataManager getVariableIndexDataManager() {
+    return variableIndexDataManager;
+  }
+
+  public void setVariableIndexDataManager(VariableIndexDataManager variableIndexDataManager) {
+    this.variableIndexDataManager = variableIndexDataManager;
+  }
+
+}
@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
+
 import org.activiti.engine.api.internal.Internal;
 import org.activiti.engine.impl.variable.VariableType;
 
@@ -37,6 +39,8 @@ public interface VariableInstanceEntity extends VariableInstance {
 
   ByteArrayRef getByteArrayRef();
 
+  void setBytesStream(InputStream content);
+
   VariableType getType();
 
   void setType(VariableType type);
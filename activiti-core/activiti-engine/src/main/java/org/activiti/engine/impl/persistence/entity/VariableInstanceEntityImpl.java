@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
@@ -111,6 +112,12 @@ public class VariableInstanceEntityImpl extends AbstractEntity implements Variab
     byteArrayRef.setValue("var-" + name, bytes);
   }
 
+  @Override
+  public void setBytesStream(InputStream content) {
+    ensureByteArrayRefInitialized();
+    byteArrayRef.setValue("var-" + name, content);
+  }
+
   public ByteArrayRef getByteArrayRef() {
     return byteArrayRef;
   }
@@ -47,6 +47,11 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
   List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
 
+  /**
+   * Fetches the variables with the given names of several execution and task scopes in one query.
+   */
+  List<VariableInstanceEntity> findVariableInstancesByScopesAndNames(Collection<String> executionIds, Collection<String> taskIds, Collection<String> names);
+
   void deleteVariableInstanceByTask(TaskEntity task);
 
 }
@@ -27,9 +27,11 @@ import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.ActivitiVariableEvent;
 import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.persistence.CountingExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.data.DataManager;
 import org.activiti.engine.impl.persistence.entity.data.VariableInstanceDataManager;
+import org.activiti.engine.impl.variable.InputStreamType;
 import org.activiti.engine.impl.variable.VariableType;
 
 /**
@@ -65,6 +67,10 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
   public void insert(VariableInstanceEntity entity, boolean fireCreateEvent) {
     super.insert(entity, fireCreateEvent);
 
+    if (getVariableIndexEntityManager().isIndexed(entity)) {
+      getVariableIndexEntityManager().insertVariableIndex(entity);
+    }
+
     if (entity.getExecutionId() != null && isExecutionRelatedEntityCountEnabledGlobally()) {
       CountingExecutionEntity executionEntity = (CountingExecutionEntity) getExecutionEntityManager().findById(entity.getExecutionId());
       if (isExecutionRelatedEntityCountEnabled(executionEntity)) {
@@ -113,15 +119,31 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
     return variableInstanceDataManager.findVariableInstancesByTaskAndNames(taskId, names);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByScopesAndNames(Collection<String> executionIds, Collection<String> taskIds, Collection<String> names) {
+    return variableInstanceDataManager.findVariableInstancesByScopesAndNames(executionIds, taskIds, names);
+  }
+
   @Override
   public void delete(VariableInstanceEntity entity, boolean fireDeleteEvent) {
     super.delete(entity, false);
-    ByteArrayRef byteArrayRef = entity.getByteArrayRef();
-    if (byteArrayRef != null) {
-      byteArrayRef.delete();
+    if (entity.getType() instanceof InputStreamType) {
+      // streamed content is shared with the historic variable, which removes it when history is kept
+      if (!getHistoryManager().isHistoryLevelAtLeast(HistoryLevel.ACTIVITY)) {
+        ((InputStreamType) entity.getType()).deleteContent(entity);
+      }
+    } else {
+      ByteArrayRef byteArrayRef = entity.getByteArrayRef();
+      if (byteArrayRef != null) {
+        byteArrayRef.delete();
+      }
     }
     entity.setDeleted(true);
 
+    if (getVariableIndexEntityManager().isIndexed(entity)) {
+      getVariableIndexEntityManager().deleteVariableIndex(entity);
+    }
+
     if (entity.getExecutionId() != null && isExecutionRelatedEntityCountEnabledGlobally()) {
       CountingExecutionEntity executionEntity = (CountingExecutionEntity) getExecutionEntityManager().findById(entity.getExecutionId());
       if (isExecutionRelatedEntityCountEnabled(executionEntity)) {
@@ -22,8 +22,10 @@ import static java.util.Collections.unmodifiableMap;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -49,6 +51,9 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
   // The cache is used when fetching/setting specific variables
   protected Map<String, VariableInstanceEntity> usedVariablesCache = new HashMap<String, VariableInstanceEntity>();
 
+  // Names that were looked up by name on this scope and don't exist here (see targeted variable fetching)
+  protected Set<String> missingVariableNames = new HashSet<String>();
+
   protected Map<String, VariableInstance> transientVariabes;
 
   protected ELContext cachedElContext;
@@ -59,6 +64,20 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
   protected abstract void initializeVariableInstanceBackPointer(VariableInstanceEntity variableInstance);
 
+  /**
+   * Id of the execution owning the variables of this scope, used to fetch variables of a whole scope chain in one query.
+   */
+  protected String getVariableScopeExecutionId() {
+    return null;
+  }
+
+  /**
+   * Id of the task owning the variables of this scope, used to fetch variables of a whole scope chain in one query.
+   */
+  protected String getVariableScopeTaskId() {
+    return null;
+  }
+
   protected void ensureVariableInstancesInitialized() {
     if (variableInstances == null) {
       variableInstances = new HashMap<String, VariableInstanceEntity>();
@@ -108,7 +127,16 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
       }
     }
 
-    if (fetchAllVariables) {
+    if (fetchAllVariables && isTargetedVariableFetchingEnabled()) {
+
+      Map<String, VariableInstance> variables = findVariableInstancesInScopeChain(variableNamesToFetch);
+      for (String variableName : variableNamesToFetch) {
+        VariableInstance variable = variables.get(variableName);
+        requestedVariables.put(variableName, variable != null ? variable.getValue() : null);
+      }
+      return requestedVariables;
+
+    } else if (fetchAllVariables) {
 
       // getVariables() will go up the execution hierarchy, no need to do
       // it here also, the cached values will already be applied too
@@ -154,7 +182,15 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
       }
     }
 
-    if (fetchAllVariables) {
+    if (fetchAllVariables && isTargetedVariableFetchingEnabled()) {
+
+      Map<String, VariableInstance> variables = findVariableInstancesInScopeChain(variableNamesToFetch);
+      for (String variableName : variableNamesToFetch) {
+        requestedVariables.put(variableName, variables.get(variableName));
+      }
+      return requestedVariables;
+
+    } else if (fetchAllVariables) {
 
       // getVariables() will go up the execution hierarchy, no need to do it here
       // also, the cached values will already be applied too
@@ -270,7 +306,10 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
       return usedVariablesCache.get(variableName);
     }
 
-    if (fetchAllVariables == true) {
+    if (fetchAllVariables == true && isTargetedVariableFetchingEnabled()) {
+      return findVariableInstancesInScopeChain(Collections.singleton(variableName)).get(variableName);
+
+    } else if (fetchAllVariables == true) {
       ensureVariableInstancesInitialized();
       VariableInstanceEntity variableInstance = variableInstances.get(variableName);
       if (variableInstance != null) {
@@ -310,6 +349,124 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
 
   protected abstract VariableInstanceEntity getSpecificVariable(String variableName);
 
+  protected boolean isTargetedVariableFetchingEnabled() {
+    return Context.getProcessEngineConfiguration() != null
+        && Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableTargetedVariableFetching();
+  }
+
+  /**
+   * Resolves the given variable names against this scope and its parents, nearest scope first, without
+   * loading all variables of every scope. Names that aren't known yet on any scope of the chain are
+   * fetched with a single query; byte array values stay unloaded until the value is dereferenced.
+   */
+  protected Map<String, VariableInstance> findVariableInstancesInScopeChain(Collection<String> variableNames) {
+    List<VariableScopeImpl> scopeChain = new ArrayList<VariableScopeImpl>();
+    for (VariableScopeImpl scope = this; scope != null; scope = scope.getParentVariableScope()) {
+      scopeChain.add(scope);
+    }
+
+    // Collect the (scope, name) combinations that can't be answered from the caches
+    Set<VariableScopeImpl> scopesToFetch = new LinkedHashSet<VariableScopeImpl>();
+    Set<String> namesToFetch = new HashSet<String>();
+    for (String variableName : variableNames) {
+      for (VariableScopeImpl scope : scopeChain) {
+        if (scope.getCachedVariableInstance(variableName) != null) {
+          break;
+        }
+        if (scope.variableInstances == null && !scope.missingVariableNames.contains(variableName)) {
+          scopesToFetch.add(scope);
+          namesToFetch.add(variableName);
+        }
+      }
+    }
+
+    if (!scopesToFetch.isEmpty()) {
+      fetchVariableInstances(scopesToFetch, namesToFetch);
+    }
+
+    Map<String, VariableInstance> result = new HashMap<String, VariableInstance>();
+    for (String variableName : variableNames) {
+      for (VariableScopeImpl scope : scopeChain) {
+        VariableInstance variableInstance = scope.getCachedVariableInstance(variableName);
+        if (variableInstance != null) {
+          result.put(variableName, variableInstance);
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  protected void fetchVariableInstances(Collection<VariableScopeImpl> scopes, Collection<String> variableNames) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null) {
+      throw new ActivitiException("lazy loading outside command context");
+    }
+
+    List<String> executionIds = new ArrayList<String>();
+    List<String> taskIds = new ArrayList<String>();
+    for (VariableScopeImpl scope : scopes) {
+      if (scope.getVariableScopeTaskId() != null) {
+        taskIds.add(scope.getVariableScopeTaskId());
+      } else if (scope.getVariableScopeExecutionId() != null) {
+        executionIds.add(scope.getVariableScopeExecutionId());
+      }
+    }
+
+    List<VariableInstanceEntity> fetchedVariables = Collections.emptyList();
+    if (!executionIds.isEmpty() || !taskIds.isEmpty()) {
+      fetchedVariables = commandContext.getVariableInstanceEntityManager().findVariableInstancesByScopesAndNames(executionIds, taskIds, variableNames);
+    }
+
+    for (VariableScopeImpl scope : scopes) {
+      if (scope.getVariableScopeTaskId() == null && scope.getVariableScopeExecutionId() == null) {
+        continue;
+      }
+      for (String variableName : variableNames) {
+        if (scope.usedVariablesCache.containsKey(variableName)) {
+          continue; // The cached instance is more recent
+        }
+        VariableInstanceEntity variableInstance = scope.findVariableOfScope(fetchedVariables, variableName);
+        if (variableInstance != null) {
+          scope.usedVariablesCache.put(variableName, variableInstance);
+        } else {
+          scope.missingVariableNames.add(variableName);
+        }
+      }
+    }
+  }
+
+  protected VariableInstanceEntity findVariableOfScope(List<VariableInstanceEntity> variableInstances, String variableName) {
+    String taskId = getVariableScopeTaskId();
+    String executionId = getVariableScopeExecutionId();
+    for (VariableInstanceEntity variableInstance : variableInstances) {
+      if (!variableName.equals(variableInstance.getName()) || variableInstance.isDeleted()) {
+        continue;
+      }
+      if (taskId != null) {
+        if (taskId.equals(variableInstance.getTaskId())) {
+          return variableInstance;
+        }
+      } else if (executionId != null && variableInstance.getTaskId() == null && executionId.equals(variableInstance.getExecutionId())) {
+        return variableInstance;
+      }
+    }
+    return null;
+  }
+
+  protected VariableInstance getCachedVariableInstance(String variableName) {
+    if (transientVariabes != null && transientVariabes.containsKey(variableName)) {
+      return transientVariabes.get(variableName);
+    }
+    if (usedVariablesCache.containsKey(variableName)) {
+      return usedVariablesCache.get(variableName);
+    }
+    if (variableInstances != null) {
+      return variableInstances.get(variableName);
+    }
+    return null;
+  }
+
   public Object getVariableLocal(String variableName) {
     return getVariableLocal(variableName, true);
   }
@@ -859,6 +1016,11 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
       variableInstance.setValue(value);
     }
 
+    VariableIndexEntityManager variableIndexEntityManager = Context.getCommandContext().getVariableIndexEntityManager();
+    if (variableIndexEntityManager.isIndexed(variableInstance)) {
+      variableIndexEntityManager.updateVariableIndex(variableInstance);
+    }
+
     Context.getCommandContext().getHistoryManager().recordHistoricDetailVariableCreate(variableInstance, sourceActivityExecution, isActivityIdUsedForDetails());
 
     Context.getCommandContext().getHistoryManager().recordVariableUpdate(variableInstance);
@@ -875,6 +1037,7 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
             .create(variableName, type, value);
     initializeVariableInstanceBackPointer(variableInstance);
     Context.getCommandContext().getVariableInstanceEntityManager().insert(variableInstance);
+    missingVariableNames.remove(variableName);
 
     if (variableInstances != null) {
       variableInstances.put(variableName, variableInstance);
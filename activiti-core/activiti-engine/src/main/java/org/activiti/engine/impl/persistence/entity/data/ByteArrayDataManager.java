@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
@@ -29,4 +30,10 @@ public interface ByteArrayDataManager extends DataManager<ByteArrayEntity> {
 
   void deleteByteArrayNoRevisionCheck(String byteArrayEntityId);
 
+  void insertByteArrayStream(String byteArrayEntityId, String name, InputStream content);
+
+  void updateByteArrayStream(String byteArrayEntityId, InputStream content);
+
+  InputStream openByteArrayStream(String byteArrayEntityId);
+
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.persistence.entity.CommentEntity;
@@ -49,4 +50,6 @@ public interface CommentDataManager extends DataManager<CommentEntity> {
 
   Event findEvent(String commentId);
 
+  List<Comment> findCommentsByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults);
+
 }
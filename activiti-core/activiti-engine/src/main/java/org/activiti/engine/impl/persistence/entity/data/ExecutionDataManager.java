@@ -61,6 +61,8 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
   List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId);
 
+  List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId, String afterProcessInstanceId, int maxResults);
+
   List<Execution> findExecutionsByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   List<ProcessInstance> findProcessInstanceByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
@@ -75,4 +77,6 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
   void clearProcessInstanceLockTime(String processInstanceId);
 
+  int renewProcessInstanceLockTimes(String lockOwner, Collection<String> jobIds, Date lockTime);
+
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -43,4 +44,6 @@ public interface HistoricActivityInstanceDataManager extends DataManager<Histori
 
   long findHistoricActivityInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+  List<HistoricActivityInstanceEntity> findHistoricActivityInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults);
+
 }
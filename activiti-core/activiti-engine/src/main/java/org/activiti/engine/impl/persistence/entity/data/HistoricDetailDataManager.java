@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -48,4 +49,6 @@ public interface HistoricDetailDataManager extends DataManager<HistoricDetailEnt
 
   long findHistoricDetailCountByNativeQuery(Map<String, Object> parameterMap);
 
+  List<HistoricDetailEntity> findHistoricDetailsByProcessInstanceIdAfter(String processInstanceId, String type, Date afterTime, String afterId, int maxResults);
+
 }
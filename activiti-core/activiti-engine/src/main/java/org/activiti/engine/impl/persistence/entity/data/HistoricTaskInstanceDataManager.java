@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -46,4 +47,6 @@ public interface HistoricTaskInstanceDataManager extends DataManager<HistoricTas
 
   long findHistoricTaskInstanceCountByNativeQuery(Map<String, Object> parameterMap);
 
+  List<HistoricTaskInstanceEntity> findHistoricTaskInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults);
+
 }
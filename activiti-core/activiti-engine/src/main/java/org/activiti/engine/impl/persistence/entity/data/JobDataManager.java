@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.JobQueryImpl;
@@ -48,4 +50,8 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   void resetExpiredJob(String jobId);
 
+  int resetExpiredJobs(Collection<String> jobIds, Date now);
+
+  int renewJobLocks(String lockOwner, Collection<String> jobIds, Date lockExpirationTime);
+
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.entity.data;
+
+import java.util.List;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Data access for the rows of the searchable variable index.
+ */
+public interface VariableIndexDataManager extends DataManager<VariableIndexEntity> {
+
+  void deleteVariableIndexById(String id);
+
+  /**
+   * Returns the index row with the given id if it was inserted or loaded in the current command, without querying.
+   */
+  VariableIndexEntity findCachedVariableIndex(String id);
+
+  /**
+   * Updates the value columns of the index row right away and returns the number of updated rows.
+   */
+  int updateVariableIndexValue(VariableIndexEntity variableIndex);
+
+  /**
+   * Inserts the index row right away, instead of when the session is flushed.
+   */
+  void insertVariableIndexValue(VariableIndexEntity variableIndex);
+
+  void deleteVariableIndexesByName(String variableName);
+
+  /**
+   * Locks the row of the given variable until the end of the transaction and returns the number of locked rows,
+   * so 0 when the variable does not exist (anymore).
+   */
+  int lockVariableInstance(String variableInstanceId);
+
+  /**
+   * Ids of the process instance variables with the given name that have no index row yet.
+   */
+  List<String> findUnindexedVariableIdsByName(String variableName, Page page);
+
+  /**
+   * The variable with the given id, if it has no index row yet.
+   */
+  VariableInstanceEntity findUnindexedVariableById(String variableInstanceId);
+
+}
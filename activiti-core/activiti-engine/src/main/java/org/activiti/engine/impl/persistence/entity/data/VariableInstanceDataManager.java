@@ -43,4 +43,6 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
 
   List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
 
+  List<VariableInstanceEntity> findVariableInstancesByScopesAndNames(Collection<String> executionIds, Collection<String> taskIds, Collection<String> names);
+
 }
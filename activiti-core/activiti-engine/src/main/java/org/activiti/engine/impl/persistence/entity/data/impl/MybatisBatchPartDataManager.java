@@ -0,0 +1,54 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity.data.impl;
+
+import java.util.List;
+
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.entity.BatchPartEntity;
+import org.activiti.engine.impl.persistence.entity.BatchPartEntityImpl;
+import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
+import org.activiti.engine.impl.persistence.entity.data.BatchPartDataManager;
+import org.activiti.engine.runtime.BatchPart;
+
+public class MybatisBatchPartDataManager extends AbstractDataManager<BatchPartEntity> implements BatchPartDataManager {
+
+  public MybatisBatchPartDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super(processEngineConfiguration);
+  }
+
+  @Override
+  public Class<? extends BatchPartEntity> getManagedEntityClass() {
+    return BatchPartEntityImpl.class;
+  }
+
+  @Override
+  public BatchPartEntity create() {
+    return new BatchPartEntityImpl();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<BatchPart> findBatchPartsByBatchId(String batchId) {
+    return getDbSqlSession().selectList("selectBatchPartsByBatchId", batchId);
+  }
+
+  @Override
+  public void deleteBatchPartsByBatchId(String batchId) {
+    getDbSqlSession().delete("deleteBatchPartsByBatchId", batchId, BatchPartEntityImpl.class);
+  }
+
+}
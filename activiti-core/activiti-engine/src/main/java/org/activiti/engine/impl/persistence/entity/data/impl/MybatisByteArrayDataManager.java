@@ -16,9 +16,20 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
 import org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
@@ -54,4 +65,135 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
     getDbSqlSession().delete("deleteByteArrayNoRevisionCheck", byteArrayEntityId, ByteArrayEntityImpl.class);
   }
 
+  // Streaming access goes through plain JDBC on the connection of the current session:
+  // MyBatis would materialize the complete BYTES_ value as a byte[] in both directions.
+
+  @Override
+  public void insertByteArrayStream(String byteArrayEntityId, String name, InputStream content) {
+    String sql = "insert into " + getTablePrefix() + "ACT_GE_BYTEARRAY(ID_, REV_, NAME_, BYTES_) values (?, 1, ?, ?)";
+    try (PreparedStatement statement = getConnection().prepareStatement(sql)) {
+      statement.setString(1, byteArrayEntityId);
+      statement.setString(2, name);
+      statement.setBinaryStream(3, content);
+      statement.executeUpdate();
+    } catch (SQLException e) {
+      throw new ActivitiException("Couldn't insert streamed byte array '" + name + "'", e);
+    }
+  }
+
+  @Override
+  public void updateByteArrayStream(String byteArrayEntityId, InputStream content) {
+    String sql = "update " + getTablePrefix() + "ACT_GE_BYTEARRAY set REV_ = REV_ + 1, BYTES_ = ? where ID_ = ?";
+    try (PreparedStatement statement = getConnection().prepareStatement(sql)) {
+      statement.setBinaryStream(1, content);
+      statement.setString(2, byteArrayEntityId);
+      statement.executeUpdate();
+    } catch (SQLException e) {
+      throw new ActivitiException("Couldn't update streamed byte array " + byteArrayEntityId, e);
+    }
+  }
+
+  @Override
+  public InputStream openByteArrayStream(String byteArrayEntityId) {
+    String sql = "select BYTES_ from " + getTablePrefix() + "ACT_GE_BYTEARRAY where ID_ = ?";
+    PreparedStatement statement = null;
+    ResultSet resultSet = null;
+    try {
+      statement = getConnection().prepareStatement(sql);
+      statement.setString(1, byteArrayEntityId);
+      resultSet = statement.executeQuery();
+      InputStream content = resultSet.next() ? resultSet.getBinaryStream(1) : null;
+      if (content == null) {
+        closeSilently(resultSet, statement);
+        return null;
+      }
+
+      ResultSetInputStream resultSetInputStream = new ResultSetInputStream(content, resultSet, statement);
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext != null) {
+        commandContext.addCloseListener(resultSetInputStream);
+      }
+      return resultSetInputStream;
+
+    } catch (SQLException e) {
+      closeSilently(resultSet, statement);
+      throw new ActivitiException("Couldn't open stream on byte array " + byteArrayEntityId, e);
+    }
+  }
+
+  protected Connection getConnection() {
+    return getDbSqlSession().getSqlSession().getConnection();
+  }
+
+  protected String getTablePrefix() {
+    return getDbSqlSession().getDbSqlSessionFactory().getDatabaseTablePrefix();
+  }
+
+  protected static void closeSilently(ResultSet resultSet, PreparedStatement statement) {
+    try {
+      if (resultSet != null) {
+        resultSet.close();
+      }
+    } catch (SQLException e) {
+      // ignore
+    }
+    try {
+      if (statement != null) {
+        statement.close();
+      }
+    } catch (SQLException e) {
+      // ignore
+    }
+  }
+
+  /**
+   * Keeps the JDBC resources backing a streamed BYTES_ value open until the stream is closed,
+   * or until the command context closes, whichever comes first.
+   */
+  protected static class ResultSetInputStream extends FilterInputStream implements CommandContextCloseListener {
+
+    protected ResultSet resultSet;
+    protected PreparedStatement statement;
+    protected boolean closed;
+
+    public ResultSetInputStream(InputStream in, ResultSet resultSet, PreparedStatement statement) {
+      super(in);
+      this.resultSet = resultSet;
+      this.statement = statement;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        try {
+          super.close();
+        } finally {
+          closeSilently(resultSet, statement);
+        }
+      }
+    }
+
+    public void closing(CommandContext commandContext) {
+      try {
+        close();
+      } catch (IOException e) {
+        // ignore
+      }
+    }
+
+    public void afterSessionsFlush(CommandContext commandContext) {
+
+    }
+
+    public void closed(CommandContext commandContext) {
+
+    }
+
+    public void closeFailure(CommandContext commandContext) {
+      closing(commandContext);
+    }
+
+  }
+
 }
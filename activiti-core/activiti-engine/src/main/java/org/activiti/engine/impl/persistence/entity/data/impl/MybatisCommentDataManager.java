@@ -16,11 +16,13 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.OrderedListQueryParameterObject;
 import org.activiti.engine.impl.persistence.entity.CommentEntity;
 import org.activiti.engine.impl.persistence.entity.CommentEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
@@ -115,4 +117,15 @@ public class MybatisCommentDataManager extends AbstractDataManager<CommentEntity
     return findById(commentId);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<Comment> findCommentsByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("processInstanceId", processInstanceId);
+    params.put("afterTime", afterTime);
+    params.put("afterId", afterId);
+    return getDbSqlSession().selectList("selectCommentsByProcessInstanceIdAfter",
+        new OrderedListQueryParameterObject(params, "RES.TIME_ asc, RES.ID_ asc", 0, maxResults), false);
+  }
+
 }
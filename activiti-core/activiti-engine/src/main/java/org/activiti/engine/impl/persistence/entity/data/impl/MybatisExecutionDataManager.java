@@ -235,6 +235,15 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     return getDbSqlSession().selectList("selectProcessInstanceIdsByProcessDefinitionId", processDefinitionId, false);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId, String afterProcessInstanceId, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("processDefinitionId", processDefinitionId);
+    params.put("afterProcessInstanceId", afterProcessInstanceId);
+    return getDbSqlSession().selectList("selectProcessInstanceIdsByProcessDefinitionIdAfterId", params, 0, maxResults, false);
+  }
+
   @Override
   public long findExecutionCountByQueryCriteria(ExecutionQueryImpl executionQuery) {
     return (Long) getDbSqlSession().selectOne("selectExecutionCountByQueryCriteria", executionQuery);
@@ -345,4 +354,14 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     getDbSqlSession().update("clearProcessInstanceLockTime", params);
   }
 
+  @Override
+  public int renewProcessInstanceLockTimes(String lockOwner, Collection<String> jobIds, Date lockTime) {
+    Map<String, Object> params = new HashMap<String, Object>(4);
+    params.put("lockOwner", lockOwner);
+    params.put("jobIds", jobIds);
+    params.put("exclusive", true);
+    params.put("lockTime", lockTime);
+    return getDbSqlSession().update("renewProcessInstanceLockTimes", params);
+  }
+
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import org.activiti.engine.history.HistoricActivityInstance;
 import org.activiti.engine.impl.HistoricActivityInstanceQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.OrderedListQueryParameterObject;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricActivityInstanceEntityImpl;
@@ -94,5 +96,15 @@ public class MybatisHistoricActivityInstanceDataManager extends AbstractDataMana
     return (Long) getDbSqlSession().selectOne("selectHistoricActivityInstanceCountByNativeQuery", parameterMap);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<HistoricActivityInstanceEntity> findHistoricActivityInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("processInstanceId", processInstanceId);
+    params.put("afterTime", afterTime);
+    params.put("afterId", afterId);
+    return getDbSqlSession().selectList("selectHistoricActivityInstancesByProcessInstanceIdAfter",
+        new OrderedListQueryParameterObject(params, "RES.START_TIME_ asc, RES.ID_ asc", 0, maxResults), false);
+  }
 
 }
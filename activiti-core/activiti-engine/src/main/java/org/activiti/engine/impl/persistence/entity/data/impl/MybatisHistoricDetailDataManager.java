@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +25,7 @@ import org.activiti.engine.history.HistoricDetail;
 import org.activiti.engine.impl.HistoricDetailQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.OrderedListQueryParameterObject;
 import org.activiti.engine.impl.persistence.entity.HistoricDetailAssignmentEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricDetailAssignmentEntityImpl;
 import org.activiti.engine.impl.persistence.entity.HistoricDetailEntity;
@@ -101,4 +104,16 @@ public class MybatisHistoricDetailDataManager extends AbstractDataManager<Histor
     return (Long) getDbSqlSession().selectOne("selectHistoricDetailCountByNativeQuery", parameterMap);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<HistoricDetailEntity> findHistoricDetailsByProcessInstanceIdAfter(String processInstanceId, String type, Date afterTime, String afterId, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("processInstanceId", processInstanceId);
+    params.put("type", type);
+    params.put("afterTime", afterTime);
+    params.put("afterId", afterId);
+    return getDbSqlSession().selectList("selectHistoricDetailsByProcessInstanceIdAfter",
+        new OrderedListQueryParameterObject(params, "RES.TIME_ asc, RES.ID_ asc", 0, maxResults), false);
+  }
+
 }
@@ -18,12 +18,15 @@ package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import static java.util.Collections.emptyList;
 
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.history.HistoricTaskInstance;
 import org.activiti.engine.impl.HistoricTaskInstanceQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.OrderedListQueryParameterObject;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricTaskInstanceEntityImpl;
@@ -128,4 +131,15 @@ public class MybatisHistoricTaskInstanceDataManager extends AbstractDataManager<
     return (Long) getDbSqlSession().selectOne("selectHistoricTaskInstanceCountByNativeQuery", parameterMap);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<HistoricTaskInstanceEntity> findHistoricTaskInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("processInstanceId", processInstanceId);
+    params.put("afterTime", afterTime);
+    params.put("afterId", afterId);
+    return getDbSqlSession().selectList("selectHistoricTaskInstancesByProcessInstanceIdAfter",
+        new OrderedListQueryParameterObject(params, "RES.START_TIME_ asc, RES.ID_ asc", 0, maxResults), false);
+  }
+
 }
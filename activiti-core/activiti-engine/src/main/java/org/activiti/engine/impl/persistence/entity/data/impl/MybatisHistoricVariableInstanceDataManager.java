@@ -16,6 +16,8 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +25,7 @@ import org.activiti.engine.history.HistoricVariableInstance;
 import org.activiti.engine.impl.HistoricVariableInstanceQueryImpl;
 import org.activiti.engine.impl.Page;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.OrderedListQueryParameterObject;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntityImpl;
@@ -96,4 +99,15 @@ public class MybatisHistoricVariableInstanceDataManager extends AbstractDataMana
     return (Long) getDbSqlSession().selectOne("selectHistoricVariableInstanceCountByNativeQuery", parameterMap);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<HistoricVariableInstanceEntity> findHistoricVariableInstancesByProcessInstanceIdAfter(String processInstanceId, Date afterTime, String afterId, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("processInstanceId", processInstanceId);
+    params.put("afterTime", afterTime);
+    params.put("afterId", afterId);
+    return getDbSqlSession().selectList("selectHistoricVariableInstancesByProcessInstanceIdAfter",
+        new OrderedListQueryParameterObject(params, "RES.CREATE_TIME_ asc, RES.ID_ asc", 0, maxResults), false);
+  }
+
 }
@@ -16,6 +16,7 @@
 
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -120,4 +121,21 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     getDbSqlSession().update("resetExpiredJob", params);
   }
 
+  @Override
+  public int resetExpiredJobs(Collection<String> jobIds, Date now) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("jobIds", jobIds);
+    params.put("now", now);
+    return getDbSqlSession().update("resetExpiredJobs", params);
+  }
+
+  @Override
+  public int renewJobLocks(String lockOwner, Collection<String> jobIds, Date lockExpirationTime) {
+    Map<String, Object> params = new HashMap<String, Object>(3);
+    params.put("lockOwner", lockOwner);
+    params.put("jobIds", jobIds);
+    params.put("lockExpirationTime", lockExpirationTime);
+    return getDbSqlSession().update("renewJobLocks", params);
+  }
+
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.activiti.engine.impl.persistence.entity.data.impl;
+
+import java.util.List;
+
+import org.activiti.engine.impl.Page;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntity;
+import org.activiti.engine.impl.persistence.entity.VariableIndexEntityImpl;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
+import org.activiti.engine.impl.persistence.entity.data.VariableIndexDataManager;
+
+/**
+ * Index rows are updated and removed by id, so changing or removing a variable never needs
+ * an extra select for its index row.
+ */
+public class MybatisVariableIndexDataManager extends AbstractDataManager<VariableIndexEntity> implements VariableIndexDataManager {
+
+  public MybatisVariableIndexDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    super(processEngineConfiguration);
+  }
+
+  @Override
+  public Class<? extends VariableIndexEntity> getManagedEntityClass() {
+    return VariableIndexEntityImpl.class;
+  }
+
+  @Override
+  public VariableIndexEntity create() {
+    return new VariableIndexEntityImpl();
+  }
+
+  @Override
+  public void deleteVariableIndexById(String id) {
+    getDbSqlSession().delete("deleteVariableIndexById", id, VariableIndexEntityImpl.class);
+  }
+
+  @Override
+  public VariableIndexEntity findCachedVariableIndex(String id) {
+    return getEntityCache().findInCache(getManagedEntityClass(), id);
+  }
+
+  @Override
+  public int updateVariableIndexValue(VariableIndexEntity variableIndex) {
+    return getDbSqlSession().update("updateVariableIndex", variableIndex);
+  }
+
+  @Override
+  public void insertVariableIndexValue(VariableIndexEntity variableIndex) {
+    DbSqlSession dbSqlSession = getDbSqlSession();
+    dbSqlSession.getSqlSession().insert(dbSqlSession.getDbSqlSessionFactory().mapStatement("insertVariableIndex"), variableIndex);
+  }
+
+  @Override
+  public void deleteVariableIndexesByName(String variableName) {
+    getDbSqlSession().delete("deleteVariableIndexesByName", variableName, VariableIndexEntityImpl.class);
+  }
+
+  @Override
+  public int lockVariableInstance(String variableInstanceId) {
+    return getDbSqlSession().update("lockVariableInstanceForIndex", variableInstanceId);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findUnindexedVariableIdsByName(String variableName, Page page) {
+    return getDbSqlSession().selectList("selectUnindexedVariableIdsByName", variableName, page);
+  }
+
+  @Override
+  public VariableInstanceEntity findUnindexedVariableById(String variableInstanceId) {
+    return (VariableInstanceEntity) getDbSqlSession().selectOne("selectUnindexedVariableById", variableInstanceId);
+  }
+
+}
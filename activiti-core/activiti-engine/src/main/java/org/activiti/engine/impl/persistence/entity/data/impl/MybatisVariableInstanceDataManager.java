@@ -110,4 +110,14 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariableInstancesByTaskAndNames", params);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<VariableInstanceEntity> findVariableInstancesByScopesAndNames(Collection<String> executionIds, Collection<String> taskIds, Collection<String> names) {
+    Map<String, Object> params = new HashMap<String, Object>(3);
+    params.put("executionIds", executionIds);
+    params.put("taskIds", taskIds);
+    params.put("names", names);
+    return getDbSqlSession().selectList("selectVariableInstancesByScopesAndNames", params);
+  }
+
 }
@@ -16,11 +16,17 @@
 
 package org.activiti.engine.impl.scripting;
 
-import java.util.HashMap;
+import static java.util.Collections.synchronizedMap;
+
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -40,31 +46,52 @@ public class ScriptingEngines {
   public static final String DEFAULT_SCRIPTING_LANGUAGE = "juel";
   public static final String GROOVY_SCRIPTING_LANGUAGE = "groovy";
 
-  private final ScriptEngineManager scriptEngineManager;
+  /**
+   * Created on first use: looking up the available script engine factories scans the whole classpath,
+   * which is wasted startup time for engines that never run a script task.
+   */
+  private volatile ScriptEngineManager scriptEngineManager;
+  private final ClassLoader scriptEngineClassLoader;
   protected ScriptBindingsFactory scriptBindingsFactory;
 
+  public static final int DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT = 1000;
+
   protected boolean cacheScriptingEngines = true;
   protected Map<String, ScriptEngine> cachedEngines;
 
+  /**
+   * Compiled scripts of the cached {@link Compilable} engines, keyed by language and script text, so script tasks
+   * and listeners don't recompile the same script for every execution. Least recently used scripts are evicted
+   * beyond the limit. Engines that are not cached, like Nashorn for JavaScript, don't benefit from it, see
+   * {@link #isCompiledScriptCacheable(String, ScriptEngine)}.
+   */
+  protected boolean cacheCompiledScripts = true;
+  protected int compiledScriptCacheLimit = DEFAULT_COMPILED_SCRIPT_CACHE_LIMIT;
+  protected volatile Map<CompiledScriptKey, CompiledScript> compiledScripts;
+  protected final AtomicLong compiledScriptCacheHits = new AtomicLong();
+  protected final AtomicLong compiledScriptCacheMisses = new AtomicLong();
+
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
-    this(new ScriptEngineManager());
+    this((ScriptEngineManager) null);
     this.scriptBindingsFactory = scriptBindingsFactory;
   }
 
   public ScriptingEngines(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
-    cachedEngines = new HashMap<String, ScriptEngine>();
+    // same class loader an eagerly created manager would have used
+    this.scriptEngineClassLoader = Thread.currentThread().getContextClassLoader();
+    cachedEngines = new ConcurrentHashMap<String, ScriptEngine>();
   }
 
   public ScriptingEngines addScriptEngineFactory(ScriptEngineFactory scriptEngineFactory) {
-    scriptEngineManager.registerEngineName(scriptEngineFactory.getEngineName(), scriptEngineFactory);
+    getScriptEngineManager().registerEngineName(scriptEngineFactory.getEngineName(), scriptEngineFactory);
     return this;
   }
 
   public void setScriptEngineFactories(List<ScriptEngineFactory> scriptEngineFactories) {
     if (scriptEngineFactories != null) {
       for (ScriptEngineFactory scriptEngineFactory : scriptEngineFactories) {
-        scriptEngineManager.registerEngineName(scriptEngineFactory.getEngineName(), scriptEngineFactory);
+        getScriptEngineManager().registerEngineName(scriptEngineFactory.getEngineName(), scriptEngineFactory);
       }
     }
   }
@@ -77,6 +104,20 @@ public class ScriptingEngines {
     return evaluate(script, language, createBindings(variableScope, storeScriptVariables));
   }
 
+  protected ScriptEngineManager getScriptEngineManager() {
+    ScriptEngineManager manager = scriptEngineManager;
+    if (manager == null) {
+      synchronized (this) {
+        manager = scriptEngineManager;
+        if (manager == null) {
+          manager = new ScriptEngineManager(scriptEngineClassLoader);
+          scriptEngineManager = manager;
+        }
+      }
+    }
+    return manager;
+  }
+
   public void setCacheScriptingEngines(boolean cacheScriptingEngines) {
     this.cacheScriptingEngines = cacheScriptingEngines;
   }
@@ -85,22 +126,112 @@ public class ScriptingEngines {
     return cacheScriptingEngines;
   }
 
+  public void setCacheCompiledScripts(boolean cacheCompiledScripts) {
+    this.cacheCompiledScripts = cacheCompiledScripts;
+  }
+
+  public boolean isCacheCompiledScripts() {
+    return cacheCompiledScripts;
+  }
+
+  public void setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+    this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+    this.compiledScripts = null;
+  }
+
+  public int getCompiledScriptCacheLimit() {
+    return compiledScriptCacheLimit;
+  }
+
+  public long getCompiledScriptCacheHits() {
+    return compiledScriptCacheHits.get();
+  }
+
+  public long getCompiledScriptCacheMisses() {
+    return compiledScriptCacheMisses.get();
+  }
+
+  public int getCompiledScriptCount() {
+    Map<CompiledScriptKey, CompiledScript> scripts = compiledScripts;
+    return scripts != null ? scripts.size() : 0;
+  }
+
+  public void clearCompiledScripts() {
+    compiledScripts = null;
+  }
+
   protected Object evaluate(String script, String language, Bindings bindings) {
     ScriptEngine scriptEngine = getEngineByName(language);
     try {
+      if (isCompiledScriptCacheable(language, scriptEngine)) {
+        return getCompiledScript(script, language, scriptEngine).eval(bindings);
+      }
       return scriptEngine.eval(script, bindings);
     } catch (ScriptException e) {
       throw new ActivitiException("problem evaluating script: " + e.getMessage(), e);
     }
   }
 
+  /**
+   * Only scripts of engines that are cached, hence shared across threads anyway, are compiled once and reused.
+   * Juel is left out: it resolves the variables of the compile time context into the compiled expression.
+   *
+   * Engines are only cached when their factory reports a THREADING parameter. Nashorn doesn't, so every JavaScript
+   * evaluation gets a new engine and its scripts are compiled on each evaluation, as before. A script compiled by
+   * one engine stays bound to it, and sharing a Nashorn engine between threads would share its global state, so
+   * its compiled scripts are not cached per engine instance either.
+   */
+  protected boolean isCompiledScriptCacheable(String language, ScriptEngine scriptEngine) {
+    return cacheCompiledScripts
+        && compiledScriptCacheLimit > 0
+        && scriptEngine instanceof Compilable
+        && !(scriptEngine instanceof JuelScriptEngine)
+        && cachedEngines.get(language) == scriptEngine;
+  }
+
+  protected CompiledScript getCompiledScript(String script, String language, ScriptEngine scriptEngine) throws ScriptException {
+    Map<CompiledScriptKey, CompiledScript> scripts = getCompiledScripts();
+    CompiledScriptKey key = new CompiledScriptKey(language, script);
+    CompiledScript compiledScript = scripts.get(key);
+    if (compiledScript != null) {
+      compiledScriptCacheHits.incrementAndGet();
+      return compiledScript;
+    }
+
+    compiledScriptCacheMisses.incrementAndGet();
+    compiledScript = ((Compilable) scriptEngine).compile(script);
+    scripts.put(key, compiledScript);
+    return compiledScript;
+  }
+
+  protected Map<CompiledScriptKey, CompiledScript> getCompiledScripts() {
+    Map<CompiledScriptKey, CompiledScript> scripts = compiledScripts;
+    if (scripts == null) {
+      synchronized (this) {
+        scripts = compiledScripts;
+        if (scripts == null) {
+          final int limit = compiledScriptCacheLimit;
+          scripts = synchronizedMap(new LinkedHashMap<CompiledScriptKey, CompiledScript>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<CompiledScriptKey, CompiledScript> eldest) {
+              return size() > limit;
+            }
+          });
+          compiledScripts = scripts;
+        }
+      }
+    }
+    return scripts;
+  }
+
   protected ScriptEngine getEngineByName(String language) {
     ScriptEngine scriptEngine = null;
 
     if (cacheScriptingEngines) {
       scriptEngine = cachedEngines.get(language);
       if (scriptEngine == null) {
-        scriptEngine = scriptEngineManager.getEngineByName(language);
+        scriptEngine = getScriptEngineManager().getEngineByName(language);
 
         if (scriptEngine != null) {
           // ACT-1858: Special handling for groovy engine regarding GC
@@ -119,12 +250,16 @@ public class ScriptingEngines {
           if (threadingParameter != null) {
             // Add engine to cache as any non-null result from the
             // threading-parameter indicates at least MT-access
-            cachedEngines.put(language, scriptEngine);
+            ScriptEngine cachedEngine = cachedEngines.putIfAbsent(language, scriptEngine);
+            if (cachedEngine != null) {
+              // another thread created the engine concurrently, use the cached one
+              scriptEngine = cachedEngine;
+            }
           }
         }
       }
     } else {
-      scriptEngine = scriptEngineManager.getEngineByName(language);
+      scriptEngine = getScriptEngineManager().getEngineByName(language);
     }
 
     if (scriptEngine == null) {
@@ -150,4 +285,36 @@ public class ScriptingEngines {
   public void setScriptBindingsFactory(ScriptBindingsFactory scriptBindingsFactory) {
     this.scriptBindingsFactory = scriptBindingsFactory;
   }
+
+  /**
+   * Key of a compiled script: the language and the full script text. The hash code is computed from both on every
+   * call, which is cheap as {@link String} caches its own hash code.
+   */
+  protected static class CompiledScriptKey {
+
+    protected final String language;
+    protected final String script;
+
+    public CompiledScriptKey(String language, String script) {
+      this.language = language;
+      this.script = script;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * language.hashCode() + script.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CompiledScriptKey)) {
+        return false;
+      }
+      CompiledScriptKey other = (CompiledScriptKey) obj;
+      return language.equals(other.language) && script.equals(other.script);
+    }
+  }
 }
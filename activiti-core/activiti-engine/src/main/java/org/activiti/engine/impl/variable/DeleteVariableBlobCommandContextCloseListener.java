@@ -0,0 +1,59 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
+
+/**
+ * Deletes content from a {@link VariableBlobStore} depending on the outcome of the command,
+ * as the blob store doesn't take part in the transaction:
+ * replaced content is deleted once the command succeeded, new content is deleted when it failed.
+ */
+public class DeleteVariableBlobCommandContextCloseListener implements CommandContextCloseListener {
+
+  protected VariableBlobStore blobStore;
+  protected String key;
+  protected boolean deleteOnSuccess;
+
+  public DeleteVariableBlobCommandContextCloseListener(VariableBlobStore blobStore, String key, boolean deleteOnSuccess) {
+    this.blobStore = blobStore;
+    this.key = key;
+    this.deleteOnSuccess = deleteOnSuccess;
+  }
+
+  public void closing(CommandContext commandContext) {
+
+  }
+
+  public void afterSessionsFlush(CommandContext commandContext) {
+
+  }
+
+  public void closed(CommandContext commandContext) {
+    if (deleteOnSuccess) {
+      blobStore.delete(key);
+    }
+  }
+
+  public void closeFailure(CommandContext commandContext) {
+    if (!deleteOnSuccess) {
+      blobStore.delete(key);
+    }
+  }
+
+}
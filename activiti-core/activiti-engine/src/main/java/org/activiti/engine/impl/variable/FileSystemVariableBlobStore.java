@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+
+/**
+ * {@link VariableBlobStore} keeping every value in its own file in a local (or mounted) directory.
+ */
+public class FileSystemVariableBlobStore implements VariableBlobStore {
+
+  protected Path directory;
+
+  public FileSystemVariableBlobStore(File directory) {
+    this.directory = directory.toPath();
+    try {
+      Files.createDirectories(this.directory);
+    } catch (IOException e) {
+      throw new ActivitiException("Couldn't create variable blob store directory " + directory, e);
+    }
+  }
+
+  public String store(String variableName, InputStream content) {
+    String key = UUID.randomUUID().toString();
+    try {
+      Files.copy(content, resolve(key));
+    } catch (IOException e) {
+      throw new ActivitiException("Couldn't store content of variable '" + variableName + "' in " + directory, e);
+    }
+    return key;
+  }
+
+  public InputStream read(String key) {
+    try {
+      return Files.newInputStream(resolve(key));
+    } catch (IOException e) {
+      throw new ActivitiException("Couldn't read variable content " + key + " from " + directory, e);
+    }
+  }
+
+  public void delete(String key) {
+    try {
+      Files.deleteIfExists(resolve(key));
+    } catch (IOException e) {
+      throw new ActivitiException("Couldn't delete variable content " + key + " from " + directory, e);
+    }
+  }
+
+  protected Path resolve(String key) {
+    Path file = directory.resolve(key).normalize();
+    if (!directory.equals(file.getParent())) {
+      throw new ActivitiIllegalArgumentException("Invalid variable content key " + key);
+    }
+    return file;
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cmd.CopyByteArrayContentCmd;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.entity.ByteArrayRef;
+import org.activiti.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+/**
+ * Variable type for {@link InputStream} values whose content is streamed to and from storage,
+ * instead of being materialized as a byte[] like the {@link ByteArrayType} does.
+ *
+ * The content is kept in ACT_GE_BYTEARRAY, read and written through JDBC streams, or in the
+ * {@link VariableBlobStore} when one is configured (the key is then kept in TEXT2_).
+ * The value of such a variable is a {@link LazyInputStream}: the content is only opened when it is read.
+ * Within a command, database content is streamed. Outside of one (e.g. after RuntimeService#getVariable returned)
+ * the JDBC stream can't outlive the command, so the content is first streamed to a temporary file by a
+ * {@link CopyByteArrayContentCmd}; the file is deleted when the stream is closed.
+ *
+ * The historic variable references the same content instead of copying it, and takes it over when
+ * history is recorded: the content then stays when the runtime variable is deleted at process end.
+ */
+public class InputStreamType implements VariableType {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String TYPE_NAME = "stream";
+
+  public String getTypeName() {
+    return TYPE_NAME;
+  }
+
+  public boolean isCachable() {
+    return false;
+  }
+
+  public boolean isAbleToStore(Object value) {
+    return value instanceof InputStream;
+  }
+
+  public Object getValue(ValueFields valueFields) {
+    String key = valueFields.getTextValue2();
+    ByteArrayRef byteArrayRef = getByteArrayRef(valueFields);
+    String byteArrayId = byteArrayRef != null ? byteArrayRef.getId() : null;
+    if (key == null && byteArrayId == null) {
+      return null;
+    }
+
+    String variableName = valueFields.getName();
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return new LazyInputStream(() -> openContent(processEngineConfiguration, variableName, key, byteArrayId));
+  }
+
+  protected InputStream openContent(ProcessEngineConfigurationImpl processEngineConfiguration, String variableName, String key, String byteArrayId) {
+    if (processEngineConfiguration == null) {
+      processEngineConfiguration = Context.getProcessEngineConfiguration();
+    }
+
+    if (key != null) {
+      return getBlobStore(processEngineConfiguration, variableName).read(key);
+    }
+
+    if (Context.getCommandContext() != null) {
+      return Context.getCommandContext().getByteArrayEntityManager().openByteArrayStream(byteArrayId);
+    }
+
+    if (processEngineConfiguration == null) {
+      throw new ActivitiException("Couldn't read content of variable '" + variableName + "': no process engine available");
+    }
+    return copyToTemporaryFile(processEngineConfiguration, variableName, byteArrayId);
+  }
+
+  /**
+   * Outside of a command the content is streamed to a temporary file by a command of its own, so it is never
+   * held in memory. The file is deleted when the returned stream is closed.
+   */
+  protected InputStream copyToTemporaryFile(ProcessEngineConfigurationImpl processEngineConfiguration, String variableName, String byteArrayId) {
+    Path file = null;
+    try {
+      file = Files.createTempFile("activiti-variable-", ".tmp");
+      boolean exists;
+      try (OutputStream target = Files.newOutputStream(file)) {
+        exists = processEngineConfiguration.getCommandExecutor().execute(new CopyByteArrayContentCmd(byteArrayId, target));
+      }
+      if (!exists) {
+        Files.delete(file);
+        return null;
+      }
+      return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+
+    } catch (IOException e) {
+      deleteSilently(file);
+      throw new ActivitiException("Couldn't read content of variable '" + variableName + "'", e);
+    } catch (RuntimeException e) {
+      deleteSilently(file);
+      throw e;
+    }
+  }
+
+  protected void deleteSilently(Path file) {
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        // the file is left in the temporary directory
+      }
+    }
+  }
+
+  public void setValue(Object value, ValueFields valueFields) {
+    if (!(valueFields instanceof VariableInstanceEntity)) {
+      throw new ActivitiIllegalArgumentException("Streamed content can only be set on a variable instance, not on " + valueFields);
+    }
+    VariableInstanceEntity variableInstance = (VariableInstanceEntity) valueFields;
+
+    if (value == null) {
+      deleteContent(variableInstance);
+      return;
+    }
+
+    InputStream content = (InputStream) value;
+    VariableBlobStore blobStore = Context.getProcessEngineConfiguration().getVariableBlobStore();
+    if (blobStore != null) {
+      String key = blobStore.store(variableInstance.getName(), content);
+      Context.getCommandContext().addCloseListener(new DeleteVariableBlobCommandContextCloseListener(blobStore, key, false));
+      deleteContent(variableInstance);
+      variableInstance.setTextValue2(key);
+
+    } else {
+      releaseBlob(variableInstance);
+      variableInstance.setBytesStream(content);
+    }
+  }
+
+  /**
+   * Removes the content referenced by the given variable: database content is deleted with the transaction,
+   * blob store content once the transaction has been committed.
+   */
+  public void deleteContent(ValueFields valueFields) {
+    releaseBlob(valueFields);
+    ByteArrayRef byteArrayRef = getByteArrayRef(valueFields);
+    if (byteArrayRef != null) {
+      byteArrayRef.delete();
+    }
+  }
+
+  protected void releaseBlob(ValueFields valueFields) {
+    String key = valueFields.getTextValue2();
+    if (key != null) {
+      VariableBlobStore blobStore = getBlobStore(Context.getProcessEngineConfiguration(), valueFields.getName());
+      Context.getCommandContext().addCloseListener(new DeleteVariableBlobCommandContextCloseListener(blobStore, key, true));
+      valueFields.setTextValue2(null);
+    }
+  }
+
+  protected VariableBlobStore getBlobStore(ProcessEngineConfigurationImpl processEngineConfiguration, String variableName) {
+    VariableBlobStore blobStore = processEngineConfiguration != null ? processEngineConfiguration.getVariableBlobStore() : null;
+    if (blobStore == null) {
+      throw new ActivitiException("Content of variable '" + variableName + "' is kept in a variable blob store, but none is configured");
+    }
+    return blobStore;
+  }
+
+  protected ByteArrayRef getByteArrayRef(ValueFields valueFields) {
+    if (valueFields instanceof VariableInstanceEntity) {
+      return ((VariableInstanceEntity) valueFields).getByteArrayRef();
+    } else if (valueFields instanceof HistoricVariableInstanceEntity) {
+      return ((HistoricVariableInstanceEntity) valueFields).getByteArrayRef();
+    } else if (valueFields instanceof HistoricDetailVariableInstanceUpdateEntity) {
+      return ((HistoricDetailVariableInstanceUpdateEntity) valueFields).getByteArrayRef();
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+/**
+ * {@link InputStream} that only opens the underlying stream on first use,
+ * so handing out the value of a streamed variable doesn't touch its content.
+ */
+public class LazyInputStream extends InputStream {
+
+  protected Supplier<InputStream> opener;
+  protected InputStream delegate;
+  protected boolean closed;
+
+  public LazyInputStream(Supplier<InputStream> opener) {
+    this.opener = opener;
+  }
+
+  protected InputStream getDelegate() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+    if (delegate == null) {
+      delegate = opener.get();
+      if (delegate == null) {
+        delegate = new ByteArrayInputStream(new byte[0]);
+      }
+    }
+    return delegate;
+  }
+
+  @Override
+  public int read() throws IOException {
+    return getDelegate().read();
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    return getDelegate().read(b, off, len);
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    return getDelegate().skip(n);
+  }
+
+  @Override
+  public int available() throws IOException {
+    return getDelegate().available();
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    if (delegate != null) {
+      delegate.close();
+    }
+  }
+
+  public boolean isOpened() {
+    return delegate != null;
+  }
+
+}
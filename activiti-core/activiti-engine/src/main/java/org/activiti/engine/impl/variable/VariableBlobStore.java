@@ -0,0 +1,47 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.impl.variable;
+
+import java.io.InputStream;
+
+/**
+ * External storage for the content of streamed variables (see {@link InputStreamType}).
+ *
+ * When configured on the process engine configuration, streamed variable content is written to the
+ * blob store and only its key is kept in the variable (TEXT2_ column) instead of in ACT_GE_BYTEARRAY.
+ *
+ * Content is never overwritten: every value gets a new key, and replaced or deleted content is removed
+ * only once the transaction that replaced it has been committed.
+ */
+public interface VariableBlobStore {
+
+  /**
+   * Stores the content and returns the key under which it can be read again.
+   */
+  String store(String variableName, InputStream content);
+
+  /**
+   * Opens the content stored under the given key.
+   */
+  InputStream read(String key);
+
+  /**
+   * Deletes the content stored under the given key. Deleting an unknown key is a no-op.
+   */
+  void delete(String key);
+
+}
@@ -18,6 +18,7 @@
 package org.activiti.engine.query;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.api.internal.Internal;
@@ -62,4 +63,13 @@ public interface Query<T extends Query<?, ?>, U> {
 
   /** Executes the query and get a list of entities as the result. */
   List<U> listPage(int firstResult, int maxResults);
+
+  /**
+   * Executes the query and passes the resulting entities one by one to the consumer, within a single transaction.
+   *
+   * Queries over history data read their results through a database cursor, so memory use does not depend on the
+   * number of results. These entities are not cached by the engine: they must be treated as read-only. Other queries
+   * pass the results of {@link #list()}.
+   */
+  void forEach(Consumer<? super U> consumer);
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.runtime;
+
+import java.util.Date;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * A long running operation over the process instances of a process definition, split into chunks
+ * ({@link BatchPart batch parts}) that are executed one after the other by the async executor, each in its own
+ * transaction.
+ */
+@Internal
+public interface Batch {
+
+  String TYPE_SUSPEND_PROCESS_INSTANCES = "suspend-process-instances";
+  String TYPE_ACTIVATE_PROCESS_INSTANCES = "activate-process-instances";
+  String TYPE_DELETE_PROCESS_INSTANCES = "delete-process-instances";
+  String TYPE_MIGRATE_PROCESS_INSTANCES = "migrate-process-instances";
+
+  String STATUS_EXECUTING = "executing";
+  String STATUS_PAUSED = "paused";
+  String STATUS_COMPLETED = "completed";
+
+  String getId();
+
+  /**
+   * One of the TYPE_ constants, or the type of a custom operation registered on the engine configuration.
+   */
+  String getType();
+
+  /**
+   * One of the STATUS_ constants.
+   */
+  String getStatus();
+
+  /**
+   * The id of the process definition whose process instances are processed.
+   */
+  String getSearchKey();
+
+  /**
+   * Operation specific configuration, e.g. the delete reason or the target process definition version.
+   */
+  String getConfiguration();
+
+  /**
+   * The maximum number of process instances handled by a single batch part.
+   */
+  int getChunkSize();
+
+  /**
+   * The number of process instances found when the batch was created.
+   */
+  int getTotal();
+
+  /**
+   * The number of process instances processed so far, failures included.
+   */
+  int getProcessedCount();
+
+  /**
+   * The number of process instances for which the operation failed.
+   */
+  int getFailedCount();
+
+  Date getCreateTime();
+
+  Date getCompleteTime();
+
+  String getTenantId();
+
+}
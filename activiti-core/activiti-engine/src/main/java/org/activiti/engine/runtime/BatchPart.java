@@ -0,0 +1,78 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.runtime;
+
+import java.util.Date;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * One chunk of a {@link Batch}: the process instances following {@link #getStartAfterId()} in id order, up to the
+ * chunk size of the batch.
+ */
+@Internal
+public interface BatchPart {
+
+  String STATUS_WAITING = "waiting";
+
+  /**
+   * The chunk of the part failed, its process instances are handled one per job so that only broken ones fail.
+   */
+  String STATUS_ISOLATING = "isolating";
+
+  String STATUS_COMPLETED = "completed";
+
+  int MAX_FAILURE_LENGTH = 2000;
+
+  String getId();
+
+  String getBatchId();
+
+  /**
+   * One of the STATUS_ constants.
+   */
+  String getStatus();
+
+  /**
+   * The id of the job executing this part, or null when no job is pending (e.g. the batch is paused).
+   */
+  String getJobId();
+
+  /**
+   * The exclusive lower bound of the process instance ids handled by this part, null for the first part.
+   */
+  String getStartAfterId();
+
+  /**
+   * The id of the last process instance handled by this part, once completed or while isolating.
+   */
+  String getLastId();
+
+  int getProcessedCount();
+
+  int getFailedCount();
+
+  /**
+   * Report of the process instances the operation failed for, one "id: message" line each. Truncated to
+   * {@link #MAX_FAILURE_LENGTH} characters.
+   */
+  String getFailure();
+
+  Date getCreateTime();
+
+  Date getCompleteTime();
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.runtime;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * A single message to be correlated to a waiting message event subscription,
+ * identified by message name and correlation key.
+ *
+ * Instances are passed to {@link org.activiti.engine.RuntimeService#correlateMessages(java.util.List)}.
+ */
+@Internal
+public class MessageCorrelation implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final String messageName;
+  protected final String correlationKey;
+  protected final Map<String, Object> processVariables;
+
+  public MessageCorrelation(String messageName, String correlationKey, Map<String, Object> processVariables) {
+    this.messageName = messageName;
+    this.correlationKey = correlationKey;
+    this.processVariables = processVariables != null ? new HashMap<String, Object>(processVariables) : null;
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public String getCorrelationKey() {
+    return correlationKey;
+  }
+
+  public Map<String, Object> getProcessVariables() {
+    return processVariables;
+  }
+
+}
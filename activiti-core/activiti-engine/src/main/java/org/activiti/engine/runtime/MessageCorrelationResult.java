@@ -0,0 +1,81 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.runtime;
+
+import java.io.Serializable;
+
+import org.activiti.engine.api.internal.Internal;
+
+/**
+ * Outcome of correlating a single {@link MessageCorrelation}.
+ */
+@Internal
+public class MessageCorrelationResult implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public enum Status {
+    /** The message was delivered to the waiting execution. */
+    CORRELATED,
+    /** No message event subscription matches the message name and correlation key. */
+    NOT_FOUND,
+    /** A subscription was found, but its execution is suspended. */
+    SUSPENDED
+  }
+
+  protected final String messageName;
+  protected final String correlationKey;
+  protected final Status status;
+  protected final String executionId;
+  protected final String processInstanceId;
+
+  public MessageCorrelationResult(String messageName, String correlationKey, Status status, String executionId, String processInstanceId) {
+    this.messageName = messageName;
+    this.correlationKey = correlationKey;
+    this.status = status;
+    this.executionId = executionId;
+    this.processInstanceId = processInstanceId;
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public String getCorrelationKey() {
+    return correlationKey;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public boolean isCorrelated() {
+    return status == Status.CORRELATED;
+  }
+
+  /**
+   * @return the id of the execution the message was delivered to, or null when no subscription was found.
+   */
+  public String getExecutionId() {
+    return executionId;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+}
@@ -6,10 +6,10 @@ create table ACT_GE_PROPERTY (
 );
 
 insert into ACT_GE_PROPERTY
-values ('schema.version', '7.1.0-M6', 1);
+values ('schema.version', '7.1.0-M8', 1);
 
 insert into ACT_GE_PROPERTY
-values ('schema.history', 'create(7.1.0-M6)', 1);
+values ('schema.history', 'create(7.1.0-M8)', 1);
 
 insert into ACT_GE_PROPERTY
 values ('next.dbid', '1', 1);
@@ -291,6 +291,50 @@ create table ACT_RU_INTEGRATION (
     primary key (ID_)
 );
 
+create table ACT_RU_VAR_INDEX (
+    ID_ varchar(64) not null,
+    TYPE_ varchar(255) not null,
+    NAME_ varchar(255) not null,
+    PROC_INST_ID_ varchar(64) not null,
+    DOUBLE_ double precision,
+    LONG_ bigint,
+    TEXT_ varchar(255),
+    primary key (ID_)
+);
+
+create table ACT_RU_BATCH (
+    ID_ varchar(64) not null,
+    REV_ integer,
+    TYPE_ varchar(64) not null,
+    STATUS_ varchar(64) not null,
+    SEARCH_KEY_ varchar(255),
+    CONFIG_ varchar(4000),
+    CHUNK_SIZE_ integer,
+    TOTAL_ integer,
+    PROCESSED_ integer,
+    FAILED_ integer,
+    CREATE_TIME_ timestamp,
+    COMPLETE_TIME_ timestamp,
+    TENANT_ID_ varchar(255) default '',
+    primary key (ID_)
+);
+
+create table ACT_RU_BATCH_PART (
+    ID_ varchar(64) not null,
+    REV_ integer,
+    BATCH_ID_ varchar(64) not null,
+    STATUS_ varchar(64) not null,
+    JOB_ID_ varchar(64),
+    START_AFTER_ID_ varchar(64),
+    LAST_ID_ varchar(64),
+    PROCESSED_ integer,
+    FAILED_ integer,
+    FAILURE_ varchar(4000),
+    CREATE_TIME_ timestamp,
+    COMPLETE_TIME_ timestamp,
+    primary key (ID_)
+);
+
 create index ACT_IDX_EXEC_BUSKEY on ACT_RU_EXECUTION(BUSINESS_KEY_);
 create index ACT_IDC_EXEC_ROOT on ACT_RU_EXECUTION(ROOT_PROC_INST_ID_);
 create index ACT_IDX_TASK_CREATE on ACT_RU_TASK(CREATE_TIME_);
@@ -298,6 +342,10 @@ create index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK(USER_ID_);
 create index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK(GROUP_ID_);
 create index ACT_IDX_EVENT_SUBSCR_CONFIG_ on ACT_RU_EVENT_SUBSCR(CONFIGURATION_);
 create index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE(TASK_ID_);
+create index ACT_IDX_VAR_INDEX_TEXT on ACT_RU_VAR_INDEX(NAME_, TEXT_);
+create index ACT_IDX_VAR_INDEX_LONG on ACT_RU_VAR_INDEX(NAME_, LONG_);
+create index ACT_IDX_VAR_INDEX_PROCINST on ACT_RU_VAR_INDEX(PROC_INST_ID_);
+create index ACT_IDX_BATCH_PART_BATCH on ACT_RU_BATCH_PART(BATCH_ID_);
 create index ACT_IDX_ATHRZ_PROCEDEF on ACT_RU_IDENTITYLINK(PROC_DEF_ID_);
 create index ACT_IDX_EXECUTION_PROC on ACT_RU_EXECUTION(PROC_DEF_ID_);
 create index ACT_IDX_EXECUTION_PARENT on ACT_RU_EXECUTION(PARENT_ID_);
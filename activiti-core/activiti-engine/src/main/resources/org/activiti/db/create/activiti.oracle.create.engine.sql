@@ -293,6 +293,50 @@ create table ACT_RU_INTEGRATION (
     primary key (ID_)
 );
 
+create table ACT_RU_VAR_INDEX (
+    ID_ NVARCHAR2(64) not null,
+    TYPE_ NVARCHAR2(255) not null,
+    NAME_ NVARCHAR2(255) not null,
+    PROC_INST_ID_ NVARCHAR2(64) not null,
+    DOUBLE_ NUMBER(*,10),
+    LONG_ NUMBER(19,0),
+    TEXT_ NVARCHAR2(255),
+    primary key (ID_)
+);
+
+create table ACT_RU_BATCH (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER,
+    TYPE_ NVARCHAR2(64) not null,
+    STATUS_ NVARCHAR2(64) not null,
+    SEARCH_KEY_ NVARCHAR2(255),
+    CONFIG_ NVARCHAR2(2000),
+    CHUNK_SIZE_ INTEGER,
+    TOTAL_ INTEGER,
+    PROCESSED_ INTEGER,
+    FAILED_ INTEGER,
+    CREATE_TIME_ TIMESTAMP(6),
+    COMPLETE_TIME_ TIMESTAMP(6),
+    TENANT_ID_ NVARCHAR2(255) DEFAULT '',
+    primary key (ID_)
+);
+
+create table ACT_RU_BATCH_PART (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER,
+    BATCH_ID_ NVARCHAR2(64) not null,
+    STATUS_ NVARCHAR2(64) not null,
+    JOB_ID_ NVARCHAR2(64),
+    START_AFTER_ID_ NVARCHAR2(64),
+    LAST_ID_ NVARCHAR2(64),
+    PROCESSED_ INTEGER,
+    FAILED_ INTEGER,
+    FAILURE_ NVARCHAR2(2000),
+    CREATE_TIME_ TIMESTAMP(6),
+    COMPLETE_TIME_ TIMESTAMP(6),
+    primary key (ID_)
+);
+
 create index ACT_IDX_EXEC_BUSKEY on ACT_RU_EXECUTION(BUSINESS_KEY_);
 create index ACT_IDX_EXEC_ROOT on ACT_RU_EXECUTION(ROOT_PROC_INST_ID_);
 create index ACT_IDX_TASK_CREATE on ACT_RU_TASK(CREATE_TIME_);
@@ -300,6 +344,10 @@ create index ACT_IDX_IDENT_LNK_USER on ACT_RU_IDENTITYLINK(USER_ID_);
 create index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK(GROUP_ID_);
 create index ACT_IDX_EVENT_SUBSCR_CONFIG_ on ACT_RU_EVENT_SUBSCR(CONFIGURATION_);
 create index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE(TASK_ID_);
+create index ACT_IDX_VAR_INDEX_TEXT on ACT_RU_VAR_INDEX(NAME_, TEXT_);
+create index ACT_IDX_VAR_INDEX_LONG on ACT_RU_VAR_INDEX(NAME_, LONG_);
+create index ACT_IDX_VAR_INDEX_PROCINST on ACT_RU_VAR_INDEX(PROC_INST_ID_);
+create index ACT_IDX_BATCH_PART_BATCH on ACT_RU_BATCH_PART(BATCH_ID_);
 
 create index ACT_IDX_BYTEAR_DEPL on ACT_GE_BYTEARRAY(DEPLOYMENT_ID_);
 alter table ACT_GE_BYTEARRAY
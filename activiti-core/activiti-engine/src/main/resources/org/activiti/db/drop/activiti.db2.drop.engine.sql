@@ -139,3 +139,6 @@ drop table ACT_RU_EVENT_SUBSCR;
 drop table ACT_EVT_LOG;
 drop table ACT_PROCDEF_INFO;
 drop table ACT_RU_INTEGRATION;
+drop table ACT_RU_VAR_INDEX;
+drop table ACT_RU_BATCH_PART;
+drop table ACT_RU_BATCH;
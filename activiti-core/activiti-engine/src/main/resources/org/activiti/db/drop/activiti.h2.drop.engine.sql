@@ -15,6 +15,9 @@ drop table if exists ACT_RU_EVENT_SUBSCR cascade constraints;
 drop table if exists ACT_EVT_LOG cascade constraints;
 drop table if exists ACT_PROCDEF_INFO cascade constraints;
 drop table if exists ACT_RU_INTEGRATION cascade constraints;
+drop table if exists ACT_RU_VAR_INDEX cascade constraints;
+drop table if exists ACT_RU_BATCH_PART cascade constraints;
+drop table if exists ACT_RU_BATCH cascade constraints;
 
 drop index if exists ACT_IDX_EXEC_BUSKEY;
 drop index if exists ACT_IDX_TASK_CREATE;
@@ -15,6 +15,9 @@ drop table if exists ACT_RU_EVENT_SUBSCR cascade;
 drop table if exists ACT_EVT_LOG cascade;
 drop table if exists ACT_PROCDEF_INFO cascade;
 drop table if exists ACT_RU_INTEGRATION cascade;
+drop table if exists ACT_RU_VAR_INDEX cascade;
+drop table if exists ACT_RU_BATCH_PART cascade;
+drop table if exists ACT_RU_BATCH cascade;
 
 drop index if exists ACT_IDX_EXEC_BUSKEY;
 drop index if exists ACT_IDX_TASK_CREATE;
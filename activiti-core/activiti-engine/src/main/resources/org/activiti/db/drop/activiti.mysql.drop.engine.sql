@@ -139,3 +139,6 @@ drop table if exists ACT_RU_EVENT_SUBSCR;
 drop table if exists ACT_EVT_LOG;
 drop table if exists ACT_PROCDEF_INFO;
 drop table if exists ACT_RU_INTEGRATION;
+drop table if exists ACT_RU_VAR_INDEX;
+drop table if exists ACT_RU_BATCH_PART;
+drop table if exists ACT_RU_BATCH;
@@ -180,3 +180,6 @@ drop sequence act_evt_log_seq;
 drop table ACT_EVT_LOG;
 drop table ACT_PROCDEF_INFO;
 drop table ACT_RU_INTEGRATION;
+drop table ACT_RU_VAR_INDEX;
+drop table ACT_RU_BATCH_PART;
+drop table ACT_RU_BATCH;
@@ -0,0 +1,16 @@
+update ACT_GE_PROPERTY set VALUE_ = '7.1.0-M7' where NAME_ = 'schema.version';
+
+create table ACT_RU_VAR_INDEX (
+    ID_ nvarchar(64) not null,
+    TYPE_ nvarchar(255) not null,
+    NAME_ nvarchar(255) not null,
+    PROC_INST_ID_ nvarchar(64) not null,
+    DOUBLE_ double precision,
+    LONG_ numeric(19,0),
+    TEXT_ nvarchar(255),
+    primary key (ID_)
+);
+
+create index ACT_IDX_VAR_INDEX_TEXT on ACT_RU_VAR_INDEX(NAME_, TEXT_);
+create index ACT_IDX_VAR_INDEX_LONG on ACT_RU_VAR_INDEX(NAME_, LONG_);
+create index ACT_IDX_VAR_INDEX_PROCINST on ACT_RU_VAR_INDEX(PROC_INST_ID_);
@@ -0,0 +1,36 @@
+update ACT_GE_PROPERTY set VALUE_ = '7.1.0-M8' where NAME_ = 'schema.version';
+
+create table ACT_RU_BATCH (
+    ID_ nvarchar(64) not null,
+    REV_ int,
+    TYPE_ nvarchar(64) not null,
+    STATUS_ nvarchar(64) not null,
+    SEARCH_KEY_ nvarchar(255),
+    CONFIG_ nvarchar(4000),
+    CHUNK_SIZE_ int,
+    TOTAL_ int,
+    PROCESSED_ int,
+    FAILED_ int,
+    CREATE_TIME_ datetime,
+    COMPLETE_TIME_ datetime,
+    TENANT_ID_ nvarchar(255) default '',
+    primary key (ID_)
+);
+
+create table ACT_RU_BATCH_PART (
+    ID_ nvarchar(64) not null,
+    REV_ int,
+    BATCH_ID_ nvarchar(64) not null,
+    STATUS_ nvarchar(64) not null,
+    JOB_ID_ nvarchar(64),
+    START_AFTER_ID_ nvarchar(64),
+    LAST_ID_ nvarchar(64),
+    PROCESSED_ int,
+    FAILED_ int,
+    FAILURE_ nvarchar(4000),
+    CREATE_TIME_ datetime,
+    COMPLETE_TIME_ datetime,
+    primary key (ID_)
+);
+
+create index ACT_IDX_BATCH_PART_BATCH on ACT_RU_BATCH_PART(BATCH_ID_);
@@ -0,0 +1,36 @@
+update ACT_GE_PROPERTY set VALUE_ = '7.1.0-M8' where NAME_ = 'schema.version';
+
+create table ACT_RU_BATCH (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER,
+    TYPE_ NVARCHAR2(64) not null,
+    STATUS_ NVARCHAR2(64) not null,
+    SEARCH_KEY_ NVARCHAR2(255),
+    CONFIG_ NVARCHAR2(2000),
+    CHUNK_SIZE_ INTEGER,
+    TOTAL_ INTEGER,
+    PROCESSED_ INTEGER,
+    FAILED_ INTEGER,
+    CREATE_TIME_ TIMESTAMP(6),
+    COMPLETE_TIME_ TIMESTAMP(6),
+    TENANT_ID_ NVARCHAR2(255) DEFAULT '',
+    primary key (ID_)
+);
+
+create table ACT_RU_BATCH_PART (
+    ID_ NVARCHAR2(64) not null,
+    REV_ INTEGER,
+    BATCH_ID_ NVARCHAR2(64) not null,
+    STATUS_ NVARCHAR2(64) not null,
+    JOB_ID_ NVARCHAR2(64),
+    START_AFTER_ID_ NVARCHAR2(64),
+    LAST_ID_ NVARCHAR2(64),
+    PROCESSED_ INTEGER,
+    FAILED_ INTEGER,
+    FAILURE_ NVARCHAR2(2000),
+    CREATE_TIME_ TIMESTAMP(6),
+    COMPLETE_TIME_ TIMESTAMP(6),
+    primary key (ID_)
+);
+
+create index ACT_IDX_BATCH_PART_BATCH on ACT_RU_BATCH_PART(BATCH_ID_);
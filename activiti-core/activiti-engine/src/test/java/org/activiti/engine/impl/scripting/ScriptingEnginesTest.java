@@ -0,0 +1,235 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.scripting;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptEngineManager;
+import javax.script.SimpleBindings;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScriptingEnginesTest {
+
+  private CountingScriptEngineFactory multiThreadedFactory;
+  private CountingScriptEngineFactory singleThreadedFactory;
+  private ScriptingEngines scriptingEngines;
+
+  @Before
+  public void setUp() {
+    multiThreadedFactory = new CountingScriptEngineFactory("counting", "MULTITHREADED");
+    singleThreadedFactory = new CountingScriptEngineFactory("single", null);
+    scriptingEngines = new ScriptingEngines(new ScriptEngineManager());
+    scriptingEngines.addScriptEngineFactory(multiThreadedFactory);
+    scriptingEngines.addScriptEngineFactory(singleThreadedFactory);
+  }
+
+  @Test
+  public void shouldCompileScriptOnceAndEvaluateItWithEachBindings() {
+    assertThat(scriptingEngines.evaluate("hello", "counting", bindings("first"))).isEqualTo("hello first");
+    assertThat(scriptingEngines.evaluate("hello", "counting", bindings("second"))).isEqualTo("hello second");
+    assertThat(scriptingEngines.evaluate("hello", "counting", bindings("third"))).isEqualTo("hello third");
+
+    assertThat(multiThreadedFactory.engine.compileCount).isEqualTo(1);
+    assertThat(multiThreadedFactory.engine.evalCount).isEqualTo(0);
+    assertThat(scriptingEngines.getCompiledScriptCacheMisses()).isEqualTo(1);
+    assertThat(scriptingEngines.getCompiledScriptCacheHits()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedCompiledScripts() {
+    scriptingEngines.setCompiledScriptCacheLimit(2);
+
+    scriptingEngines.evaluate("a", "counting", bindings("x"));
+    scriptingEngines.evaluate("b", "counting", bindings("x"));
+    scriptingEngines.evaluate("a", "counting", bindings("x"));
+    scriptingEngines.evaluate("c", "counting", bindings("x"));
+    scriptingEngines.evaluate("a", "counting", bindings("x"));
+    scriptingEngines.evaluate("b", "counting", bindings("x"));
+
+    assertThat(scriptingEngines.getCompiledScriptCount()).isEqualTo(2);
+    assertThat(multiThreadedFactory.engine.compileCount).isEqualTo(4);
+    assertThat(scriptingEngines.getCompiledScriptCacheHits()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotCompileScriptsOfEnginesThatAreNotCached() {
+    assertThat(scriptingEngines.evaluate("hello", "single", bindings("first"))).isEqualTo("hello first");
+    assertThat(scriptingEngines.evaluate("hello", "single", bindings("second"))).isEqualTo("hello second");
+
+    assertThat(singleThreadedFactory.engine.compileCount).isEqualTo(0);
+    assertThat(scriptingEngines.getCompiledScriptCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldEvaluateScriptTextWhenCompiledScriptCacheIsDisabled() {
+    scriptingEngines.setCacheCompiledScripts(false);
+
+    scriptingEngines.evaluate("hello", "counting", bindings("first"));
+    scriptingEngines.evaluate("hello", "counting", bindings("second"));
+
+    assertThat(multiThreadedFactory.engine.compileCount).isEqualTo(0);
+    assertThat(multiThreadedFactory.engine.evalCount).isEqualTo(2);
+  }
+
+  private Bindings bindings(String name) {
+    Bindings bindings = new SimpleBindings();
+    bindings.put("name", name);
+    return bindings;
+  }
+
+  private static class CountingScriptEngine extends AbstractScriptEngine implements Compilable {
+
+    private final ScriptEngineFactory factory;
+    private int compileCount;
+    private int evalCount;
+
+    CountingScriptEngine(ScriptEngineFactory factory) {
+      this.factory = factory;
+    }
+
+    @Override
+    public Object eval(String script, ScriptContext context) {
+      evalCount++;
+      return script + " " + context.getAttribute("name");
+    }
+
+    @Override
+    public Object eval(Reader reader, ScriptContext context) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompiledScript compile(final String script) {
+      compileCount++;
+      return new CompiledScript() {
+
+        @Override
+        public Object eval(ScriptContext context) {
+          return script + " " + context.getAttribute("name");
+        }
+
+        @Override
+        public ScriptEngine getEngine() {
+          return CountingScriptEngine.this;
+        }
+      };
+    }
+
+    @Override
+    public CompiledScript compile(Reader reader) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Bindings createBindings() {
+      return new SimpleBindings();
+    }
+
+    @Override
+    public ScriptEngineFactory getFactory() {
+      return factory;
+    }
+  }
+
+  private static class CountingScriptEngineFactory implements ScriptEngineFactory {
+
+    private final String name;
+    private final String threading;
+    private final CountingScriptEngine engine = new CountingScriptEngine(this);
+
+    CountingScriptEngineFactory(String name, String threading) {
+      this.name = name;
+      this.threading = threading;
+    }
+
+    @Override
+    public String getEngineName() {
+      return name;
+    }
+
+    @Override
+    public String getEngineVersion() {
+      return "1.0";
+    }
+
+    @Override
+    public List<String> getExtensions() {
+      return singletonList(name);
+    }
+
+    @Override
+    public List<String> getMimeTypes() {
+      return singletonList("text/" + name);
+    }
+
+    @Override
+    public List<String> getNames() {
+      return asList(name);
+    }
+
+    @Override
+    public String getLanguageName() {
+      return name;
+    }
+
+    @Override
+    public String getLanguageVersion() {
+      return "1.0";
+    }
+
+    @Override
+    public Object getParameter(String key) {
+      if ("THREADING".equals(key)) {
+        return threading;
+      }
+      return null;
+    }
+
+    @Override
+    public String getMethodCallSyntax(String obj, String m, String... args) {
+      return obj + "." + m;
+    }
+
+    @Override
+    public String getOutputStatement(String toDisplay) {
+      return toDisplay;
+    }
+
+    @Override
+    public String getProgram(String... statements) {
+      return String.join(";", statements);
+    }
+
+    @Override
+    public ScriptEngine getScriptEngine() {
+      return engine;
+    }
+  }
+}
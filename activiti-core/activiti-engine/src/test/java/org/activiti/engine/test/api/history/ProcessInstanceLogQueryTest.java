@@ -18,6 +18,8 @@ package org.activiti.engine.test.api.history;
 import static org.activiti.engine.impl.util.CollectionUtil.map;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.activiti.engine.history.HistoricActivityInstance;
@@ -26,6 +28,7 @@ import org.activiti.engine.history.HistoricTaskInstance;
 import org.activiti.engine.history.HistoricVariableInstance;
 import org.activiti.engine.history.HistoricVariableUpdate;
 import org.activiti.engine.history.ProcessInstanceHistoryLog;
+import org.activiti.engine.history.ProcessInstanceHistoryLogQuery;
 import org.activiti.engine.impl.history.HistoryLevel;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.task.Comment;
@@ -162,4 +165,53 @@ public class ProcessInstanceLogQueryTest extends PluggableActivitiTestCase {
     }
   }
 
+  public void testIteratorTasksAndComments() {
+    for (int pageSize : new int[] { 1, 2, 100 }) {
+      List<HistoricData> events = toList(historyService.createProcessInstanceHistoryLogQuery(processInstanceId).includeTasks().includeComments().iterator(pageSize));
+      assertThat(events).hasSize(5);
+
+      for (int i = 0; i < 5; i++) {
+        HistoricData event = events.get(i);
+        if (i < 2) { // tasks are created before comments
+          assertThat(event).isInstanceOf(HistoricTaskInstance.class);
+        } else {
+          assertThat(event).isInstanceOf(Comment.class);
+        }
+      }
+    }
+  }
+
+  public void testIteratorMatchesSingleResult() {
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.FULL)) {
+      ProcessInstanceHistoryLogQuery query = historyService.createProcessInstanceHistoryLogQuery(processInstanceId).includeTasks().includeActivities().includeComments().includeVariables()
+          .includeVariableUpdates();
+      List<Class<?>> expectedTypes = new ArrayList<Class<?>>();
+      for (HistoricData event : query.singleResult().getHistoricData()) {
+        expectedTypes.add(event.getClass());
+      }
+
+      for (int pageSize : new int[] { 1, 2, 3, 100 }) {
+        List<HistoricData> events = toList(query.iterator(pageSize));
+        assertThat(events).hasSize(15);
+        assertThat(events).extracting(Object::getClass).containsExactlyInAnyOrderElementsOf(expectedTypes);
+
+        for (int i = 1; i < events.size(); i++) {
+          assertThat(events.get(i).getTime()).isAfterOrEqualTo(events.get(i - 1).getTime());
+        }
+      }
+    }
+  }
+
+  public void testIteratorWithoutIncludes() {
+    assertThat(historyService.createProcessInstanceHistoryLogQuery(processInstanceId).iterator(10).hasNext()).isFalse();
+  }
+
+  protected List<HistoricData> toList(Iterator<HistoricData> iterator) {
+    List<HistoricData> result = new ArrayList<HistoricData>();
+    while (iterator.hasNext()) {
+      result.add(iterator.next());
+    }
+    return result;
+  }
+
 }
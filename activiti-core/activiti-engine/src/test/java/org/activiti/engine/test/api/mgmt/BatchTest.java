@@ -0,0 +1,236 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.mgmt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiObjectNotFoundException;
+import org.activiti.engine.impl.batch.BatchOperation;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.runtime.Batch;
+import org.activiti.engine.runtime.BatchPart;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+public class BatchTest extends PluggableActivitiTestCase {
+
+  private int originalChunkSize;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    originalChunkSize = processEngineConfiguration.getBatchChunkSize();
+    processEngineConfiguration.setBatchChunkSize(2);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setBatchChunkSize(originalChunkSize);
+    processEngineConfiguration.setProcessInstanceBatchThreshold(0);
+    for (Batch batch : managementService.getBatches()) {
+      managementService.deleteBatch(batch.getId());
+    }
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testSuspendProcessInstancesInBatch() {
+    String processDefinitionId = startProcessInstances(5);
+
+    Batch batch = managementService.suspendProcessInstancesInBatch(processDefinitionId);
+    assertThat(batch.getStatus()).isEqualTo(Batch.STATUS_EXECUTING);
+    assertThat(batch.getTotal()).isEqualTo(5);
+    assertThat(batch.getChunkSize()).isEqualTo(2);
+    assertThat(runtimeService.createProcessInstanceQuery().suspended().count()).isEqualTo(0);
+
+    assertThat(executeBatchJobs()).isEqualTo(3);
+
+    batch = managementService.getBatch(batch.getId());
+    assertThat(batch.getStatus()).isEqualTo(Batch.STATUS_COMPLETED);
+    assertThat(batch.getProcessedCount()).isEqualTo(5);
+    assertThat(batch.getFailedCount()).isEqualTo(0);
+    assertThat(batch.getCompleteTime()).isNotNull();
+    assertThat(managementService.getBatchParts(batch.getId()))
+        .extracting(BatchPart::getStatus, BatchPart::getProcessedCount)
+        .containsExactly(
+            tuple(BatchPart.STATUS_COMPLETED, 2),
+            tuple(BatchPart.STATUS_COMPLETED, 2),
+            tuple(BatchPart.STATUS_COMPLETED, 1));
+    assertThat(runtimeService.createProcessInstanceQuery().suspended().count()).isEqualTo(5);
+
+    managementService.activateProcessInstancesInBatch(processDefinitionId);
+    executeBatchJobs();
+    assertThat(runtimeService.createProcessInstanceQuery().active().count()).isEqualTo(5);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testFailingProcessInstanceOnlyFailsItself() {
+    String processDefinitionId = startProcessInstances(5);
+    List<String> processInstanceIds = managementService.executeCommand(commandContext -> commandContext.getExecutionEntityManager()
+        .findProcessInstanceIdsByProcessDefinitionId(processDefinitionId, null, 5));
+    String brokenProcessInstanceId = processInstanceIds.get(1);
+
+    BatchOperation suspendOperation = processEngineConfiguration.getBatchOperations().get(Batch.TYPE_SUSPEND_PROCESS_INSTANCES);
+    processEngineConfiguration.getBatchOperations().put(Batch.TYPE_SUSPEND_PROCESS_INSTANCES, new BatchOperation() {
+
+      public String getType() {
+        return suspendOperation.getType();
+      }
+
+      public void validate(ProcessDefinition processDefinition, String configuration, CommandContext commandContext) {
+        suspendOperation.validate(processDefinition, configuration, commandContext);
+      }
+
+      public void execute(String processInstanceId, String configuration, CommandContext commandContext) {
+        suspendOperation.execute(processInstanceId, configuration, commandContext);
+        if (processInstanceId.equals(brokenProcessInstanceId)) {
+          throw new ActivitiException("broken instance");
+        }
+      }
+    });
+
+    try {
+      Batch batch = managementService.suspendProcessInstancesInBatch(processDefinitionId);
+      executeBatchJobsRetryingFailedOnes();
+
+      batch = managementService.getBatch(batch.getId());
+      assertThat(batch.getStatus()).isEqualTo(Batch.STATUS_COMPLETED);
+      assertThat(batch.getProcessedCount()).isEqualTo(4);
+      assertThat(batch.getFailedCount()).isEqualTo(1);
+      assertThat(managementService.getBatchParts(batch.getId()))
+          .extracting(BatchPart::getStatus, BatchPart::getProcessedCount, BatchPart::getFailedCount, BatchPart::getFailure)
+          .containsExactly(
+              tuple(BatchPart.STATUS_COMPLETED, 1, 1, brokenProcessInstanceId + ": broken instance"),
+              tuple(BatchPart.STATUS_COMPLETED, 2, 0, null),
+              tuple(BatchPart.STATUS_COMPLETED, 1, 0, null));
+      assertThat(runtimeService.createProcessInstanceQuery().suspended().list())
+          .extracting(ProcessInstance::getId)
+          .containsExactlyInAnyOrder(processInstanceIds.get(0), processInstanceIds.get(2), processInstanceIds.get(3), processInstanceIds.get(4));
+
+    } finally {
+      processEngineConfiguration.getBatchOperations().put(Batch.TYPE_SUSPEND_PROCESS_INSTANCES, suspendOperation);
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testPauseAndResumeBatch() {
+    String processDefinitionId = startProcessInstances(4);
+
+    Batch batch = managementService.deleteProcessInstancesInBatch(processDefinitionId, "cleanup");
+    managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(2);
+
+    managementService.pauseBatch(batch.getId());
+    assertThat(executeBatchJobs()).isEqualTo(1);
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(2);
+    assertThat(managementService.getBatch(batch.getId()).getStatus()).isEqualTo(Batch.STATUS_PAUSED);
+    assertThat(managementService.createJobQuery().count()).isEqualTo(0);
+
+    managementService.resumeBatch(batch.getId());
+    executeBatchJobs();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(0);
+    assertThat(managementService.getBatch(batch.getId()).getStatus()).isEqualTo(Batch.STATUS_COMPLETED);
+    assertThat(managementService.getBatch(batch.getId()).getProcessedCount()).isEqualTo(4);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testDeleteBatchRemovesPendingJob() {
+    String processDefinitionId = startProcessInstances(1);
+
+    Batch batch = managementService.suspendProcessInstancesInBatch(processDefinitionId);
+    assertThat(managementService.createJobQuery().count()).isEqualTo(1);
+
+    managementService.deleteBatch(batch.getId());
+    assertThat(managementService.getBatch(batch.getId())).isNull();
+    assertThat(managementService.getBatchParts(batch.getId())).isEmpty();
+    assertThat(managementService.createJobQuery().count()).isEqualTo(0);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testMigrateToUnknownVersionFailsUpfront() {
+    String processDefinitionId = startProcessInstances(1);
+
+    assertThatThrownBy(() -> managementService.migrateProcessInstancesInBatch(processDefinitionId, 42))
+        .isInstanceOf(ActivitiObjectNotFoundException.class);
+    assertThat(managementService.getBatches()).isEmpty();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testSuspendProcessDefinitionAboveThresholdUsesBatch() {
+    String processDefinitionId = startProcessInstances(3);
+    processEngineConfiguration.setProcessInstanceBatchThreshold(2);
+
+    repositoryService.suspendProcessDefinitionById(processDefinitionId, true, null);
+    assertThat(runtimeService.createProcessInstanceQuery().suspended().count()).isEqualTo(0);
+
+    List<Batch> batches = managementService.getBatches();
+    assertThat(batches).extracting(Batch::getType).containsExactly(Batch.TYPE_SUSPEND_PROCESS_INSTANCES);
+
+    executeBatchJobs();
+    assertThat(runtimeService.createProcessInstanceQuery().suspended().count()).isEqualTo(3);
+  }
+
+  protected String startProcessInstances(int count) {
+    String processDefinitionId = null;
+    for (int i = 0; i < count; i++) {
+      processDefinitionId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getProcessDefinitionId();
+    }
+    return processDefinitionId;
+  }
+
+  protected int executeBatchJobs() {
+    int executed = 0;
+    List<Job> jobs = managementService.createJobQuery().list();
+    while (!jobs.isEmpty()) {
+      for (Job job : jobs) {
+        managementService.executeJob(job.getId());
+        executed++;
+      }
+      jobs = managementService.createJobQuery().list();
+    }
+    return executed;
+  }
+
+  /**
+   * Executes the batch jobs like {@link #executeBatchJobs()}, but moves the jobs waiting for a retry after a failure
+   * back to executable jobs instead of waiting for their due date.
+   */
+  protected void executeBatchJobsRetryingFailedOnes() {
+    List<Job> jobs = managementService.createJobQuery().list();
+    while (!jobs.isEmpty()) {
+      for (Job job : jobs) {
+        try {
+          managementService.executeJob(job.getId());
+        } catch (ActivitiException e) {
+          // the job is retried through its timer job
+        }
+      }
+      for (Job timerJob : managementService.createTimerJobQuery().list()) {
+        managementService.moveTimerToExecutableJob(timerJob.getId());
+      }
+      jobs = managementService.createJobQuery().list();
+    }
+  }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.variables;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class IndexedVariablesTest extends PluggableActivitiTestCase {
+
+  private static final String INDEX_TABLE = "ACT_RU_VAR_INDEX";
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.addIndexedVariableNames(singletonList("customerId"));
+    executeVariableIndexBuildJobs();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setIndexedVariableNames(Collections.<String>emptySet());
+    for (Job job : managementService.createJobQuery().list()) {
+      managementService.deleteJob(job.getId());
+    }
+    processEngineConfiguration.setVariableIndexBuildBatchSize(1000);
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testQueryProcessInstancesByIndexedVariable() {
+    ProcessInstance first = startWithCustomer("customer-1");
+    startWithCustomer("customer-2");
+
+    assertThat(indexRowCount()).isEqualTo(2);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-1").list())
+        .extracting(ProcessInstance::getId)
+        .containsExactly(first.getId());
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "unknown").count()).isEqualTo(0);
+
+    // Non equality operators keep using the regular variable table
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueLike("customerId", "customer-%").count()).isEqualTo(2);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testIndexFollowsVariableUpdates() {
+    ProcessInstance processInstance = startWithCustomer("customer-1");
+
+    runtimeService.setVariable(processInstance.getId(), "customerId", "customer-3");
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-1").count()).isEqualTo(0);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-3").count()).isEqualTo(1);
+
+    runtimeService.setVariable(processInstance.getId(), "customerId", 42L);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", 42L).count()).isEqualTo(1);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-3").count()).isEqualTo(0);
+
+    runtimeService.removeVariable(processInstance.getId(), "customerId");
+    assertThat(indexRowCount()).isEqualTo(0);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testQueryTasksByIndexedVariable() {
+    ProcessInstance processInstance = startWithCustomer("customer-1");
+    startWithCustomer("customer-2");
+
+    Task task = taskService.createTaskQuery().processVariableValueEquals("customerId", "customer-1").singleResult();
+    assertThat(task.getProcessInstanceId()).isEqualTo(processInstance.getId());
+
+    taskService.complete(task.getId());
+    assertThat(indexRowCount()).isEqualTo(1);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testOtherVariablesAreNotIndexed() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("orderId", "order-1");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+
+    assertThat(indexRowCount()).isEqualTo(0);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("orderId", "order-1").count()).isEqualTo(1);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testRegisteringNameIndexesExistingVariables() {
+    processEngineConfiguration.setIndexedVariableNames(Collections.<String>emptySet());
+    ProcessInstance processInstance = startWithCustomer("customer-1");
+    startWithCustomer("customer-2");
+    assertThat(indexRowCount()).isEqualTo(0);
+
+    processEngineConfiguration.setVariableIndexBuildBatchSize(1);
+    processEngineConfiguration.addIndexedVariableNames(singletonList("customerId"));
+
+    // The existing values are indexed by async jobs, one batch per job
+    assertThat(indexRowCount()).isEqualTo(0);
+    assertThat(processEngineConfiguration.getBuiltIndexedVariableNames()).doesNotContain("customerId");
+    assertThat(managementService.createJobQuery().count()).isEqualTo(1);
+
+    assertThat(executeVariableIndexBuildJobs()).isEqualTo(3);
+    assertThat(indexRowCount()).isEqualTo(2);
+    assertThat(processEngineConfiguration.getBuiltIndexedVariableNames()).contains("customerId");
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-1").list())
+        .extracting(ProcessInstance::getId)
+        .containsExactly(processInstance.getId());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testIndexBuildSkipsVariablesIndexedByAnUpdate() {
+    processEngineConfiguration.setIndexedVariableNames(Collections.<String>emptySet());
+    ProcessInstance processInstance = startWithCustomer("customer-1");
+    startWithCustomer("customer-2");
+
+    processEngineConfiguration.getIndexedVariableNames().add("customerId");
+    runtimeService.setVariable(processInstance.getId(), "customerId", "customer-3");
+    assertThat(indexRowCount()).isEqualTo(1);
+
+    processEngineConfiguration.addIndexedVariableNames(singletonList("customerId"));
+    executeVariableIndexBuildJobs();
+
+    assertThat(indexRowCount()).isEqualTo(2);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-3").list())
+        .extracting(ProcessInstance::getId)
+        .containsExactly(processInstance.getId());
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testUnregisteringNameDeletesItsIndexRows() {
+    ProcessInstance processInstance = startWithCustomer("customer-1");
+    assertThat(indexRowCount()).isEqualTo(1);
+
+    processEngineConfiguration.setIndexedVariableNames(Collections.<String>emptySet());
+    assertThat(indexRowCount()).isEqualTo(0);
+
+    // Not reflected in the index while the name is not registered
+    runtimeService.setVariable(processInstance.getId(), "customerId", "customer-2");
+
+    processEngineConfiguration.addIndexedVariableNames(singletonList("customerId"));
+    executeVariableIndexBuildJobs();
+
+    assertThat(indexRowCount()).isEqualTo(1);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-1").count()).isEqualTo(0);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-2").count()).isEqualTo(1);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testQueriesUseVariableTableUntilIndexIsBuilt() {
+    processEngineConfiguration.setIndexedVariableNames(Collections.<String>emptySet());
+    ProcessInstance processInstance = startWithCustomer("customer-1");
+
+    // Registered without building the index
+    processEngineConfiguration.getIndexedVariableNames().add("customerId");
+    assertThat(indexRowCount()).isEqualTo(0);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-1").count()).isEqualTo(1);
+
+    // The next update writes the missing index row
+    runtimeService.setVariable(processInstance.getId(), "customerId", "customer-2");
+    assertThat(indexRowCount()).isEqualTo(1);
+    assertThat(runtimeService.createProcessInstanceQuery().variableValueEquals("customerId", "customer-2").count()).isEqualTo(1);
+  }
+
+  private ProcessInstance startWithCustomer(String customerId) {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("customerId", customerId);
+    return runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+  }
+
+  private int executeVariableIndexBuildJobs() {
+    int executedJobs = 0;
+    List<Job> jobs = managementService.createJobQuery().list();
+    while (!jobs.isEmpty()) {
+      for (Job job : jobs) {
+        managementService.executeJob(job.getId());
+        executedJobs++;
+      }
+      jobs = managementService.createJobQuery().list();
+    }
+    return executedJobs;
+  }
+
+  private long indexRowCount() {
+    return managementService.getTableCount().get(processEngineConfiguration.getDatabaseTablePrefix() + INDEX_TABLE);
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.variables;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.activiti.engine.history.HistoricVariableInstance;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.impl.util.IoUtil;
+import org.activiti.engine.impl.variable.FileSystemVariableBlobStore;
+import org.activiti.engine.impl.variable.InputStreamType;
+import org.activiti.engine.impl.variable.LazyInputStream;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class StreamVariablesTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStreamVariableRoundTrip() {
+    byte[] content = randomBytes(256 * 1024);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        singletonMap("document", new ByteArrayInputStream(content)));
+
+    managementService.executeCommand((Command<Void>) commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+      VariableInstanceEntity variableInstance = (VariableInstanceEntity) execution.getVariableInstance("document");
+      assertThat(variableInstance.getTypeName()).isEqualTo(InputStreamType.TYPE_NAME);
+
+      // handing out the value doesn't read the content
+      LazyInputStream value = (LazyInputStream) variableInstance.getValue();
+      assertThat(value.isOpened()).isFalse();
+      assertThat(IoUtil.readInputStream(value, "document")).isEqualTo(content);
+      return null;
+    });
+
+    // outside of a command
+    assertThat(readVariable(processInstance.getId(), "document")).isEqualTo(content);
+
+    byte[] updatedContent = randomBytes(1024);
+    runtimeService.setVariable(processInstance.getId(), "document", new ByteArrayInputStream(updatedContent));
+    assertThat(readVariable(processInstance.getId(), "document")).isEqualTo(updatedContent);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testStreamVariableReadOutsideOfCommand() throws Exception {
+    byte[] content = randomBytes(256 * 1024);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        singletonMap("document", new ByteArrayInputStream(content)));
+    long temporaryFiles = countTemporaryFiles();
+
+    LazyInputStream value = (LazyInputStream) runtimeService.getVariable(processInstance.getId(), "document");
+    assertThat(value.isOpened()).isFalse();
+
+    // the content is streamed to a temporary file, which is removed once the stream is closed
+    assertThat(IoUtil.readInputStream(value, "document")).isEqualTo(content);
+    assertThat(countTemporaryFiles()).isEqualTo(temporaryFiles + 1);
+    value.close();
+    assertThat(countTemporaryFiles()).isEqualTo(temporaryFiles);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testUpdatedStreamContentIsDeletedWithHistoricVariable() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        singletonMap("document", new ByteArrayInputStream(randomBytes(1024))));
+    String byteArrayId = managementService.executeCommand(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+      return ((VariableInstanceEntity) execution.getVariableInstance("document")).getByteArrayRef().getId();
+    });
+
+    // the runtime and the historic variable share the byte array, which is updated in place
+    byte[] updatedContent = randomBytes(2048);
+    runtimeService.setVariable(processInstance.getId(), "document", new ByteArrayInputStream(updatedContent));
+    HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .variableName("document")
+        .singleResult();
+    assertThat(((HistoricVariableInstanceEntity) historicVariable).getByteArrayRef().getId()).isEqualTo(byteArrayId);
+    assertThat(IoUtil.readInputStream((InputStream) historicVariable.getValue(), "document")).isEqualTo(updatedContent);
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+    assertThat(findByteArray(byteArrayId)).isNotNull();
+
+    // deleting the historic variable removes the shared byte array once
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+    assertThat(historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(0);
+    assertThat(findByteArray(byteArrayId)).isNull();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testHistoricVariableReferencesStreamedContent() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+
+    byte[] content = randomBytes(64 * 1024);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+        singletonMap("document", new ByteArrayInputStream(content)));
+
+    String byteArrayId = managementService.executeCommand(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+      return ((VariableInstanceEntity) execution.getVariableInstance("document")).getByteArrayRef().getId();
+    });
+
+    // completing the task ends the process, the historic variable keeps the content
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.complete(task.getId());
+    assertProcessEnded(processInstance.getId());
+
+    HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .variableName("document")
+        .singleResult();
+    assertThat(((HistoricVariableInstanceEntity) historicVariable).getByteArrayRef().getId()).isEqualTo(byteArrayId);
+    assertThat(IoUtil.readInputStream((InputStream) historicVariable.getValue(), "document")).isEqualTo(content);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testFileSystemBlobStore() throws Exception {
+    File directory = Files.createTempDirectory("activiti-blobs").toFile();
+    processEngineConfiguration.setVariableBlobStore(new FileSystemVariableBlobStore(directory));
+    try {
+      byte[] content = randomBytes(16 * 1024);
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess",
+          singletonMap("document", new ByteArrayInputStream(content)));
+      assertThat(directory.list()).hasSize(1);
+      assertThat(readVariable(processInstance.getId(), "document")).isEqualTo(content);
+
+      // replaced content is removed once the update is committed
+      byte[] updatedContent = randomBytes(1024);
+      runtimeService.setVariable(processInstance.getId(), "document", new ByteArrayInputStream(updatedContent));
+      assertThat(directory.list()).hasSize(1);
+      assertThat(readVariable(processInstance.getId(), "document")).isEqualTo(updatedContent);
+
+      runtimeService.removeVariable(processInstance.getId(), "document");
+      assertThat(directory.list()).isEmpty();
+
+    } finally {
+      processEngineConfiguration.setVariableBlobStore(null);
+      for (File file : directory.listFiles()) {
+        file.delete();
+      }
+      directory.delete();
+    }
+  }
+
+  protected byte[] readVariable(String executionId, String variableName) {
+    return IoUtil.readInputStream((InputStream) runtimeService.getVariable(executionId, variableName), variableName);
+  }
+
+  protected ByteArrayEntity findByteArray(String byteArrayId) {
+    return managementService.executeCommand(commandContext -> commandContext.getByteArrayEntityManager().findById(byteArrayId));
+  }
+
+  protected long countTemporaryFiles() throws IOException {
+    try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+      return files.filter(file -> file.getFileName().toString().startsWith("activiti-variable-")).count();
+    }
+  }
+
+  protected byte[] randomBytes(int size) {
+    byte[] bytes = new byte[size];
+    new Random().nextBytes(bytes);
+    return bytes;
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.variables;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class TargetedVariableFetchingTest extends PluggableActivitiTestCase {
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setEnableTargetedVariableFetching(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setEnableTargetedVariableFetching(false);
+    super.tearDown();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testGetVariableOnlyFetchesRequestedNames() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("customer", "kermit");
+    variables.put("amount", 100);
+    variables.put("payload", new byte[] {1, 2, 3});
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables);
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    taskService.setVariableLocal(task.getId(), "customer", "gonzo");
+
+    managementService.executeCommand((Command<Void>) commandContext -> {
+      TaskEntity taskEntity = commandContext.getTaskEntityManager().findById(task.getId());
+      assertThat(taskEntity.getVariable("customer")).isEqualTo("gonzo");
+      assertThat(taskEntity.getVariable("amount")).isEqualTo(100);
+      assertThat(taskEntity.getVariable("unknown")).isNull();
+
+      // Only the requested names were loaded for the process instance, the byte array variable never was
+      ExecutionEntityImpl processInstanceEntity = (ExecutionEntityImpl) commandContext.getExecutionEntityManager().findById(processInstance.getId());
+      assertThat(processInstanceEntity.getUsedVariablesCache()).containsOnlyKeys("customer", "amount");
+
+      assertThat(taskEntity.getVariables(asList("customer", "amount", "unknown")))
+          .containsEntry("customer", "gonzo")
+          .containsEntry("amount", 100)
+          .containsEntry("unknown", null);
+      return null;
+    });
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml")
+  public void testMissingNameIsFoundAfterCreation() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    managementService.executeCommand((Command<Void>) commandContext -> {
+      ExecutionEntity processInstanceEntity = commandContext.getExecutionEntityManager().findById(processInstance.getId());
+      assertThat(processInstanceEntity.getVariable("customer")).isNull();
+
+      processInstanceEntity.setVariable("customer", "kermit");
+      assertThat(processInstanceEntity.getVariable("customer")).isEqualTo("kermit");
+      return null;
+    });
+
+    assertThat(runtimeService.getVariable(processInstance.getId(), "customer")).isEqualTo("kermit");
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.bpmn.event.message;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.MessageCorrelation;
+import org.activiti.engine.runtime.MessageCorrelationResult;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class MessageCorrelationTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/event/message/MessageCorrelationTest.testCorrelateMessage.bpmn20.xml")
+  public void testCorrelateMessage() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", singletonMap("customerId", (Object) "c1"));
+
+    MessageCorrelationResult result = runtimeService.correlateMessage("invoiceMessage", "c1", singletonMap("amount", (Object) 10));
+
+    assertThat(result.getStatus()).isEqualTo(MessageCorrelationResult.Status.CORRELATED);
+    assertThat(result.getProcessInstanceId()).isEqualTo(processInstance.getId());
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertThat(task).isNotNull();
+    assertThat(runtimeService.getVariable(processInstance.getId(), "amount")).isEqualTo(10);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/event/message/MessageCorrelationTest.testCorrelateMessage.bpmn20.xml")
+  public void testCorrelateMessageWithUnknownCorrelationKey() {
+    runtimeService.startProcessInstanceByKey("process", singletonMap("customerId", (Object) "c1"));
+
+    MessageCorrelationResult result = runtimeService.correlateMessage("invoiceMessage", "unknown", null);
+
+    assertThat(result.getStatus()).isEqualTo(MessageCorrelationResult.Status.NOT_FOUND);
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(0);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/event/message/MessageCorrelationTest.testCorrelateMessage.bpmn20.xml")
+  public void testCorrelateMessageOnSuspendedProcessInstance() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", singletonMap("customerId", (Object) "c1"));
+    runtimeService.suspendProcessInstanceById(processInstance.getId());
+
+    MessageCorrelationResult result = runtimeService.correlateMessage("invoiceMessage", "c1", null);
+
+    assertThat(result.getStatus()).isEqualTo(MessageCorrelationResult.Status.SUSPENDED);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/event/message/MessageCorrelationTest.testCorrelateMessage.bpmn20.xml")
+  public void testCorrelateMessages() {
+    ProcessInstance first = runtimeService.startProcessInstanceByKey("process", singletonMap("customerId", (Object) "c1"));
+    ProcessInstance second = runtimeService.startProcessInstanceByKey("process", singletonMap("customerId", (Object) "c2"));
+
+    List<MessageCorrelationResult> results = runtimeService.correlateMessages(Arrays.asList(
+        new MessageCorrelation("invoiceMessage", "c1", null),
+        new MessageCorrelation("invoiceMessage", "c1", null),
+        new MessageCorrelation("invoiceMessage", "c3", null),
+        new MessageCorrelation("invoiceMessage", "c2", null)));
+
+    assertThat(results)
+        .extracting(MessageCorrelationResult::getStatus)
+        .containsExactly(MessageCorrelationResult.Status.CORRELATED,
+                         MessageCorrelationResult.Status.NOT_FOUND,
+                         MessageCorrelationResult.Status.NOT_FOUND,
+                         MessageCorrelationResult.Status.CORRELATED);
+    assertThat(results.get(0).getProcessInstanceId()).isEqualTo(first.getId());
+    assertThat(results.get(3).getProcessInstanceId()).isEqualTo(second.getId());
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(2);
+  }
+
+}
@@ -259,6 +259,67 @@ public class MultiInstanceTest extends PluggableActivitiTestCase {
     }
   }
 
+  @Deployment(resources = { "org/activiti/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelUserTasks.bpmn20.xml" })
+  public void testParallelUserTasksWithWindowSize() {
+    processEngineConfiguration.setParallelMultiInstanceWindowSize(2);
+    try {
+      String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasks").getId();
+
+      List<Task> tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+      assertThat(tasks).extracting(Task::getName).containsExactly("My Task 0", "My Task 1");
+
+      Execution outerExecution = retrieveOuterExecution(procId);
+      checkBuiltInOuterVariables(outerExecution, 3, 0);
+
+      taskService.complete(tasks.get(0).getId());
+      checkBuiltInOuterVariables(outerExecution, 2, 1);
+
+      tasks = taskService.createTaskQuery().orderByTaskName().asc().list();
+      assertThat(tasks).extracting(Task::getName).containsExactly("My Task 1", "My Task 2");
+      checkInnerInstanceVariables(tasks.get(1), 2, LOOP_COUNTER_KEY);
+
+      taskService.complete(tasks.get(0).getId());
+      checkBuiltInOuterVariables(outerExecution, 1, 2);
+      assertThat(taskService.createTaskQuery().count()).isEqualTo(1);
+
+      taskService.complete(tasks.get(1).getId());
+      assertProcessEnded(procId);
+    } finally {
+      processEngineConfiguration.setParallelMultiInstanceWindowSize(0);
+    }
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/bpmn/multiinstance/MultiInstanceTest.testParallelScriptTasks.bpmn20.xml" })
+  public void testParallelScriptTasksWithWindowSize() {
+    processEngineConfiguration.setParallelMultiInstanceWindowSize(2);
+    try {
+      Map<String, Object> vars = new HashMap<String, Object>();
+      vars.put("sum", 0);
+      vars.put(NR_OF_LOOPS_KEY, 6);
+      String procId = runtimeService.startProcessInstanceByKey("miParallelScriptTask", vars).getId();
+
+      // Only the first window runs in the starting transaction, the instances completing synchronously hand the next ones over to async jobs
+      assertThat(runtimeService.getVariable(procId, "sum")).isEqualTo(0 + 1);
+      assertThat(managementService.createJobQuery().processInstanceId(procId).count()).isEqualTo(2);
+
+      // Every job runs exactly one instance in a transaction of its own
+      List<Integer> loopCounters = new ArrayList<Integer>();
+      List<Job> jobs = managementService.createJobQuery().processInstanceId(procId).list();
+      while (!jobs.isEmpty()) {
+        int sum = (Integer) runtimeService.getVariable(procId, "sum");
+        managementService.executeJob(jobs.get(0).getId());
+        loopCounters.add((Integer) runtimeService.getVariable(procId, "sum") - sum);
+        jobs = managementService.createJobQuery().processInstanceId(procId).list();
+      }
+      assertThat(loopCounters).containsExactlyInAnyOrder(2, 3, 4, 5);
+
+      assertThat(runtimeService.getVariable(procId, "sum")).isEqualTo(15);
+      assertThat(runtimeService.createExecutionQuery().processInstanceId(procId).activityId("waitState").count()).isEqualTo(1);
+    } finally {
+      processEngineConfiguration.setParallelMultiInstanceWindowSize(0);
+    }
+  }
+
   @Deployment
   public void testParallelUserTasksWithTimer() {
     String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksWithTimer").getId();
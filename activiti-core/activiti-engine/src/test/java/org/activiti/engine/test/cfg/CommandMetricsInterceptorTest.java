@@ -0,0 +1,155 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandMetrics;
+import org.activiti.engine.impl.interceptor.CommandMetricsAggregator;
+import org.activiti.engine.impl.interceptor.CommandMetricsListener;
+import org.activiti.engine.impl.persistence.entity.PropertyEntityImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ */
+public class CommandMetricsInterceptorTest {
+
+  protected static final String INSERT_PROPERTY_STATEMENT = PropertyEntityImpl.class.getName() + ".insertProperty";
+
+  protected ProcessEngine processEngine;
+
+  protected List<CommandMetrics> recordedMetrics = Collections.synchronizedList(new ArrayList<CommandMetrics>());
+
+  protected CommandMetricsAggregator aggregator = new CommandMetricsAggregator();
+
+  @Before
+  public void setupProcessEngine() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:commandMetricsInterceptorTest");
+    processEngineConfiguration.setEnableCommandMetrics(true);
+    List<CommandMetricsListener> listeners = new ArrayList<CommandMetricsListener>();
+    listeners.add(recordedMetrics::add);
+    listeners.add(aggregator);
+    processEngineConfiguration.setCommandMetricsListeners(listeners);
+    processEngine = processEngineConfiguration.buildProcessEngine();
+    recordedMetrics.clear();
+    aggregator.reset();
+  }
+
+  @After
+  public void shutdownProcessEngine() {
+    processEngine.close();
+  }
+
+  @Test
+  public void testMetricsRecordedForCommand() {
+    processEngine.getManagementService().executeCommand(new InsertPropertyCommand());
+
+    CommandMetrics metrics = findMetrics(InsertPropertyCommand.class);
+    assertThat(metrics.getTotalTimeInNanos()).isGreaterThan(0);
+    assertThat(metrics.getFlushes()).isEqualTo(1);
+    assertThat(metrics.getAgendaOperations()).isGreaterThanOrEqualTo(1);
+    assertThat(metrics.getInserts()).containsEntry(PropertyEntityImpl.class.getName(), 1L);
+    assertThat(metrics.getEntityCacheSize()).isGreaterThanOrEqualTo(1);
+    assertThat(metrics.getSqlStatements()).containsKey(INSERT_PROPERTY_STATEMENT);
+    assertThat(metrics.getSqlStatements().get(INSERT_PROPERTY_STATEMENT).getCount()).isEqualTo(1);
+
+    assertThat(aggregator.getCommandStatistics().get(InsertPropertyCommand.class.getName()).getExecutions()).isEqualTo(1);
+    assertThat(aggregator.getSqlStatementStatistics().get(INSERT_PROPERTY_STATEMENT).getExecutions()).isEqualTo(1);
+
+    processEngine.getManagementService().executeCommand(new DeletePropertyCommand());
+  }
+
+  @Test
+  public void testNestedCommandsAccountedToOuterCommand() {
+    processEngine.getManagementService().executeCommand(new NestingCommand());
+
+    assertThat(recordedMetrics).extracting(CommandMetrics::getCommandClassName).containsExactly(NestingCommand.class.getName());
+    assertThat(recordedMetrics.get(0).getInserts()).containsEntry(PropertyEntityImpl.class.getName(), 1L);
+
+    processEngine.getManagementService().executeCommand(new DeletePropertyCommand());
+  }
+
+  @Test
+  public void testOptimisticLockingFailureRecorded() {
+    assertThatExceptionOfType(ActivitiOptimisticLockingException.class)
+      .isThrownBy(() -> processEngine.getManagementService().executeCommand(new OptimisticLockingFailureCommand()));
+
+    CommandMetrics metrics = findMetrics(OptimisticLockingFailureCommand.class);
+    assertThat(metrics.getOptimisticLockingFailures()).isEqualTo(1);
+    assertThat(metrics.getException()).isInstanceOf(ActivitiOptimisticLockingException.class);
+    assertThat(aggregator.getCommandStatistics().get(OptimisticLockingFailureCommand.class.getName()).getFailures()).isEqualTo(1);
+  }
+
+  protected CommandMetrics findMetrics(Class<?> commandClass) {
+    synchronized (recordedMetrics) {
+      for (CommandMetrics metrics : recordedMetrics) {
+        if (metrics.getCommandClassName().equals(commandClass.getName())) {
+          return metrics;
+        }
+      }
+    }
+    throw new AssertionError("No metrics recorded for " + commandClass);
+  }
+
+  protected static class InsertPropertyCommand implements Command<Void> {
+
+    public Void execute(CommandContext commandContext) {
+      PropertyEntityImpl property = new PropertyEntityImpl();
+      property.setName("commandMetricsTest");
+      property.setValue("value");
+      commandContext.getPropertyEntityManager().insert(property);
+      return null;
+    }
+  }
+
+  protected static class DeletePropertyCommand implements Command<Void> {
+
+    public Void execute(CommandContext commandContext) {
+      commandContext.getPropertyEntityManager().delete("commandMetricsTest");
+      return null;
+    }
+  }
+
+  protected class NestingCommand implements Command<Void> {
+
+    public Void execute(CommandContext commandContext) {
+      processEngine.getManagementService().executeCommand(new InsertPropertyCommand());
+      return null;
+    }
+  }
+
+  protected static class OptimisticLockingFailureCommand implements Command<Void> {
+
+    public Void execute(CommandContext commandContext) {
+      throw new ActivitiOptimisticLockingException("Conflict");
+    }
+  }
+
+}
@@ -31,7 +31,9 @@ import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandInterceptor;
+import org.activiti.engine.impl.interceptor.RetryBudget;
 import org.activiti.engine.impl.interceptor.RetryInterceptor;
+import org.activiti.engine.impl.interceptor.RetryPolicy;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -69,6 +71,53 @@ public class RetryInterceptorTest {
       .withMessageContaining(retryInterceptor.getNumOfRetries() + " retries failed");
 
     assertThat(counter.get()).isEqualTo(retryInterceptor.getNumOfRetries() + 1); // +1, we retry 3 times, so one extra for the regular execution
+    assertThat(retryInterceptor.getRetryMetrics().getRetries()).isEqualTo(retryInterceptor.getNumOfRetries());
+    assertThat(retryInterceptor.getRetryMetrics().getRetriesExhausted()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRetryPolicyPerCommand() {
+    retryInterceptor.setRetryPolicy(CommandThrowingOptimisticLockingException.class, new RetryPolicy(1, 1, 1));
+
+    assertThatExceptionOfType(ActivitiException.class)
+      .isThrownBy(() -> processEngine.getManagementService().executeCommand(new CommandThrowingOptimisticLockingException()))
+      .withMessageContaining("1 retries failed");
+
+    assertThat(counter.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testNoRetryPolicyRethrowsOptimisticLockingException() {
+    retryInterceptor.setRetryPolicy(CommandThrowingOptimisticLockingException.class, RetryPolicy.NO_RETRY);
+
+    assertThatExceptionOfType(ActivitiOptimisticLockingException.class)
+      .isThrownBy(() -> processEngine.getManagementService().executeCommand(new CommandThrowingOptimisticLockingException()));
+
+    assertThat(counter.get()).isEqualTo(1);
+    assertThat(retryInterceptor.getRetryMetrics().getRetries()).isZero();
+  }
+
+  @Test
+  public void testRetryBudgetLimitsRetries() {
+    retryInterceptor.setRetryBudget(new RetryBudget(0, 1));
+
+    assertThatExceptionOfType(ActivitiOptimisticLockingException.class)
+      .isThrownBy(() -> processEngine.getManagementService().executeCommand(new CommandThrowingOptimisticLockingException()));
+
+    assertThat(counter.get()).isEqualTo(2);
+    assertThat(retryInterceptor.getRetryMetrics().getBudgetExhausted()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDecorrelatedJitterStaysWithinBounds() {
+    RetryPolicy retryPolicy = new RetryPolicy(10, 10, 100);
+
+    long waitTime = 0;
+    for (int i = 0; i < 100; i++) {
+      long previousWaitTime = waitTime;
+      waitTime = retryPolicy.nextWaitTime(previousWaitTime);
+      assertThat(waitTime).isBetween(10L, Math.min(100L, Math.max(10L, previousWaitTime * 3)));
+    }
   }
 
   public static AtomicInteger counter = new AtomicInteger();
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.cfg.StartupProfiler;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ */
+public class StartupProfilingTest {
+
+  private static final Logger log = LoggerFactory.getLogger(StartupProfilingTest.class);
+
+  @Test
+  public void testInitPhasesAreProfiled() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = createConfiguration("startupProfilingTest");
+    processEngineConfiguration.setEnableStartupProfiling(true);
+    ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+    try {
+      StartupProfiler startupProfiler = processEngineConfiguration.getStartupProfiler();
+      assertThat(startupProfiler).isNotNull();
+
+      Map<String, Long> phaseDurations = startupProfiler.getPhaseDurationsInMillis();
+      assertThat(phaseDurations).containsKeys("initDataSource", "initSqlSessionFactory", "initDeployers", "schemaOperations");
+      assertThat(phaseDurations.keySet()).startsWith("initConfigurators");
+    } finally {
+      processEngine.close();
+    }
+  }
+
+  @Test
+  public void testParallelInit() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = createConfiguration("parallelInitTest");
+    processEngineConfiguration.setEnableStartupProfiling(true);
+    processEngineConfiguration.setEnableParallelInit(true);
+    ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+    try {
+      assertThat(processEngineConfiguration.getSqlSessionFactory()).isNotNull();
+      assertThat(processEngineConfiguration.getStartupProfiler().getPhaseDurationsInMillis()).containsKey("initSqlSessionFactory");
+      assertThat(processEngine.getRepositoryService().createDeploymentQuery().count()).isZero();
+    } finally {
+      processEngine.close();
+    }
+  }
+
+  /**
+   * Not a strict benchmark: records the time to the first completed command so
+   * startup regressions show up in the build log.
+   */
+  @Test
+  public void testTimeToFirstCommand() {
+    long start = System.nanoTime();
+    ProcessEngine processEngine = createConfiguration("timeToFirstCommandTest").buildProcessEngine();
+    try {
+      processEngine.getRepositoryService().createProcessDefinitionQuery().count();
+      long timeToFirstCommand = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      log.info("time to first command: {} ms", timeToFirstCommand);
+      assertThat(timeToFirstCommand).isGreaterThanOrEqualTo(0);
+    } finally {
+      processEngine.close();
+    }
+  }
+
+  protected ProcessEngineConfigurationImpl createConfiguration(String databaseName) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:" + databaseName);
+    return processEngineConfiguration;
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.ProcessInstanceQueryImpl;
+import org.activiti.engine.impl.TaskQueryImpl;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.db.ReadReplicaRouter;
+import org.activiti.engine.impl.util.ReflectUtil;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.task.TaskQuery;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ */
+public class ReadReplicaRoutingTest {
+
+  protected ProcessEngine processEngine;
+
+  protected CountingDataSource readOnlyDataSource;
+
+  @Before
+  public void setupProcessEngine() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:readReplicaRoutingTest");
+    // the "replica" is the same in-memory database, reached through a separate data source
+    readOnlyDataSource = new CountingDataSource("jdbc:h2:mem:readReplicaRoutingTest");
+    processEngineConfiguration.setReadOnlyDataSource(readOnlyDataSource);
+    processEngine = processEngineConfiguration.buildProcessEngine();
+    readOnlyDataSource.connections.set(0);
+  }
+
+  @After
+  public void shutdownProcessEngine() {
+    processEngine.close();
+  }
+
+  @Test
+  public void testQueriesUseReadOnlyDataSource() {
+    Task task = processEngine.getTaskService().newTask();
+    processEngine.getTaskService().saveTask(task);
+    assertThat(readOnlyDataSource.connections.get()).isZero();
+
+    assertThat(processEngine.getTaskService().createTaskQuery().taskId(task.getId()).count()).isEqualTo(1);
+    assertThat(processEngine.getTaskService().createTaskQuery().list()).hasSize(1);
+    assertThat(processEngine.getManagementService().getTableCount()).isNotEmpty();
+    assertThat(readOnlyDataSource.connections.get()).isEqualTo(3);
+
+    processEngine.getTaskService().deleteTask(task.getId(), true);
+    assertThat(readOnlyDataSource.connections.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void testStalenessTolerancePerQueryType() {
+    ReadReplicaRouter router = new ReadReplicaRouter(readOnlyDataSource);
+    Map<Class<?>, Long> stalenessTolerances = new HashMap<Class<?>, Long>();
+    stalenessTolerances.put(TaskQuery.class, 1000L);
+    router.setStalenessTolerances(stalenessTolerances);
+    router.setDefaultStalenessToleranceInMs(10000L);
+
+    AtomicInteger lag = new AtomicInteger(500);
+    router.setLagProvider(lag::get);
+    assertThat(router.isRoutedToReplica(new TaskQueryImpl())).isTrue();
+    assertThat(router.isRoutedToReplica(new ProcessInstanceQueryImpl())).isTrue();
+
+    lag.set(5000);
+    assertThat(router.isRoutedToReplica(new TaskQueryImpl())).isFalse();
+    assertThat(router.isRoutedToReplica(new ProcessInstanceQueryImpl())).isTrue();
+
+    lag.set(-1);
+    assertThat(router.isRoutedToReplica(new ProcessInstanceQueryImpl())).isFalse();
+  }
+
+  @Test
+  public void testNotRoutedInsideWriteTransaction() {
+    ReadReplicaRouter router = new ReadReplicaRouter(readOnlyDataSource);
+    router.setWriteTransactionActive(() -> true);
+
+    assertThat(router.isRoutedToReplica(new TaskQueryImpl())).isFalse();
+  }
+
+  protected static class CountingDataSource extends UnpooledDataSource {
+
+    protected AtomicInteger connections = new AtomicInteger();
+
+    public CountingDataSource(String url) {
+      super(ReflectUtil.getClassLoader(), "org.h2.Driver", url, "sa", "");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      connections.incrementAndGet();
+      return super.getConnection();
+    }
+  }
+
+}
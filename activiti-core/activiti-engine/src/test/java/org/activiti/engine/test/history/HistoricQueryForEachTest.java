@@ -0,0 +1,140 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.history;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.history.HistoricProcessInstance;
+import org.activiti.engine.history.HistoricVariableInstance;
+import org.activiti.engine.history.HistoricVariableUpdate;
+import org.activiti.engine.impl.HistoricDetailQueryImpl;
+import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
+import org.activiti.engine.impl.HistoricVariableInstanceQueryImpl;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntityImpl;
+import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntityImpl;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ */
+public class HistoricQueryForEachTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = { "org/activiti/engine/test/history/oneTaskProcess.bpmn20.xml" })
+  public void testForEachReturnsSameResultsAsList() {
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("index", i));
+    }
+
+    List<String> expected = new ArrayList<String>();
+    for (HistoricProcessInstance processInstance : historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceId().asc().list()) {
+      expected.add(processInstance.getId());
+    }
+
+    List<String> ids = new ArrayList<String>();
+    historyService.createHistoricProcessInstanceQuery().orderByProcessInstanceId().asc().forEach(processInstance -> ids.add(processInstance.getId()));
+
+    assertThat(ids).hasSize(5).containsExactlyElementsOf(expected);
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/history/oneTaskProcess.bpmn20.xml" })
+  public void testForEachWithVariableFilter() {
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      for (int i = 0; i < 5; i++) {
+        runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("index", i));
+      }
+
+      List<HistoricProcessInstance> processInstances = new ArrayList<HistoricProcessInstance>();
+      historyService.createHistoricProcessInstanceQuery().variableValueGreaterThan("index", 2).forEach(processInstances::add);
+      assertThat(processInstances).hasSize(2);
+
+      // includeProcessVariables is not read through a cursor, but gives the same results
+      List<HistoricProcessInstance> withVariables = new ArrayList<HistoricProcessInstance>();
+      historyService.createHistoricProcessInstanceQuery().variableValueGreaterThan("index", 2).includeProcessVariables().forEach(withVariables::add);
+      assertThat(withVariables).hasSize(2);
+      for (HistoricProcessInstance processInstance : withVariables) {
+        assertThat(processInstance.getProcessVariables()).containsKey("index");
+      }
+    }
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/history/oneTaskProcess.bpmn20.xml" })
+  public void testForEachInitializesVariableValues() {
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("var", "value")).getId();
+
+      List<HistoricVariableInstance> variables = new ArrayList<HistoricVariableInstance>();
+      historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).forEach(variables::add);
+
+      assertThat(variables).hasSize(1);
+      assertThat(variables.get(0).getValue()).isEqualTo("value");
+    }
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/history/oneTaskProcess.bpmn20.xml" })
+  public void testForEachBypassesEntityCache() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+
+    boolean cached = managementService.executeCommand((Command<Boolean>) commandContext -> {
+      List<String> ids = new ArrayList<String>();
+      new HistoricProcessInstanceQueryImpl(commandContext).processInstanceId(processInstanceId).forEach(processInstance -> ids.add(processInstance.getId()));
+      assertThat(ids).containsExactly(processInstanceId);
+      return commandContext.getEntityCache().findInCache(HistoricProcessInstanceEntityImpl.class, processInstanceId) != null;
+    });
+    assertThat(cached).isFalse();
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/history/oneTaskProcess.bpmn20.xml" })
+  public void testForEachDoesNotCacheByteArrays() {
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      byte[] content = "exported content".getBytes();
+      String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", singletonMap("content", content)).getId();
+      runtimeService.setVariable(processInstanceId, "content", "updated content".getBytes());
+
+      boolean cached = managementService.executeCommand((Command<Boolean>) commandContext -> {
+        List<Object> values = new ArrayList<Object>();
+        new HistoricVariableInstanceQueryImpl(commandContext).processInstanceId(processInstanceId).forEach(variable -> values.add(variable.getValue()));
+        assertThat(values).containsExactly("updated content".getBytes());
+
+        if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.FULL)) {
+          List<Object> detailValues = new ArrayList<Object>();
+          new HistoricDetailQueryImpl(commandContext).processInstanceId(processInstanceId).variableUpdates()
+              .forEach(detail -> detailValues.add(((HistoricVariableUpdate) detail).getValue()));
+          assertThat(detailValues).hasSize(2);
+        }
+        return !commandContext.getEntityCache().findInCache(ByteArrayEntityImpl.class).isEmpty();
+      });
+      assertThat(cached).isFalse();
+    }
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/history/oneTaskProcess.bpmn20.xml" })
+  public void testForEachOnRuntimeQuery() {
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    List<Task> tasks = new ArrayList<Task>();
+    taskService.createTaskQuery().forEach(tasks::add);
+    assertThat(tasks).hasSize(2);
+  }
+
+}
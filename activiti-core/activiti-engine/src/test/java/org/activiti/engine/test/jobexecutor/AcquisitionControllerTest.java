@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.engine.impl.asyncexecutor.AcquisitionController;
+import org.junit.Test;
+
+/**
+ */
+public class AcquisitionControllerTest {
+
+  @Test
+  public void testBatchSizeFollowsFreeCapacity() {
+    AcquisitionController controller = new AcquisitionController(100, 10000);
+
+    assertThat(controller.nextBatchSize(10, -1)).isEqualTo(10);
+    assertThat(controller.nextBatchSize(10, 25)).isEqualTo(10);
+    assertThat(controller.nextBatchSize(10, 3)).isEqualTo(3);
+    assertThat(controller.nextBatchSize(10, 0)).isZero();
+  }
+
+  @Test
+  public void testFullBatchAcquiresAgainImmediately() {
+    AcquisitionController controller = new AcquisitionController(100, 10000);
+
+    assertThat(controller.acquired(5, 5, 1000)).isZero();
+    assertThat(controller.acquired(5, 2, 1000)).isEqualTo(100);
+  }
+
+  @Test
+  public void testBacksOffExponentiallyWhenIdle() {
+    AcquisitionController controller = new AcquisitionController(100, 1000);
+
+    assertThat(controller.acquired(5, 0, 1000)).isEqualTo(100);
+    assertThat(controller.acquired(5, 0, 1000)).isEqualTo(200);
+    assertThat(controller.acquired(5, 0, 1000)).isEqualTo(400);
+    assertThat(controller.acquired(5, 0, 1000)).isEqualTo(800);
+    assertThat(controller.acquired(5, 0, 1000)).isEqualTo(1000);
+    assertThat(controller.acquired(5, 0, 1000)).isEqualTo(1000);
+
+    // jobs found again: back to the minimum
+    assertThat(controller.acquired(5, 1, 1000)).isEqualTo(100);
+    assertThat(controller.acquired(5, 0, 1000)).isEqualTo(100);
+  }
+
+  @Test
+  public void testHintResetsBackoff() {
+    AcquisitionController controller = new AcquisitionController(100, 10000);
+    for (int i = 0; i < 5; i++) {
+      controller.idle();
+    }
+    assertThat(controller.getIdleWaitTimeInMillis()).isEqualTo(3200);
+
+    controller.hint();
+
+    assertThat(controller.getIdleWaitTimeInMillis()).isEqualTo(100);
+  }
+
+  @Test
+  public void testMetrics() {
+    AcquisitionController controller = new AcquisitionController(100, 10000);
+    controller.acquired(10, 10, 2000000);
+    controller.acquired(10, 4, 4000000);
+
+    assertThat(controller.getAcquisitionCount()).isEqualTo(2);
+    assertThat(controller.getAcquiredJobCount()).isEqualTo(14);
+    assertThat(controller.getLastBatchSize()).isEqualTo(4);
+    assertThat(controller.getAverageBatchSize()).isEqualTo(7.0);
+    assertThat(controller.getAverageAcquisitionTimeInMillis()).isEqualTo(3.0);
+  }
+
+}
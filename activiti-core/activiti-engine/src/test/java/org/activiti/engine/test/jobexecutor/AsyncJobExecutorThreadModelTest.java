@@ -0,0 +1,130 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.impl.asyncexecutor.AsyncJobExecutorThreadModel;
+import org.activiti.engine.impl.asyncexecutor.ConcurrencyLimitedExecutorService;
+import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.junit.Test;
+
+/**
+ * Tests for the executor services created for the different {@link AsyncJobExecutorThreadModel}s.
+ */
+public class AsyncJobExecutorThreadModelTest {
+
+  @Test
+  public void testPlatformThreadModelUsesThreadPool() {
+    TestAsyncJobExecutor asyncExecutor = new TestAsyncJobExecutor();
+    asyncExecutor.initExecutorService();
+    try {
+      assertThat(asyncExecutor.getExecutorService()).isInstanceOf(ThreadPoolExecutor.class);
+      assertThat(asyncExecutor.getThreadPoolQueue()).isNotNull();
+    } finally {
+      asyncExecutor.getExecutorService().shutdownNow();
+    }
+  }
+
+  @Test
+  public void testWorkStealingThreadModel() {
+    TestAsyncJobExecutor asyncExecutor = new TestAsyncJobExecutor();
+    asyncExecutor.setThreadModel(AsyncJobExecutorThreadModel.WORK_STEALING);
+    asyncExecutor.setMaxConcurrentJobs(5);
+    asyncExecutor.initExecutorService();
+    try {
+      assertThat(asyncExecutor.getExecutorService()).isInstanceOf(ConcurrencyLimitedExecutorService.class);
+      assertThat(((ConcurrencyLimitedExecutorService) asyncExecutor.getExecutorService()).getMaxConcurrentTasks()).isEqualTo(5);
+    } finally {
+      asyncExecutor.getExecutorService().shutdownNow();
+    }
+  }
+
+  @Test
+  public void testVirtualThreadModel() {
+    TestAsyncJobExecutor asyncExecutor = new TestAsyncJobExecutor();
+    asyncExecutor.setThreadModel(AsyncJobExecutorThreadModel.VIRTUAL);
+    asyncExecutor.initExecutorService();
+    try {
+      if (Runtime.version().feature() >= 21) {
+        assertThat(asyncExecutor.getExecutorService()).isInstanceOf(ConcurrencyLimitedExecutorService.class);
+        // maxPoolSize + queueSize
+        assertThat(((ConcurrencyLimitedExecutorService) asyncExecutor.getExecutorService()).getMaxConcurrentTasks()).isEqualTo(110);
+      } else {
+        assertThat(asyncExecutor.getExecutorService()).isInstanceOf(ThreadPoolExecutor.class);
+      }
+    } finally {
+      asyncExecutor.getExecutorService().shutdownNow();
+    }
+  }
+
+  @Test
+  public void testConcurrencyLimitRejectsWhenExhausted() throws Exception {
+    ExecutorService delegate = Executors.newCachedThreadPool();
+    ConcurrencyLimitedExecutorService executorService = new ConcurrencyLimitedExecutorService(delegate, 2);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(2);
+    try {
+      for (int i = 0; i < 2; i++) {
+        executorService.execute(() -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          finished.countDown();
+        });
+      }
+      assertThat(executorService.getAvailablePermits()).isZero();
+      assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executorService.execute(() -> {}));
+
+      release.countDown();
+      assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+      executorService.shutdown();
+      assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(executorService.getAvailablePermits()).isEqualTo(2);
+    } finally {
+      delegate.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testRejectedByDelegateReleasesPermit() {
+    ForkJoinPool delegate = new ForkJoinPool(1);
+    delegate.shutdown();
+    ConcurrencyLimitedExecutorService executorService = new ConcurrencyLimitedExecutorService(delegate, 1);
+
+    assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executorService.execute(() -> {}));
+    assertThat(executorService.getAvailablePermits()).isEqualTo(1);
+  }
+
+  protected static class TestAsyncJobExecutor extends DefaultAsyncJobExecutor {
+
+    public void initExecutorService() {
+      initAsyncJobExecutionThreadPool();
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
+import org.activiti.engine.impl.asyncexecutor.FusedExecuteAsyncRunnable;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Compares the throughput of the {@link FusedExecuteAsyncRunnable} with the regular {@link ExecuteAsyncRunnable}
+ * on the same workload: exclusive async service tasks, each in its own process instance, acquired in one batch and
+ * executed one after the other. Both runnables are measured in alternating rounds after a warm up, and the median
+ * jobs per second of each is printed.
+ *
+ * Not run as part of the build. Start it from the IDE or with
+ * <pre>
+ * mvn -pl activiti-core/activiti-engine test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.activiti.engine.test.jobexecutor.FusedJobExecutionBenchmark
+ * </pre>
+ * The in-memory H2 database hides most of the cost of a round trip, which is what the fused execution saves; pass
+ * -Dbenchmark.jdbcUrl, -Dbenchmark.jdbcDriver, -Dbenchmark.jdbcUsername and -Dbenchmark.jdbcPassword to measure against
+ * a real database. Arguments: number of jobs per round (default 500), number of measured rounds (default 5).
+ */
+public class FusedJobExecutionBenchmark {
+
+  protected static final String PROCESS = "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" "
+      + "xmlns:activiti=\"http://activiti.org/bpmn\" targetNamespace=\"benchmark\">"
+      + "<process id=\"fusedJobExecutionBenchmark\" isExecutable=\"true\">"
+      + "<startEvent id=\"start\" />"
+      + "<sequenceFlow id=\"flow1\" sourceRef=\"start\" targetRef=\"asyncTask\" />"
+      + "<serviceTask id=\"asyncTask\" activiti:async=\"true\" activiti:expression=\"${true}\" />"
+      + "<sequenceFlow id=\"flow2\" sourceRef=\"asyncTask\" targetRef=\"end\" />"
+      + "<endEvent id=\"end\" />"
+      + "</process></definitions>";
+
+  protected static final int WARM_UP_ROUNDS = 2;
+
+  public static void main(String[] args) {
+    int jobsPerRound = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = createConfiguration();
+    ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+    try {
+      processEngine.getRepositoryService().createDeployment().addString("fusedJobExecutionBenchmark.bpmn20.xml", PROCESS).deploy();
+
+      for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+        executeRound(processEngineConfiguration, jobsPerRound, false);
+        executeRound(processEngineConfiguration, jobsPerRound, true);
+      }
+
+      double[] separate = new double[rounds];
+      double[] fused = new double[rounds];
+      for (int i = 0; i < rounds; i++) {
+        separate[i] = executeRound(processEngineConfiguration, jobsPerRound, false);
+        fused[i] = executeRound(processEngineConfiguration, jobsPerRound, true);
+      }
+
+      System.out.printf("%d rounds of %d jobs against %s%n", rounds, jobsPerRound, processEngineConfiguration.getJdbcUrl());
+      System.out.printf("separate transactions: %.1f jobs/s (median)%n", median(separate));
+      System.out.printf("fused transaction:     %.1f jobs/s (median)%n", median(fused));
+
+    } finally {
+      processEngine.close();
+    }
+  }
+
+  protected static ProcessEngineConfigurationImpl createConfiguration() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setJdbcUrl(System.getProperty("benchmark.jdbcUrl", "jdbc:h2:mem:fusedJobExecutionBenchmark"));
+    processEngineConfiguration.setJdbcDriver(System.getProperty("benchmark.jdbcDriver", processEngineConfiguration.getJdbcDriver()));
+    processEngineConfiguration.setJdbcUsername(System.getProperty("benchmark.jdbcUsername", processEngineConfiguration.getJdbcUsername()));
+    processEngineConfiguration.setJdbcPassword(System.getProperty("benchmark.jdbcPassword", processEngineConfiguration.getJdbcPassword()));
+    processEngineConfiguration.setAsyncExecutorActivate(false);
+    return processEngineConfiguration;
+  }
+
+  /**
+   * Starts a process instance per job, acquires all of their jobs and executes them. Returns the jobs per second.
+   */
+  protected static double executeRound(ProcessEngineConfigurationImpl processEngineConfiguration, int nrOfJobs, boolean fused) {
+    for (int i = 0; i < nrOfJobs; i++) {
+      processEngineConfiguration.getRuntimeService().startProcessInstanceByKey("fusedJobExecutionBenchmark");
+    }
+    List<JobEntity> jobs = new ArrayList<JobEntity>(processEngineConfiguration.getCommandExecutor()
+        .execute(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor(), nrOfJobs)).getJobs());
+
+    long start = System.nanoTime();
+    for (JobEntity job : jobs) {
+      if (fused) {
+        new FusedExecuteAsyncRunnable(job, processEngineConfiguration).run();
+      } else {
+        new ExecuteAsyncRunnable(job, processEngineConfiguration).run();
+      }
+    }
+    long durationInNanos = Math.max(System.nanoTime() - start, 1L);
+
+    if (processEngineConfiguration.getManagementService().createJobQuery().count() != 0) {
+      throw new IllegalStateException("Not all jobs of the round were executed");
+    }
+    return jobs.size() * (double) TimeUnit.SECONDS.toNanos(1) / durationInNanos;
+  }
+
+  protected static double median(double[] values) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int middle = sorted.length / 2;
+    return sorted.length % 2 == 0 ? (sorted[middle - 1] + sorted[middle]) / 2 : sorted[middle];
+  }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.activiti.engine.impl.asyncexecutor.FusedExecuteAsyncRunnable;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.cmd.ExecuteFusedAsyncJobCmd;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs acquired jobs through the {@link FusedExecuteAsyncRunnable}, without the async executor threads.
+ * The throughput compared to the regular runnable is measured by {@link FusedJobExecutionBenchmark}.
+ */
+public class FusedJobExecutionTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testExclusiveJobIsExecutedAndUnlocked() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("myProcess");
+
+    for (JobEntity job : acquireJobs(1)) {
+      new FusedExecuteAsyncRunnable(job, processEngineConfiguration).run();
+    }
+
+    assertThat(managementService.createJobQuery().count()).isZero();
+    assertThat(runtimeService.getVariable(processInstance.getId(), "test")).isEqualTo("12345");
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getName()).isEqualTo("A");
+    assertThat(getProcessInstanceLockTime(processInstance.getId())).isNull();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testJobIsUnacquiredWhenProcessInstanceIsLocked() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("myProcess");
+    List<JobEntity> jobs = acquireJobs(1);
+
+    // Another executor holds the lock of the process instance
+    managementService.executeCommand(commandContext -> {
+      commandContext.getExecutionEntityManager().updateProcessInstanceLockTime(processInstance.getId());
+      return null;
+    });
+
+    new FusedExecuteAsyncRunnable(jobs.get(0), processEngineConfiguration).run();
+
+    Job job = managementService.createJobQuery().singleResult();
+    assertThat(job).isNotNull();
+    assertThat(job.getId()).isNotEqualTo(jobs.get(0).getId());
+    assertThat(((JobEntity) job).getLockOwner()).isNull();
+    assertThat(runtimeService.getVariable(processInstance.getId(), "test")).isNull();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testJobOfDeletedProcessInstanceIsSkipped() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("myProcess");
+    List<JobEntity> jobs = acquireJobs(1);
+
+    runtimeService.deleteProcessInstance(processInstance.getId(), "test");
+    new FusedExecuteAsyncRunnable(jobs.get(0), processEngineConfiguration).run();
+
+    assertThat(managementService.createJobQuery().count()).isZero();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/AsyncExecutorTest.testAsyncFailingScript.bpmn20.xml")
+  public void testFailedJobIsRetriedLater() {
+    runtimeService.startProcessInstanceByKey("asyncScript");
+    List<JobEntity> jobs = acquireJobs(1);
+
+    new FusedExecuteAsyncRunnable(jobs.get(0), processEngineConfiguration).run();
+
+    // The failed job waits as a timer job for its next attempt
+    assertThat(managementService.createJobQuery().count()).isZero();
+    Job job = managementService.createTimerJobQuery().singleResult();
+    assertThat(job).isNotNull();
+    assertThat(job.getRetries()).isEqualTo(jobs.get(0).getRetries() - 1);
+    assertThat(job.getExceptionMessage()).isNotNull();
+    assertThat(taskService.createTaskQuery().count()).isZero();
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testRenewedProcessInstanceLockKeepsSiblingJobsOut.bpmn20.xml")
+  public void testJobIsUnacquiredWithoutUsingARetryWhenProcessInstanceLockWaitTimesOut() throws Exception {
+    if (!"h2".equals(processEngineConfiguration.getDatabaseType())) {
+      return; // relies on the lock timeout of H2, other databases may wait forever by default
+    }
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("exclusiveSiblings");
+    List<JobEntity> jobs = acquireJobs(2);
+    assertThat(jobs).hasSize(2);
+
+    // The first exclusive job holds the row lock of the process instance until the second one gave up waiting for it
+    CountDownLatch firstJobLocked = new CountDownLatch(1);
+    CountDownLatch secondJobDone = new CountDownLatch(1);
+    AtomicReference<Throwable> firstJobFailure = new AtomicReference<Throwable>();
+    Thread firstJob = new Thread(() -> {
+      try {
+        managementService.executeCommand(commandContext -> {
+          new ExecuteFusedAsyncJobCmd(jobs.get(0)).execute(commandContext);
+          firstJobLocked.countDown();
+          try {
+            secondJobDone.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return null;
+        });
+      } catch (Throwable e) {
+        firstJobFailure.set(e);
+        firstJobLocked.countDown();
+      }
+    });
+    firstJob.start();
+    assertThat(firstJobLocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+    new FusedExecuteAsyncRunnable(jobs.get(1), processEngineConfiguration).run();
+    secondJobDone.countDown();
+    firstJob.join(10000);
+    assertThat(firstJobFailure.get()).isNull();
+
+    // The second job waits to be acquired again, with all of its retries
+    assertThat(managementService.createTimerJobQuery().count()).isZero();
+    Job job = managementService.createJobQuery().singleResult();
+    assertThat(job).isNotNull();
+    assertThat(job.getId()).isNotEqualTo(jobs.get(1).getId());
+    assertThat(job.getRetries()).isEqualTo(jobs.get(1).getRetries());
+    assertThat(job.getExceptionMessage()).isNull();
+
+    managementService.executeJob(job.getId());
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult()).isNotNull();
+  }
+
+  protected List<JobEntity> acquireJobs(int nrOfJobs) {
+    return new ArrayList<JobEntity>(managementService.executeCommand(
+        new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor(), nrOfJobs)).getJobs());
+  }
+
+  protected Date getProcessInstanceLockTime(String processInstanceId) {
+    return managementService.executeCommand(commandContext ->
+        commandContext.getExecutionEntityManager().findById(processInstanceId).getLockTime());
+  }
+
+}
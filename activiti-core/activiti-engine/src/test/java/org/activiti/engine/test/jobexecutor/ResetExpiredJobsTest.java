@@ -17,14 +17,23 @@
 package org.activiti.engine.test.jobexecutor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.asyncexecutor.BulkResetExpiredJobsCmd;
 import org.activiti.engine.impl.asyncexecutor.FindExpiredJobsCmd;
+import org.activiti.engine.impl.asyncexecutor.RenewJobLocksCmd;
 import org.activiti.engine.impl.asyncexecutor.ResetExpiredJobsCmd;
+import org.activiti.engine.impl.asyncexecutor.ResetExpiredJobsRunnable;
 import org.activiti.engine.impl.cmd.AcquireJobsCmd;
+import org.activiti.engine.impl.cmd.LockExclusiveJobCmd;
+import org.activiti.engine.impl.cmd.UnlockExclusiveJobCmd;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.impl.test.PluggableActivitiTestCase;
 import org.activiti.engine.runtime.Job;
@@ -99,6 +108,123 @@ public class ResetExpiredJobsTest extends PluggableActivitiTestCase {
     }
   }
 
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testBulkResetExpiredJobs() {
+    Date startOfTestTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startOfTestTime);
+
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("myProcess");
+    }
+    managementService.executeCommand(new AcquireJobsCmd(processEngineConfiguration.getAsyncExecutor(), 5));
+    assertThat(managementService.createJobQuery().locked().count()).isEqualTo(5);
+
+    // Lock time not yet passed: nothing to reset
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(10))).isZero();
+
+    Date newDate = new Date(startOfTestTime.getTime() + processEngineConfiguration.getAsyncExecutor().getAsyncJobLockTimeInMillis() + 10000);
+    processEngineConfiguration.getClock().setCurrentTime(newDate);
+
+    // One page of three, then the remaining two
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(3))).isEqualTo(3);
+    assertThat(managementService.createJobQuery().locked().count()).isEqualTo(2);
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(3))).isEqualTo(2);
+    assertThat(managementService.createJobQuery().unlocked().count()).isEqualTo(5);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testResettingExpiredJobsHintsAsyncJobAcquisition() {
+    Date startOfTestTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startOfTestTime);
+
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("myProcess");
+    }
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    managementService.executeCommand(new AcquireJobsCmd(asyncExecutor, 5));
+
+    HintCountingResetExpiredJobsRunnable resetExpiredJobsRunnable = new HintCountingResetExpiredJobsRunnable(asyncExecutor);
+
+    // Nothing expired: no reason to wake up the acquisition thread
+    resetExpiredJobsRunnable.resetExpiredJobsInBulk();
+    assertThat(resetExpiredJobsRunnable.hints).isZero();
+
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startOfTestTime.getTime() + asyncExecutor.getAsyncJobLockTimeInMillis() + 10000));
+    resetExpiredJobsRunnable.resetExpiredJobsInBulk();
+    assertThat(managementService.createJobQuery().unlocked().count()).isEqualTo(5);
+    // one hint per reset page of three
+    assertThat(resetExpiredJobsRunnable.hints).isEqualTo(2);
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testResetExpiredJobs.bpmn20.xml")
+  public void testRenewedJobLocksDoNotExpire() {
+    Date startOfTestTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startOfTestTime);
+
+    runtimeService.startProcessInstanceByKey("myProcess");
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    managementService.executeCommand(new AcquireJobsCmd(asyncExecutor));
+    String jobId = managementService.createJobQuery().singleResult().getId();
+
+    // Shortly before the lock expires, the executor's heartbeat renews it
+    int lockTime = asyncExecutor.getAsyncJobLockTimeInMillis();
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startOfTestTime.getTime() + lockTime - 1000));
+    assertThat(managementService.executeCommand(new RenewJobLocksCmd("someOtherOwner", Collections.singletonList(jobId), lockTime))).isZero();
+    assertThat(managementService.executeCommand(new RenewJobLocksCmd(asyncExecutor.getLockOwner(), Collections.singletonList(jobId), lockTime))).isEqualTo(1);
+
+    // Past the original lock time, the job is not expired
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startOfTestTime.getTime() + lockTime + 10000));
+    assertThat(managementService.executeCommand(new FindExpiredJobsCmd(10))).isEmpty();
+    assertThat(managementService.executeCommand(new BulkResetExpiredJobsCmd(10))).isZero();
+    assertJobDetails(true);
+  }
+
+  @Deployment
+  public void testRenewedProcessInstanceLockKeepsSiblingJobsOut() {
+    Date startOfTestTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startOfTestTime);
+
+    runtimeService.startProcessInstanceByKey("exclusiveSiblings");
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    List<JobEntity> jobs = new ArrayList<JobEntity>(managementService.executeCommand(new AcquireJobsCmd(asyncExecutor, 2)).getJobs());
+    assertThat(jobs).hasSize(2);
+
+    // The first exclusive job locks the process instance and keeps running
+    managementService.executeCommand(new LockExclusiveJobCmd(jobs.get(0)));
+
+    int lockTime = asyncExecutor.getAsyncJobLockTimeInMillis();
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startOfTestTime.getTime() + lockTime - 1000));
+    managementService.executeCommand(new RenewJobLocksCmd(asyncExecutor.getLockOwner(), Collections.singletonList(jobs.get(0).getId()), lockTime));
+
+    // Past the original lock time, the sibling exclusive job still can't lock the process instance
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startOfTestTime.getTime() + lockTime + 10000));
+    assertThatExceptionOfType(ActivitiOptimisticLockingException.class)
+        .isThrownBy(() -> managementService.executeCommand(new LockExclusiveJobCmd(jobs.get(1))));
+
+    // Once the first job is done, the sibling can run
+    managementService.executeCommand(new UnlockExclusiveJobCmd(jobs.get(0)));
+    managementService.executeCommand(new LockExclusiveJobCmd(jobs.get(1)));
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/jobexecutor/ResetExpiredJobsTest.testRenewedProcessInstanceLockKeepsSiblingJobsOut.bpmn20.xml")
+  public void testProcessInstanceLockIsNotRenewedForOtherOwners() {
+    Date startOfTestTime = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(startOfTestTime);
+
+    runtimeService.startProcessInstanceByKey("exclusiveSiblings");
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    List<JobEntity> jobs = new ArrayList<JobEntity>(managementService.executeCommand(new AcquireJobsCmd(asyncExecutor, 2)).getJobs());
+    managementService.executeCommand(new LockExclusiveJobCmd(jobs.get(0)));
+
+    int lockTime = asyncExecutor.getAsyncJobLockTimeInMillis();
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startOfTestTime.getTime() + lockTime - 1000));
+    managementService.executeCommand(new RenewJobLocksCmd("someOtherOwner", Collections.singletonList(jobs.get(0).getId()), lockTime));
+
+    // The lock of the process instance expired, so the sibling takes over
+    processEngineConfiguration.getClock().setCurrentTime(new Date(startOfTestTime.getTime() + lockTime + 10000));
+    managementService.executeCommand(new LockExclusiveJobCmd(jobs.get(1)));
+  }
+
   protected void assertJobDetails(boolean locked) {
     JobQuery jobQuery = managementService.createJobQuery();
 
@@ -119,5 +245,23 @@ public class ResetExpiredJobsTest extends PluggableActivitiTestCase {
     }
   }
 
+  static class HintCountingResetExpiredJobsRunnable extends ResetExpiredJobsRunnable {
+
+    int hints;
+
+    HintCountingResetExpiredJobsRunnable(AsyncExecutor asyncExecutor) {
+      super(asyncExecutor, true);
+    }
+
+    @Override
+    protected void resetExpiredJobsInBulk() {
+      super.resetExpiredJobsInBulk();
+    }
+
+    @Override
+    protected void hintAsyncJobAcquisition() {
+      hints++;
+    }
+  }
 
 }
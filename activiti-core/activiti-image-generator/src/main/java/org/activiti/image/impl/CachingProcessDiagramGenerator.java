@@ -0,0 +1,368 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.image.impl;
+
+import static java.util.Collections.emptyList;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.SequenceInputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.CallActivity;
+import org.activiti.bpmn.model.Event;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.Gateway;
+import org.activiti.bpmn.model.GraphicInfo;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.Task;
+import org.activiti.image.exception.ActivitiImageException;
+import org.activiti.image.exception.ActivitiInterchangeInfoNotFoundException;
+
+/**
+ * Process diagram generator for running process instances that renders the static diagram of a process
+ * definition only once.
+ * <p>
+ * The diagram without any highlights is rendered through {@link DefaultProcessDiagramCanvas} the first time
+ * it is requested for a process definition id and kept as SVG bytes. Current, completed and errored
+ * activities and highlighted flows are then written as an extra SVG layer on top of that base diagram by
+ * {@link SvgOverlayWriter}, without building a DOM and without drawing the diagram again.
+ * <p>
+ * Process definitions are immutable, so cached diagrams never get stale; {@link #evict(String)} is only
+ * needed to free memory, e.g. when a deployment is deleted.
+ */
+public class CachingProcessDiagramGenerator extends DefaultProcessDiagramGenerator {
+
+    public static final int DEFAULT_MAX_CACHED_DIAGRAMS = 100;
+
+    protected static final String HIGHLIGHT_LAYER_ID = "diagram-highlights";
+
+    protected static final String KEY_SEPARATOR = "|";
+
+    protected final Map<String, BaseDiagram> baseDiagrams;
+
+    public CachingProcessDiagramGenerator() {
+        this(DEFAULT_MAX_CACHED_DIAGRAMS);
+    }
+
+    public CachingProcessDiagramGenerator(final int maxCachedDiagrams) {
+        this.baseDiagrams = Collections.synchronizedMap(new LinkedHashMap<String, BaseDiagram>(16,
+                                                                                              0.75f,
+                                                                                              true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BaseDiagram> eldest) {
+                return size() > maxCachedDiagrams;
+            }
+        });
+    }
+
+    public InputStream generateDiagram(String processDefinitionId,
+                                       BpmnModel bpmnModel,
+                                       List<String> highLightedActivities,
+                                       List<String> highLightedFlows,
+                                       List<String> currentActivities,
+                                       List<String> erroredActivities) {
+        return generateDiagram(processDefinitionId,
+                               bpmnModel,
+                               highLightedActivities,
+                               highLightedFlows,
+                               currentActivities,
+                               erroredActivities,
+                               null,
+                               null,
+                               null);
+    }
+
+    public InputStream generateDiagram(String processDefinitionId,
+                                       BpmnModel bpmnModel,
+                                       List<String> highLightedActivities,
+                                       List<String> highLightedFlows,
+                                       List<String> currentActivities,
+                                       List<String> erroredActivities,
+                                       String activityFontName,
+                                       String labelFontName,
+                                       String annotationFontName) {
+
+        if (!bpmnModel.hasDiagramInterchangeInfo()) {
+            throw new ActivitiInterchangeInfoNotFoundException("No interchange information found.");
+        }
+
+        String key = processDefinitionId + KEY_SEPARATOR + activityFontName + KEY_SEPARATOR + labelFontName + KEY_SEPARATOR + annotationFontName;
+        BaseDiagram baseDiagram = baseDiagrams.get(key);
+        if (baseDiagram == null) {
+            // rendered outside the lock, a concurrent duplicate render is cheaper than serializing all requests
+            baseDiagram = renderBaseDiagram(bpmnModel,
+                                            activityFontName,
+                                            labelFontName,
+                                            annotationFontName);
+            baseDiagrams.put(key,
+                             baseDiagram);
+        }
+
+        if (highLightedActivities.isEmpty() && highLightedFlows.isEmpty() && currentActivities.isEmpty() && erroredActivities.isEmpty()) {
+            return baseDiagram.toInputStream(null);
+        }
+        return baseDiagram.toInputStream(renderHighlights(baseDiagram,
+                                                          highLightedActivities,
+                                                          highLightedFlows,
+                                                          currentActivities,
+                                                          erroredActivities));
+    }
+
+    /**
+     * Removes the cached diagrams of the given process definition, for all fonts.
+     */
+    public void evict(String processDefinitionId) {
+        String prefix = processDefinitionId + KEY_SEPARATOR;
+        synchronized (baseDiagrams) {
+            Iterator<String> keys = baseDiagrams.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keys.next().startsWith(prefix)) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        baseDiagrams.clear();
+    }
+
+    public int getCachedDiagramCount() {
+        return baseDiagrams.size();
+    }
+
+    protected BaseDiagram renderBaseDiagram(BpmnModel bpmnModel,
+                                            String activityFontName,
+                                            String labelFontName,
+                                            String annotationFontName) {
+        DefaultProcessDiagramCanvas canvas = generateProcessDiagram(bpmnModel,
+                                                                    emptyList(),
+                                                                    emptyList(),
+                                                                    emptyList(),
+                                                                    emptyList(),
+                                                                    activityFontName,
+                                                                    labelFontName,
+                                                                    annotationFontName);
+        String svg;
+        try (InputStream image = canvas.generateImage()) {
+            svg = new String(image.readAllBytes(),
+                             StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ActivitiImageException("Error while generating process image",
+                                             e);
+        } finally {
+            canvas.close();
+        }
+
+        int end = svg.lastIndexOf("</svg>");
+        if (end < 0) {
+            throw new ActivitiImageException("Generated process image is not a complete SVG document");
+        }
+
+        BaseDiagram baseDiagram = new BaseDiagram(svg.substring(0, end).getBytes(StandardCharsets.UTF_8),
+                                                  svg.substring(end).getBytes(StandardCharsets.UTF_8));
+
+        for (FlowNode flowNode : gatherAllFlowNodes(bpmnModel)) {
+            GraphicInfo graphicInfo = bpmnModel.getGraphicInfo(flowNode.getId());
+            if (graphicInfo != null && activityDrawInstructions.containsKey(flowNode.getClass())) {
+                baseDiagram.nodes.put(flowNode.getId(),
+                                      new HighlightedNode(getHighlightShape(flowNode),
+                                                          graphicInfo));
+            }
+
+            // drawing the diagram has moved the first and last waypoints onto the shape borders,
+            // so the flow location now holds exactly the coordinates that were drawn
+            for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+                List<GraphicInfo> waypoints = bpmnModel.getFlowLocationGraphicInfo(sequenceFlow.getId());
+                if (waypoints != null && waypoints.size() > 1) {
+                    int[] xPoints = new int[waypoints.size()];
+                    int[] yPoints = new int[waypoints.size()];
+                    for (int i = 0; i < waypoints.size(); i++) {
+                        xPoints[i] = (int) waypoints.get(i).getX();
+                        yPoints[i] = (int) waypoints.get(i).getY();
+                    }
+                    baseDiagram.flows.put(sequenceFlow.getId(),
+                                          new int[][]{xPoints, yPoints});
+                }
+            }
+        }
+        return baseDiagram;
+    }
+
+    protected byte[] renderHighlights(BaseDiagram baseDiagram,
+                                      List<String> highLightedActivities,
+                                      List<String> highLightedFlows,
+                                      List<String> currentActivities,
+                                      List<String> erroredActivities) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        Writer out = new OutputStreamWriter(stream,
+                                            StandardCharsets.UTF_8);
+        SvgOverlayWriter overlay = new SvgOverlayWriter(out);
+        overlay.startGroup(HIGHLIGHT_LAYER_ID);
+
+        for (String flowId : highLightedFlows) {
+            int[][] points = baseDiagram.flows.get(flowId);
+            if (points != null) {
+                int[] xPoints = points[0];
+                int[] yPoints = points[1];
+                int last = xPoints.length - 1;
+                overlay.polyline(xPoints,
+                                 yPoints,
+                                 DefaultProcessDiagramCanvas.HIGHLIGHT_COMPLETED_ACTIVITY_COLOR,
+                                 2.0f);
+                overlay.arrowHead(xPoints[last - 1],
+                                  yPoints[last - 1],
+                                  xPoints[last],
+                                  yPoints[last],
+                                  DefaultProcessDiagramCanvas.HIGHLIGHT_COMPLETED_ACTIVITY_COLOR);
+            }
+        }
+
+        for (String activityId : currentActivities) {
+            HighlightedNode node = baseDiagram.nodes.get(activityId);
+            if (node != null) {
+                overlay.roundRect(node.graphicInfo,
+                                  DefaultProcessDiagramCanvas.HIGHLIGHT_CURRENT_COLOR,
+                                  4.0f);
+            }
+        }
+        for (String activityId : highLightedActivities) {
+            writeNodeHighlight(overlay,
+                               baseDiagram.nodes.get(activityId),
+                               DefaultProcessDiagramCanvas.HIGHLIGHT_COMPLETED_ACTIVITY_COLOR);
+        }
+        for (String activityId : erroredActivities) {
+            writeNodeHighlight(overlay,
+                               baseDiagram.nodes.get(activityId),
+                               DefaultProcessDiagramCanvas.HIGHLIGHT_ERRORED_ACTIVITY_COLOR);
+        }
+
+        overlay.endGroup();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new ActivitiImageException("Error while writing process diagram highlights",
+                                             e);
+        }
+        return stream.toByteArray();
+    }
+
+    protected void writeNodeHighlight(SvgOverlayWriter overlay,
+                                      HighlightedNode node,
+                                      Color color) {
+        if (node == null) {
+            return;
+        }
+        switch (node.shape) {
+            case BOX:
+                overlay.roundRect(node.graphicInfo,
+                                  color,
+                                  4.0f);
+                break;
+            case EVENT:
+                overlay.ellipse(node.graphicInfo,
+                                color,
+                                4.0f);
+                break;
+            case GATEWAY:
+                overlay.rhombus(node.graphicInfo,
+                                color,
+                                4.0f);
+                break;
+            default:
+                // same as the full render: other elements, e.g. sub processes, have no completed/errored highlight
+        }
+    }
+
+    protected HighlightShape getHighlightShape(FlowNode flowNode) {
+        if (flowNode instanceof Event) {
+            return HighlightShape.EVENT;
+        } else if (flowNode instanceof Task || flowNode instanceof CallActivity) {
+            return HighlightShape.BOX;
+        } else if (flowNode instanceof Gateway) {
+            return HighlightShape.GATEWAY;
+        }
+        return HighlightShape.NONE;
+    }
+
+    protected enum HighlightShape {
+        BOX,
+        EVENT,
+        GATEWAY,
+        NONE
+    }
+
+    protected static class HighlightedNode {
+
+        protected final HighlightShape shape;
+        protected final GraphicInfo graphicInfo;
+
+        protected HighlightedNode(HighlightShape shape,
+                                  GraphicInfo graphicInfo) {
+            this.shape = shape;
+            // copied, the model's graphic info can still be moved by later renders of the same model
+            this.graphicInfo = new GraphicInfo();
+            this.graphicInfo.setX(graphicInfo.getX());
+            this.graphicInfo.setY(graphicInfo.getY());
+            this.graphicInfo.setWidth(graphicInfo.getWidth());
+            this.graphicInfo.setHeight(graphicInfo.getHeight());
+        }
+    }
+
+    /**
+     * A rendered diagram split right before its closing tag, so a highlight layer can be streamed in between.
+     */
+    protected static class BaseDiagram {
+
+        protected final byte[] head;
+        protected final byte[] tail;
+        protected final Map<String, HighlightedNode> nodes = new HashMap<String, HighlightedNode>();
+        protected final Map<String, int[][]> flows = new HashMap<String, int[][]>();
+
+        protected BaseDiagram(byte[] head,
+                              byte[] tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        protected InputStream toInputStream(byte[] overlay) {
+            if (overlay == null) {
+                return new SequenceInputStream(new ByteArrayInputStream(head),
+                                               new ByteArrayInputStream(tail));
+            }
+            return new SequenceInputStream(Collections.enumeration(Arrays.<InputStream>asList(new ByteArrayInputStream(head),
+                                                                                            new ByteArrayInputStream(overlay),
+                                                                                            new ByteArrayInputStream(tail))));
+        }
+    }
+}
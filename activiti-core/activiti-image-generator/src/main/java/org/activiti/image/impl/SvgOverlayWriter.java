@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.image.impl;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.Writer;
+
+import org.activiti.bpmn.model.GraphicInfo;
+import org.activiti.image.exception.ActivitiImageException;
+
+/**
+ * Writes SVG elements straight to a {@link Writer}, without building a DOM.
+ * <p>
+ * Used for the highlight layer that {@link CachingProcessDiagramGenerator} puts on top of a cached base
+ * diagram. The shapes mirror the ones {@link DefaultProcessDiagramCanvas} draws for highlights, in the same
+ * absolute coordinates.
+ */
+public class SvgOverlayWriter {
+
+    protected final Writer writer;
+
+    public SvgOverlayWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void startGroup(String id) {
+        write("<g id=\"" + id + "\" fill=\"none\">");
+    }
+
+    public void endGroup() {
+        write("</g>");
+    }
+
+    public void roundRect(GraphicInfo graphicInfo,
+                          Color color,
+                          float strokeWidth) {
+        write("<rect x=\"" + (int) graphicInfo.getX()
+                      + "\" y=\"" + (int) graphicInfo.getY()
+                      + "\" width=\"" + (int) graphicInfo.getWidth()
+                      + "\" height=\"" + (int) graphicInfo.getHeight()
+                      + "\" rx=\"3\" ry=\"3\"" + stroke(color, strokeWidth) + "/>");
+    }
+
+    public void ellipse(GraphicInfo graphicInfo,
+                        Color color,
+                        float strokeWidth) {
+        double rx = ((int) graphicInfo.getWidth()) / 2d;
+        double ry = ((int) graphicInfo.getHeight()) / 2d;
+        write("<ellipse cx=\"" + number((int) graphicInfo.getX() + rx)
+                      + "\" cy=\"" + number((int) graphicInfo.getY() + ry)
+                      + "\" rx=\"" + number(rx)
+                      + "\" ry=\"" + number(ry)
+                      + "\"" + stroke(color, strokeWidth) + "/>");
+    }
+
+    public void rhombus(GraphicInfo graphicInfo,
+                        Color color,
+                        float strokeWidth) {
+        int x = (int) graphicInfo.getX();
+        int y = (int) graphicInfo.getY();
+        int width = (int) graphicInfo.getWidth();
+        int height = (int) graphicInfo.getHeight();
+        write("<polygon points=\"" + x + "," + (y + height / 2)
+                      + " " + (x + width / 2) + "," + (y + height)
+                      + " " + (x + width) + "," + (y + height / 2)
+                      + " " + (x + width / 2) + "," + y
+                      + "\"" + stroke(color, strokeWidth) + "/>");
+    }
+
+    public void polyline(int[] xPoints,
+                         int[] yPoints,
+                         Color color,
+                         float strokeWidth) {
+        StringBuilder points = new StringBuilder();
+        for (int i = 0; i < xPoints.length; i++) {
+            if (i > 0) {
+                points.append(' ');
+            }
+            points.append(xPoints[i]).append(',').append(yPoints[i]);
+        }
+        write("<polyline points=\"" + points + "\"" + stroke(color, strokeWidth) + "/>");
+    }
+
+    /**
+     * Same arrow head as {@link DefaultProcessDiagramCanvas#drawArrowHead}, pointing at (x2, y2).
+     */
+    public void arrowHead(int x1,
+                          int y1,
+                          int x2,
+                          int y2,
+                          Color color) {
+        int arrowWidth = DefaultProcessDiagramCanvas.ARROW_WIDTH;
+        double angle = Math.toDegrees(Math.atan2(y2 - y1, x2 - x1) - Math.PI / 2d);
+        write("<polygon points=\"0,0 " + (-arrowWidth) + "," + (-2 * arrowWidth) + " " + arrowWidth + "," + (-2 * arrowWidth)
+                      + "\" transform=\"translate(" + x2 + "," + y2 + ") rotate(" + number(angle)
+                      + ")\" fill=\"" + color(color) + "\" stroke=\"none\"/>");
+    }
+
+    protected String stroke(Color color,
+                            float strokeWidth) {
+        return " stroke=\"" + color(color) + "\" stroke-width=\"" + number(strokeWidth) + "\"";
+    }
+
+    protected String color(Color color) {
+        return "rgb(" + color.getRed() + "," + color.getGreen() + "," + color.getBlue() + ")";
+    }
+
+    protected String number(double value) {
+        if (value == Math.rint(value)) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    protected void write(String text) {
+        try {
+            writer.write(text);
+        } catch (IOException e) {
+            throw new ActivitiImageException("Error while writing process diagram highlights",
+                                             e);
+        }
+    }
+}
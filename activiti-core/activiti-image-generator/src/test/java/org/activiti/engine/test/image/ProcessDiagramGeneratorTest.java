@@ -29,14 +29,17 @@ import org.activiti.engine.test.Deployment;
 import org.activiti.image.ProcessDiagramGenerator;
 import org.activiti.image.exception.ActivitiImageException;
 import org.activiti.image.exception.ActivitiInterchangeInfoNotFoundException;
+import org.activiti.image.impl.CachingProcessDiagramGenerator;
 import org.activiti.image.impl.DefaultProcessDiagramGenerator;
 import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
 import org.apache.batik.anim.dom.SVGOMDocument;
 import org.apache.batik.util.XMLResourceDescriptor;
 import org.apache.commons.io.IOUtils;
+import org.w3c.dom.Element;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
@@ -87,6 +90,41 @@ public class ProcessDiagramGeneratorTest extends PluggableActivitiTestCase {
         assertThat(diagram).isNotNull();
     }
 
+    @Deployment(resources = "org/activiti/engine/test/image/ProcessDiagramGeneratorTest.testHighLighted.bpmn20.xml")
+    public void testCachedDiagramWithHighlightOverlay() throws Exception {
+        CachingProcessDiagramGenerator imageGenerator = new CachingProcessDiagramGenerator();
+
+        String id = repositoryService.createProcessDefinitionQuery().processDefinitionKey("myProcess").singleResult()
+                .getId();
+        BpmnModel bpmnModel = repositoryService.getBpmnModel(id);
+
+        try (InputStream diagram = imageGenerator.generateDiagram(id, bpmnModel, emptyList(), emptyList(), emptyList(), emptyList())) {
+            SVGOMDocument svg = parseXml(diagram);
+            checkDiagramElements(asList("startevent1", "parallelgateway1", "usertask1", "endevent1"), svg);
+            assertThat(svg.getElementById("diagram-highlights")).isNull();
+        }
+
+        try (InputStream diagram = imageGenerator.generateDiagram(id, bpmnModel,
+                                                                  asList("startevent1", "parallelgateway1", "usertask1"),
+                                                                  asList("flow1", "flow3"),
+                                                                  singletonList("usertask3"),
+                                                                  singletonList("usertask2"))) {
+            SVGOMDocument svg = parseXml(diagram);
+            checkDiagramElements(asList("startevent1", "usertask1"), svg);
+            Element highlights = svg.getElementById("diagram-highlights");
+            assertThat(highlights).isNotNull();
+            assertThat(highlights.getElementsByTagName("polyline").getLength()).isEqualTo(2);
+            assertThat(highlights.getElementsByTagName("ellipse").getLength()).isEqualTo(1);
+            assertThat(highlights.getElementsByTagName("rect").getLength()).isEqualTo(3);
+            // one gateway rhombus plus the two arrow heads
+            assertThat(highlights.getElementsByTagName("polygon").getLength()).isEqualTo(3);
+        }
+
+        assertThat(imageGenerator.getCachedDiagramCount()).isEqualTo(1);
+        imageGenerator.evict(id);
+        assertThat(imageGenerator.getCachedDiagramCount()).isEqualTo(0);
+    }
+
     @Deployment
     public void testSmallBoxLabels() throws Exception {
         ProcessDiagramGenerator imageGenerator = new DefaultProcessDiagramGenerator();
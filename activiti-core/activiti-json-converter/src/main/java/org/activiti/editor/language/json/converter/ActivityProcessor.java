@@ -34,6 +34,24 @@ public interface ActivityProcessor {
   public void processFlowElements(FlowElementsContainer container, BpmnModel model, ArrayNode shapesArrayNode,
       Map<String, ModelInfo> formKeyMap, Map<String, ModelInfo> decisionTableKeyMap, double subProcessX, double subProcessY);
 
-  public void processJsonElements(JsonNode shapesArrayNode, JsonNode modelNode, BaseElement parentElement,
-      Map<String, JsonNode> shapeMap, Map<String, String> formKeyMap, Map<String, String> decisionTableMap, BpmnModel bpmnModel);
+  /**
+   * Kept for existing implementations and callers: delegates without a source reference map. Implementations
+   * override one of the two processJsonElements methods.
+   */
+  default void processJsonElements(JsonNode shapesArrayNode, JsonNode modelNode, BaseElement parentElement,
+      Map<String, JsonNode> shapeMap, Map<String, String> formKeyMap, Map<String, String> decisionTableMap, BpmnModel bpmnModel) {
+    processJsonElements(shapesArrayNode, modelNode, parentElement, shapeMap, null, formKeyMap, decisionTableMap, bpmnModel);
+  }
+
+  /**
+   * @param sourceRefMap the shape of the model having each resource id among its outgoing references, used to resolve
+   *                     flow sources and boundary event attachments; may be null, in which case the child shapes of the
+   *                     model are searched instead. Implementations that predate it only override the method without
+   *                     it, which this default delegates to.
+   */
+  default void processJsonElements(JsonNode shapesArrayNode, JsonNode modelNode, BaseElement parentElement,
+      Map<String, JsonNode> shapeMap, Map<String, JsonNode> sourceRefMap, Map<String, String> formKeyMap,
+      Map<String, String> decisionTableMap, BpmnModel bpmnModel) {
+    processJsonElements(shapesArrayNode, modelNode, parentElement, shapeMap, formKeyMap, decisionTableMap, bpmnModel);
+  }
 }
@@ -123,7 +123,7 @@ public class AssociationJsonConverter extends BaseBpmnJsonConverter {
   protected BaseElement convertJsonToElement(JsonNode elementNode, JsonNode modelNode, Map<String, JsonNode> shapeMap) {
     Association association = new Association();
 
-    String sourceRef = BpmnJsonConverterUtil.lookForSourceRef(elementNode.get(EDITOR_SHAPE_ID).asText(), modelNode.get(EDITOR_CHILD_SHAPES));
+    String sourceRef = lookForSourceRef(elementNode.get(EDITOR_SHAPE_ID).asText(), modelNode);
 
     if (sourceRef != null) {
       association.setSourceRef(sourceRef);
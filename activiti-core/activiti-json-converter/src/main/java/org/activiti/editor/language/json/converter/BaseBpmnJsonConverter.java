@@ -78,6 +78,7 @@ public abstract class BaseBpmnJsonConverter implements EditorJsonConstants,
     protected ObjectMapper objectMapper = new ObjectMapper();
     protected ActivityProcessor processor;
     protected BpmnModel model;
+    protected Map<String, JsonNode> sourceRefMap;
     protected ObjectNode flowElementNode;
     protected double subProcessX;
     protected double subProcessY;
@@ -345,9 +346,26 @@ public abstract class BaseBpmnJsonConverter implements EditorJsonConstants,
                                    BaseElement parentElement,
                                    Map<String, JsonNode> shapeMap,
                                    BpmnModel bpmnModel) {
+        convertToBpmnModel(elementNode,
+                           modelNode,
+                           processor,
+                           parentElement,
+                           shapeMap,
+                           null,
+                           bpmnModel);
+    }
+
+    public void convertToBpmnModel(JsonNode elementNode,
+                                   JsonNode modelNode,
+                                   ActivityProcessor processor,
+                                   BaseElement parentElement,
+                                   Map<String, JsonNode> shapeMap,
+                                   Map<String, JsonNode> sourceRefMap,
+                                   BpmnModel bpmnModel) {
 
         this.processor = processor;
         this.model = bpmnModel;
+        this.sourceRefMap = sourceRefMap;
 
         BaseElement baseElement = convertJsonToElement(elementNode,
                                                        modelNode,
@@ -797,6 +815,17 @@ public abstract class BaseBpmnJsonConverter implements EditorJsonConstants,
                                              objectNode);
     }
 
+    /**
+     * Resolves the element id of the shape referencing the given resource id as outgoing, through the source
+     * reference map of the model when one was passed to this converter.
+     */
+    protected String lookForSourceRef(String resourceId,
+                                      JsonNode modelNode) {
+        return BpmnJsonConverterUtil.lookForSourceRef(resourceId,
+                                                      modelNode,
+                                                      sourceRefMap);
+    }
+
     protected String convertListToCommaSeparatedString(List<String> stringList) {
         String resultString = null;
         if (stringList != null && stringList.size() > 0) {
@@ -127,39 +127,7 @@ public class BoundaryEventJsonConverter extends BaseBpmnJsonConverter {
       boundaryEvent.getEventDefinitions().add(compensateEventDefinition);
       boundaryEvent.setCancelActivity(getPropertyValueAsBoolean(PROPERTY_CANCEL_ACTIVITY, elementNode));
     }
-    boundaryEvent.setAttachedToRefId(lookForAttachedRef(elementNode.get(EDITOR_SHAPE_ID).asText(), modelNode.get(EDITOR_CHILD_SHAPES)));
+    boundaryEvent.setAttachedToRefId(lookForSourceRef(elementNode.get(EDITOR_SHAPE_ID).asText(), modelNode));
     return boundaryEvent;
   }
-
-  private String lookForAttachedRef(String boundaryEventId, JsonNode childShapesNode) {
-    String attachedRefId = null;
-
-    if (childShapesNode != null) {
-
-      for (JsonNode childNode : childShapesNode) {
-        ArrayNode outgoingNode = (ArrayNode) childNode.get("outgoing");
-        if (outgoingNode != null && outgoingNode.size() > 0) {
-          for (JsonNode outgoingChildNode : outgoingNode) {
-            JsonNode resourceNode = outgoingChildNode.get(EDITOR_SHAPE_ID);
-            if (resourceNode != null && boundaryEventId.equals(resourceNode.asText())) {
-              attachedRefId = BpmnJsonConverterUtil.getElementId(childNode);
-              break;
-            }
-          }
-
-          if (attachedRefId != null) {
-            break;
-          }
-        }
-
-        attachedRefId = lookForAttachedRef(boundaryEventId, childNode.get(EDITOR_CHILD_SHAPES));
-
-        if (attachedRefId != null) {
-          break;
-        }
-      }
-    }
-
-    return attachedRefId;
-  }
 }
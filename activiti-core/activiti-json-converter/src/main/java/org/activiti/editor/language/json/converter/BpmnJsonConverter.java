@@ -651,6 +651,7 @@ public class BpmnJsonConverter implements EditorJsonConstants,
                                             modelNode,
                                             lane,
                                             shapeMap,
+                                            sourceRefMap,
                                             formKeyMap,
                                             decisionTableKeyMap,
                                             bpmnModel);
@@ -738,6 +739,7 @@ public class BpmnJsonConverter implements EditorJsonConstants,
                                 modelNode,
                                 process,
                                 shapeMap,
+                                sourceRefMap,
                                 formKeyMap,
                                 decisionTableKeyMap,
                                 bpmnModel);
@@ -747,7 +749,8 @@ public class BpmnJsonConverter implements EditorJsonConstants,
                 if (STENCIL_SEQUENCE_FLOW.equalsIgnoreCase(BpmnJsonConverterUtil.getStencilId(shapeNode)) || STENCIL_ASSOCIATION.equalsIgnoreCase(BpmnJsonConverterUtil.getStencilId(shapeNode))) {
 
                     String sourceRef = BpmnJsonConverterUtil.lookForSourceRef(shapeNode.get(EDITOR_SHAPE_ID).asText(),
-                                                                              modelNode.get(EDITOR_CHILD_SHAPES));
+                                                                              modelNode,
+                                                                              sourceRefMap);
                     if (sourceRef != null) {
                         Lane lane = elementInLaneMap.get(sourceRef);
                         SequenceFlowJsonConverter flowConverter = new SequenceFlowJsonConverter();
@@ -757,6 +760,7 @@ public class BpmnJsonConverter implements EditorJsonConstants,
                                                              this,
                                                              lane,
                                                              shapeMap,
+                                                             sourceRefMap,
                                                              bpmnModel);
                         } else {
                             flowConverter.convertToBpmnModel(shapeNode,
@@ -764,6 +768,7 @@ public class BpmnJsonConverter implements EditorJsonConstants,
                                                              this,
                                                              bpmnModel.getProcesses().get(0),
                                                              shapeMap,
+                                                             sourceRefMap,
                                                              bpmnModel);
                         }
                     }
@@ -835,6 +840,7 @@ public class BpmnJsonConverter implements EditorJsonConstants,
                                     JsonNode modelNode,
                                     BaseElement parentElement,
                                     Map<String, JsonNode> shapeMap,
+                                    Map<String, JsonNode> sourceRefMap,
                                     Map<String, String> formMap,
                                     Map<String, String> decisionTableMap,
                                     BpmnModel bpmnModel) {
@@ -857,6 +863,7 @@ public class BpmnJsonConverter implements EditorJsonConstants,
                                                      this,
                                                      parentElement,
                                                      shapeMap,
+                                                     sourceRefMap,
                                                      bpmnModel);
             } catch (Exception e) {
                 LOGGER.error("Error converting {}",
@@ -19,6 +19,7 @@ package org.activiti.editor.language.json.converter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.activiti.bpmn.model.ActivitiListener;
 import org.activiti.bpmn.model.BaseElement;
@@ -473,6 +474,19 @@ public class BpmnJsonConverterUtil implements EditorJsonConstants, StencilConsta
       }
     }
 
+  /**
+   * Returns the element id of the shape having the given resource id among its outgoing references, from the
+   * source reference map built while reading the shapes of the model, or by searching the child shapes of the
+   * model when no map is given.
+   */
+  public static String lookForSourceRef(String resourceId, JsonNode modelNode, Map<String, JsonNode> sourceRefMap) {
+    if (sourceRefMap != null) {
+      JsonNode sourceNode = sourceRefMap.get(resourceId);
+      return sourceNode != null ? getElementId(sourceNode) : null;
+    }
+    return lookForSourceRef(resourceId, modelNode.get(EDITOR_CHILD_SHAPES));
+  }
+
   public static String lookForSourceRef(String flowId, JsonNode childShapesNode) {
     String sourceRef = null;
 
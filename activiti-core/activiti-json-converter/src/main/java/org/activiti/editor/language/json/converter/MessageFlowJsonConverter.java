@@ -103,7 +103,7 @@ public class MessageFlowJsonConverter extends BaseBpmnJsonConverter {
   protected BaseElement convertJsonToElement(JsonNode elementNode, JsonNode modelNode, Map<String, JsonNode> shapeMap) {
     MessageFlow flow = new MessageFlow();
 
-    String sourceRef = BpmnJsonConverterUtil.lookForSourceRef(elementNode.get(EDITOR_SHAPE_ID).asText(), modelNode.get(EDITOR_CHILD_SHAPES));
+    String sourceRef = lookForSourceRef(elementNode.get(EDITOR_SHAPE_ID).asText(), modelNode);
     if (sourceRef != null) {
       flow.setSourceRef(sourceRef);
       JsonNode targetNode = elementNode.get("target");
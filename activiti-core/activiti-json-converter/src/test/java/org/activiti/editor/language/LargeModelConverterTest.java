@@ -0,0 +1,174 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.editor.language;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.bpmn.model.BaseElement;
+import org.activiti.bpmn.model.BoundaryEvent;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.GraphicInfo;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.bpmn.model.TimerEventDefinition;
+import org.activiti.bpmn.model.UserTask;
+import org.activiti.editor.language.json.converter.BpmnJsonConverter;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Converts an editor model with more than 2,000 shapes, checking that resolving flow sources and boundary event
+ * attachments through the source reference map gives the same model as walking the child shapes.
+ */
+public class LargeModelConverterTest {
+
+  private static final int TASK_COUNT = 1000;
+  private static final int BOUNDARY_EVENT_INTERVAL = 10;
+
+  @Test
+  public void convertLargeModelWithIndexedLookups() throws Exception {
+    ObjectNode modelNode = new BpmnJsonConverter().convertToJson(createLargeModel());
+    assertThat(modelNode.get("childShapes").size()).isGreaterThan(2000);
+
+    BpmnModel treeModel = new ChildShapeWalkingJsonConverter().convertToBpmnModel(modelNode);
+    BpmnModel indexedModel = new BpmnJsonConverter().convertToBpmnModel(modelNode);
+
+    assertSameModel(indexedModel, treeModel);
+  }
+
+  protected void assertSameModel(BpmnModel actual, BpmnModel expected) {
+    Process actualProcess = actual.getMainProcess();
+    Process expectedProcess = expected.getMainProcess();
+    assertThat(actualProcess.getFlowElements()).hasSameSizeAs(expectedProcess.getFlowElements());
+    assertThat(actualProcess.findFlowElementsOfType(SequenceFlow.class)).hasSize(TASK_COUNT + 1);
+    assertThat(actualProcess.findFlowElementsOfType(BoundaryEvent.class)).hasSize(TASK_COUNT / BOUNDARY_EVENT_INTERVAL);
+
+    for (FlowElement expectedElement : expectedProcess.getFlowElements()) {
+      FlowElement actualElement = actualProcess.getFlowElement(expectedElement.getId());
+      assertThat(actualElement).isNotNull();
+      if (expectedElement instanceof SequenceFlow) {
+        SequenceFlow expectedFlow = (SequenceFlow) expectedElement;
+        SequenceFlow actualFlow = (SequenceFlow) actualElement;
+        assertThat(actualFlow.getSourceRef()).isEqualTo(expectedFlow.getSourceRef()).isNotNull();
+        assertThat(actualFlow.getTargetRef()).isEqualTo(expectedFlow.getTargetRef());
+        assertThat(actual.getFlowLocationGraphicInfo(actualFlow.getId()))
+            .hasSameSizeAs(expected.getFlowLocationGraphicInfo(expectedFlow.getId()));
+      } else if (expectedElement instanceof BoundaryEvent) {
+        BoundaryEvent actualEvent = (BoundaryEvent) actualElement;
+        assertThat(actualEvent.getAttachedToRefId())
+            .isEqualTo(((BoundaryEvent) expectedElement).getAttachedToRefId()).isNotNull();
+        assertThat(actualEvent.getAttachedToRef()).isNotNull();
+      }
+    }
+  }
+
+  protected BpmnModel createLargeModel() {
+    BpmnModel model = new BpmnModel();
+    Process process = new Process();
+    process.setId("largeProcess");
+    process.setName("Large process");
+    model.addProcess(process);
+
+    StartEvent startEvent = new StartEvent();
+    startEvent.setId("start");
+    addNode(model, process, startEvent, 0, 115, 30, 30);
+
+    FlowNode previous = startEvent;
+    for (int i = 0; i < TASK_COUNT; i++) {
+      UserTask userTask = new UserTask();
+      userTask.setId("task" + i);
+      userTask.setName("Task " + i);
+      addNode(model, process, userTask, 100 + i * 150, 90, 100, 80);
+      addFlow(model, process, previous, userTask);
+
+      if (i % BOUNDARY_EVENT_INTERVAL == 0) {
+        BoundaryEvent boundaryEvent = new BoundaryEvent();
+        boundaryEvent.setId("timer" + i);
+        TimerEventDefinition timerEventDefinition = new TimerEventDefinition();
+        timerEventDefinition.setTimeDuration("PT1H");
+        boundaryEvent.getEventDefinitions().add(timerEventDefinition);
+        boundaryEvent.setAttachedToRef(userTask);
+        boundaryEvent.setAttachedToRefId(userTask.getId());
+        userTask.getBoundaryEvents().add(boundaryEvent);
+        addNode(model, process, boundaryEvent, 100 + i * 150 + 70, 155, 30, 30);
+      }
+      previous = userTask;
+    }
+
+    EndEvent endEvent = new EndEvent();
+    endEvent.setId("end");
+    addNode(model, process, endEvent, 100 + TASK_COUNT * 150, 115, 28, 28);
+    addFlow(model, process, previous, endEvent);
+    return model;
+  }
+
+  protected void addNode(BpmnModel model, Process process, FlowNode flowNode, double x, double y, double width, double height) {
+    process.addFlowElement(flowNode);
+    GraphicInfo graphicInfo = new GraphicInfo();
+    graphicInfo.setX(x);
+    graphicInfo.setY(y);
+    graphicInfo.setWidth(width);
+    graphicInfo.setHeight(height);
+    model.addGraphicInfo(flowNode.getId(), graphicInfo);
+  }
+
+  protected SequenceFlow addFlow(BpmnModel model, Process process, FlowNode source, FlowNode target) {
+    SequenceFlow sequenceFlow = new SequenceFlow(source.getId(), target.getId());
+    sequenceFlow.setId("flow_" + source.getId() + "_" + target.getId());
+    source.getOutgoingFlows().add(sequenceFlow);
+    target.getIncomingFlows().add(sequenceFlow);
+    process.addFlowElement(sequenceFlow);
+
+    GraphicInfo sourceInfo = model.getGraphicInfo(source.getId());
+    GraphicInfo targetInfo = model.getGraphicInfo(target.getId());
+    List<GraphicInfo> waypoints = new ArrayList<>();
+    waypoints.add(createWaypoint(sourceInfo.getX() + sourceInfo.getWidth(), sourceInfo.getY() + sourceInfo.getHeight() / 2));
+    waypoints.add(createWaypoint(targetInfo.getX(), targetInfo.getY() + targetInfo.getHeight() / 2));
+    model.addFlowGraphicInfoList(sequenceFlow.getId(), waypoints);
+    return sequenceFlow;
+  }
+
+  protected GraphicInfo createWaypoint(double x, double y) {
+    GraphicInfo graphicInfo = new GraphicInfo();
+    graphicInfo.setX(x);
+    graphicInfo.setY(y);
+    return graphicInfo;
+  }
+
+  /**
+   * Resolves flow sources and boundary event attachments by walking the child shapes for every lookup,
+   * as the converter did before the source reference map was passed to the element converters.
+   */
+  protected static class ChildShapeWalkingJsonConverter extends BpmnJsonConverter {
+
+    @Override
+    public void processJsonElements(JsonNode shapesArrayNode, JsonNode modelNode, BaseElement parentElement,
+        Map<String, JsonNode> shapeMap, Map<String, JsonNode> sourceRefMap, Map<String, String> formMap,
+        Map<String, String> decisionTableMap, BpmnModel bpmnModel) {
+      super.processJsonElements(shapesArrayNode, modelNode, parentElement, shapeMap, null, formMap, decisionTableMap, bpmnModel);
+    }
+  }
+}
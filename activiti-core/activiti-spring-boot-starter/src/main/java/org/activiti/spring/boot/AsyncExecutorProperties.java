@@ -15,6 +15,7 @@
  */
 package org.activiti.spring.boot;
 
+import org.activiti.engine.impl.asyncexecutor.AsyncJobExecutorThreadModel;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "spring.activiti.async-executor")
@@ -109,6 +110,20 @@ public class AsyncExecutorProperties {
      */
     private int defaultQueueSizeFullWaitTime = 0;
 
+    /**
+     * When true, job acquisition sizes each batch to the free capacity of the executor
+     * and backs off exponentially while no jobs are found, from
+     * min-job-acquire-wait-time-in-millis up to the default acquire wait times.
+     * Default is false.
+     */
+    private boolean adaptiveAcquisition = false;
+
+    /**
+     * The shortest time (in milliseconds) an adaptive acquisition thread waits when it
+     * found fewer jobs than requested. Default value = 100.
+     */
+    private int minJobAcquireWaitTimeInMillis = 100;
+
     /**
      * The amount of time (in milliseconds) a timer job is locked when acquired by
      * the async executor. During this period of time, no other async executor
@@ -150,11 +165,44 @@ public class AsyncExecutorProperties {
      */
     private int resetExpiredJobsPageSize = 3;
 
+    /**
+     * When true, all expired jobs are reset each round with one update statement
+     * per page, instead of one page per round and one command per job. Default is false.
+     */
+    private boolean resetExpiredJobsInBulk = false;
+
+    /**
+     * When true, the locks of the jobs being executed are renewed periodically, so
+     * long running jobs don't expire and the async job lock time can be kept short.
+     * Default is false.
+     */
+    private boolean renewJobLocks = false;
+
+    /**
+     * The time (in milliseconds) between two lock renewals. If not positive, a third
+     * of the async job lock time is used. Default value = 0.
+     */
+    private int renewJobLocksInterval = 0;
+
     /**
      * Set this to true when using the message queue based job executor. Default is false.
      */
     private boolean messageQueueMode = false;
 
+    /**
+     * The kind of threads jobs are executed on: PLATFORM (the Spring task executor),
+     * WORK_STEALING (a fork-join pool with max-pool-size parallelism) or VIRTUAL (a
+     * virtual thread per job, JDK 21 or later). Default is PLATFORM.
+     */
+    private AsyncJobExecutorThreadModel threadModel = AsyncJobExecutorThreadModel.PLATFORM;
+
+    /**
+     * The number of jobs that can execute at the same time with the WORK_STEALING and
+     * VIRTUAL thread models, replacing the queue of the platform thread pool. If not
+     * positive, max-pool-size + queue-size is used. Default value = 0.
+     */
+    private int maxConcurrentJobs = 0;
+
     public int getCorePoolSize() {
         return corePoolSize;
     }
@@ -290,4 +338,60 @@ public class AsyncExecutorProperties {
     public void setNumberOfRetries(int numberOfRetries) {
         this.numberOfRetries = numberOfRetries;
     }
+
+    public AsyncJobExecutorThreadModel getThreadModel() {
+        return threadModel;
+    }
+
+    public void setThreadModel(AsyncJobExecutorThreadModel threadModel) {
+        this.threadModel = threadModel;
+    }
+
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    public boolean isAdaptiveAcquisition() {
+        return adaptiveAcquisition;
+    }
+
+    public void setAdaptiveAcquisition(boolean adaptiveAcquisition) {
+        this.adaptiveAcquisition = adaptiveAcquisition;
+    }
+
+    public int getMinJobAcquireWaitTimeInMillis() {
+        return minJobAcquireWaitTimeInMillis;
+    }
+
+    public void setMinJobAcquireWaitTimeInMillis(int minJobAcquireWaitTimeInMillis) {
+        this.minJobAcquireWaitTimeInMillis = minJobAcquireWaitTimeInMillis;
+    }
+
+    public boolean isResetExpiredJobsInBulk() {
+        return resetExpiredJobsInBulk;
+    }
+
+    public void setResetExpiredJobsInBulk(boolean resetExpiredJobsInBulk) {
+        this.resetExpiredJobsInBulk = resetExpiredJobsInBulk;
+    }
+
+    public boolean isRenewJobLocks() {
+        return renewJobLocks;
+    }
+
+    public void setRenewJobLocks(boolean renewJobLocks) {
+        this.renewJobLocks = renewJobLocks;
+    }
+
+    public int getRenewJobLocksInterval() {
+        return renewJobLocksInterval;
+    }
+
+    public void setRenewJobLocksInterval(int renewJobLocksInterval) {
+        this.renewJobLocksInterval = renewJobLocksInterval;
+    }
 }
@@ -254,6 +254,8 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
             configuration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(properties.getDefaultAsyncJobAcquireWaitTimeInMillis());
             configuration.setAsyncExecutorDefaultTimerJobAcquireWaitTime(properties.getDefaultTimerJobAcquireWaitTimeInMillis());
             configuration.setAsyncExecutorDefaultQueueSizeFullWaitTime(properties.getDefaultQueueSizeFullWaitTime());
+            configuration.setAsyncExecutorAdaptiveAcquisition(properties.isAdaptiveAcquisition());
+            configuration.setAsyncExecutorMinJobAcquireWaitTime(properties.getMinJobAcquireWaitTimeInMillis());
 
             configuration.setAsyncExecutorMaxAsyncJobsDuePerAcquisition(properties.getMaxAsyncJobsDuePerAcquisition());
             configuration.setAsyncExecutorMaxTimerJobsPerAcquisition(properties.getMaxTimerJobsPerAcquisition());
@@ -261,11 +263,16 @@ public class ProcessEngineAutoConfiguration extends AbstractProcessEngineAutoCon
 
             configuration.setAsyncExecutorResetExpiredJobsInterval(properties.getResetExpiredJobsInterval());
             configuration.setAsyncExecutorResetExpiredJobsPageSize(properties.getResetExpiredJobsPageSize());
+            configuration.setAsyncExecutorResetExpiredJobsInBulk(properties.isResetExpiredJobsInBulk());
+            configuration.setAsyncExecutorRenewJobLocks(properties.isRenewJobLocks());
+            configuration.setAsyncExecutorRenewJobLocksInterval(properties.getRenewJobLocksInterval());
 
             configuration.setAsyncExecutorSecondsToWaitOnShutdown(properties.getSecondsToWaitOnShutdown());
             configuration.setAsyncExecutorThreadKeepAliveTime(properties.getKeepAliveTime());
             configuration.setAsyncExecutorTimerLockTimeInMillis(properties.getTimerLockTimeInMillis());
             configuration.setAsyncExecutorThreadPoolQueueSize(properties.getQueueSize());
+            configuration.setAsyncExecutorThreadModel(properties.getThreadModel());
+            configuration.setAsyncExecutorMaxConcurrentJobs(properties.getMaxConcurrentJobs());
 
             configuration.setAsyncFailedJobWaitTime(properties.getRetryWaitTimeInMillis());
         };
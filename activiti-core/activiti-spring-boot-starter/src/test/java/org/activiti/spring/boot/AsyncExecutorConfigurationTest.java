@@ -17,6 +17,7 @@ package org.activiti.spring.boot;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.activiti.engine.impl.asyncexecutor.AsyncJobExecutorThreadModel;
 import org.activiti.spring.SpringAsyncExecutor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,5 +50,7 @@ public class AsyncExecutorConfigurationTest {
         assertThat(asyncExecutor.getResetExpiredJobsPageSize()).isEqualTo(properties.getResetExpiredJobsPageSize());
         assertThat(asyncExecutor.getSecondsToWaitOnShutdown()).isEqualTo(properties.getSecondsToWaitOnShutdown());
         assertThat(asyncExecutor.getTimerLockTimeInMillis()).isEqualTo(properties.getTimerLockTimeInMillis());
+        assertThat(asyncExecutor.getThreadModel()).isEqualTo(AsyncJobExecutorThreadModel.WORK_STEALING);
+        assertThat(asyncExecutor.getMaxConcurrentJobs()).isEqualTo(properties.getMaxConcurrentJobs());
     }
 }
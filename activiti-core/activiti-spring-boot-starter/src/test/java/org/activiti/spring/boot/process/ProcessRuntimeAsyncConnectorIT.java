@@ -0,0 +1,274 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.spring.boot.process;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.activiti.api.process.runtime.connector.Connector;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.TaskService;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.runtime.api.connector.AsyncConnectorExecutor;
+import org.activiti.runtime.api.connector.AsyncConnectorJobHandler;
+import org.activiti.runtime.api.connector.AsyncConnectorTimeoutJobHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs connector service tasks with an {@link AsyncConnectorExecutor}. The async job executor
+ * is disabled, so the retry and timeout jobs are executed by the test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.activiti.async-executor-activate=false")
+public class ProcessRuntimeAsyncConnectorIT {
+
+    private static final List<String> invocations = new CopyOnWriteArrayList<>();
+
+    private static final List<Long> visibleTimeoutJobs = new CopyOnWriteArrayList<>();
+
+    private static CountDownLatch releaseLostConnector = new CountDownLatch(1);
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class AsyncConnectorsConfiguration {
+
+        @Bean(destroyMethod = "shutdown")
+        public AsyncConnectorExecutor asyncConnectorExecutor() {
+            return new AsyncConnectorExecutor(2,
+                                              10,
+                                              Duration.ofSeconds(30));
+        }
+
+        @Bean
+        public Connector asyncEchoConnector() {
+            return integrationContext -> {
+                invocations.add(integrationContext.getId());
+                return integrationContext;
+            };
+        }
+
+        @Bean
+        public Connector asyncFailingConnector() {
+            return integrationContext -> {
+                invocations.add(integrationContext.getId());
+                throw new IllegalStateException("connector failure");
+            };
+        }
+
+        /**
+         * Completes immediately, recording how many timer jobs of its process instance are visible,
+         * which is 1 once the dispatching transaction is committed.
+         */
+        @Bean
+        public Connector asyncCheckingConnector(ManagementService managementService) {
+            return integrationContext -> {
+                invocations.add(integrationContext.getId());
+                visibleTimeoutJobs.add(managementService.createTimerJobQuery()
+                                           .processInstanceId(integrationContext.getProcessInstanceId())
+                                           .count());
+                return integrationContext;
+            };
+        }
+
+        /**
+         * Hangs on its first invocation, like a connector whose node stopped.
+         */
+        @Bean
+        public Connector asyncLostConnector() {
+            return integrationContext -> {
+                invocations.add(integrationContext.getId());
+                if (invocations.size() == 1) {
+                    try {
+                        releaseLostConnector.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return integrationContext;
+            };
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        invocations.clear();
+        visibleTimeoutJobs.clear();
+        releaseLostConnector = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        releaseLostConnector.countDown();
+        for (ProcessInstance processInstance : runtimeService.createProcessInstanceQuery().list()) {
+            runtimeService.deleteProcessInstance(processInstance.getId(),
+                                                 "test clean up");
+        }
+    }
+
+    @Test
+    public void should_resumeExecution_when_asyncConnectorCompletes() {
+        //when
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("asyncConnectorProcess");
+
+        //then
+        await().untilAsserted(() -> assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1));
+        assertThat(invocations).hasSize(1);
+        assertThat(managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    }
+
+    @Test
+    public void should_dispatchConnector_when_springTransactionIsCommitted() {
+        //given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        //when
+        ProcessInstance processInstance = transactionTemplate.execute(status -> {
+            ProcessInstance startedProcessInstance = runtimeService.startProcessInstanceByKey("asyncCheckingConnectorProcess");
+            // the engine command is over, but the Spring transaction is still open
+            sleep(500);
+            assertThat(invocations).isEmpty();
+            return startedProcessInstance;
+        });
+
+        //then
+        await().untilAsserted(() -> assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1));
+        assertThat(invocations).hasSize(1);
+        assertThat(visibleTimeoutJobs).containsExactly(1L);
+        assertThat(managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    }
+
+    @Test
+    public void should_notDispatchConnector_when_springTransactionIsRolledBack() {
+        //given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        //when
+        transactionTemplate.execute(status -> {
+            runtimeService.startProcessInstanceByKey("asyncCheckingConnectorProcess");
+            status.setRollbackOnly();
+            return null;
+        });
+
+        //then
+        sleep(500);
+        assertThat(invocations).isEmpty();
+        assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey("asyncCheckingConnectorProcess").count()).isZero();
+        assertThat(managementService.createTimerJobQuery().count()).isZero();
+    }
+
+    @Test
+    public void should_moveToDeadLetterJob_when_asyncConnectorKeepsFailing() {
+        //given
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("asyncFailingConnectorProcess");
+
+        //when
+        while (true) {
+            Job retryJob = awaitRetryOrDeadLetterJob(processInstance.getId());
+            if (retryJob == null) {
+                break;
+            }
+            Job executableJob = managementService.moveTimerToExecutableJob(retryJob.getId());
+            managementService.executeJob(executableJob.getId());
+        }
+
+        //then
+        Job deadLetterJob = managementService.createDeadLetterJobQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertThat(deadLetterJob.getJobHandlerType()).isEqualTo(AsyncConnectorJobHandler.TYPE);
+        assertThat(deadLetterJob.getExceptionMessage()).isEqualTo("connector failure");
+        assertThat(managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).count()).isZero();
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).count()).isZero();
+
+        // all attempts used the same integration context
+        assertThat(invocations).hasSize(3);
+        assertThat(invocations).containsOnly(deadLetterJob.getJobHandlerConfiguration());
+    }
+
+    @Test
+    public void should_retryConnector_when_itsResultIsNeverRecorded() {
+        //given
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("asyncLostConnectorProcess");
+        await().untilAsserted(() -> assertThat(invocations).hasSize(1));
+        Job timeoutJob = managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertThat(timeoutJob.getJobHandlerType()).isEqualTo(AsyncConnectorTimeoutJobHandler.TYPE);
+
+        //when the timeout job fires, the attempt is failed and a retry is scheduled
+        managementService.executeJob(managementService.moveTimerToExecutableJob(timeoutJob.getId()).getId());
+        Job retryJob = managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertThat(retryJob.getJobHandlerType()).isEqualTo(AsyncConnectorJobHandler.TYPE);
+        managementService.executeJob(managementService.moveTimerToExecutableJob(retryJob.getId()).getId());
+
+        //then
+        await().untilAsserted(() -> assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1));
+        assertThat(invocations).hasSize(2);
+        assertThat(invocations.get(1)).isEqualTo(invocations.get(0));
+
+        // the late result of the first attempt is ignored
+        releaseLostConnector.countDown();
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+        assertThat(managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).count()).isZero();
+    }
+
+    /**
+     * Waits for the failure of the current attempt to be recorded. Returns the retry job,
+     * or null once the retries are exhausted.
+     */
+    private Job awaitRetryOrDeadLetterJob(String processInstanceId) {
+        await().until(() -> managementService.createDeadLetterJobQuery().processInstanceId(processInstanceId).count() == 1
+            || isRetryJob(managementService.createTimerJobQuery().processInstanceId(processInstanceId).singleResult()));
+        if (managementService.createDeadLetterJobQuery().processInstanceId(processInstanceId).count() == 1) {
+            return null;
+        }
+        return managementService.createTimerJobQuery().processInstanceId(processInstanceId).singleResult();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isRetryJob(Job job) {
+        return job != null && AsyncConnectorJobHandler.TYPE.equals(job.getJobHandlerType());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.spring.process;
+
+import org.activiti.engine.delegate.event.ActivitiEntityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.repository.Deployment;
+
+/**
+ * Evicts the extensions of a deployment from the {@link ProcessExtensionService} when the deployment is deleted.
+ */
+public class ProcessExtensionCacheEvictionListener implements ActivitiEventListener {
+
+    private final ProcessExtensionService processExtensionService;
+
+    public ProcessExtensionCacheEvictionListener(ProcessExtensionService processExtensionService) {
+        this.processExtensionService = processExtensionService;
+    }
+
+    @Override
+    public void onEvent(ActivitiEvent event) {
+        if (ActivitiEventType.ENTITY_DELETED.equals(event.getType()) && event instanceof ActivitiEntityEvent) {
+            Object entity = ((ActivitiEntityEvent) event).getEntity();
+            if (entity instanceof Deployment) {
+                processExtensionService.evictDeployment(((Deployment) entity).getId());
+            }
+        }
+    }
+
+    @Override
+    public boolean isFailOnException() {
+        return false;
+    }
+}
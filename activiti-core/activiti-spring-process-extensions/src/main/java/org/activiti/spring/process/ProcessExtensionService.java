@@ -17,43 +17,189 @@
 
 package org.activiti.spring.process;
 
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.activiti.engine.RepositoryService;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
+import org.activiti.engine.repository.Deployment;
 import org.activiti.engine.repository.ProcessDefinition;
 import org.activiti.spring.process.model.Extension;
 import org.activiti.spring.process.model.ProcessExtensionModel;
+import org.activiti.spring.process.model.VariableDefinition;
 import org.activiti.spring.resources.DeploymentResourceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ProcessExtensionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProcessExtensionService.class);
+
+    public static final int DEFAULT_CACHE_LIMIT = 500;
+
     private DeploymentResourceLoader<ProcessExtensionModel> processExtensionLoader;
     private ProcessExtensionResourceReader processExtensionReader;
     private RepositoryService repositoryService;
+    private ProcessEngineConfigurationImpl processEngineConfiguration;
 
     private static final Extension EMPTY_EXTENSIONS = new Extension();
-    private Map<String, Map<String, Extension>> processExtensionModelDeploymentMap = new HashMap<>();
+
+    // bounded LRU cache of the extensions per deployment id
+    private final DeploymentCache<Map<String, Extension>> processExtensionCache;
+    // loads in progress, so that concurrent lookups of the same deployment wait for a single load
+    private final ConcurrentMap<String, CompletableFuture<Map<String, Extension>>> processExtensionLoads = new ConcurrentHashMap<>();
+    private final ProcessExtensionCacheMetrics cacheMetrics = new ProcessExtensionCacheMetrics();
+    private int warmUpParallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
 
     public ProcessExtensionService(DeploymentResourceLoader<ProcessExtensionModel> processExtensionLoader,
                                    ProcessExtensionResourceReader processExtensionReader) {
+        this(processExtensionLoader, processExtensionReader, DEFAULT_CACHE_LIMIT);
+    }
+
+    public ProcessExtensionService(DeploymentResourceLoader<ProcessExtensionModel> processExtensionLoader,
+                                   ProcessExtensionResourceReader processExtensionReader,
+                                   int cacheLimit) {
 
         this.processExtensionLoader = processExtensionLoader;
         this.processExtensionReader = processExtensionReader;
+        this.processExtensionCache = cacheLimit > 0 ? new DefaultDeploymentCache<>(cacheLimit) : new DefaultDeploymentCache<>();
     }
 
     private Map<String, Extension> getProcessExtensionsForDeploymentId(String deploymentId) {
-        Map<String, Extension> processExtensionModelMap = processExtensionModelDeploymentMap.get(deploymentId);
+        Map<String, Extension> processExtensionModelMap = processExtensionCache.get(deploymentId);
         if (processExtensionModelMap != null) {
+            cacheMetrics.recordHit();
             return processExtensionModelMap;
         }
+        cacheMetrics.recordMiss();
+
+        CompletableFuture<Map<String, Extension>> load = new CompletableFuture<>();
+        CompletableFuture<Map<String, Extension>> loadInProgress = processExtensionLoads.putIfAbsent(deploymentId, load);
+        if (loadInProgress != null) {
+            return awaitLoad(loadInProgress);
+        }
 
-        List<ProcessExtensionModel> processExtensionModels = processExtensionLoader.loadResourcesForDeployment(deploymentId,
+        long start = System.nanoTime();
+        try {
+            processExtensionModelMap = processExtensionCache.get(deploymentId);
+            if (processExtensionModelMap == null) {
+                processExtensionModelMap = loadProcessExtensions(deploymentId);
+                registerSearchableVariables(processExtensionModelMap);
+                processExtensionCache.add(deploymentId, processExtensionModelMap);
+                cacheMetrics.recordLoad(System.nanoTime() - start);
+            }
+            load.complete(processExtensionModelMap);
+            return processExtensionModelMap;
+        } catch (RuntimeException e) {
+            cacheMetrics.recordLoadFailure(System.nanoTime() - start);
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            processExtensionLoads.remove(deploymentId, load);
+        }
+    }
+
+    private Map<String, Extension> awaitLoad(CompletableFuture<Map<String, Extension>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Map<String, Extension> loadProcessExtensions(String deploymentId) {
+        List<ProcessExtensionModel> processExtensionModels = processExtensionLoader.readResourcesForDeployment(deploymentId,
                 processExtensionReader);
+        return buildProcessDefinitionAndExtensionMap(processExtensionModels);
+    }
 
-        processExtensionModelMap = buildProcessDefinitionAndExtensionMap(processExtensionModels);
-        processExtensionModelDeploymentMap.put(deploymentId, processExtensionModelMap);
-        return processExtensionModelMap;
+    /**
+     * Indexed variable names are engine wide: a variable declared searchable in one process definition is also
+     * indexed in the process instances of every other definition that uses the same name.
+     */
+    private void registerSearchableVariables(Map<String, Extension> processExtensionModelMap) {
+        if (processEngineConfiguration == null) {
+            return;
+        }
+        Set<String> searchableVariableNames = new HashSet<>();
+        for (Extension extension : processExtensionModelMap.values()) {
+            if (extension.getProperties() != null) {
+                for (VariableDefinition variableDefinition : extension.getProperties().values()) {
+                    if (variableDefinition.isSearchable() && variableDefinition.getName() != null) {
+                        searchableVariableNames.add(variableDefinition.getName());
+                    }
+                }
+            }
+        }
+        if (!searchableVariableNames.isEmpty()) {
+            processEngineConfiguration.addIndexedVariableNames(searchableVariableNames);
+        }
+    }
+
+    /**
+     * Loads, in parallel, the extensions of the deployments of all latest process definitions into the cache,
+     * and registers the variables declared searchable in any deployment with the engine,
+     * so that neither has to happen on the request path.
+     */
+    public void warmUp() {
+        Set<String> latestDeploymentIds = repositoryService.createProcessDefinitionQuery()
+                .latestVersion()
+                .list()
+                .stream()
+                .map(ProcessDefinition::getDeploymentId)
+                .collect(toSet());
+        List<String> deploymentIds = repositoryService.createDeploymentQuery()
+                .list()
+                .stream()
+                .map(Deployment::getId)
+                .collect(toList());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(warmUpParallelism);
+        try {
+            CompletableFuture.allOf(deploymentIds.stream()
+                    .map(deploymentId -> CompletableFuture.runAsync(() -> warmUp(deploymentId,
+                                                                                 latestDeploymentIds.contains(deploymentId)),
+                                                                    executorService))
+                    .toArray(CompletableFuture[]::new))
+                .join();
+        } finally {
+            executorService.shutdown();
+        }
+        logger.debug("Process extension cache warmed up: {}", cacheMetrics);
+    }
+
+    private void warmUp(String deploymentId,
+                        boolean cache) {
+        try {
+            if (cache) {
+                getProcessExtensionsForDeploymentId(deploymentId);
+            } else {
+                registerSearchableVariables(loadProcessExtensions(deploymentId));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Unable to load the process extensions of deployment " + deploymentId, e);
+        }
+    }
+
+    public void evictDeployment(String deploymentId) {
+        processExtensionCache.remove(deploymentId);
+        processExtensionLoader.removeResourcesForDeployment(deploymentId);
     }
 
     private Map<String, Extension> buildProcessDefinitionAndExtensionMap(List<ProcessExtensionModel> processExtensionModels) {
@@ -88,7 +234,19 @@ public class ProcessExtensionService {
         return processExtension != null ? processExtension : EMPTY_EXTENSIONS;
     }
 
+    public ProcessExtensionCacheMetrics getCacheMetrics() {
+        return cacheMetrics;
+    }
+
     public void setRepositoryService(RepositoryService repositoryService) {
         this.repositoryService = repositoryService;
     }
+
+    public void setProcessEngineConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        this.processEngineConfiguration = processEngineConfiguration;
+    }
+
+    public void setWarmUpParallelism(int warmUpParallelism) {
+        this.warmUpParallelism = warmUpParallelism;
+    }
 }
@@ -23,6 +23,9 @@ import java.util.Map;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.activiti.common.util.DateFormatterProvider;
 import org.activiti.engine.RepositoryService;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.spring.process.ProcessExtensionCacheEvictionListener;
 import org.activiti.spring.process.ProcessExtensionResourceReader;
 import org.activiti.spring.process.ProcessExtensionService;
 import org.activiti.spring.process.model.ProcessExtensionModel;
@@ -34,6 +37,8 @@ import org.activiti.spring.process.variable.types.JsonObjectVariableType;
 import org.activiti.spring.process.variable.types.VariableType;
 import org.activiti.spring.resources.DeploymentResourceLoader;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -69,6 +74,19 @@ public class ProcessExtensionsAutoConfiguration {
         return () -> processExtensionService.setRepositoryService(repositoryService);
     }
 
+    @Bean
+    SmartInitializingSingleton warmUpProcessExtensionService(ObjectProvider<ProcessEngineConfigurationImpl> processEngineConfiguration,
+                                                             ProcessExtensionService processExtensionService) {
+        return () -> {
+            processEngineConfiguration.ifAvailable(configuration -> {
+                processExtensionService.setProcessEngineConfiguration(configuration);
+                configuration.getEventDispatcher().addEventListener(new ProcessExtensionCacheEvictionListener(processExtensionService),
+                                                                    ActivitiEventType.ENTITY_DELETED);
+            });
+            processExtensionService.warmUp();
+        };
+    }
+
     @Bean
     InitializingBean initRepositoryServiceForDeploymentResourceLoader(RepositoryService repositoryService,
                                                                       DeploymentResourceLoader deploymentResourceLoader) {
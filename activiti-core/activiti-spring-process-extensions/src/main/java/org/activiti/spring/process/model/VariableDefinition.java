@@ -20,6 +20,7 @@ package org.activiti.spring.process.model;
 public class VariableDefinition extends org.activiti.core.common.model.connector.VariableDefinition {
 
     private Object value;
+    private boolean searchable;
 
     public Object getValue() {
         return value;
@@ -27,4 +28,12 @@ public class VariableDefinition extends org.activiti.core.common.model.connector
     public void setValue(Object value) {
         this.value = value;
     }
+
+    public boolean isSearchable() {
+        return searchable;
+    }
+
+    public void setSearchable(boolean searchable) {
+        this.searchable = searchable;
+    }
 }
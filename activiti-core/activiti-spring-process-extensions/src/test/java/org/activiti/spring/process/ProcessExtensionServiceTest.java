@@ -0,0 +1,122 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.spring.process;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.spring.process.model.Extension;
+import org.activiti.spring.process.model.ProcessExtensionModel;
+import org.activiti.spring.resources.DeploymentResourceLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ProcessExtensionServiceTest {
+
+    private DeploymentResourceLoader<ProcessExtensionModel> loader;
+    private ProcessExtensionResourceReader reader;
+    private ProcessExtensionService processExtensionService;
+    private ProcessDefinition processDefinition;
+    private Extension extension;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        loader = mock(DeploymentResourceLoader.class);
+        reader = mock(ProcessExtensionResourceReader.class);
+        processExtensionService = new ProcessExtensionService(loader, reader, 1);
+        processExtensionService.setRepositoryService(mock(RepositoryService.class));
+
+        extension = new Extension();
+        ProcessExtensionModel processExtensionModel = new ProcessExtensionModel();
+        processExtensionModel.setExtensions(singletonMap("processKey", extension));
+        given(loader.readResourcesForDeployment("deploymentId", reader)).willReturn(singletonList(processExtensionModel));
+
+        processDefinition = mock(ProcessDefinition.class);
+        given(processDefinition.getDeploymentId()).willReturn("deploymentId");
+        given(processDefinition.getKey()).willReturn("processKey");
+    }
+
+    @Test
+    public void should_loadExtensionsOnce_when_requestedRepeatedly() {
+        assertThat(processExtensionService.getExtensionsFor(processDefinition)).isSameAs(extension);
+        assertThat(processExtensionService.getExtensionsFor(processDefinition)).isSameAs(extension);
+
+        verify(loader, times(1)).readResourcesForDeployment("deploymentId", reader);
+        assertThat(processExtensionService.getCacheMetrics().getHitCount()).isEqualTo(1);
+        assertThat(processExtensionService.getCacheMetrics().getMissCount()).isEqualTo(1);
+        assertThat(processExtensionService.getCacheMetrics().getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_shareLoad_when_deploymentIsRequestedConcurrently() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ProcessExtensionModel processExtensionModel = new ProcessExtensionModel();
+        processExtensionModel.setExtensions(singletonMap("processKey", extension));
+        given(loader.readResourcesForDeployment("deploymentId", reader)).willAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return singletonList(processExtensionModel);
+        });
+
+        CompletableFuture<Extension> first = CompletableFuture.supplyAsync(() -> processExtensionService.getExtensionsFor(processDefinition));
+        assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Extension> second = CompletableFuture.supplyAsync(() -> processExtensionService.getExtensionsFor(processDefinition));
+        releaseLoad.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(extension);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(extension);
+        verify(loader, times(1)).readResourcesForDeployment("deploymentId", reader);
+    }
+
+    @Test
+    public void should_reloadExtensions_when_deploymentIsEvicted() {
+        processExtensionService.getExtensionsFor(processDefinition);
+
+        processExtensionService.evictDeployment("deploymentId");
+        processExtensionService.getExtensionsFor(processDefinition);
+
+        verify(loader, times(2)).readResourcesForDeployment("deploymentId", reader);
+        verify(loader).removeResourcesForDeployment("deploymentId");
+    }
+
+    @Test
+    public void should_evictLeastRecentlyUsed_when_cacheLimitIsReached() {
+        ProcessDefinition otherProcessDefinition = mock(ProcessDefinition.class);
+        given(otherProcessDefinition.getDeploymentId()).willReturn("otherDeploymentId");
+        given(otherProcessDefinition.getKey()).willReturn("processKey");
+        List<ProcessExtensionModel> noExtensions = singletonList(new ProcessExtensionModel());
+        given(loader.readResourcesForDeployment("otherDeploymentId", reader)).willReturn(noExtensions);
+
+        processExtensionService.getExtensionsFor(processDefinition);
+        processExtensionService.getExtensionsFor(otherProcessDefinition);
+        processExtensionService.getExtensionsFor(processDefinition);
+
+        verify(loader, times(2)).readResourcesForDeployment("deploymentId", reader);
+    }
+}
@@ -18,9 +18,9 @@ package org.activiti.spring.resources;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.activiti.engine.RepositoryService;
@@ -29,7 +29,7 @@ public class DeploymentResourceLoader<T> {
 
     private RepositoryService repositoryService;
 
-    private Map<String, List<T>> loadedResources = new HashMap<>();
+    private Map<String, List<T>> loadedResources = new ConcurrentHashMap<>();
 
     public List<T> loadResourcesForDeployment(String deploymentId, ResourceReader<T> resourceLoaderDescriptor) {
         List<T> resources = loadedResources.get(deploymentId);
@@ -37,6 +37,17 @@ public class DeploymentResourceLoader<T> {
             return resources;
         }
 
+        resources = readResourcesForDeployment(deploymentId, resourceLoaderDescriptor);
+        loadedResources.put(deploymentId, resources);
+        return resources;
+    }
+
+    /**
+     * Reads the selected resources of the deployment without keeping them in this loader,
+     * for callers doing their own caching.
+     */
+    public List<T> readResourcesForDeployment(String deploymentId, ResourceReader<T> resourceLoaderDescriptor) {
+        List<T> resources;
         List<String> resourceNames = repositoryService.getDeploymentResourceNames(deploymentId);
 
         if (resourceNames != null && !resourceNames.isEmpty()) {
@@ -51,10 +62,13 @@ public class DeploymentResourceLoader<T> {
         } else {
             resources = new ArrayList<>();
         }
-        loadedResources.put(deploymentId, resources);
         return resources;
     }
 
+    public void removeResourcesForDeployment(String deploymentId) {
+        loadedResources.remove(deploymentId);
+    }
+
     private List<T> loadResources(String deploymentId,
                                   ResourceReader<T> resourceReader,
                                   List<String> selectedResources) {
@@ -18,6 +18,7 @@ package org.activiti.spring;
 
 import java.util.concurrent.RejectedExecutionException;
 
+import org.activiti.engine.impl.asyncexecutor.AsyncJobExecutorThreadModel;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
 import org.activiti.engine.impl.persistence.entity.JobEntity;
@@ -76,10 +77,14 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
 
   @Override
   public boolean executeAsyncJob(Job job) {
+    if (usesOwnExecutorService()) {
+      return super.executeAsyncJob(job);
+    }
     try {
-      taskExecutor.execute(new ExecuteAsyncRunnable((JobEntity) job, processEngineConfiguration));
+      taskExecutor.execute(trackInFlight(job, new ExecuteAsyncRunnable((JobEntity) job, processEngineConfiguration)));
       return true;
     } catch (RejectedExecutionException e) {
+      inFlightJobIds.remove(job.getId());
       rejectedJobsHandler.jobRejected(this, job);
       return false;
     }
@@ -87,7 +92,18 @@ public class SpringAsyncExecutor extends DefaultAsyncJobExecutor {
 
   @Override
   protected void initAsyncJobExecutionThreadPool() {
-    // Do nothing, using the Spring taskExecutor
+    if (usesOwnExecutorService()) {
+      super.initAsyncJobExecutionThreadPool();
+    }
+    // otherwise do nothing, using the Spring taskExecutor
+  }
+
+  /**
+   * The platform thread model is served by the Spring {@link TaskExecutor}; the work-stealing and virtual
+   * thread models need an executor service of their own.
+   */
+  protected boolean usesOwnExecutorService() {
+    return threadModel != null && threadModel != AsyncJobExecutorThreadModel.PLATFORM;
   }
 
 }
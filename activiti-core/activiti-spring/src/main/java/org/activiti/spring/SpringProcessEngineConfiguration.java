@@ -24,6 +24,7 @@ import org.activiti.engine.ProcessEngineConfiguration;
 import org.activiti.engine.ProcessEngines;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.activiti.engine.impl.db.ReadReplicaRouter;
 import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandInterceptor;
 import org.activiti.engine.impl.variable.EntityManagerSession;
@@ -40,6 +41,7 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.util.ArrayList;
@@ -106,7 +108,20 @@ public class SpringProcessEngineConfiguration extends ProcessEngineConfiguration
       throw new ActivitiException("transactionManager is required property for SpringProcessEngineConfiguration, use " + StandaloneProcessEngineConfiguration.class.getName() + " otherwise");
     }
 
-    return new SpringTransactionInterceptor(transactionManager);
+    return new SpringTransactionInterceptor(transactionManager, this);
+  }
+
+  /**
+   * Read-only commands started outside of a transaction don't start a transaction on the primary data source when
+   * they are routed to the replica, see {@link SpringTransactionInterceptor}; any other transaction may have written
+   * data.
+   */
+  @Override
+  public ReadReplicaRouter createReadReplicaRouter() {
+    ReadReplicaRouter readReplicaRouter = super.createReadReplicaRouter();
+    readReplicaRouter.setWriteTransactionActive(() -> TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    return readReplicaRouter;
   }
 
   @Override
@@ -17,14 +17,18 @@
 package org.activiti.spring;
 
 import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.ReadReplicaRouter;
 import org.activiti.engine.impl.interceptor.AbstractCommandInterceptor;
 import org.activiti.engine.impl.interceptor.Command;
 import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.ReadOnlyCommand;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 /**
@@ -35,16 +39,34 @@ public class SpringTransactionInterceptor extends AbstractCommandInterceptor {
   private static final Logger LOGGER = LoggerFactory.getLogger(SpringTransactionInterceptor.class);
 
   protected PlatformTransactionManager transactionManager;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
 
   public SpringTransactionInterceptor(PlatformTransactionManager transactionManager) {
     this.transactionManager = transactionManager;
   }
 
+  /**
+   * @param processEngineConfiguration gives access to the read replica router once the engine is initialized, so
+   *                                   commands routed to the read-only data source don't start a transaction on the
+   *                                   primary one
+   */
+  public SpringTransactionInterceptor(PlatformTransactionManager transactionManager, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.transactionManager = transactionManager;
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
   public <T> T execute(final CommandConfig config, final Command<T> command) {
     LOGGER.debug("Running command with propagation {}", config.getTransactionPropagation());
 
     TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
     transactionTemplate.setPropagationBehavior(getPropagation(config));
+    if (command instanceof ReadOnlyCommand && !TransactionSynchronizationManager.isActualTransactionActive()
+        && isRoutedToReadReplica(command)) {
+      // the command reads from the read-only data source, so no connection of the transaction manager is needed;
+      // commands that stay on the primary data source keep their regular transaction settings
+      transactionTemplate.setReadOnly(true);
+      transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_SUPPORTS);
+    }
 
     T result = transactionTemplate.execute(new TransactionCallback<T>() {
       public T doInTransaction(TransactionStatus status) {
@@ -55,6 +77,11 @@ public class SpringTransactionInterceptor extends AbstractCommandInterceptor {
     return result;
   }
 
+  protected boolean isRoutedToReadReplica(Command<?> command) {
+    ReadReplicaRouter readReplicaRouter = processEngineConfiguration != null ? processEngineConfiguration.getReadReplicaRouter() : null;
+    return readReplicaRouter != null && readReplicaRouter.isRoutedToReplica(command);
+  }
+
   private int getPropagation(CommandConfig config) {
     switch (config.getTransactionPropagation()) {
     case NOT_SUPPORTED:
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2010-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.spring.test.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.activiti.engine.task.Task;
+import org.activiti.spring.impl.test.SpringActivitiTestCase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Queries routed to the read-only data source must not open a transaction, and so a connection, on the primary one.
+ */
+@ContextConfiguration("classpath:org/activiti/spring/test/transaction/SpringReadReplicaRoutingTest-context.xml")
+public class SpringReadReplicaRoutingTest extends SpringActivitiTestCase {
+
+  @Autowired
+  protected PlatformTransactionManager transactionManager;
+
+  protected CountingDataSource primaryDataSource;
+
+  protected CountingDataSource readOnlyDataSource;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    primaryDataSource = applicationContext.getBean("dataSource", CountingDataSource.class);
+    readOnlyDataSource = applicationContext.getBean("readOnlyDataSource", CountingDataSource.class);
+  }
+
+  public void testQueryDoesNotUsePrimaryDataSource() {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    primaryDataSource.connections.set(0);
+    readOnlyDataSource.connections.set(0);
+
+    assertThat(taskService.createTaskQuery().taskId(task.getId()).count()).isEqualTo(1);
+    assertThat(readOnlyDataSource.connections.get()).isEqualTo(1);
+    assertThat(primaryDataSource.connections.get()).isZero();
+
+    taskService.deleteTask(task.getId(), true);
+  }
+
+  public void testQueryInWriteTransactionUsesPrimaryDataSource() {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    primaryDataSource.connections.set(0);
+    readOnlyDataSource.connections.set(0);
+
+    Long count = new TransactionTemplate(transactionManager).execute(status -> taskService.createTaskQuery().taskId(task.getId()).count());
+    assertThat(count).isEqualTo(1);
+    assertThat(readOnlyDataSource.connections.get()).isZero();
+    assertThat(primaryDataSource.connections.get()).isEqualTo(1);
+
+    taskService.deleteTask(task.getId(), true);
+  }
+
+  public static class CountingDataSource extends SimpleDriverDataSource {
+
+    protected AtomicInteger connections = new AtomicInteger();
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      connections.incrementAndGet();
+      return super.getConnection();
+    }
+  }
+
+}